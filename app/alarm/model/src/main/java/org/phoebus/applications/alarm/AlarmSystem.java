@@ -120,6 +120,9 @@ public class AlarmSystem
     /** Disable notify feature */
     public static final boolean disable_notify_visible;
 
+    /** Send state updates in the binary encoding instead of JSON? */
+    public static final boolean binary_state_updates;
+
     static
     {
         final PreferencesReader prefs = new PreferencesReader(AlarmSystem.class, "/alarm_preferences.properties");
@@ -142,6 +145,7 @@ public class AlarmSystem
         heartbeat_pv = prefs.get("heartbeat_pv");
         heartbeat_ms = prefs.getInt("heartbeat_secs") * 1000L;
         disable_notify_visible = prefs.getBoolean("disable_notify_visible");
+        binary_state_updates = "binary".equalsIgnoreCase(prefs.get("state_encoding"));
 
         double secs = 0.0;
         try
@@ -7,6 +7,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.logging.Level;
 
+import org.phoebus.applications.alarm.client.ClientState;
+import org.phoebus.applications.alarm.model.binary.BinaryStateCodec.StateUpdate;
+import org.phoebus.applications.alarm.model.json.JsonTags;
+
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
@@ -64,6 +68,31 @@ public class AlarmMessage implements Serializable{
     public AlarmMessage() {
     }
 
+    /**
+     * Create a state message from a binary encoded state update
+     * 
+     * @param update decoded state update
+     * @return AlarmMessage with the state information
+     */
+    public static AlarmMessage fromStateUpdate(StateUpdate update) {
+        AlarmMessage message = new AlarmMessage();
+        message.setSeverity(update.state.severity.name());
+        if (update.state instanceof ClientState) {
+            ClientState state = (ClientState) update.state;
+            message.setMessage(state.message);
+            message.setValue(state.value);
+            message.setAlarmTime(state.time);
+            message.setCurrent_severity(state.current_severity.name());
+            message.setCurrent_message(state.current_message);
+            message.setLatch(state.isLatched());
+        }
+        if (update.maintenance_mode) {
+            message.setMode(JsonTags.MAINTENANCE);
+        }
+        message.setNotify(!update.disable_notify);
+        return message;
+    }
+
     public String getUser() {
         return user;
     }
@@ -5,6 +5,7 @@ import java.util.Map;
 import org.apache.kafka.common.errors.SerializationException;
 import org.apache.kafka.common.serialization.Deserializer;
 import org.apache.kafka.common.serialization.Serializer;
+import org.phoebus.applications.alarm.model.binary.BinaryStateCodec;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -51,6 +52,10 @@ public class MessageParser<T> implements Serializer<T>, Deserializer<T> {
 
         T data;
         try {
+            // State updates may use the binary encoding instead of JSON
+            if (tClass == AlarmMessage.class && BinaryStateCodec.isEncoded(bytes)) {
+                return tClass.cast(AlarmMessage.fromStateUpdate(BinaryStateCodec.fromText(bytes)));
+            }
             data = objectMapper.readValue(bytes, tClass);
         } catch (Exception e) {
             throw new SerializationException(e);
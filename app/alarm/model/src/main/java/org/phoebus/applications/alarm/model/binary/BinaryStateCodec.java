@@ -0,0 +1,262 @@
+package org.phoebus.applications.alarm.model.binary;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+import org.phoebus.applications.alarm.client.ClientState;
+import org.phoebus.applications.alarm.model.AlarmState;
+import org.phoebus.applications.alarm.model.BasicState;
+import org.phoebus.applications.alarm.model.SeverityLevel;
+
+/** Compact binary encoding of alarm state updates
+ *
+ *  <p>Alternative to the JSON state updates of the
+ *  {@link org.phoebus.applications.alarm.model.json.JsonModelWriter}.
+ *
+ *  <p>Version 1 of the encoding:
+ *  <pre>
+ *  byte     version (1)
+ *  byte     flags: 1 = has client state detail, 2 = latch, 4 = maintenance mode, 8 = notification disabled,
+ *                  16 = null message, 32 = null value, 64 = null current message
+ *  byte     severity, ordinal of {@link SeverityLevel}
+ *  For client state detail:
+ *  string   message
+ *  string   value
+ *  varlong  epoch seconds
+ *  varint   nanoseconds
+ *  byte     current severity
+ *  string   current message
+ *  </pre>
+ *  Strings are written as varint length followed by UTF-8 bytes.
+ *  <code>null</code> strings are only indicated by their flag and not written.
+ *
+ *  <p>Since the alarm topics are read and written as text,
+ *  the encoded bytes are transferred as Base64 text with a {@link #PREFIX}
+ *  that distinguishes them from JSON.
+ */
+@SuppressWarnings("nls")
+public class BinaryStateCodec
+{
+    /** Current version of the encoding */
+    public static final byte VERSION = 1;
+
+    /** Prefix of encoded text */
+    public static final char PREFIX = '#';
+
+    private static final int DETAIL = 1, LATCH = 2, MAINTENANCE = 4, NO_NOTIFY = 8,
+                             NULL_MESSAGE = 16, NULL_VALUE = 32, NULL_CURRENT_MESSAGE = 64;
+
+    private static final SeverityLevel[] severities = SeverityLevel.values();
+
+    /** Decoded state update */
+    public static class StateUpdate
+    {
+        /** {@link BasicState} or {@link ClientState} */
+        public final BasicState state;
+
+        /** Was server in maintenance mode? */
+        public final boolean maintenance_mode;
+
+        /** Were notifications disabled? */
+        public final boolean disable_notify;
+
+        StateUpdate(final BasicState state, final boolean maintenance_mode, final boolean disable_notify)
+        {
+            this.state = state;
+            this.maintenance_mode = maintenance_mode;
+            this.disable_notify = disable_notify;
+        }
+    }
+
+    /** @param text Text of a state update
+     *  @return <code>true</code> if this is an encoded state update, not JSON
+     */
+    public static boolean isEncoded(final String text)
+    {
+        return text != null  &&  !text.isEmpty()  &&  text.charAt(0) == PREFIX;
+    }
+
+    /** @param bytes Bytes of a state update
+     *  @return <code>true</code> if this is an encoded state update, not JSON
+     */
+    public static boolean isEncoded(final byte[] bytes)
+    {
+        return bytes != null  &&  bytes.length > 0  &&  bytes[0] == PREFIX;
+    }
+
+    /** @param state {@link BasicState} or {@link ClientState}
+     *  @param maintenance_mode true if in maintenance mode
+     *  @param disable_notify true if notifications are disabled
+     *  @return Encoded bytes
+     */
+    public static byte[] encode(final BasicState state, final boolean maintenance_mode, final boolean disable_notify)
+    {
+        final ByteArrayOutputStream buf = new ByteArrayOutputStream(64);
+        int flags = 0;
+        if (state instanceof ClientState)
+        {
+            final ClientState cs = (ClientState) state;
+            flags |= DETAIL;
+            if (cs.message == null)
+                flags |= NULL_MESSAGE;
+            if (cs.value == null)
+                flags |= NULL_VALUE;
+            if (cs.current_message == null)
+                flags |= NULL_CURRENT_MESSAGE;
+        }
+        if (state instanceof AlarmState  &&  ((AlarmState) state).isLatched())
+            flags |= LATCH;
+        if (maintenance_mode)
+            flags |= MAINTENANCE;
+        if (disable_notify)
+            flags |= NO_NOTIFY;
+
+        buf.write(VERSION);
+        buf.write(flags);
+        buf.write(state.severity.ordinal());
+        if (state instanceof ClientState)
+        {
+            final ClientState cs = (ClientState) state;
+            writeString(buf, cs.message);
+            writeString(buf, cs.value);
+            writeVarLong(buf, cs.time.getEpochSecond());
+            writeVarLong(buf, cs.time.getNano());
+            buf.write(cs.current_severity.ordinal());
+            writeString(buf, cs.current_message);
+        }
+        return buf.toByteArray();
+    }
+
+    /** @param state {@link BasicState} or {@link ClientState}
+     *  @param maintenance_mode true if in maintenance mode
+     *  @param disable_notify true if notifications are disabled
+     *  @return Encoded text
+     */
+    public static String toText(final BasicState state, final boolean maintenance_mode, final boolean disable_notify)
+    {
+        return PREFIX + Base64.getEncoder().encodeToString(encode(state, maintenance_mode, disable_notify));
+    }
+
+    /** @param text Encoded text
+     *  @return {@link StateUpdate}
+     *  @throws Exception on error
+     */
+    public static StateUpdate fromText(final String text) throws Exception
+    {
+        if (! isEncoded(text))
+            throw new Exception("Not an encoded state update: " + text);
+        return decode(Base64.getDecoder().decode(text.substring(1)));
+    }
+
+    /** @param bytes Encoded text as bytes
+     *  @return {@link StateUpdate}
+     *  @throws Exception on error
+     */
+    public static StateUpdate fromText(final byte[] bytes) throws Exception
+    {
+        if (! isEncoded(bytes))
+            throw new Exception("Not an encoded state update");
+        return decode(Base64.getDecoder().decode(new String(bytes, 1, bytes.length-1, StandardCharsets.US_ASCII)));
+    }
+
+    /** @param bytes Encoded bytes
+     *  @return {@link StateUpdate}
+     *  @throws Exception on error
+     */
+    public static StateUpdate decode(final byte[] bytes) throws Exception
+    {
+        final Decoder in = new Decoder(bytes);
+        final int version = in.readByte();
+        if (version != VERSION)
+            throw new Exception("Cannot decode state update version " + version + ", expecting " + VERSION);
+        final int flags = in.readByte();
+        final SeverityLevel severity = in.readSeverity();
+        final BasicState state;
+        if ((flags & DETAIL) != 0)
+        {
+            final String message = (flags & NULL_MESSAGE) != 0 ? null : in.readString();
+            final String value = (flags & NULL_VALUE) != 0 ? null : in.readString();
+            final long secs = in.readVarLong();
+            final long nano = in.readVarLong();
+            final SeverityLevel current_severity = in.readSeverity();
+            final String current_message = (flags & NULL_CURRENT_MESSAGE) != 0 ? null : in.readString();
+            state = new ClientState(severity, message, value, Instant.ofEpochSecond(secs, nano),
+                                    current_severity, current_message, (flags & LATCH) != 0);
+        }
+        else
+            state = new BasicState(severity);
+        return new StateUpdate(state, (flags & MAINTENANCE) != 0, (flags & NO_NOTIFY) != 0);
+    }
+
+    private static void writeVarLong(final ByteArrayOutputStream buf, long value)
+    {
+        while ((value & ~0x7FL) != 0)
+        {
+            buf.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buf.write((int) value);
+    }
+
+    private static void writeString(final ByteArrayOutputStream buf, final String text)
+    {
+        // null is indicated by flag
+        if (text == null)
+            return;
+        final byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(buf, bytes.length);
+        buf.write(bytes, 0, bytes.length);
+    }
+
+    /** Reads from encoded bytes */
+    private static class Decoder
+    {
+        private final byte[] bytes;
+        private int pos = 0;
+
+        Decoder(final byte[] bytes)
+        {
+            this.bytes = bytes;
+        }
+
+        int readByte() throws Exception
+        {
+            if (pos >= bytes.length)
+                throw new Exception("Truncated state update");
+            return bytes[pos++] & 0xFF;
+        }
+
+        SeverityLevel readSeverity() throws Exception
+        {
+            final int ordinal = readByte();
+            if (ordinal >= severities.length)
+                throw new Exception("Invalid severity " + ordinal);
+            return severities[ordinal];
+        }
+
+        long readVarLong() throws Exception
+        {
+            long value = 0;
+            for (int shift = 0;  shift < 64;  shift += 7)
+            {
+                final int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0)
+                    return value;
+            }
+            throw new Exception("Invalid number");
+        }
+
+        String readString() throws Exception
+        {
+            final long length = readVarLong();
+            if (length < 0  ||  length > bytes.length - pos)
+                throw new Exception("Truncated state update");
+            final String text = new String(bytes, pos, (int) length, StandardCharsets.UTF_8);
+            pos += length;
+            return text;
+        }
+    }
+}
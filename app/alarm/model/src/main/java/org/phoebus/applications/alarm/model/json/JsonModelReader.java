@@ -24,6 +24,8 @@ import org.phoebus.applications.alarm.model.BasicState;
 import org.phoebus.applications.alarm.model.SeverityLevel;
 import org.phoebus.applications.alarm.model.TitleDetail;
 import org.phoebus.applications.alarm.model.TitleDetailDelay;
+import org.phoebus.applications.alarm.model.binary.BinaryStateCodec;
+import org.phoebus.applications.alarm.model.binary.BinaryStateCodec.StateUpdate;
 
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
@@ -38,14 +40,18 @@ public class JsonModelReader
     // JsonNode to keep Jackson specifics within this package.
     // Later updates of the JsonModelReader/Writer will not affect code
     // that calls them.
+    // State updates may also be received in the binary encoding,
+    // which parseJsonText() returns as a StateUpdate.
 
     /** Parse JSON text
-     *  @param json_text JSON text
+     *  @param json_text JSON text, or state update encoded by {@link BinaryStateCodec}
      *  @return JSON object
      *  @throws Exception
      */
     public static Object parseJsonText(final String json_text) throws Exception
     {
+        if (BinaryStateCodec.isEncoded(json_text))
+            return BinaryStateCodec.fromText(json_text);
         try
         (
             final JsonParser jp = JsonModelWriter.mapper.getFactory().createParser(json_text);
@@ -61,6 +67,8 @@ public class JsonModelReader
      */
     public static boolean isLeafConfigOrState(final Object json)
     {
+        if (json instanceof StateUpdate)
+            return ((StateUpdate) json).state instanceof ClientState;
         final JsonNode actual = (JsonNode) json;
         // Leaf config contains description
         // Leaf alarm state contains detail of AlarmState
@@ -73,6 +81,8 @@ public class JsonModelReader
      */
     public static boolean isStateUpdate(final Object json)
     {
+        if (json instanceof StateUpdate)
+            return true;
         final JsonNode actual = (JsonNode) json;
         // State updates contain SEVERITY
         return actual.get(JsonTags.SEVERITY) != null;
@@ -226,6 +236,8 @@ public class JsonModelReader
      */
     public static boolean isMaintenanceMode(final Object json)
     {
+        if (json instanceof StateUpdate)
+            return ((StateUpdate) json).maintenance_mode;
         final JsonNode actual = (JsonNode) json;
         JsonNode jn = actual.get(JsonTags.MODE);
         if (jn != null)
@@ -240,6 +252,8 @@ public class JsonModelReader
      */
     public static boolean isDisableNotify(final Object json)
     {
+        if (json instanceof StateUpdate)
+            return ((StateUpdate) json).disable_notify;
         final JsonNode actual = (JsonNode) json;
         JsonNode jn = actual.get(JsonTags.NOTIFY);
 	return jn == null ? false : !jn.asBoolean();
@@ -247,6 +261,8 @@ public class JsonModelReader
 
     public static boolean updateAlarmState(final AlarmTreeItem<?> node, final Object json)
     {
+        if (json instanceof StateUpdate)
+            return updateAlarmState(node, ((StateUpdate) json).state);
         final JsonNode actual = (JsonNode) json;
         if (node instanceof AlarmClientLeaf)
             return updateAlarmLeafState((AlarmClientLeaf) node, actual);
@@ -260,6 +276,11 @@ public class JsonModelReader
      */
     public static ClientState parseClientState(final Object _json)
     {
+        if (_json instanceof StateUpdate)
+        {
+            final BasicState state = ((StateUpdate) _json).state;
+            return state instanceof ClientState ? (ClientState) state : null;
+        }
         final JsonNode json = (JsonNode) _json;
         SeverityLevel severity = SeverityLevel.UNDEFINED;
         String message = "<?>";
@@ -322,6 +343,25 @@ public class JsonModelReader
         return (state != null)  &&  node.setState(state);
     }
 
+    /** @param node Node to update
+     *  @param state Decoded state
+     *  @return <code>true</code> if this changed the alarm state of the node
+     */
+    private static boolean updateAlarmState(final AlarmTreeItem<?> node, final BasicState state)
+    {
+        if (node instanceof AlarmClientLeaf)
+            return (state instanceof ClientState)  &&  ((AlarmClientLeaf) node).setState((ClientState) state);
+        if (node instanceof AlarmClientNode)
+        {
+            final AlarmClientNode client_node = (AlarmClientNode) node;
+            if (client_node.getState().severity == state.severity)
+                return false;
+            client_node.setState(new BasicState(state.severity));
+            return true;
+        }
+        return false;
+    }
+
     private static boolean updateAlarmNodeState(final AlarmClientNode node, final JsonNode json)
     {
         SeverityLevel severity = SeverityLevel.UNDEFINED;
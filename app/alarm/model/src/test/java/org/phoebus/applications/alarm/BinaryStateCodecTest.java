@@ -0,0 +1,99 @@
+package org.phoebus.applications.alarm;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.time.Instant;
+import java.util.Arrays;
+
+import org.junit.Test;
+import org.phoebus.applications.alarm.client.ClientState;
+import org.phoebus.applications.alarm.model.BasicState;
+import org.phoebus.applications.alarm.model.SeverityLevel;
+import org.phoebus.applications.alarm.model.binary.BinaryStateCodec;
+import org.phoebus.applications.alarm.model.binary.BinaryStateCodec.StateUpdate;
+
+/** JUnit test of the {@link BinaryStateCodec}
+ */
+@SuppressWarnings("nls")
+public class BinaryStateCodecTest
+{
+    @Test
+    public void testNodeState() throws Exception
+    {
+        final String text = BinaryStateCodec.toText(new BasicState(SeverityLevel.MINOR), true, false);
+        System.out.println(text);
+        assertThat(BinaryStateCodec.isEncoded(text), equalTo(true));
+        assertThat(BinaryStateCodec.isEncoded("{ \"severity\": \"MINOR\" }"), equalTo(false));
+
+        final StateUpdate update = BinaryStateCodec.fromText(text);
+        assertThat(update.state.getClass().getName(), equalTo(BasicState.class.getName()));
+        assertThat(update.state.severity, equalTo(SeverityLevel.MINOR));
+        assertThat(update.maintenance_mode, equalTo(true));
+        assertThat(update.disable_notify, equalTo(false));
+    }
+
+    @Test
+    public void testClientState() throws Exception
+    {
+        final ClientState state = new ClientState(SeverityLevel.MAJOR, "HIHI", "12.5 °C",
+                                                  Instant.ofEpochSecond(1600000000L, 123456789),
+                                                  SeverityLevel.MINOR, "HIGH", true);
+        final String text = BinaryStateCodec.toText(state, false, true);
+        System.out.println(text + " (" + text.length() + " characters)");
+
+        StateUpdate update = BinaryStateCodec.fromText(text);
+        assertThat(update.state, instanceOf(ClientState.class));
+        assertThat(update.state, equalTo(state));
+        assertThat(((ClientState) update.state).isLatched(), equalTo(true));
+        assertThat(update.maintenance_mode, equalTo(false));
+        assertThat(update.disable_notify, equalTo(true));
+
+        // Decode from the raw bytes of the text
+        update = BinaryStateCodec.fromText(text.getBytes());
+        assertThat(update.state, equalTo(state));
+
+        // Time before 1970
+        final ClientState old = new ClientState(SeverityLevel.INVALID, "", "", Instant.ofEpochSecond(-10, 5),
+                                                SeverityLevel.INVALID, "");
+        assertThat(BinaryStateCodec.fromText(BinaryStateCodec.toText(old, false, false)).state, equalTo(old));
+    }
+
+    @Test
+    public void testNullValue() throws Exception
+    {
+        // Alarm state allows null value
+        final ClientState state = new ClientState(SeverityLevel.MINOR, "LOW", null, Instant.ofEpochSecond(1600000000L, 42),
+                                                  SeverityLevel.OK, "NO_ALARM");
+        final ClientState decoded = (ClientState) BinaryStateCodec.fromText(BinaryStateCodec.toText(state, false, false)).state;
+        assertThat(decoded, equalTo(state));
+        assertThat(decoded.value, nullValue());
+        // Strings after the null value are still decoded
+        assertThat(decoded.current_message, equalTo("NO_ALARM"));
+
+        // Empty value remains empty, not null
+        final ClientState empty = new ClientState(SeverityLevel.OK, "", "", Instant.ofEpochSecond(1600000000L, 42),
+                                                  SeverityLevel.OK, "");
+        assertThat(((ClientState) BinaryStateCodec.fromText(BinaryStateCodec.toText(empty, false, false)).state).value,
+                   equalTo(""));
+    }
+
+    @Test(expected=Exception.class)
+    public void testVersion() throws Exception
+    {
+        final byte[] bytes = BinaryStateCodec.encode(new BasicState(SeverityLevel.OK), false, false);
+        bytes[0] = BinaryStateCodec.VERSION + 1;
+        BinaryStateCodec.decode(bytes);
+    }
+
+    @Test(expected=Exception.class)
+    public void testTruncated() throws Exception
+    {
+        final ClientState state = new ClientState(SeverityLevel.MAJOR, "HIHI", "12.5", Instant.now(),
+                                                  SeverityLevel.MAJOR, "HIHI");
+        final byte[] bytes = BinaryStateCodec.encode(state, false, false);
+        BinaryStateCodec.decode(Arrays.copyOf(bytes, bytes.length - 3));
+    }
+}
@@ -0,0 +1,51 @@
+package org.phoebus.applications.alarm;
+
+import java.time.Instant;
+
+import org.phoebus.applications.alarm.client.ClientState;
+import org.phoebus.applications.alarm.model.SeverityLevel;
+import org.phoebus.applications.alarm.model.binary.BinaryStateCodec;
+import org.phoebus.applications.alarm.model.json.JsonModelReader;
+import org.phoebus.applications.alarm.model.json.JsonModelWriter;
+
+/** Compare size and speed of JSON and binary state updates
+ */
+@SuppressWarnings("nls")
+public class StateCodecDemo
+{
+    private static final int COUNT = 1000000;
+
+    public static void main(String[] args) throws Exception
+    {
+        final ClientState state = new ClientState(SeverityLevel.MAJOR, "HIHI_ALARM", "12.345",
+                                                  Instant.now(), SeverityLevel.MAJOR, "HIHI_ALARM");
+
+        final String json = new String(JsonModelWriter.toJsonBytes(state, false, false));
+        final String binary = BinaryStateCodec.toText(state, false, false);
+        System.out.println("JSON  : " + json.length() + " characters, " + json);
+        System.out.println("Binary: " + binary.length() + " characters, " + binary);
+
+        for (int run=0; run<5; ++run)
+        {
+            long start = System.nanoTime();
+            for (int i=0; i<COUNT; ++i)
+            {
+                final String text = new String(JsonModelWriter.toJsonBytes(state, false, false));
+                if (! state.equals(JsonModelReader.parseClientState(JsonModelReader.parseJsonText(text))))
+                    throw new Exception("JSON mismatch");
+            }
+            long ns = (System.nanoTime() - start) / COUNT;
+            System.out.println("JSON   encode + decode: " + ns + " ns");
+
+            start = System.nanoTime();
+            for (int i=0; i<COUNT; ++i)
+            {
+                final String text = BinaryStateCodec.toText(state, false, false);
+                if (! state.equals(JsonModelReader.parseClientState(JsonModelReader.parseJsonText(text))))
+                    throw new Exception("Binary mismatch");
+            }
+            ns = (System.nanoTime() - start) / COUNT;
+            System.out.println("Binary encode + decode: " + ns + " ns");
+        }
+    }
+}
@@ -8,6 +8,7 @@
 package org.phoebus.applications.alarm.ui.table;
 
 import java.time.Instant;
+import java.util.Objects;
 
 import org.phoebus.applications.alarm.client.AlarmClientLeaf;
 import org.phoebus.applications.alarm.client.ClientState;
@@ -15,6 +16,7 @@ import org.phoebus.applications.alarm.model.SeverityLevel;
 
 import javafx.beans.Observable;
 import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.Property;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
@@ -84,17 +86,31 @@ public class AlarmInfoRow
         pv_status.set(state.current_message);
     }
 
+    /** Copy information from other row
+     *
+     *  <p>Only properties that actually change are set,
+     *  so a sorted table only needs to re-sort for those.
+     *
+     *  @param other Row to copy
+     */
     public void copy(final AlarmInfoRow other)
     {
         this.item = other.item;
-        pv.set(other.pv.get());
-        description.set(other.description.get());
-        severity.set(other.severity.get());
-        status.set(other.status.get());
-        time.set(other.time.get());
-        value.set(other.value.get());
-        pv_severity.set(other.pv_severity.get());
-        pv_status.set(other.pv_status.get());
+        copy(pv, other.pv);
+        copy(description, other.description);
+        copy(severity, other.severity);
+        copy(status, other.status);
+        copy(time, other.time);
+        copy(value, other.value);
+        copy(pv_severity, other.pv_severity);
+        copy(pv_status, other.pv_status);
+    }
+
+    private static <T> void copy(final Property<T> property, final Property<T> other)
+    {
+        final T value = other.getValue();
+        if (! Objects.equals(property.getValue(), value))
+            property.setValue(value);
     }
 
     @Override
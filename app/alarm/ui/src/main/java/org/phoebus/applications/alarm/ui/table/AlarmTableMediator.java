@@ -82,14 +82,21 @@ public class AlarmTableMediator implements AlarmClientListener
             throttle.trigger();
     }
 
+    /** Pass only the alarms that changed since the last update to the UI */
     private void throttledUpdate()
     {
         final List<AlarmInfoRow> active = new ArrayList<>(),
                                  acknowledged = new ArrayList<>();
-        for (AlarmClientLeaf pv : model.getActiveAlarms())
-            active.add(new AlarmInfoRow(pv));
-        for (AlarmClientLeaf pv : model.getAcknowledgedAlarms())
-            acknowledged.add(new AlarmInfoRow(pv));
-        Platform.runLater(() -> ui.update(active, acknowledged));
+        final List<AlarmClientLeaf> removed = new ArrayList<>();
+        for (AlarmClientLeaf pv : model.takeChanges())
+        {
+            if (model.isActive(pv))
+                active.add(new AlarmInfoRow(pv));
+            else if (model.isAcknowledged(pv))
+                acknowledged.add(new AlarmInfoRow(pv));
+            else
+                removed.add(pv);
+        }
+        Platform.runLater(() -> ui.applyChanges(active, acknowledged, removed));
     }
 }
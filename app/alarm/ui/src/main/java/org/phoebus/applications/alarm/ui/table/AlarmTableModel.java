@@ -7,6 +7,8 @@
  *******************************************************************************/
 package org.phoebus.applications.alarm.ui.table;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -26,6 +28,9 @@ public class AlarmTableModel
     /** Ack'ed alarms and their last known state */
     private final ConcurrentHashMap<AlarmClientLeaf, ClientState> acknowledged = new ConcurrentHashMap<>();
 
+    /** Alarms that changed since the last call to {@link #takeChanges()} */
+    private final Set<AlarmClientLeaf> changed = ConcurrentHashMap.newKeySet();
+
     /** @param item Item for which update has been received
      *  @return <code>true</code> If this changed the alarm table
      */
@@ -57,6 +62,8 @@ public class AlarmTableModel
             changes |= !state.equals(acknowledged.put(leaf, state));
         }
 
+        if (changes)
+            changed.add(leaf);
         return changes;
     }
 
@@ -76,9 +83,45 @@ public class AlarmTableModel
         changes |= active.remove(leaf) != null;
         changes |= acknowledged.remove(leaf) != null;
 
+        if (changes)
+            changed.add(leaf);
         return changes;
     }
 
+    /** Get the alarms that changed
+     *
+     *  <p>Use {@link #isActive(AlarmClientLeaf)} and {@link #isAcknowledged(AlarmClientLeaf)}
+     *  to check where they are now.
+     *  Alarms that are neither active nor acknowledged
+     *  have been removed from the table.
+     *
+     *  @return Alarms that changed since the last call
+     */
+    public List<AlarmClientLeaf> takeChanges()
+    {
+        final List<AlarmClientLeaf> result = new ArrayList<>(changed.size());
+        for (AlarmClientLeaf leaf : changed)
+            if (changed.remove(leaf))
+                result.add(leaf);
+        return result;
+    }
+
+    /** @param leaf Alarm item
+     *  @return <code>true</code> if it is an active alarm
+     */
+    public boolean isActive(final AlarmClientLeaf leaf)
+    {
+        return active.containsKey(leaf);
+    }
+
+    /** @param leaf Alarm item
+     *  @return <code>true</code> if it is an acknowledged alarm
+     */
+    public boolean isAcknowledged(final AlarmClientLeaf leaf)
+    {
+        return acknowledged.containsKey(leaf);
+    }
+
     /** @return Active alarms */
     public Set<AlarmClientLeaf> getActiveAlarms()
     {
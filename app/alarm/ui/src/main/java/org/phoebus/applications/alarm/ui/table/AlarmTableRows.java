@@ -0,0 +1,117 @@
+package org.phoebus.applications.alarm.ui.table;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.phoebus.applications.alarm.client.AlarmClientLeaf;
+
+import javafx.collections.ObservableList;
+
+/** Rows of one alarm table
+ *
+ *  <p>Applies changes to the list of table rows
+ *  such that the cost scales with the number of changes,
+ *  not with the number of rows:
+ *  Existing rows are updated in place, new rows are appended,
+ *  removed rows are replaced by the last row.
+ *  The sorted list of the table then only re-positions the affected rows.
+ *
+ *  <p>Rows beyond the maximum number to show are held back
+ *  until rows are removed from the table.
+ *
+ *  <p>Not thread-safe, to be called on the UI thread.
+ */
+public class AlarmTableRows
+{
+    private final ObservableList<AlarmInfoRow> rows;
+    private final int max_rows;
+
+    /** Index in rows for each shown alarm */
+    private final Map<AlarmClientLeaf, Integer> shown = new HashMap<>();
+
+    /** Alarms that are not shown because the table already has max_rows */
+    private final Map<AlarmClientLeaf, AlarmInfoRow> hidden = new LinkedHashMap<>();
+
+    /** @param rows Rows of the table
+     *  @param max_rows Maximum number of rows to show
+     */
+    public AlarmTableRows(final ObservableList<AlarmInfoRow> rows, final int max_rows)
+    {
+        this.rows = rows;
+        this.max_rows = max_rows;
+    }
+
+    /** @return Number of alarms, including those not shown */
+    public int size()
+    {
+        return shown.size() + hidden.size();
+    }
+
+    /** @return Number of alarms that are not shown */
+    public int getHiddenCount()
+    {
+        return hidden.size();
+    }
+
+    /** @param input Alarms that replace the current rows */
+    public void setAll(final List<AlarmInfoRow> input)
+    {
+        shown.clear();
+        hidden.clear();
+        final int N = Math.min(input.size(), max_rows);
+        for (int i=0; i<N; ++i)
+            shown.put(input.get(i).item, i);
+        for (int i=N; i<input.size(); ++i)
+            hidden.put(input.get(i).item, input.get(i));
+        rows.setAll(input.subList(0, N));
+    }
+
+    /** @param row Alarm to add or update */
+    public void update(final AlarmInfoRow row)
+    {
+        final Integer index = shown.get(row.item);
+        if (index != null)
+            rows.get(index).copy(row);
+        else if (hidden.containsKey(row.item)  ||  shown.size() >= max_rows)
+            hidden.put(row.item, row);
+        else
+            show(row);
+    }
+
+    /** @param item Alarm to remove, OK if not in the table */
+    public void remove(final AlarmClientLeaf item)
+    {
+        if (hidden.remove(item) != null)
+            return;
+        final Integer index = shown.remove(item);
+        if (index == null)
+            return;
+
+        // Fill the gap with the last row
+        final int last = rows.size() - 1;
+        final AlarmInfoRow moved = rows.remove(last);
+        if (index < last)
+        {
+            rows.set(index, moved);
+            shown.put(moved.item, index);
+        }
+
+        // Show a row that was held back
+        final Iterator<AlarmInfoRow> held = hidden.values().iterator();
+        if (held.hasNext())
+        {
+            final AlarmInfoRow row = held.next();
+            held.remove();
+            show(row);
+        }
+    }
+
+    private void show(final AlarmInfoRow row)
+    {
+        shown.put(row.item, rows.size());
+        rows.add(row);
+    }
+}
@@ -14,6 +14,7 @@ import java.util.regex.Pattern;
 
 import org.phoebus.applications.alarm.AlarmSystem;
 import org.phoebus.applications.alarm.client.AlarmClient;
+import org.phoebus.applications.alarm.client.AlarmClientLeaf;
 import org.phoebus.applications.alarm.model.AlarmTreeItem;
 import org.phoebus.applications.alarm.model.SeverityLevel;
 import org.phoebus.applications.alarm.ui.AlarmContextMenuHelper;
@@ -94,6 +95,11 @@ public class AlarmTableUI extends BorderPane
     private final ObservableList<AlarmInfoRow> active_rows = FXCollections.observableArrayList(AlarmInfoRow.CHANGING_PROPERTIES);
     private final ObservableList<AlarmInfoRow> acknowledged_rows = FXCollections.observableArrayList(AlarmInfoRow.CHANGING_PROPERTIES);
 
+    // Changes are applied to the rows incrementally,
+    // so the SortedList only needs to re-position the affected rows
+    private final AlarmTableRows active_alarms = new AlarmTableRows(active_rows, AlarmSystem.alarm_table_max_rows);
+    private final AlarmTableRows acknowledged_alarms = new AlarmTableRows(acknowledged_rows, AlarmSystem.alarm_table_max_rows);
+
     private final SplitPane split;
 
     private final Label active_count = new Label("Active Alarms");
@@ -537,56 +543,61 @@ public class AlarmTableUI extends BorderPane
     public void update(final List<AlarmInfoRow> active,
                        final List<AlarmInfoRow> acknowledged)
     {
-        limitAlarmCount(active, active_count, "Active Alarms: ");
-        limitAlarmCount(acknowledged, acknowledged_count, "Acknowledged Alarms: ");
-        update(active_rows, active);
-        update(acknowledged_rows, acknowledged);
+        active_alarms.setAll(active);
+        acknowledged_alarms.setAll(acknowledged);
+        showAlarmCounts();
+        selectRows();
     }
 
-    /** Limit the number of alarms
-     *  @param alarms List of alarms, may be trimmed
-     *  @param alarm_count Label where count will be shown
-     *  @param message Message to use for the count
+    /** Update the alarm information that changed
+     *
+     *  @param active Alarms that are now active
+     *  @param acknowledged Alarms that are now acknowledged
+     *  @param removed Alarms that are no longer in either table
      */
-    private void limitAlarmCount(final List<AlarmInfoRow> alarms,
-                                 final Label alarm_count, final String message)
+    public void applyChanges(final List<AlarmInfoRow> active,
+                             final List<AlarmInfoRow> acknowledged,
+                             final List<AlarmClientLeaf> removed)
     {
-        final int N = alarms.size();
-        final StringBuilder buf = new StringBuilder();
-        buf.append(message).append(N);
-        if (N > AlarmSystem.alarm_table_max_rows)
+        for (AlarmInfoRow row : active)
         {
-            buf.append(" (").append(N - AlarmSystem.alarm_table_max_rows).append(" not shown)");
-            alarms.subList(AlarmSystem.alarm_table_max_rows, N).clear();
+            acknowledged_alarms.remove(row.item);
+            active_alarms.update(row);
         }
-        alarm_count.setText(buf.toString());
+        for (AlarmInfoRow row : acknowledged)
+        {
+            active_alarms.remove(row.item);
+            acknowledged_alarms.update(row);
+        }
+        for (AlarmClientLeaf item : removed)
+        {
+            active_alarms.remove(item);
+            acknowledged_alarms.remove(item);
+        }
+        showAlarmCounts();
+        selectRows();
     }
 
-    /** Update existing list of items with new input
-     *  @param items List to update
-     *  @param input New input
-     */
-    private void update(final ObservableList<AlarmInfoRow> items, final List<AlarmInfoRow> input)
+    private void showAlarmCounts()
     {
-        // Similar, but might trigger a full table redraw:
-        // items.setAll(input);
-
-        // Update content of common list entries
-        int N = Math.min(items.size(), input.size());
-        for (int i=0; i<N; ++i)
-            items.get(i).copy(input.get(i));
-
-        N = input.size();
-        if (N > items.size())
-        {
-            // Additional elements if input is larger that existing list
-            for (int i=items.size(); i<N; ++i)
-                items.add(input.get(i));
-        }
-        else // Trim items, input has fewer elements
-            items.remove(N, items.size());
+        showAlarmCount(active_alarms, active_count, "Active Alarms: ");
+        showAlarmCount(acknowledged_alarms, acknowledged_count, "Acknowledged Alarms: ");
+    }
 
-        selectRows();
+    /** Show the number of alarms
+     *  @param alarms Alarms
+     *  @param alarm_count Label where count will be shown
+     *  @param message Message to use for the count
+     */
+    private void showAlarmCount(final AlarmTableRows alarms,
+                                final Label alarm_count, final String message)
+    {
+        final StringBuilder buf = new StringBuilder();
+        buf.append(message).append(alarms.size());
+        final int hidden = alarms.getHiddenCount();
+        if (hidden > 0)
+            buf.append(" (").append(hidden).append(" not shown)");
+        alarm_count.setText(buf.toString());
     }
 
     /** Select all rows that match the current 'search' pattern */
@@ -9,6 +9,7 @@ package org.phoebus.applications.alarm.ui.tree;
 
 import static org.phoebus.applications.alarm.AlarmSystem.logger;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -26,6 +27,7 @@ import org.phoebus.applications.alarm.client.AlarmClientLeaf;
 import org.phoebus.applications.alarm.client.AlarmClientListener;
 import org.phoebus.applications.alarm.client.AlarmClientNode;
 import org.phoebus.applications.alarm.model.AlarmTreeItem;
+import org.phoebus.applications.alarm.model.AlarmTreePath;
 import org.phoebus.applications.alarm.model.BasicState;
 import org.phoebus.applications.alarm.ui.AlarmContextMenuHelper;
 import org.phoebus.applications.alarm.ui.AlarmUI;
@@ -82,7 +84,12 @@ public class AlarmTreeView extends BorderPane implements AlarmClientListener
 
     private final AlarmClient model;
 
-    /** Map from alarm tree path to view's TreeItem */
+    /** Map from alarm tree path to view's TreeItem
+     *
+     *  <p>Only contains the items that have been materialized,
+     *  i.e. the root and the children of branches that have been expanded.
+     *  Entries are added and removed on the UI thread.
+     */
     private final ConcurrentHashMap<String, TreeItem<AlarmTreeItem<?>>> path2view = new ConcurrentHashMap<>();
 
     /** Items to update, ordered by time of original update request
@@ -116,12 +123,34 @@ public class AlarmTreeView extends BorderPane implements AlarmClientListener
     //
     // The alarm tree, however, keeps changing, and needs to locate the TreeItem
     // for the changed AlarmTreeItem.
-    // Added code for checking if a TreeItem has been created, yet,
-    // can only make things slower,
-    // and the overall performance should not degrade when user opens more and more
-    // sections of the overall tree.
-    // --> Create the complete TreeItems ASAP and then keep updating to get
-    //     constant performance?
+    // Creating the complete TreeItems ASAP gives constant performance,
+    // but for configurations with 100k PVs that means a lot of memory
+    // and a UI thread that's busy adding items which are never shown.
+    // --> Create the TreeItems for the children of a branch when it's first expanded.
+    //     Changes to items that are not materialized, yet, update the nearest
+    //     ancestor that is, which shows the aggregated severity of the branch.
+
+    /** TreeItem that creates its child items when first expanded */
+    private static class ViewItem extends TreeItem<AlarmTreeItem<?>>
+    {
+        /** Have child items been created?
+         *
+         *  <p>Set on UI thread, read by model thread in itemAdded()
+         */
+        volatile boolean materialized = false;
+
+        ViewItem(final AlarmTreeItem<?> model_item)
+        {
+            super(model_item);
+        }
+
+        @Override
+        public boolean isLeaf()
+        {
+            // Branch may have children in the model that are not materialized, yet
+            return getValue().getChildren().isEmpty();
+        }
+    }
 
     /** @param model Model to represent. Must <u>not</u> be running, yet */
     public AlarmTreeView(final AlarmClient model)
@@ -141,7 +170,12 @@ public class AlarmTreeView extends BorderPane implements AlarmClientListener
         setTop(createToolbar());
         setCenter(tree_view);
 
-        tree_view.setRoot(createViewItem(model.getRoot()));
+        // Expanding any item in the tree bubbles up to the root
+        final ViewItem root = createViewItem(model.getRoot());
+        root.addEventHandler(TreeItem.<AlarmTreeItem<?>>branchExpandedEvent(),
+                             event -> materializeChildren((ViewItem) event.getTreeItem()));
+        tree_view.setRoot(root);
+        root.setExpanded(true);
 
         model.addListener(this);
 
@@ -184,25 +218,46 @@ public class AlarmTreeView extends BorderPane implements AlarmClientListener
         final boolean expand = node.getValue().getState().severity.isActive() ||
                                node == tree_view.getRoot();
         node.setExpanded(expand);
+        // Expanding materializes the child items,
+        // branches that were never expanded have no child items to check
         for (TreeItem<AlarmTreeItem<?>> sub : node.getChildren())
             expandAlarms(sub);
     }
 
-    private TreeItem<AlarmTreeItem<?>> createViewItem(final AlarmTreeItem<?> model_item)
+    /** @param model_item Model item
+     *  @return View item for the model item, without child items
+     */
+    private ViewItem createViewItem(final AlarmTreeItem<?> model_item)
     {
-        // Create view item for model item itself
-        final TreeItem<AlarmTreeItem<?>> view_item = new TreeItem<>(model_item);
+        final ViewItem view_item = new ViewItem(model_item);
         final TreeItem<AlarmTreeItem<?>> previous = path2view.put(model_item.getPathName(), view_item);
         if (previous != null)
             throw new IllegalStateException("Found existing view item for " + model_item.getPathName());
-
-        // Create view items for model item's children
-        for (final AlarmTreeItem<?> model_child : model_item.getChildren())
-            view_item.getChildren().add(createViewItem(model_child));
-
         return view_item;
     }
 
+    /** Create the child items of a view item, unless that has already been done
+     *
+     *  <p>Must be called on UI thread
+     *
+     *  @param view_item View item that's being expanded
+     */
+    private void materializeChildren(final ViewItem view_item)
+    {
+        if (view_item.materialized)
+            return;
+        // Set flag before reading the model's children:
+        // A child added from now on will be created by itemAdded(),
+        // one added before is already in the model's list of children
+        view_item.materialized = true;
+
+        final List<TreeItem<AlarmTreeItem<?>>> items = new ArrayList<>();
+        for (final AlarmTreeItem<?> model_child : view_item.getValue().getChildren())
+            items.add(createViewItem(model_child));
+        // Model children are sorted, add them in one call
+        view_item.getChildren().addAll(items);
+    }
+
     /** Called when an item is added/removed to tell user
      *  that there are changes to the tree structure,
      *  may not make sense to interact with the tree right now.
@@ -258,32 +313,37 @@ public class AlarmTreeView extends BorderPane implements AlarmClientListener
     {
         // System.out.println("Add " + item.getPathName());
 
-        // Parent must already exist
         final AlarmTreeItem<BasicState> model_parent = item.getParent();
         final TreeItem<AlarmTreeItem<?>> view_parent = path2view.get(model_parent.getPathName());
 
-        if (view_parent == null)
+        // Is parent shown with its children?
+        if (! (view_parent instanceof ViewItem  &&  ((ViewItem) view_parent).materialized))
         {
-        	dumpTree(tree_view.getRoot());
-            throw new IllegalStateException("Missing parent view item for " + item.getPathName());
+            // Item will be created when parent is expanded.
+            // Nearest shown ancestor may now need to show an expandable branch.
+            refresh(model_parent.getPathName());
+            return;
         }
-        // Create view item ASAP so that following updates will find it..
-        final TreeItem<AlarmTreeItem<?>> view_item = createViewItem(item);
 
-        // .. but defer showing it on screen to UI thread
+        // Create item and show it on the UI thread
         final CountDownLatch done = new CountDownLatch(1);
         Platform.runLater(() ->
         {
             indicateChange();
-            // Keep sorted by inserting at appropriate index
-            final List<TreeItem<AlarmTreeItem<?>>> items = view_parent.getChildren();
-            final int index = Collections.binarySearch(items, view_item,
-                                                       (a, b) -> CompareNatural.compareTo(a.getValue().getName(),
-                                                                                          b.getValue().getName()));
-            if (index < 0)
-                items.add(-index-1, view_item);
-            else
-                items.add(index, view_item);
+            // Parent may already have materialized the new item
+            if (! path2view.containsKey(item.getPathName()))
+            {
+                final TreeItem<AlarmTreeItem<?>> view_item = createViewItem(item);
+                // Keep sorted by inserting at appropriate index
+                final List<TreeItem<AlarmTreeItem<?>>> items = view_parent.getChildren();
+                final int index = Collections.binarySearch(items, view_item,
+                                                           (a, b) -> CompareNatural.compareTo(a.getValue().getName(),
+                                                                                              b.getValue().getName()));
+                if (index < 0)
+                    items.add(-index-1, view_item);
+                else
+                    items.add(index, view_item);
+            }
             done.countDown();
         });
         updateStats();
@@ -308,23 +368,26 @@ public class AlarmTreeView extends BorderPane implements AlarmClientListener
     {
         // System.out.println("Removed " + item.getPathName());
 
-        // Remove item and all sub-items from model2ui
-        final TreeItem<AlarmTreeItem<?>> view_item = removeViewItems(item);
-        if (view_item == null)
-            throw new IllegalStateException("No view item for " + item.getPathName());
-
-        // Remove the corresponding view
+        // Remove the corresponding view.
+        // Can only locate the view item on UI thread,
+        // because it might just be materialized by an expanding parent.
         final CountDownLatch done = new CountDownLatch(1);
         Platform.runLater(() ->
         {
             indicateChange();
-            // Can only locate the parent view item on UI thread,
-            // because item might just have been created by itemAdded() event
-            // and won't be on the screen until UI thread runs.
-            final TreeItem<AlarmTreeItem<?>> view_parent = view_item.getParent();
-            if (view_parent == null)
-                throw new IllegalStateException("No parent in view for " + item.getPathName());
-            view_parent.getChildren().remove(view_item);
+            final TreeItem<AlarmTreeItem<?>> view_item = path2view.get(item.getPathName());
+            if (view_item == null)
+                // Item was never shown, but parent may no longer be an expandable branch
+                refresh(item.getPathName());
+            else
+            {
+                // Remove item and all sub-items from path2view
+                removeViewItems(view_item);
+                final TreeItem<AlarmTreeItem<?>> view_parent = view_item.getParent();
+                if (view_parent == null)
+                    throw new IllegalStateException("No parent in view for " + item.getPathName());
+                view_parent.getChildren().remove(view_item);
+            }
             done.countDown();
         });
         updateStats();
@@ -343,17 +406,13 @@ public class AlarmTreeView extends BorderPane implements AlarmClientListener
         }
     }
 
-    /** @param item Item for which the TreeItem should be removed from path2view. Recurses to all child entries.
-     *  @return TreeItem for 'item'
-     */
-    private TreeItem<AlarmTreeItem<?>> removeViewItems(final AlarmTreeItem<?> item)
+    /** @param view_item Item which should be removed from path2view. Recurses to all materialized child entries. */
+    private void removeViewItems(final TreeItem<AlarmTreeItem<?>> view_item)
     {
-        final TreeItem<AlarmTreeItem<?>> view_item = path2view.remove(item.getPathName());
+        path2view.remove(view_item.getValue().getPathName(), view_item);
 
-        for (final AlarmTreeItem<?> child : item.getChildren())
+        for (final TreeItem<AlarmTreeItem<?>> child : view_item.getChildren())
             removeViewItems(child);
-
-        return view_item;
     }
 
     // AlarmClientModelListener
@@ -361,12 +420,28 @@ public class AlarmTreeView extends BorderPane implements AlarmClientListener
     public void itemUpdated(final AlarmTreeItem<?> item)
     {
         // System.out.println("Updated " + item.getPathName());
-        final TreeItem<AlarmTreeItem<?>> view_item = path2view.get(item.getPathName());
+        refresh(item.getPathName());
+        updateStats();
+    }
+
+    /** Schedule refresh of the view item for a path
+     *
+     *  <p>If the item is inside a branch that has not been expanded,
+     *  the nearest materialized ancestor is refreshed
+     *  to show the aggregated severity of the branch.
+     *
+     *  @param path Path of the alarm tree item
+     */
+    private void refresh(final String path)
+    {
+        TreeItem<AlarmTreeItem<?>> view_item = path2view.get(path);
         if (view_item == null)
         {
-            System.out.println("Unknown view for " + item.getPathName());
-            path2view.keySet().stream().forEach(System.out::println);
-            throw new IllegalStateException("No view item for " + item.getPathName());
+            final String[] elements = AlarmTreePath.splitPath(path);
+            for (int length = elements.length-1;  view_item == null  &&  length > 0;  --length)
+                view_item = path2view.get(AlarmTreePath.makePath(elements, length));
+            if (view_item == null)
+                return;
         }
 
         // UI update of existing item, i.e.
@@ -379,7 +454,6 @@ public class AlarmTreeView extends BorderPane implements AlarmClientListener
             items_to_update.add(view_item);
         }
         throttle.trigger();
-        updateStats();
     }
 
     /** Called by throttle to perform accumulated updates */
@@ -510,15 +584,4 @@ public class AlarmTreeView extends BorderPane implements AlarmClientListener
 //        else
 //            update_count.incrementAndGet();
     }
-
-    private void dumpTree(TreeItem<AlarmTreeItem<?>> item)
-    {
-    	final ObservableList<TreeItem<AlarmTreeItem<?>>> children = item.getChildren();
-    	System.out.printf("item: %s , has %d children.\n", item.getValue().getName(), children.size());
-    	for (final TreeItem<AlarmTreeItem<?>> child : children)
-    	{
-    		System.out.println(child.getValue().getName());
-    		dumpTree(child);
-    	}
-    }
 }
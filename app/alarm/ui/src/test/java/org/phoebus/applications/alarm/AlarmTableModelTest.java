@@ -12,6 +12,7 @@ import static org.hamcrest.CoreMatchers.hasItems;
 import static org.junit.Assert.assertThat;
 
 import java.time.Instant;
+import java.util.List;
 
 import org.junit.Test;
 import org.phoebus.applications.alarm.client.AlarmClientLeaf;
@@ -81,4 +82,40 @@ public class AlarmTableModelTest
         assertThat(model.getActiveAlarms().size(), equalTo(0));
         assertThat(model.getAcknowledgedAlarms().size(), equalTo(0));
     }
+
+    @Test
+    public void testChanges() throws Exception
+    {
+        final AlarmTableModel model = new AlarmTableModel();
+        final AlarmClientNode root = new AlarmClientNode(null, "Test");
+        final AlarmClientLeaf pv1 = new AlarmClientLeaf(root, "pv1");
+        final AlarmClientLeaf pv2 = new AlarmClientLeaf(root, "pv2");
+
+        assertThat(model.takeChanges().size(), equalTo(0));
+
+        pv1.setState(new ClientState(SeverityLevel.MAJOR, "High", "10.0", Instant.now(), SeverityLevel.MAJOR, "High"));
+        pv2.setState(new ClientState(SeverityLevel.MINOR_ACK, "Low", "8.0", Instant.now(), SeverityLevel.MINOR, "Low"));
+        model.handleUpdate(pv1);
+        model.handleUpdate(pv2);
+        List<AlarmClientLeaf> changes = model.takeChanges();
+        assertThat(changes.size(), equalTo(2));
+        assertThat(changes, hasItems(pv1, pv2));
+        assertThat(model.isActive(pv1), equalTo(true));
+        assertThat(model.isAcknowledged(pv2), equalTo(true));
+
+        // Changes are only reported once
+        assertThat(model.takeChanges().size(), equalTo(0));
+
+        // Only the PV that changed is reported
+        pv1.setState(new ClientState(SeverityLevel.OK, "ok", "5.0", Instant.now(), SeverityLevel.OK, ""));
+        model.handleUpdate(pv1);
+        model.handleUpdate(pv2);
+        changes = model.takeChanges();
+        assertThat(changes, equalTo(List.of(pv1)));
+        assertThat(model.isActive(pv1), equalTo(false));
+        assertThat(model.isAcknowledged(pv1), equalTo(false));
+
+        model.remove(pv2);
+        assertThat(model.takeChanges(), equalTo(List.of(pv2)));
+    }
 }
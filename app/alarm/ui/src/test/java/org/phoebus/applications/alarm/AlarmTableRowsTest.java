@@ -0,0 +1,83 @@
+package org.phoebus.applications.alarm;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.hasItems;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.Test;
+import org.phoebus.applications.alarm.client.AlarmClientLeaf;
+import org.phoebus.applications.alarm.client.AlarmClientNode;
+import org.phoebus.applications.alarm.client.ClientState;
+import org.phoebus.applications.alarm.model.SeverityLevel;
+import org.phoebus.applications.alarm.ui.table.AlarmInfoRow;
+import org.phoebus.applications.alarm.ui.table.AlarmTableRows;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+/** JUnit test of the {@link AlarmTableRows}
+ */
+@SuppressWarnings("nls")
+public class AlarmTableRowsTest
+{
+    private static AlarmClientLeaf createPV(final AlarmClientNode parent, final String name, final SeverityLevel severity)
+    {
+        final AlarmClientLeaf pv = new AlarmClientLeaf(parent, name);
+        pv.setState(new ClientState(severity, "Test", "1.0", Instant.now(), severity, "Test"));
+        return pv;
+    }
+
+    @Test
+    public void testRows() throws Exception
+    {
+        final AlarmClientNode root = new AlarmClientNode(null, "Test");
+        final AlarmClientLeaf pv1 = createPV(root, "pv1", SeverityLevel.MINOR);
+        final AlarmClientLeaf pv2 = createPV(root, "pv2", SeverityLevel.MINOR);
+        final AlarmClientLeaf pv3 = createPV(root, "pv3", SeverityLevel.MINOR);
+
+        final ObservableList<AlarmInfoRow> list = FXCollections.observableArrayList(AlarmInfoRow.CHANGING_PROPERTIES);
+        final AlarmTableRows rows = new AlarmTableRows(list, 2);
+
+        rows.update(new AlarmInfoRow(pv1));
+        rows.update(new AlarmInfoRow(pv2));
+        // Third alarm is held back
+        rows.update(new AlarmInfoRow(pv3));
+        assertThat(rows.size(), equalTo(3));
+        assertThat(rows.getHiddenCount(), equalTo(1));
+        assertThat(list.size(), equalTo(2));
+
+        // Existing row is updated in place
+        final AlarmInfoRow row1 = list.get(0);
+        pv1.setState(new ClientState(SeverityLevel.MAJOR, "Worse", "2.0", Instant.now(), SeverityLevel.MAJOR, "Worse"));
+        rows.update(new AlarmInfoRow(pv1));
+        assertThat(list.get(0), equalTo(row1));
+        assertThat(row1.severity.get(), equalTo(SeverityLevel.MAJOR));
+        assertThat(list.size(), equalTo(2));
+
+        // Removing a row shows the held back one
+        rows.remove(pv1);
+        assertThat(rows.size(), equalTo(2));
+        assertThat(rows.getHiddenCount(), equalTo(0));
+        assertThat(list.size(), equalTo(2));
+        assertThat(list, not(hasItems(row1)));
+        assertThat(list.get(0).item, equalTo(pv2));
+        assertThat(list.get(1).item, equalTo(pv3));
+
+        // Removing unknown alarm is ignored
+        rows.remove(pv1);
+        assertThat(rows.size(), equalTo(2));
+
+        rows.remove(pv2);
+        rows.update(new AlarmInfoRow(pv3));
+        assertThat(list.size(), equalTo(1));
+        assertThat(list.get(0).item, equalTo(pv3));
+
+        rows.setAll(List.of(new AlarmInfoRow(pv1), new AlarmInfoRow(pv2), new AlarmInfoRow(pv3)));
+        assertThat(list.size(), equalTo(2));
+        assertThat(rows.getHiddenCount(), equalTo(1));
+    }
+}
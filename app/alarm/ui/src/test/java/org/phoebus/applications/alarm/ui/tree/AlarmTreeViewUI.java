@@ -0,0 +1,200 @@
+package org.phoebus.applications.alarm.ui.tree;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Test;
+import org.phoebus.applications.alarm.client.AlarmClient;
+import org.phoebus.applications.alarm.client.AlarmClientLeaf;
+import org.phoebus.applications.alarm.client.AlarmClientNode;
+import org.phoebus.applications.alarm.client.ClientState;
+import org.phoebus.applications.alarm.model.AlarmTreeItem;
+import org.phoebus.applications.alarm.model.SeverityLevel;
+import org.testfx.framework.junit.ApplicationTest;
+
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.control.TreeItem;
+import javafx.scene.control.TreeView;
+import javafx.stage.Stage;
+
+/** Test of the {@link AlarmTreeView} creating tree items when branches are expanded
+ *
+ *  <p>Acts as the alarm client model thread by calling the view's
+ *  listener methods from the test thread, without connecting to Kafka.
+ */
+@SuppressWarnings("nls")
+public class AlarmTreeViewUI extends ApplicationTest
+{
+    /** Skip test when java.awt.headless=true */
+    private final boolean skip = Boolean.parseBoolean(System.getProperty("java.awt.headless"));
+
+    private AlarmClient model;
+    private AlarmClientNode area1, sub, area2;
+    private AlarmClientLeaf pv3;
+    private AlarmTreeView view;
+
+    @Override
+    public void start(final Stage stage)
+    {
+        if (skip)
+            return;
+        // Model must not be started, its configuration is created right here
+        model = new AlarmClient("localhost:9092", "Test");
+        area1 = new AlarmClientNode(model.getRoot(), "Area1");
+        new AlarmClientLeaf(area1, "PV1");
+        sub = new AlarmClientNode(area1, "Sub");
+        new AlarmClientLeaf(sub, "PV2");
+        area2 = new AlarmClientNode(model.getRoot(), "Area2");
+        pv3 = new AlarmClientLeaf(area2, "PV3");
+
+        view = new AlarmTreeView(model);
+        stage.setScene(new Scene(view, 400, 600));
+        stage.show();
+    }
+
+    @After
+    public void shutdown()
+    {
+        if (model != null)
+            model.shutdown();
+    }
+
+    @SuppressWarnings("unchecked")
+    private TreeView<AlarmTreeItem<?>> getTreeView()
+    {
+        return (TreeView<AlarmTreeItem<?>>) view.getCenter();
+    }
+
+    /** @param path Names of the items to locate, starting below the root
+     *  @return View item
+     */
+    private TreeItem<AlarmTreeItem<?>> getViewItem(final String... path)
+    {
+        TreeItem<AlarmTreeItem<?>> item = getTreeView().getRoot();
+        for (String name : path)
+            item = item.getChildren()
+                       .stream()
+                       .filter(child -> child.getValue().getName().equals(name))
+                       .findFirst()
+                       .orElseThrow(() -> new AssertionError("No view item for " + name));
+        return item;
+    }
+
+    /** @param item View item
+     *  @return Names of the item's current child items
+     */
+    private static List<String> getChildNames(final TreeItem<AlarmTreeItem<?>> item)
+    {
+        return item.getChildren()
+                   .stream()
+                   .map(child -> child.getValue().getName())
+                   .collect(Collectors.toList());
+    }
+
+    /** @param item View item to expand or collapse on the UI thread
+     *  @param expand Expand?
+     */
+    private static void setExpanded(final TreeItem<AlarmTreeItem<?>> item, final boolean expand) throws Exception
+    {
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+        Platform.runLater(() ->
+        {
+            item.setExpanded(expand);
+            done.complete(null);
+        });
+        done.get();
+    }
+
+    @Test
+    public void testCreateOnExpand() throws Exception
+    {
+        if (skip)
+            return;
+
+        // Only the items below the root are created
+        assertThat(getChildNames(getTreeView().getRoot()), equalTo(List.of("Area1", "Area2")));
+        final TreeItem<AlarmTreeItem<?>> area1_item = getViewItem("Area1");
+        assertThat(area1_item.getChildren().isEmpty(), equalTo(true));
+        // .. but branches that have not been expanded are still shown as branches
+        assertThat(area1_item.isLeaf(), equalTo(false));
+
+        // Expanding a branch creates its child items, but not those of sub-branches
+        setExpanded(area1_item, true);
+        assertThat(getChildNames(area1_item), equalTo(List.of("PV1", "Sub")));
+        final TreeItem<AlarmTreeItem<?>> sub_item = getViewItem("Area1", "Sub");
+        assertThat(sub_item.getChildren().isEmpty(), equalTo(true));
+        assertThat(sub_item.isLeaf(), equalTo(false));
+        assertThat(getViewItem("Area1", "PV1").isLeaf(), equalTo(true));
+
+        setExpanded(sub_item, true);
+        assertThat(getChildNames(sub_item), equalTo(List.of("PV2")));
+
+        // Collapsing and expanding again keeps the existing items
+        final TreeItem<AlarmTreeItem<?>> pv1_item = getViewItem("Area1", "PV1");
+        setExpanded(area1_item, false);
+        setExpanded(area1_item, true);
+        assertThat(getViewItem("Area1", "PV1"), sameInstance(pv1_item));
+        assertThat(getViewItem("Area1", "Sub"), sameInstance(sub_item));
+        assertThat(sub_item.isExpanded(), equalTo(true));
+        assertThat(getChildNames(sub_item), equalTo(List.of("PV2")));
+    }
+
+    @Test
+    public void testChangesToCollapsedBranch() throws Exception
+    {
+        if (skip)
+            return;
+
+        final TreeItem<AlarmTreeItem<?>> area2_item = getViewItem("Area2");
+        assertThat(area2_item.getChildren().isEmpty(), equalTo(true));
+
+        // Changes to the collapsed branch don't create view items..
+        final AlarmClientLeaf pv4 = new AlarmClientLeaf(area2, "PV4");
+        view.itemAdded(pv4);
+        final AlarmClientLeaf pv5 = new AlarmClientLeaf(area2, "PV5");
+        view.itemAdded(pv5);
+        pv3.setState(new ClientState(SeverityLevel.MAJOR, "High", "10.0", Instant.now(), SeverityLevel.MAJOR, "High"));
+        view.itemUpdated(pv3);
+        pv5.detachFromParent();
+        view.itemRemoved(pv5);
+        assertThat(area2_item.getChildren().isEmpty(), equalTo(true));
+
+        // .. but are all shown once the branch is expanded
+        setExpanded(area2_item, true);
+        assertThat(getChildNames(area2_item), equalTo(List.of("PV3", "PV4")));
+        final AlarmTreeItem<?> pv3_shown = getViewItem("Area2", "PV3").getValue();
+        assertThat(pv3_shown, sameInstance(pv3));
+        assertThat(((AlarmClientLeaf) pv3_shown).getState().getSeverity(), equalTo(SeverityLevel.MAJOR));
+
+        // Changes to the expanded branch are applied right away
+        final AlarmClientLeaf pv0 = new AlarmClientLeaf(area2, "PV0");
+        view.itemAdded(pv0);
+        assertThat(getChildNames(area2_item), equalTo(List.of("PV0", "PV3", "PV4")));
+        pv4.detachFromParent();
+        view.itemRemoved(pv4);
+        assertThat(getChildNames(area2_item), equalTo(List.of("PV0", "PV3")));
+
+        // Items added to a sub-branch that has not been expanded
+        // show up when that sub-branch is expanded
+        final AlarmClientNode sub2 = new AlarmClientNode(sub, "Sub2");
+        view.itemAdded(sub2);
+        final AlarmClientLeaf pv6 = new AlarmClientLeaf(sub2, "PV6");
+        view.itemAdded(pv6);
+        final TreeItem<AlarmTreeItem<?>> area1_item = getViewItem("Area1");
+        setExpanded(area1_item, true);
+        final TreeItem<AlarmTreeItem<?>> sub_item = getViewItem("Area1", "Sub");
+        setExpanded(sub_item, true);
+        assertThat(getChildNames(sub_item), equalTo(List.of("PV2", "Sub2")));
+        final TreeItem<AlarmTreeItem<?>> sub2_item = getViewItem("Area1", "Sub", "Sub2");
+        setExpanded(sub2_item, true);
+        assertThat(getChildNames(sub2_item), equalTo(List.of("PV6")));
+    }
+}
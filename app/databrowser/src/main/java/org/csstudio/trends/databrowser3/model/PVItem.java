@@ -110,7 +110,11 @@ public class PVItem extends ModelItem
         if (index < 0)
             index = 0;
         if (waveform_index.getAndSet(index) != index)
+        {
+            // Samples now return values of a different array element
+            samples.samplesChanged();
             fireItemDataConfigChanged();
+        }
     }
 
     /** Set new item name, which changes the underlying PV name
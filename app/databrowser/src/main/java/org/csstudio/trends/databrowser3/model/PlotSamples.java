@@ -13,6 +13,7 @@ import java.time.Instant;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.logging.Level;
@@ -35,6 +36,11 @@ abstract public class PlotSamples implements PlotDataProvider<Instant>
      */
     final protected AtomicBoolean have_new_samples = new AtomicBoolean();
 
+    /** Incremented by each write access
+     *  @see #getChangeCount()
+     */
+    private final AtomicLong changes = new AtomicLong();
+
     /** Lock for writing */
     public boolean lockForWriting()
     {
@@ -54,10 +60,21 @@ abstract public class PlotSamples implements PlotDataProvider<Instant>
     /** Un-lock after writing */
     public void unlockForWriting()
     {
+        changes.incrementAndGet();
         lock.writeLock().unlock();
         have_new_samples.set(true);
     }
 
+    /** Indicate that the values of the samples changed
+     *  without a write access, for example because
+     *  they now represent a different waveform element
+     */
+    public void samplesChanged()
+    {
+        changes.incrementAndGet();
+        have_new_samples.set(true);
+    }
+
     /** {@inheritDoc} */
     @Override
     public Lock getLock()
@@ -73,6 +90,13 @@ abstract public class PlotSamples implements PlotDataProvider<Instant>
     @Override
     abstract public PlotSample get(int index);
 
+    /** {@inheritDoc} */
+    @Override
+    public long getChangeCount()
+    {
+        return changes.get();
+    }
+
     /** Test if samples changed since the last time
      *  <code>testAndClearNewSamplesFlag</code> was called.
      *  @return <code>true</code> if there were new samples
@@ -7,8 +7,6 @@
  ******************************************************************************/
 package org.phoebus.archive.reader.rdb;
 
-import java.io.ByteArrayInputStream;
-import java.io.DataInputStream;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -17,6 +15,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.epics.util.array.ArrayDouble;
+import org.epics.util.array.CollectionNumbers;
+import org.epics.util.array.ListNumber;
 import org.epics.util.stats.Range;
 import org.epics.util.text.NumberFormats;
 import org.epics.vtype.Alarm;
@@ -28,9 +28,11 @@ import org.epics.vtype.Time;
 import org.epics.vtype.VDouble;
 import org.epics.vtype.VDoubleArray;
 import org.epics.vtype.VEnum;
+import org.epics.vtype.VNumberArray;
 import org.epics.vtype.VString;
 import org.epics.vtype.VType;
 import org.phoebus.archive.reader.ValueIterator;
+import org.phoebus.framework.rdb.ArrayBlob;
 import org.phoebus.framework.rdb.RDBInfo.Dialect;
 import org.phoebus.pv.TimeHelper;
 
@@ -201,9 +203,15 @@ abstract class AbstractRDBValueIterator implements ValueIterator
             // Double data.
             if (handle_array)
             {   // Get array elements - if any.
-                final double data[] = RDBPreferences.use_array_blob
-                    ? readBlobArrayElements(dbl0, result)
-                    : readArrayElements(time, dbl0, severity);
+                if (RDBPreferences.use_array_blob)
+                {
+                    final ListNumber data = readBlobArrayElements(dbl0, result);
+                    if (data.size() == 1)
+                        return VDouble.of(data.getDouble(0), alarm, time, display);
+                    else
+                        return VNumberArray.of(data, alarm, time, display);
+                }
+                final double data[] = readArrayElements(time, dbl0, severity);
                 if (data.length == 1)
                     return VDouble.of(data[0], alarm, time, display);
                 else
@@ -306,10 +314,10 @@ abstract class AbstractRDBValueIterator implements ValueIterator
     /** See if there are array elements.
      *  @param dbl0 Value of the first (maybe only) array element
      *  @param result ResultSet for the sample table with blob
-     *  @return Array with given element and maybe more.
+     *  @return Array with given element and maybe more, using the element type of the blob.
      *  @throws Exception on error, including 'cancel'
      */
-    private double[] readBlobArrayElements(final double dbl0, final ResultSet result) throws Exception
+    private ListNumber readBlobArrayElements(final double dbl0, final ResultSet result) throws Exception
     {
         final String datatype;
         if (reader.getPool().getDialect() == Dialect.Oracle)
@@ -319,26 +327,28 @@ abstract class AbstractRDBValueIterator implements ValueIterator
 
         // ' ' or NULL indicate: Scalar, not an array
         if (datatype == null || " ".equals(datatype) || result.wasNull())
-            return new double [] { dbl0 };
+            return ArrayDouble.of(dbl0);
 
         // Decode BLOB
         final byte[] bytes = result.getBytes(reader.getPool().getDialect() == Dialect.Oracle ? 8 : 9);
-        final ByteArrayInputStream stream = new ByteArrayInputStream(bytes);
-        final DataInputStream data = new DataInputStream(stream);
-        if ("d".equals(datatype))
-        {    // Read Double typed array elements
-            final int nelm = data.readInt();
-            final double[] array = new double[nelm];
-            for (int i = 0; i < nelm; i++)
-                array[i] = data.readDouble();
-            data.close();
-            return array;
-        }
-        // TODO Decode 'l' Long and 'i' Integer?
-        else
+        if (ArrayBlob.DOUBLE.equals(datatype))
+            return ArrayDouble.of(ArrayBlob.decodeDoubles(bytes));
+        if (ArrayBlob.VERSIONED.equals(datatype))
         {
-            throw new Exception("Sample BLOBs of type '" + datatype + "' are not decoded");
+            final Object array = ArrayBlob.decode(bytes);
+            if (array instanceof byte[])
+                return CollectionNumbers.toList((byte[]) array);
+            if (array instanceof short[])
+                return CollectionNumbers.toList((short[]) array);
+            if (array instanceof int[])
+                return CollectionNumbers.toList((int[]) array);
+            if (array instanceof long[])
+                return CollectionNumbers.toList((long[]) array);
+            if (array instanceof float[])
+                return CollectionNumbers.toList((float[]) array);
+            return ArrayDouble.of((double[]) array);
         }
+        throw new Exception("Sample BLOBs of type '" + datatype + "' are not decoded");
     }
 
 
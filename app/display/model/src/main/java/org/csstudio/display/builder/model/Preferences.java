@@ -31,11 +31,13 @@ public class Preferences
     public static final String MACROS = "macros";
     public static final String MAX_REPARSE_ITERATIONS = "max_reparse_iterations";
     public static final String SKIP_DEFAULTS = "skip_defaults";
+    public static final String STREAM_READER = "stream_reader";
+    public static final String TEMPLATE_CACHE_SIZE = "template_cache_size";
 
     public static String[] class_files, color_files, font_files;
-    public static int read_timeout, cache_timeout, max_reparse;
+    public static int read_timeout, cache_timeout, max_reparse, template_cache_size;
     public static double legacy_font_calibration;
-    public static boolean skip_defaults;
+    public static boolean skip_defaults, stream_reader;
     private static Macros macros;
 
     static
@@ -47,9 +49,11 @@ public class Preferences
         font_files = getFiles(prefs, FONT_FILES);
         read_timeout = prefs.getInt(READ_TIMEOUT);
         cache_timeout = prefs.getInt(CACHE_TIMEOUT);
+        template_cache_size = prefs.getInt(TEMPLATE_CACHE_SIZE);
         max_reparse = prefs.getInt(MAX_REPARSE_ITERATIONS);
         legacy_font_calibration = prefs.getDouble(LEGACY_FONT_CALIBRATION);
         skip_defaults = prefs.getBoolean(SKIP_DEFAULTS);
+        stream_reader = prefs.getBoolean(STREAM_READER);
         try
         {
             macros = MacroXMLUtil.readMacros(prefs.get(MACROS));
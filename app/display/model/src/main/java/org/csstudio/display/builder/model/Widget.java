@@ -122,6 +122,13 @@ public class Widget
      */
     public static final String USER_DATA_SCRIPT_SUPPORT = "_script_support";
 
+    /** Reserved widget user data key for storing rule statistics.
+     *
+     *  <p>Like the script support, statistics are attached
+     *  to the top-level {@link DisplayModel}.
+     */
+    public static final String USER_DATA_RULE_STATISTICS = "_rule_statistics";
+
     /** Parent widget */
     private volatile Widget parent = null;
 
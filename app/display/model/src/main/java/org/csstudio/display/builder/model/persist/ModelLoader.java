@@ -13,7 +13,11 @@ import java.io.InputStream;
 import java.util.ServiceLoader;
 import java.util.logging.Level;
 
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamReader;
+
 import org.csstudio.display.builder.model.DisplayModel;
+import org.csstudio.display.builder.model.Preferences;
 import org.csstudio.display.builder.model.WidgetClassSupport;
 import org.csstudio.display.builder.model.spi.DisplayAutoConverter;
 import org.csstudio.display.builder.model.util.ModelResourceUtil;
@@ -67,6 +71,9 @@ public class ModelLoader
     }
 
     /** Load model, with classes applied (except for *.bcf itself)
+     *
+     *  <p>Uses cached template of the display file,
+     *  unless configured to stream the file.
      *
      *  @param display_file Model file
      *  @return {@link DisplayModel}
@@ -74,7 +81,9 @@ public class ModelLoader
      */
     public static DisplayModel loadModel(final String display_file) throws Exception
     {
-        return loadModel(ModelResourceUtil.openResourceStream(display_file), display_file);
+        if (Preferences.stream_reader)
+            return loadModel(ModelResourceUtil.openResourceStream(display_file), display_file);
+        return loadModel(new ModelReader(ModelTemplateCache.getDisplayXML(display_file), display_file), display_file);
     }
 
 
@@ -87,7 +96,23 @@ public class ModelLoader
      */
     public static DisplayModel loadModel(final InputStream stream, final String display_file) throws Exception
     {
-        final ModelReader reader = new ModelReader(stream, display_file);
+        if (! Preferences.stream_reader)
+            return loadModel(new ModelReader(stream, display_file), display_file);
+
+        final XMLStreamReader xml = XMLInputFactory.newInstance().createXMLStreamReader(stream);
+        try
+        {
+            return loadModel(new ModelReader(xml, display_file), display_file);
+        }
+        finally
+        {
+            xml.close();
+            stream.close();
+        }
+    }
+
+    private static DisplayModel loadModel(final ModelReader reader, final String display_file) throws Exception
+    {
         final DisplayModel model = reader.readModel();
         model.setUserData(DisplayModel.USER_DATA_INPUT_FILE, display_file);
 
@@ -17,6 +17,11 @@ import java.util.List;
 import java.util.Set;
 import java.util.logging.Level;
 
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamReader;
+
 import org.csstudio.display.builder.model.ChildrenProperty;
 import org.csstudio.display.builder.model.DisplayModel;
 import org.csstudio.display.builder.model.Preferences;
@@ -28,6 +33,7 @@ import org.csstudio.display.builder.model.WidgetFactory;
 import org.csstudio.display.builder.model.WidgetFactory.WidgetTypeException;
 import org.csstudio.display.builder.model.widgets.PlaceholderWidget;
 import org.phoebus.framework.persistence.XMLUtil;
+import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
 /** Read model from XML.
@@ -69,6 +75,14 @@ import org.w3c.dom.Element;
  *  .. but widget can provide a custom WidgetConfigurator
  *  and handle legacy properties in a different way.
  *
+ *  Streaming
+ *  =========
+ *  For large displays, the DOM of the complete file can be several times
+ *  the size of the resulting model.
+ *  When created for an {@link XMLStreamReader}, the reader still
+ *  hands a DOM to the widget configurators, but only for one top-level
+ *  widget at a time, which is dropped once that widget has been created.
+ *
  *  @author Kay Kasemir
  */
 @SuppressWarnings("nls")
@@ -78,6 +92,10 @@ public class ModelReader
     private final Element root;
     private final Version version;
     private final String xml_file;
+    /** Stream for the widgets, <code>null</code> when reading from DOM */
+    private final XMLStreamReader stream;
+    /** Builder for the streamed XML, <code>null</code> when reading from DOM */
+    private final DocumentBuilder builder;
     private int widget_errors_during_parse;
 
     /** Parse display from XML
@@ -111,6 +129,49 @@ public class ModelReader
         root = XMLUtil.openXMLDocument(stream, XMLTags.DISPLAY);
         version = readVersion(root);
         this.xml_file = xml_file;
+        this.stream = null;
+        this.builder = null;
+    }
+
+    /** Create reader for already parsed XML.
+     *  @param root Root element of the display
+     *  @param xml_file Name of input file. Can be null if not applicable
+     *  @throws Exception on error
+     */
+    public ModelReader(final Element root, final String xml_file) throws Exception
+    {
+        this.root = root;
+        version = readVersion(root);
+        this.xml_file = xml_file;
+        this.stream = null;
+        this.builder = null;
+    }
+
+    /** Create reader that streams the display.
+     *
+     *  <p>{@link #getRoot()} only provides the display's own properties,
+     *  not its widgets.
+     *
+     *  @param stream XML stream, positioned before the root element.
+     *                Caller needs to close it after reading the model.
+     *  @param xml_file Name of input file. Can be null if not applicable
+     *  @throws Exception on error
+     */
+    public ModelReader(final XMLStreamReader stream, final String xml_file) throws Exception
+    {
+        if (stream.nextTag() != XMLStreamConstants.START_ELEMENT  ||
+            ! XMLTags.DISPLAY.equals(stream.getLocalName()))
+            throw new Exception("Wrong document type. Expected <" +
+                                XMLTags.DISPLAY + "> but found <" +
+                                stream.getLocalName() + ">");
+        builder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+        root = builder.newDocument().createElement(XMLTags.DISPLAY);
+        root.getOwnerDocument().appendChild(root);
+        for (int i=0; i<stream.getAttributeCount(); ++i)
+            root.setAttribute(stream.getAttributeLocalName(i), stream.getAttributeValue(i));
+        version = readVersion(root);
+        this.xml_file = xml_file;
+        this.stream = stream;
     }
 
     /** @return XML root element for custom access */
@@ -143,6 +204,9 @@ public class ModelReader
 
         model.setUserData(DisplayModel.USER_DATA_INPUT_VERSION, version);
 
+        if (stream != null)
+            return readStreamedModel(model);
+
         // Read display's own properties
         model.getConfigurator(version).configureFromXML(this, model, root);
         // Read widgets of model
@@ -153,6 +217,52 @@ public class ModelReader
         return model;
     }
 
+    /** Read model from stream
+     *  @param model Model to populate
+     *  @return Model
+     *  @throws Exception on error
+     */
+    private DisplayModel readStreamedModel(final DisplayModel model) throws Exception
+    {
+        // Display properties are usually followed by the widgets.
+        // Configure the display when reaching the first widget,
+        // and again in case properties follow the widgets.
+        boolean configured = false, reconfigure = false;
+        int errors = 0;
+        while (stream.nextTag() == XMLStreamConstants.START_ELEMENT)
+        {
+            if (XMLTags.WIDGET.equals(stream.getLocalName()))
+            {
+                if (! configured)
+                {
+                    model.getConfigurator(version).configureFromXML(this, model, root);
+                    configured = true;
+                }
+                // Read widget into its own document,
+                // with a parent that allows a ParseAgainException to rearrange the XML
+                final Document doc = builder.newDocument();
+                final Element parent = doc.createElement(XMLTags.DISPLAY);
+                doc.appendChild(parent);
+                parent.appendChild(XMLUtil.readElement(doc, stream));
+                readWidgets(model.runtimeChildren(), parent);
+                errors += widget_errors_during_parse;
+            }
+            else
+            {
+                root.appendChild(XMLUtil.readElement(root.getOwnerDocument(), stream));
+                reconfigure = configured;
+            }
+        }
+        if (! configured  ||  reconfigure)
+            model.getConfigurator(version).configureFromXML(this, model, root);
+
+        widget_errors_during_parse = errors;
+        if (widget_errors_during_parse > 0)
+            logger.log(Level.SEVERE, "There were " + widget_errors_during_parse + " error(s) during loading display from " + (xml_file != null ? xml_file : "stream"));
+        model.setReaderResult(this);
+        return model;
+    }
+
     final private Set<String> unknown_widget_type = new HashSet<>();
 
     /** Read all '&lt;widget>..' child entries
@@ -0,0 +1,157 @@
+package org.csstudio.display.builder.model.persist;
+
+import static org.csstudio.display.builder.model.ModelPlugin.logger;
+
+import java.io.File;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Level;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.csstudio.display.builder.model.Preferences;
+import org.csstudio.display.builder.model.util.ModelResourceUtil;
+import org.phoebus.framework.persistence.XMLUtil;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+/** Cache of parsed display files
+ *
+ *  <p>Displays that are embedded or opened many times
+ *  are parsed into a template once.
+ *  Each model is then read from a copy of the template,
+ *  so every instance is a separate model to which the
+ *  macros of its embedding widget or display apply.
+ *
+ *  <p>Templates of local files are re-parsed when the
+ *  file's modification time changes.
+ *  All templates expire after the 'cache_timeout',
+ *  and only the most recently used 'template_cache_size'
+ *  templates are kept.
+ *
+ *  <p>Copies keep the line numbers of the original XML
+ *  for error messages.
+ */
+@SuppressWarnings("nls")
+public class ModelTemplateCache
+{
+    /** Parsed display */
+    private static class Template
+    {
+        /** Root element, in its own document. SYNC on ModelTemplateCache.class */
+        final Element root;
+        /** Modification time of file, 0 if not known */
+        final long stamp;
+        /** Time when template expires */
+        final long expire_ms;
+
+        Template(final Element root, final long stamp, final long expire_ms)
+        {
+            this.root = root;
+            this.stamp = stamp;
+            this.expire_ms = expire_ms;
+        }
+    }
+
+    /** Templates by resolved display path, least recently used first. SYNC on templates */
+    private static final Map<String, Template> templates = new LinkedHashMap<>(16, 0.75f, true)
+    {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, Template> eldest)
+        {
+            return size() > Preferences.template_cache_size;
+        }
+    };
+
+    /** Creates the documents for templates and their copies. SYNC on ModelTemplateCache.class */
+    private static DocumentBuilder builder = null;
+
+    /** Get XML for a display
+     *
+     *  <p>Returns a copy of the cached template,
+     *  so caller may modify the returned XML.
+     *
+     *  @param display_file Resolved display path
+     *  @return Root element of the display
+     *  @throws Exception on error
+     */
+    public static Element getDisplayXML(final String display_file) throws Exception
+    {
+        final long stamp = getModificationTime(display_file);
+        final long now = System.currentTimeMillis();
+        final Template template;
+        synchronized (templates)
+        {
+            template = templates.get(display_file);
+        }
+        if (template != null  &&  template.stamp == stamp  &&  now < template.expire_ms)
+        {
+            logger.log(Level.FINE, "Using template for {0}", display_file);
+            return copy(template.root);
+        }
+
+        // Parse, keeping the positional information of the parsed document
+        // for messages from this first reader of the file
+        final Element root = XMLUtil.openXMLDocument(ModelResourceUtil.openResourceStream(display_file), XMLTags.DISPLAY);
+        final Template update = new Template(copy(root), stamp, now + Preferences.cache_timeout * 1000L);
+        synchronized (templates)
+        {
+            templates.put(display_file, update);
+        }
+        return root;
+    }
+
+    /** @param display_file Display path
+     *  @return Modification time of the file, 0 if not a local file
+     */
+    private static long getModificationTime(final String display_file)
+    {
+        try
+        {
+            File file = new File(display_file);
+            if (! file.isFile()  &&  display_file.startsWith("file:"))
+                file = ModelResourceUtil.getFile(new URI(display_file));
+            if (file != null  &&  file.isFile())
+                return file.lastModified();
+        }
+        catch (Exception ex)
+        {
+            // Not a file
+        }
+        return 0;
+    }
+
+    /** DOM is not thread-safe, not even for reading,
+     *  so templates are copied one at a time
+     *  into their own document.
+     *
+     *  <p>Line numbers are kept by the user data handler
+     *  that the XML reader registers for each element.
+     *
+     *  @param root Root element
+     *  @return Copy of the element in a new document
+     *  @throws Exception on error
+     */
+    private static synchronized Element copy(final Element root) throws Exception
+    {
+        if (builder == null)
+            builder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+        final Document doc = builder.newDocument();
+        final Element copy = (Element) doc.importNode(root, true);
+        doc.appendChild(copy);
+        return copy;
+    }
+
+    /** Clear cached templates, forcing displays to be parsed again */
+    public static void clear()
+    {
+        synchronized (templates)
+        {
+            templates.clear();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package org.csstudio.display.builder.model.persist;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.csstudio.display.builder.model.WidgetFactoryUnitTest;
+
+/** Compare load time of DOM and streaming {@link ModelReader}
+ *
+ *  <p>Reads the example displays from memory,
+ *  so only the parsing and widget creation is timed.
+ *  Optional argument: Directory with *.bob or *.opi files to use instead.
+ */
+@SuppressWarnings("nls")
+public class ModelReaderDemo
+{
+    private static final int RUNS = 50;
+
+    public static void main(final String[] args) throws Exception
+    {
+        WidgetFactoryUnitTest.initializeFactory();
+
+        final File dir = args.length > 0
+                       ? new File(args[0])
+                       : new File(ModelReaderDemo.class.getResource("/examples").toURI());
+        final List<byte[]> displays = new ArrayList<>();
+        long bytes = 0;
+        for (File file : dir.listFiles())
+            if (file.getName().endsWith(".bob")  ||  file.getName().endsWith(".opi"))
+            {
+                final byte[] data = Files.readAllBytes(file.toPath());
+                displays.add(data);
+                bytes += data.length;
+            }
+        System.out.format("%d displays, %d kB, from %s\n", displays.size(), bytes / 1024, dir);
+
+        // Repeat to allow JIT to settle
+        for (int i=0; i<3; ++i)
+        {
+            long start = System.nanoTime();
+            for (int run=0; run<RUNS; ++run)
+                for (byte[] data : displays)
+                    ModelReaderStreamTest.readDOM(new ByteArrayInputStream(data));
+            final long dom = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int run=0; run<RUNS; ++run)
+                for (byte[] data : displays)
+                    ModelReaderStreamTest.readStream(new ByteArrayInputStream(data));
+            final long stream = System.nanoTime() - start;
+
+            System.out.format("DOM   : %6.2f ms per pass\n", TimeUnit.NANOSECONDS.toMicros(dom) / 1000.0 / RUNS);
+            System.out.format("Stream: %6.2f ms per pass\n", TimeUnit.NANOSECONDS.toMicros(stream) / 1000.0 / RUNS);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package org.csstudio.display.builder.model.persist;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamReader;
+
+import org.csstudio.display.builder.model.DisplayModel;
+import org.csstudio.display.builder.model.WidgetFactoryUnitTest;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.phoebus.framework.persistence.XMLUtil;
+
+/** JUnit test of the streaming {@link ModelReader}
+ */
+@SuppressWarnings("nls")
+public class ModelReaderStreamTest
+{
+    @BeforeClass
+    public static void setup()
+    {
+        WidgetFactoryUnitTest.initializeFactory();
+    }
+
+    static DisplayModel readDOM(final InputStream stream) throws Exception
+    {
+        return new ModelReader(stream).readModel();
+    }
+
+    static DisplayModel readStream(final InputStream stream) throws Exception
+    {
+        final XMLStreamReader xml = XMLInputFactory.newInstance().createXMLStreamReader(stream);
+        try
+        {
+            return new ModelReader(xml, null).readModel();
+        }
+        finally
+        {
+            xml.close();
+            stream.close();
+        }
+    }
+
+    private static String toXML(final DisplayModel model) throws Exception
+    {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try
+        (
+            final ModelWriter writer = new ModelWriter(out);
+        )
+        {
+            writer.writeModel(model);
+        }
+        return out.toString();
+    }
+
+    @Test
+    public void testStream() throws Exception
+    {
+        final String xml = "<display version=\"2.0.0\">" +
+                           "<name>Streamed</name>" +
+                           "<widget type=\"group\" version=\"2.0.0\"><name>Group</name>" +
+                           "  <widget type=\"label\" version=\"2.0.0\"><name>Inner</name><text>Hello</text></widget>" +
+                           "</widget>" +
+                           "<widget type=\"label\" version=\"2.0.0\"><name>Outer</name><text><![CDATA[1 < 2]]></text></widget>" +
+                           "<width>500</width>" +
+                           "</display>";
+        final DisplayModel model = readStream(new ByteArrayInputStream(xml.getBytes(XMLUtil.ENCODING)));
+        System.out.println(toXML(model));
+
+        // Properties before and after the widgets are read
+        assertThat(model.getName(), equalTo("Streamed"));
+        assertThat(model.propWidth().getValue(), equalTo(500));
+        assertThat(model.getChildren().size(), equalTo(2));
+        assertThat(model.getChildren().get(1).getPropertyValue("text"), equalTo("1 < 2"));
+
+        assertThat(toXML(model), equalTo(toXML(readDOM(new ByteArrayInputStream(xml.getBytes(XMLUtil.ENCODING))))));
+    }
+
+    /** Streamed and DOM-read examples must result in the same model */
+    @Test
+    public void testExamples() throws Exception
+    {
+        final File examples = new File(ModelReaderStreamTest.class.getResource("/examples").toURI());
+        for (File file : examples.listFiles())
+        {
+            if (! file.getName().endsWith(".bob"))
+                continue;
+            final byte[] data = Files.readAllBytes(file.toPath());
+            System.out.println(file.getName());
+            assertThat(toXML(readStream(new ByteArrayInputStream(data))),
+                       equalTo(toXML(readDOM(new ByteArrayInputStream(data)))));
+        }
+    }
+}
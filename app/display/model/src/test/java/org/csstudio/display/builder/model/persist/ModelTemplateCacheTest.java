@@ -0,0 +1,81 @@
+package org.csstudio.display.builder.model.persist;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import org.csstudio.display.builder.model.DisplayModel;
+import org.csstudio.display.builder.model.WidgetFactoryUnitTest;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.phoebus.framework.persistence.XMLUtil;
+import org.w3c.dom.Element;
+
+/** JUnit test of the {@link ModelTemplateCache}
+ */
+@SuppressWarnings("nls")
+public class ModelTemplateCacheTest
+{
+    @BeforeClass
+    public static void setup()
+    {
+        WidgetFactoryUnitTest.initializeFactory();
+    }
+
+    private static void write(final File file, final String name) throws Exception
+    {
+        Files.writeString(file.toPath(),
+                          "<display version=\"2.0.0\"><name>" + name + "</name>" +
+                          "<widget type=\"label\" version=\"2.0.0\"><name>Label</name><text>$(X)</text></widget>" +
+                          "</display>");
+    }
+
+    @Test
+    public void testTemplates() throws Exception
+    {
+        final File file = File.createTempFile("template", ".bob");
+        file.deleteOnExit();
+        write(file, "First");
+
+        // Each load returns a separate model
+        final DisplayModel model1 = ModelLoader.loadModel(file.getPath());
+        final DisplayModel model2 = ModelLoader.loadModel(file.getPath());
+        assertThat(model1, not(sameInstance(model2)));
+        assertThat(model1.getName(), equalTo("First"));
+        assertThat(model2.getName(), equalTo("First"));
+        assertThat(model2.getChildren().get(0).getName(), equalTo("Label"));
+
+        // Changing one model does not affect the next one
+        model2.getChildren().get(0).setPropertyValue("name", "Changed");
+        assertThat(ModelLoader.loadModel(file.getPath()).getChildren().get(0).getName(), equalTo("Label"));
+
+        // Changed file is read again
+        write(file, "Second");
+        file.setLastModified(file.lastModified() + 2000);
+        assertThat(ModelLoader.loadModel(file.getPath()).getName(), equalTo("Second"));
+    }
+
+    @Test
+    public void testLineNumbers() throws Exception
+    {
+        final File file = File.createTempFile("template", ".bob");
+        file.deleteOnExit();
+        Files.writeString(file.toPath(),
+                          "<display version=\"2.0.0\">\n" +
+                          "<widget type=\"label\" version=\"2.0.0\">\n" +
+                          "<name>Label</name></widget>\n" +
+                          "</display>");
+
+        // Both the parsed XML and the copy of the template have line numbers
+        for (int i=0; i<2; ++i)
+        {
+            final Element widget = XMLUtil.getChildElement(ModelTemplateCache.getDisplayXML(file.getPath()), XMLTags.WIDGET);
+            assertThat(XMLUtil.getLineNumber(widget).orElse(-1), equalTo(2));
+            assertThat(XMLUtil.getLineNumber(XMLUtil.getChildElement(widget, XMLTags.NAME)).orElse(-1), equalTo(3));
+        }
+    }
+}
@@ -29,8 +29,10 @@ import org.csstudio.display.builder.representation.javafx.JFXRepresentation;
 
 import javafx.collections.ObservableList;
 import javafx.event.EventHandler;
+import javafx.geometry.Bounds;
 import javafx.scene.Node;
 import javafx.scene.Parent;
+import javafx.scene.Scene;
 import javafx.scene.input.ClipboardContent;
 import javafx.scene.input.Dragboard;
 import javafx.scene.input.MouseEvent;
@@ -338,4 +340,23 @@ abstract public class JFXBaseRepresentation<JFX extends Node, MW extends Widget>
                 jfx_node.setVisible(visible.getValue());
         }
     }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean isShowing()
+    {
+        if (jfx_node == null)
+            return true;
+        final Scene scene = jfx_node.getScene();
+        if (scene == null)
+            return false;
+        // Inside a hidden parent, for example a tab that's not selected?
+        // Not checking the node itself, because its update may be what makes it visible.
+        for (Node parent = jfx_node.getParent();  parent != null;  parent = parent.getParent())
+            if (! parent.isVisible())
+                return false;
+        // Scrolled out of view?
+        final Bounds bounds = jfx_node.localToScene(jfx_node.getBoundsInLocal());
+        return bounds.intersects(0, 0, scene.getWidth(), scene.getHeight());
+    }
 }
@@ -21,7 +21,7 @@ import org.phoebus.framework.preferences.PreferencesReader;
 public class Preferences
 {
     public static int performance_log_period_secs, performance_log_threshold_ms,
-                      update_accumulation_time, update_delay, plot_update_delay, image_update_delay,
+                      update_accumulation_time, update_delay, update_budget, plot_update_delay, image_update_delay,
                       tooltip_length, embedded_timeout;
 
     static
@@ -33,6 +33,7 @@ public class Preferences
             performance_log_threshold_ms = prefs.getInt("performance_log_threshold_ms");
             update_accumulation_time = prefs.getInt("update_accumulation_time");
             update_delay = prefs.getInt("update_delay");
+            update_budget = prefs.getInt("update_budget");
             plot_update_delay = prefs.getInt("plot_update_delay");
             image_update_delay = prefs.getInt("image_update_delay");
             tooltip_length = prefs.getInt("tooltip_length");
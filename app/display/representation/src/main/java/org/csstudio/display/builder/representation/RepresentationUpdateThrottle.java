@@ -9,15 +9,22 @@ package org.csstudio.display.builder.representation;
 
 import static org.csstudio.display.builder.representation.ToolkitRepresentation.logger;
 
+import java.lang.management.ManagementFactory;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
 import java.util.logging.Level;
 
+import javax.management.ObjectName;
+
 /** Handle throttled updates on UI thread.
  *
  *  <p>First request to schedule an update results in
@@ -33,11 +40,24 @@ import java.util.logging.Level;
  *  <p>Once there are no more updates, the thread waits until
  *  woken up again by the next requested update.
  *
+ *  <p>Each run on the UI thread has a time budget.
+ *  Representations that are showing are updated first.
+ *  Those that are hidden, for example in a tab that's not selected,
+ *  or scrolled out of view, are only updated when there's time left.
+ *  Updates that don't fit into the budget are carried over to the
+ *  next run, ahead of newly requested updates.
+ *
  *  @author Kay Kasemir
  */
 @SuppressWarnings("nls")
-public class RepresentationUpdateThrottle
+public class RepresentationUpdateThrottle implements RepresentationUpdateThrottleMXBean
 {
+    /** Type of the throttle's MBean */
+    public static final String MBEAN_TYPE = "org.csstudio.display.builder:type=RepresentationUpdateThrottle";
+
+    /** Histogram limits for the duration of update runs in ms */
+    private static final long[] HISTOGRAM_LIMITS = { 1, 2, 5, 10, 20, 50, 100, 200, 500, 1000 };
+
     /** Instance counter to aid in debugging the throttle start/shutdown */
     private static final AtomicInteger instance = new AtomicInteger();
 
@@ -53,9 +73,18 @@ public class RepresentationUpdateThrottle
     /** Pause between updates to prevent flooding the UI thread */
     private static final long update_delay = Preferences.update_delay;
 
+    /** Time budget for one run of updates on the UI thread */
+    private static final long update_budget_ns = TimeUnit.MILLISECONDS.toNanos(Preferences.update_budget);
+
     /** Executor for UI thread */
     private final Executor gui_executor;
 
+    /** Clock for the time budget, in ns */
+    private final LongSupplier clock;
+
+    /** Time budget for one run of updates on the UI thread, in ns */
+    private final long budget_ns;
+
     /** Thread that performs the throttling */
     private final Thread throttle_thread;
 
@@ -73,9 +102,27 @@ public class RepresentationUpdateThrottle
      */
     private final Set<WidgetRepresentation<?, ?, ?>> updateable = new LinkedHashSet<>();
 
+    /** Name of MBean, <code>null</code> if not registered */
+    private ObjectName mbean_name = null;
+
+    private volatile String display = "";
+    private volatile long runs = 0, carried_over = 0;
+    private final AtomicLongArray histogram = new AtomicLongArray(HISTOGRAM_LIMITS.length + 1);
+
     /** @param gui_executor Executor for UI thread */
     public RepresentationUpdateThrottle(final Executor gui_executor)
     {
+        this(gui_executor, System::nanoTime, update_budget_ns);
+    }
+
+    /** @param gui_executor Executor for UI thread
+     *  @param clock Clock for the time budget, in ns
+     *  @param budget_ns Time budget for one run of updates, in ns
+     */
+    RepresentationUpdateThrottle(final Executor gui_executor, final LongSupplier clock, final long budget_ns)
+    {
+        this.clock = clock;
+        this.budget_ns = budget_ns;
         final String name = "RepresentationUpdateThrottle" + instance.incrementAndGet();
         logger.log(Level.FINE, "Create " + name);
         this.gui_executor = gui_executor;
@@ -83,6 +130,56 @@ public class RepresentationUpdateThrottle
         throttle_thread.setName(name);
         throttle_thread.setDaemon(true);
         throttle_thread.start();
+
+        try
+        {
+            final ObjectName mbean_name = new ObjectName(MBEAN_TYPE + ",name=" + name);
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, mbean_name);
+            this.mbean_name = mbean_name;
+        }
+        catch (Exception ex)
+        {
+            logger.log(Level.WARNING, "Cannot register statistics for " + name, ex);
+        }
+    }
+
+    /** @param display Name of the display, used for statistics */
+    public void setDisplay(final String display)
+    {
+        this.display = display;
+    }
+
+    @Override
+    public String getDisplay()
+    {
+        return display;
+    }
+
+    @Override
+    public long getUpdateRuns()
+    {
+        return runs;
+    }
+
+    @Override
+    public long getCarriedOver()
+    {
+        return carried_over;
+    }
+
+    @Override
+    public long[] getHistogramLimits()
+    {
+        return HISTOGRAM_LIMITS.clone();
+    }
+
+    @Override
+    public long[] getHistogram()
+    {
+        final long[] counts = new long[histogram.length()];
+        for (int i=0; i<counts.length; ++i)
+            counts[i] = histogram.get(i);
+        return counts;
     }
 
     /** Called by toolkit representation to request an update.
@@ -150,16 +247,31 @@ public class RepresentationUpdateThrottle
                 // Using CountDownLatch because that allows while (await, run).
                 // Future would require catching TimeoutException or cancel() on shutdown.
                 final CountDownLatch done = new CountDownLatch(1);
+                final List<WidgetRepresentation<?, ?, ?>> carry_over = new ArrayList<>();
                 final long update_start = System.currentTimeMillis();
-                updateInUI(representations, done);
+                updateInUI(representations, carry_over, done);
 
                 // Wait for those updates to finish
                 while (! done.await(100, TimeUnit.MILLISECONDS))
                     if (! run)
                         return; // Never mind, shutdown
 
+                // Handle what didn't fit into the budget before newer requests
+                if (! carry_over.isEmpty())
+                {
+                    synchronized (updateable)
+                    {
+                        final List<WidgetRepresentation<?, ?, ?>> newer = new ArrayList<>(updateable);
+                        updateable.clear();
+                        updateable.addAll(carry_over);
+                        updateable.addAll(newer);
+                    }
+                    carried_over += carry_over.size();
+                }
+
                 // Update performance info
                 final long ms = System.currentTimeMillis() - update_start;
+                addToHistogram(ms);
                 if (update_ms < 0)
                     update_ms = ms;
                 else
@@ -187,34 +299,67 @@ public class RepresentationUpdateThrottle
         }
     }
 
+    /** @param ms Duration of an update run */
+    private void addToHistogram(final long ms)
+    {
+        int bin = 0;
+        while (bin < HISTOGRAM_LIMITS.length  &&  ms >= HISTOGRAM_LIMITS[bin])
+            ++bin;
+        histogram.incrementAndGet(bin);
+        ++runs;
+    }
+
     /** Perform updates in UI thread.
      *  @param representations Representations that need to be updated
+     *  @param carry_over Receives representations that were not updated within the budget
      *  @param done Must be signaled when representations have been updated
      */
     private void updateInUI(final WidgetRepresentation<?, ?, ?>[] representations,
+                            final List<WidgetRepresentation<?, ?, ?>> carry_over,
                             final CountDownLatch done)
     {
         gui_executor.execute(() ->
         {
+            final long deadline = clock.getAsLong() + budget_ns;
+            final List<WidgetRepresentation<?, ?, ?>> hidden = new ArrayList<>();
+            // Update representations that are showing,
+            // carry over those that were not even checked
             for (final WidgetRepresentation<?, ?, ?> representation : representations)
             {
-                if (! run)
-                    break;
-                try
-                {
-                    // Skip updates when representation has been disposed
-                    if (representation.model_widget != null)
-                        representation.updateChanges();
-                }
-                catch (final Throwable ex)
-                {
-                    logger.log(Level.SEVERE, "Representation update failed", ex);
-                }
+                if (! run  ||  clock.getAsLong() >= deadline)
+                    carry_over.add(representation);
+                else if (representation.isShowing())
+                    update(representation);
+                else
+                    hidden.add(representation);
+            }
+            // Update hidden representations if there's time left
+            for (WidgetRepresentation<?, ?, ?> representation : hidden)
+            {
+                if (run  &&  clock.getAsLong() < deadline)
+                    update(representation);
+                else
+                    carry_over.add(representation);
             }
             done.countDown();
         });
     }
 
+    /** @param representation Representation to update on UI thread */
+    private void update(final WidgetRepresentation<?, ?, ?> representation)
+    {
+        try
+        {
+            // Skip updates when representation has been disposed
+            if (representation.model_widget != null)
+                representation.updateChanges();
+        }
+        catch (final Throwable ex)
+        {
+            logger.log(Level.SEVERE, "Representation update failed", ex);
+        }
+    }
+
     /** Shutdown the throttle thread and wait for it to exit */
     public void shutdown()
     {
@@ -233,5 +378,18 @@ public class RepresentationUpdateThrottle
         }
         if (throttle_thread.isAlive())
             logger.log(Level.WARNING, "Representation update throttle fails to terminate within 2 seconds");
+
+        if (mbean_name != null)
+        {
+            try
+            {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(mbean_name);
+            }
+            catch (Exception ex)
+            {
+                logger.log(Level.WARNING, "Cannot unregister " + mbean_name, ex);
+            }
+            mbean_name = null;
+        }
     }
 }
@@ -0,0 +1,27 @@
+package org.csstudio.display.builder.representation;
+
+/** Update statistics of a {@link RepresentationUpdateThrottle}
+ *
+ *  <p>Registered with the platform MBean server
+ *  as {@value RepresentationUpdateThrottle#MBEAN_TYPE}
+ *  so that tools can monitor them without depending on the display code.
+ */
+public interface RepresentationUpdateThrottleMXBean
+{
+    /** @return Name of the display */
+    public String getDisplay();
+
+    /** @return Number of update runs on the UI thread */
+    public long getUpdateRuns();
+
+    /** @return Number of representation updates that had to be carried over to the next run */
+    public long getCarriedOver();
+
+    /** @return Upper limits in milliseconds for the histogram bins,
+     *          with a final bin for all longer runs
+     */
+    public long[] getHistogramLimits();
+
+    /** @return Count of update runs by their duration */
+    public long[] getHistogram();
+}
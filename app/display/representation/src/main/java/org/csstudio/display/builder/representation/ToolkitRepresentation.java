@@ -252,6 +252,7 @@ abstract public class ToolkitRepresentation<TWP extends Object, TW> implements E
         if (model.isTopDisplayModel())
         {
             this.model = model;
+            throttle.setDisplay(model.getDisplayName());
             // Register ourselves
             phaser = new Phaser(1);
         }
@@ -69,6 +69,19 @@ abstract public class WidgetRepresentation<TWP, TW, MW extends Widget>
      */
     abstract public void updateChanges();
 
+    /** Is the representation showing?
+     *
+     *  <p>Called on the UI thread by the update throttle,
+     *  which updates representations that are showing
+     *  before those that are hidden.
+     *
+     *  @return <code>false</code> if known to be hidden or out of view
+     */
+    public boolean isShowing()
+    {
+        return true;
+    }
+
     /** Remove toolkit items.
      *
      *  <p>Called when model widget has been removed.
@@ -9,11 +9,17 @@ package org.csstudio.display.builder.representation;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.csstudio.display.builder.model.Widget;
 import org.junit.Test;
@@ -119,4 +125,90 @@ public class UpdateThrottleTest
 
         throttle.shutdown();
     }
+
+    /** Representation that takes a fixed time to update on a fake clock */
+    private class BudgetWidgetRepresentation extends WidgetRepresentation<Object, Object, Widget>
+    {
+        private final String name;
+        private final RepresentationUpdateThrottle throttle;
+        private final AtomicLong clock;
+        private final List<String> log;
+        private final CountDownLatch updated;
+        public volatile Runnable on_update = null;
+
+        public BudgetWidgetRepresentation(final String name, final RepresentationUpdateThrottle throttle,
+                                          final AtomicLong clock, final List<String> log, final CountDownLatch updated)
+        {
+            this.name = name;
+            this.throttle = throttle;
+            this.clock = clock;
+            this.log = log;
+            this.updated = updated;
+            model_widget = new Widget("Demo");
+        }
+
+        @Override
+        public Object createComponents(Object parent) throws Exception
+        {
+            return null;
+        }
+
+        @Override
+        public void updateChanges()
+        {
+            // Log name and number of completed runs, advance clock by 20ms
+            log.add(name + "@" + throttle.getUpdateRuns());
+            clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(20));
+            if (on_update != null)
+                on_update.run();
+            updated.countDown();
+        }
+
+        @Override
+        public void dispose()
+        {
+            // NOP
+        }
+    }
+
+    @Test
+    public void testUpdateBudget() throws Throwable
+    {
+        // Each update takes 20ms on the fake clock, budget is 50ms,
+        // so each run performs 3 updates and carries the rest over
+        final AtomicLong clock = new AtomicLong();
+        final RepresentationUpdateThrottle throttle = new RepresentationUpdateThrottle(Executors.newSingleThreadExecutor(),
+                                                                                       clock::get,
+                                                                                       TimeUnit.MILLISECONDS.toNanos(50));
+        final List<String> log = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch updated = new CountDownLatch(11);
+        final List<BudgetWidgetRepresentation> widgets = new ArrayList<>();
+        for (int i=0; i<10; ++i)
+            widgets.add(new BudgetWidgetRepresentation(Integer.toString(i), throttle, clock, log, updated));
+
+        // While the first run is busy, another widget requests an update
+        final BudgetWidgetRepresentation late = new BudgetWidgetRepresentation("late", throttle, clock, log, updated);
+        widgets.get(0).on_update = () -> throttle.scheduleUpdate(late);
+
+        // Pause the throttle so that all requests are handled by the first run
+        throttle.enable(false);
+        for (BudgetWidgetRepresentation widget : widgets)
+            throttle.scheduleUpdate(widget);
+        throttle.enable(true);
+
+        assertTrue(updated.await(10, TimeUnit.SECONDS));
+        for (int i=0; i<100  &&  throttle.getUpdateRuns() < 4; ++i)
+            TimeUnit.MILLISECONDS.sleep(50);
+        throttle.shutdown();
+        System.out.println(log);
+
+        // Updates over budget are carried into the next run, ahead of the newer request
+        assertThat(log, equalTo(List.of("0@0", "1@0", "2@0",
+                                        "3@1", "4@1", "5@1",
+                                        "6@2", "7@2", "8@2",
+                                        "9@3", "late@3")));
+        assertThat(throttle.getUpdateRuns(), equalTo(4L));
+        // Carried over: 7 after first run, 4 + 'late' after second, 9 and 'late' after third
+        assertThat(throttle.getCarriedOver(), equalTo(14L));
+    }
 }
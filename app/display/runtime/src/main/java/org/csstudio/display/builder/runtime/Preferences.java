@@ -26,6 +26,7 @@ public class Preferences
     public static String python_path;
     public static List<TextPatch> pv_name_patches;
     public static int update_throttle_ms;
+    public static boolean java_rules;
     public static String probe_display;
 
     static
@@ -63,6 +64,7 @@ public class Preferences
         }
 
         update_throttle_ms = prefs.getInt("update_throttle");
+        java_rules = prefs.getBoolean("java_rules");
         probe_display = prefs.get("probe_display");
     }
 }
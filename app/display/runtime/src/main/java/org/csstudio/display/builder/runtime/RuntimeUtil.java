@@ -9,7 +9,9 @@ package org.csstudio.display.builder.runtime;
 
 import static org.csstudio.display.builder.runtime.WidgetRuntime.logger;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.logging.Level;
 
@@ -37,6 +39,12 @@ public class RuntimeUtil
 {
     private static final ExecutorService executor = NamedDaemonPool.createThreadPool("DisplayRuntime");
 
+    /** Number of threads used to start the child widgets of a container */
+    private static final int STARTUP_THREADS = Runtime.getRuntime().availableProcessors();
+
+    /** Minimum number of widgets to start on one thread */
+    private static final int STARTUP_CHUNK = 20;
+
     private static final ToolkitListener toolkit_listener = new ToolkitListener()
     {
         @Override
@@ -63,8 +71,7 @@ public class RuntimeUtil
                 stopRuntime(child);
 
         if (added != null)
-            for (Widget child : added)
-                startRuntime(child);
+            startRuntimes(added);
     };
 
     /** Connect runtime listener to toolkit
@@ -152,6 +159,49 @@ public class RuntimeUtil
         }
     }
 
+    /** Create and start runtimes for several widgets
+     *
+     *  <p>Widgets are started in parallel,
+     *  so the PVs of a large display are all created,
+     *  and their names searched, at about the same time
+     *  instead of one widget after the other.
+     *  Returns when all runtimes have been started.
+     *
+     *  @param widgets {@link Widget}s
+     */
+    private static void startRuntimes(final List<Widget> widgets)
+    {
+        // Chunk a snapshot, since children may be added/removed
+        // while the chunks are started on other threads
+        final List<Widget> snapshot = List.copyOf(widgets);
+        final int N = snapshot.size();
+        final int chunk = Math.max(STARTUP_CHUNK, (N + STARTUP_THREADS - 1) / STARTUP_THREADS);
+
+        // Start all but the first chunk in background, ..
+        final List<CompletableFuture<Void>> started = new ArrayList<>();
+        for (int i=chunk; i<N; i+=chunk)
+        {
+            final List<Widget> part = snapshot.subList(i, Math.min(i+chunk, N));
+            started.add(CompletableFuture.runAsync(() -> part.forEach(RuntimeUtil::startRuntime), executor));
+        }
+        // .. handle first chunk on this thread ..
+        snapshot.subList(0, Math.min(chunk, N)).forEach(RuntimeUtil::startRuntime);
+        // .. and wait for the rest.
+        // startRuntime() logs errors per widget, so a failed chunk
+        // is only logged and doesn't abort waiting for the others
+        for (CompletableFuture<Void> done : started)
+        {
+            try
+            {
+                done.join();
+            }
+            catch (final Throwable ex)
+            {
+                logger.log(Level.SEVERE, "Cannot start widget runtimes", ex);
+            }
+        }
+    }
+
     /** Stop runtime for a widget
      *
      *  <p>Container widgets are responsible
@@ -169,14 +219,14 @@ public class RuntimeUtil
 
     /** Start runtime of all child widgets
      *
-     *  <p>Also starts/stops added/removed child widgets
+     *  <p>Child widgets are started in parallel.
+     *  Also starts/stops added/removed child widgets
      *
      * @param children
      */
     public static void startChildRuntimes(final ChildrenProperty children)
     {
-        for (Widget child : children.getValue())
-            RuntimeUtil.startRuntime(child);
+        startRuntimes(children.getValue());
         children.addPropertyListener(children_listener);
     }
 
@@ -37,6 +37,7 @@ import org.csstudio.display.builder.model.rules.RuleInfo;
 import org.csstudio.display.builder.runtime.internal.RuntimePVs;
 import org.csstudio.display.builder.runtime.pv.PVFactory;
 import org.csstudio.display.builder.runtime.pv.RuntimePV;
+import org.csstudio.display.builder.runtime.script.internal.RuleStatistics;
 import org.csstudio.display.builder.runtime.script.internal.RuntimeScriptHandler;
 import org.csstudio.display.builder.runtime.script.internal.Script;
 import org.csstudio.display.builder.runtime.script.internal.ScriptSupport;
@@ -479,6 +480,11 @@ public class WidgetRuntime<MW extends Widget>
         if (scripting != null)
         	scripting.close();
 
+        // Report rule statistics of the top-level display
+        final RuleStatistics rule_statistics = widget.clearUserData(Widget.USER_DATA_RULE_STATISTICS);
+        if (rule_statistics != null)
+            logger.log(Level.INFO, () -> widget + " " + rule_statistics);
+
         // Prepare for another start()
         started = new CountDownLatch(1);
     }
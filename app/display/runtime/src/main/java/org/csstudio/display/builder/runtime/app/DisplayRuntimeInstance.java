@@ -23,6 +23,7 @@ import org.csstudio.display.builder.model.DisplayModel;
 import org.csstudio.display.builder.model.Widget;
 import org.csstudio.display.builder.model.macros.DisplayMacroExpander;
 import org.csstudio.display.builder.model.persist.ModelLoader;
+import org.csstudio.display.builder.model.persist.ModelTemplateCache;
 import org.csstudio.display.builder.model.util.ModelResourceUtil;
 import org.csstudio.display.builder.representation.javafx.JFXRepresentation;
 import org.csstudio.display.builder.runtime.ActionUtil;
@@ -343,6 +344,7 @@ public class DisplayRuntimeInstance implements AppInstance
     public void reload()
     {
         ModelResourceUtil.clearURLCache();
+        ModelTemplateCache.clear();
         loadDisplayFile(getDisplayInfo());
     }
 
@@ -11,10 +11,8 @@ import static org.csstudio.display.builder.runtime.WidgetRuntime.logger;
 
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 
-import org.csstudio.display.builder.runtime.Preferences;
 import org.epics.vtype.VType;
 import org.phoebus.pv.PV;
 import org.phoebus.pv.PVPool;
@@ -29,22 +27,38 @@ import io.reactivex.disposables.Disposable;
  *  <p>The name of the PV is the name by which it was created.
  *  The underlying implementation might use a slightly different name.
  *
+ *  <p>The first value is delivered right away,
+ *  following value updates are throttled by the {@link UpdateCoalescer}.
+ *
  *  @author Kay Kasemir
  */
 @SuppressWarnings("nls")
 public class RuntimePV // TODO (Almost) remove. Use vtype.pv, only add setValue for script compatibility?
 {
     private final PV pv;
+    private final UpdateCoalescer coalescer;
+    /** Slot in the coalescer */
+    private final int slot;
     private final Disposable value_flow, writable_flow;
     private final List<RuntimePVListener> listeners = new CopyOnWriteArrayList<>();
+    /** Has the first value been received? Only accessed by the value flow */
+    private boolean got_value = false;
 
     /** @param pv PV to wrap */
     RuntimePV(final PV pv)
     {
         this.pv = pv;
-        value_flow = pv.onValueEvent()
-                .throttleLatest(Preferences.update_throttle_ms, TimeUnit.MILLISECONDS)
-                .subscribe(this::valueChanged);
+        coalescer = UpdateCoalescer.getInstance();
+        if (coalescer == null)
+        {
+            slot = -1;
+            value_flow = pv.onValueEvent().subscribe(this::valueChanged);
+        }
+        else
+        {
+            slot = coalescer.add(this);
+            value_flow = pv.onValueEvent().subscribe(this::valueReceived);
+        }
         writable_flow = pv.onAccessRightsEvent()
                           .subscribe(this::writableChanged);
     }
@@ -115,7 +129,21 @@ public class RuntimePV // TODO (Almost) remove. Use vtype.pv, only add setValue
         }
     }
 
-    private void valueChanged(final VType value)
+    /** @param value Value received from the PV, to be throttled */
+    private void valueReceived(final VType value)
+    {
+        // Like throttleLatest(), pass the first value on right away
+        if (got_value)
+            coalescer.update(slot, this, value);
+        else
+        {
+            got_value = true;
+            valueChanged(value);
+        }
+    }
+
+    /** @param value Value to send to listeners */
+    void valueChanged(final VType value)
     {
         if (PV.isDisconnected(value))
             for (RuntimePVListener listener : listeners)
@@ -164,6 +192,8 @@ public class RuntimePV // TODO (Almost) remove. Use vtype.pv, only add setValue
     {
         writable_flow.dispose();
         value_flow.dispose();
+        if (coalescer != null)
+            coalescer.remove(slot);
         PVPool.releasePV(pv);
     }
 
@@ -0,0 +1,240 @@
+package org.csstudio.display.builder.runtime.pv;
+
+import static org.csstudio.display.builder.runtime.WidgetRuntime.logger;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+
+import org.csstudio.display.builder.runtime.Preferences;
+import org.epics.vtype.VType;
+import org.phoebus.framework.jobs.NamedThreadFactory;
+
+/** Coalesce value updates of all {@link RuntimePV}s
+ *
+ *  <p>Instead of throttling each PV with its own timer,
+ *  each PV is assigned a slot that holds its most recent value.
+ *  One periodic tick delivers the values of all slots
+ *  that were updated since the previous tick.
+ *
+ *  <p>Slots are kept in chunks which are never moved,
+ *  so PVs can be added while updates arrive.
+ *  Each chunk has a 'dirty' flag to skip chunks without updates.
+ *
+ *  <p>All values are delivered on the one coalescer thread,
+ *  calling the listeners of one PV after the other.
+ *  A slow listener thus delays the updates of all PVs,
+ *  so listeners must return quickly and hand longer work,
+ *  like evaluating rules or scripts, to other threads.
+ *  The first value of each PV is delivered right away
+ *  by the {@link RuntimePV}, only the following ones are coalesced.
+ *
+ *  <p>A slot may be re-used by another PV while an update
+ *  for the previous PV is in progress.
+ *  Each value is therefore kept together with its PV
+ *  and only delivered while that PV still owns the slot.
+ */
+@SuppressWarnings("nls")
+public class UpdateCoalescer
+{
+    /** Slots per chunk */
+    private static final int CHUNK_SIZE = 1024;
+
+    /** Value received for a PV */
+    private static class Update
+    {
+        final RuntimePV pv;
+        final VType value;
+
+        Update(final RuntimePV pv, final VType value)
+        {
+            this.pv = pv;
+            this.value = value;
+        }
+    }
+
+    /** Chunk of slots */
+    private static class Chunk
+    {
+        /** PV for each slot, <code>null</code> if slot is free */
+        final AtomicReferenceArray<RuntimePV> pvs = new AtomicReferenceArray<>(CHUNK_SIZE);
+
+        /** Most recent update of each slot, <code>null</code> when delivered */
+        final AtomicReferenceArray<Update> values = new AtomicReferenceArray<>(CHUNK_SIZE);
+
+        /** Has any value in this chunk been updated? */
+        final AtomicBoolean dirty = new AtomicBoolean();
+    }
+
+    private static UpdateCoalescer instance = null;
+
+    /** Chunks of slots. Only grows, replaced when adding chunks */
+    private volatile Chunk[] chunks = new Chunk[0];
+
+    /** Free slots, re-used in the order they were freed. SYNC on this */
+    private final Queue<Integer> free = new ArrayDeque<>();
+
+    /** Next slot to use when none are free. SYNC on this */
+    private int next_slot = 0;
+
+    private final LongAdder received = new LongAdder();
+    private volatile long tick_received = 0, tick_delivered = 0,
+                          total_received = 0, total_delivered = 0;
+
+    /** @return Runtime-wide coalescer, <code>null</code> if updates are not throttled */
+    public static synchronized UpdateCoalescer getInstance()
+    {
+        if (instance == null  &&  Preferences.update_throttle_ms > 0)
+            instance = new UpdateCoalescer(Preferences.update_throttle_ms);
+        return instance;
+    }
+
+    /** @param period_ms Period of the update tick in milliseconds */
+    UpdateCoalescer(final long period_ms)
+    {
+        final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("RuntimePVUpdates"));
+        timer.scheduleWithFixedDelay(this::tick, period_ms, period_ms, TimeUnit.MILLISECONDS);
+    }
+
+    /** @param pv PV to add
+     *  @return Slot of the PV
+     */
+    int add(final RuntimePV pv)
+    {
+        final int slot;
+        synchronized (this)
+        {
+            final Integer reuse = free.poll();
+            if (reuse == null)
+            {
+                slot = next_slot++;
+                if (slot / CHUNK_SIZE >= chunks.length)
+                {
+                    final Chunk[] grown = Arrays.copyOf(chunks, chunks.length + 1);
+                    grown[chunks.length] = new Chunk();
+                    chunks = grown;
+                }
+            }
+            else
+                slot = reuse;
+        }
+        chunks[slot / CHUNK_SIZE].pvs.set(slot % CHUNK_SIZE, pv);
+        return slot;
+    }
+
+    /** @param slot Slot of PV to remove */
+    void remove(final int slot)
+    {
+        final Chunk chunk = chunks[slot / CHUNK_SIZE];
+        chunk.pvs.set(slot % CHUNK_SIZE, null);
+        chunk.values.set(slot % CHUNK_SIZE, null);
+        synchronized (this)
+        {
+            free.add(slot);
+        }
+    }
+
+    /** @param slot Slot of the PV
+     *  @param pv PV, to check that slot has not been re-used
+     *  @param value Received value
+     */
+    void update(final int slot, final RuntimePV pv, final VType value)
+    {
+        received.increment();
+        final Chunk chunk = chunks[slot / CHUNK_SIZE];
+        final int i = slot % CHUNK_SIZE;
+        if (chunk.pvs.get(i) != pv)
+            return;
+        final Update update = new Update(pv, value);
+        final Update previous = chunk.values.getAndSet(i, update);
+        // Slot was re-used since checking the PV?
+        final RuntimePV owner = chunk.pvs.get(i);
+        if (owner != pv)
+        {
+            // Drop this value, restoring a value of the new owner
+            chunk.values.compareAndSet(i, update,
+                                       previous != null  &&  previous.pv == owner ? previous : null);
+            return;
+        }
+        // Set 'dirty' after the value so that tick() finds it
+        if (previous == null)
+            chunk.dirty.set(true);
+    }
+
+    /** Deliver updated values to their PVs */
+    void tick()
+    {
+        long delivered = 0;
+        for (Chunk chunk : chunks)
+        {
+            // Clear 'dirty' before checking values
+            // so that the next tick handles values updated meanwhile
+            if (! chunk.dirty.getAndSet(false))
+                continue;
+            for (int i=0; i<CHUNK_SIZE; ++i)
+            {
+                final Update update = chunk.values.getAndSet(i, null);
+                if (update == null)
+                    continue;
+                // Skip value of a PV that has been removed from the slot
+                final RuntimePV pv = update.pv;
+                if (chunk.pvs.get(i) != pv)
+                    continue;
+                try
+                {
+                    pv.valueChanged(update.value);
+                }
+                catch (Throwable ex)
+                {
+                    logger.log(Level.WARNING, "Update of PV " + pv + " failed", ex);
+                }
+                ++delivered;
+            }
+        }
+        final long got = received.sumThenReset();
+        tick_received = got;
+        tick_delivered = delivered;
+        total_received += got;
+        total_delivered += delivered;
+        if (delivered > 0)
+            logger.log(Level.FINEST, () -> toString());
+    }
+
+    /** @return Number of updates received during the last tick */
+    public long getTickReceived()
+    {
+        return tick_received;
+    }
+
+    /** @return Number of updates delivered in the last tick */
+    public long getTickDelivered()
+    {
+        return tick_delivered;
+    }
+
+    /** @return Total number of updates received */
+    public long getTotalReceived()
+    {
+        return total_received;
+    }
+
+    /** @return Total number of updates delivered */
+    public long getTotalDelivered()
+    {
+        return total_delivered;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "PV updates: " + tick_received + " received, " + tick_delivered + " delivered in last tick, " +
+               total_received + " received, " + total_delivered + " delivered in total";
+    }
+}
@@ -0,0 +1,390 @@
+package org.csstudio.display.builder.runtime.script.internal;
+
+import static org.csstudio.display.builder.runtime.WidgetRuntime.logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+
+import org.csstudio.apputil.formula.Formula;
+import org.csstudio.apputil.formula.VariableNode;
+import org.csstudio.display.builder.model.DisplayModel;
+import org.csstudio.display.builder.model.Widget;
+import org.csstudio.display.builder.model.WidgetProperty;
+import org.csstudio.display.builder.model.rules.RuleInfo;
+import org.csstudio.display.builder.model.rules.RuleInfo.ExpressionInfo;
+import org.csstudio.display.builder.model.rules.RuleToScript;
+import org.csstudio.display.builder.runtime.RuntimeUtil;
+import org.csstudio.display.builder.runtime.pv.RuntimePV;
+import org.csstudio.display.builder.runtime.script.PVUtil;
+import org.phoebus.core.vtypes.VTypeHelper;
+import org.phoebus.framework.macros.MacroHandler;
+import org.phoebus.framework.macros.Macros;
+
+/** Rule that is evaluated in Java
+ *
+ *  <p>Rules like <code>pv0 > 5 -> background red</code>
+ *  are parsed into {@link Formula}s for the conditions.
+ *  The rule is then evaluated on the runtime thread pool
+ *  instead of executing a script generated by {@link RuleToScript}
+ *  on the single script thread of the display.
+ *  It is not evaluated on the thread that submits it,
+ *  since that thread delivers the updates of all PVs.
+ *  Submissions while an evaluation is pending are coalesced,
+ *  since the evaluation reads the most recent PV values.
+ *
+ *  <p>Only rules with numeric variables
+ *  <code>pv0</code>, <code>pvInt0</code>, <code>pvSev0</code>
+ *  and operators that have the same meaning in the formula and in Python
+ *  can be compiled.
+ *  Other rules, for example those using strings,
+ *  remain Jython scripts.
+ */
+@SuppressWarnings("nls")
+class JavaRule implements Script
+{
+    private final String name;
+    private final String prop_id;
+    private final RuleStatistics statistics;
+
+    /** Variables pv0, pvInt0, pvSev0 for each PV, <code>null</code> if not used */
+    private final VariableNode[] pv, pv_int, pv_sev;
+
+    /** Conditions, checked in order */
+    private final Formula[] conditions;
+
+    /** Value for each condition, {@link Formula} if rule uses value expressions */
+    private final Object[] values;
+
+    /** Value when no condition is met */
+    private final Object default_value;
+
+    /** Set boolean property from value expression? */
+    private final boolean bool;
+
+    /** Evaluation that has been submitted but not started, <code>null</code> if none */
+    private final AtomicReference<CompletableFuture<Object>> pending = new AtomicReference<>();
+
+    /** Try to compile rule
+     *  @param widget Widget
+     *  @param rule Rule
+     *  @param statistics {@link RuleStatistics} of the display
+     *  @return {@link JavaRule} or <code>null</code> if the rule needs to be a script
+     */
+    static JavaRule compile(final Widget widget, final RuleInfo rule, final RuleStatistics statistics)
+    {
+        final WidgetProperty<?> prop = widget.checkProperty(rule.getPropID()).orElse(null);
+        if (prop == null)
+            return null;
+        final Object type = prop.getDefaultValue();
+        final boolean bool = type instanceof Boolean;
+        if (rule.getPropAsExprFlag()  &&
+            ! (bool  ||  type instanceof Number  ||  type instanceof Enum<?>))
+            return null;
+
+        final int N = rule.getPVs().size();
+        final List<VariableNode> variables = new ArrayList<>(3*N + 4);
+        final VariableNode[] pv = new VariableNode[N], pv_int = new VariableNode[N], pv_sev = new VariableNode[N];
+        for (int i=0; i<N; ++i)
+        {
+            variables.add(pv[i] = new VariableNode("pv" + i));
+            variables.add(pv_int[i] = new VariableNode("pvInt" + i));
+            variables.add(pv_sev[i] = new VariableNode("pvSev" + i));
+        }
+        // Javascript-type logic that RuleToScript changes into Python
+        variables.add(new VariableNode("true", 1.0));
+        variables.add(new VariableNode("false", 0.0));
+        variables.add(new VariableNode("True", 1.0));
+        variables.add(new VariableNode("False", 0.0));
+        final VariableNode[] all = variables.toArray(new VariableNode[variables.size()]);
+
+        final Macros macros = widget.getEffectiveMacros();
+        final List<ExpressionInfo<?>> expressions = rule.getExpressions();
+        final Formula[] conditions = new Formula[expressions.size()];
+        final Object[] values = new Object[conditions.length];
+        for (int i=0; i<conditions.length; ++i)
+        {
+            final ExpressionInfo<?> expr = expressions.get(i);
+            try
+            {
+                conditions[i] = parse(MacroHandler.replace(macros, expr.getBoolExp()), all);
+            }
+            catch (Exception ex)
+            {
+                return null;
+            }
+            if (conditions[i] == null)
+                return null;
+            if (rule.getPropAsExprFlag())
+            {
+                values[i] = parse(expr.getPropVal().toString(), all);
+                if (values[i] == null)
+                    return null;
+            }
+            else
+                values[i] = ((WidgetProperty<?>) expr.getPropVal()).getValue();
+        }
+
+        // Only read PV values that are used
+        for (int i=0; i<N; ++i)
+        {
+            if (! uses(conditions, values, pv[i]))
+                pv[i] = null;
+            if (! uses(conditions, values, pv_int[i]))
+                pv_int[i] = null;
+            if (! uses(conditions, values, pv_sev[i]))
+                pv_sev[i] = null;
+        }
+
+        final String name = widget.getType() + ":" + widget.getName() + ":" + rule.getName();
+        return new JavaRule(name, rule.getPropID(), statistics, pv, pv_int, pv_sev,
+                            conditions, values, prop.getValue(), bool);
+    }
+
+    /** @param text Expression
+     *  @param variables Variables that expression may use
+     *  @return {@link Formula} or <code>null</code> if expression needs to be a script
+     */
+    private static Formula parse(final String text, final VariableNode[] variables)
+    {
+        final int len = text.length();
+        // For each parenthesis level, track use of '&&', '||' and comparisons
+        final int AND = 1, OR = 2, COMPARE = 4;
+        final int[] level = new int[len + 1];
+        int depth = 0;
+        for (int i=0; i<len; ++i)
+        {
+            final char c = text.charAt(i);
+            // Strings are not numeric, and formula treats 'x' as variable name.
+            // '^' is 'xor' in Python, but 'power' in formula.
+            // '%' is 'modulo' in Python but not supported by formula.
+            if (c == '"'  ||  c == '\''  ||  c == '^'  ||  c == '%')
+                return null;
+            if (c == '('  ||  c == ',')
+            {
+                if (c == '(')
+                    ++depth;
+                level[depth] = 0;
+            }
+            else if (c == ')')
+            {
+                if (depth > 0)
+                    --depth;
+            }
+            // Single '&' and '|' are bitwise in Python, but logical in formula
+            else if (c == '&'  ||  c == '|')
+            {
+                if (i+1 < len  &&  text.charAt(i+1) == c)
+                    ++i;
+                else
+                    return null;
+                // Formula and Python differ in precedence of mixed '&&', '||',
+                // so only allow those when separated by parentheses
+                level[depth] = (level[depth] & ~COMPARE) | (c == '&' ? AND : OR);
+                if ((level[depth] & (AND | OR)) == (AND | OR))
+                    return null;
+            }
+            // Python 'not' has lower precedence than comparisons,
+            // so only allow '!=' and '!(...)'
+            else if (c == '!'  &&  (i+1 >= len  ||  "=(".indexOf(text.charAt(i+1)) < 0))
+                return null;
+            else if (c == '<'  ||  c == '>'  ||  c == '!'  ||
+                     (c == '='  &&  i+1 < len  &&  text.charAt(i+1) == '='))
+            {
+                if (i+1 < len  &&  text.charAt(i+1) == '=')
+                    ++i;
+                else if (c == '!')
+                    continue;
+                // Python chains 'a < b < c' into 'a < b and b < c',
+                // formula compares the result of 'a < b' with 'c'
+                if ((level[depth] & COMPARE) != 0)
+                    return null;
+                level[depth] |= COMPARE;
+            }
+        }
+        // Python 2 'integer / integer' truncates
+        if (! isFloatDivision(text))
+            return null;
+        try
+        {
+            return new Formula(text.replace("Math.", ""), variables);
+        }
+        catch (Exception ex)
+        {
+            // Unknown variable or function, other Python code
+            return null;
+        }
+    }
+
+    /** Check if all divisions use a floating point operand
+     *
+     *  <p>In Python 2, dividing integers like <code>pvInt0/2</code>,
+     *  <code>pvSev0/2</code> or <code>3/2</code> truncates the result.
+     *  Only divisions with a <code>pv0</code> variable or
+     *  a literal with '.' are known to have the same result in the formula.
+     *
+     *  @param text Expression
+     *  @return <code>true</code> if there are no divisions, or all are floating point
+     */
+    private static boolean isFloatDivision(final String text)
+    {
+        for (int i = text.indexOf('/');  i >= 0;  i = text.indexOf('/', i+1))
+        {
+            // Python '//' is floor division
+            if (i+1 < text.length()  &&  text.charAt(i+1) == '/')
+                return false;
+            int end = i;
+            while (end > 0  &&  text.charAt(end-1) == ' ')
+                --end;
+            int start = end;
+            while (start > 0  &&  isOperandChar(text.charAt(start-1)))
+                --start;
+            if (isFloatOperand(text.substring(start, end)))
+                continue;
+            start = i+1;
+            while (start < text.length()  &&  text.charAt(start) == ' ')
+                ++start;
+            end = start;
+            while (end < text.length()  &&  isOperandChar(text.charAt(end)))
+                ++end;
+            if (! isFloatOperand(text.substring(start, end)))
+                return false;
+        }
+        return true;
+    }
+
+    private static boolean isOperandChar(final char c)
+    {
+        return Character.isLetterOrDigit(c)  ||  c == '_'  ||  c == '.';
+    }
+
+    /** @param operand Variable name or literal
+     *  @return <code>true</code> if operand is known to be a floating point number
+     */
+    private static boolean isFloatOperand(final String operand)
+    {
+        return operand.matches("pv[0-9]+")  ||
+               operand.matches("[0-9]*\\.[0-9]*")  &&  operand.length() > 1;
+    }
+
+    /** @param conditions Conditions
+     *  @param values Values, possibly formulas
+     *  @param variable Variable
+     *  @return <code>true</code> if variable is used
+     */
+    private static boolean uses(final Formula[] conditions, final Object[] values, final VariableNode variable)
+    {
+        for (Formula formula : conditions)
+            if (formula.hasSubnode(variable))
+                return true;
+        for (Object value : values)
+            if (value instanceof Formula  &&  ((Formula) value).hasSubnode(variable))
+                return true;
+        return false;
+    }
+
+    private JavaRule(final String name, final String prop_id, final RuleStatistics statistics,
+                     final VariableNode[] pv, final VariableNode[] pv_int, final VariableNode[] pv_sev,
+                     final Formula[] conditions, final Object[] values, final Object default_value,
+                     final boolean bool)
+    {
+        this.name = name;
+        this.prop_id = prop_id;
+        this.statistics = statistics;
+        this.pv = pv;
+        this.pv_int = pv_int;
+        this.pv_sev = pv_sev;
+        this.conditions = conditions;
+        this.values = values;
+        this.default_value = default_value;
+        this.bool = bool;
+    }
+
+    @Override
+    public Future<Object> submit(final Widget widget, final RuntimePV... pvs)
+    {
+        // Join a pending evaluation, which will read the latest values
+        final CompletableFuture<Object> next = new CompletableFuture<>();
+        final CompletableFuture<Object> queued = pending.compareAndExchange(null, next);
+        if (queued != null)
+            return queued;
+        RuntimeUtil.getExecutor().execute(() ->
+        {
+            // Submissions from now on need another evaluation
+            pending.set(null);
+            execute(widget, pvs);
+            next.complete(null);
+        });
+        return next;
+    }
+
+    /** @param widget Widget
+     *  @param pvs PVs of the rule
+     */
+    private void execute(final Widget widget, final RuntimePV... pvs)
+    {
+        final long start = System.nanoTime();
+        try
+        {
+            // Variables are shared by all formulas of the rule,
+            // so updates from different PVs are evaluated one at a time
+            synchronized (this)
+            {
+                for (int i=0; i<pvs.length; ++i)
+                {
+                    if (pv[i] != null)
+                        pv[i].setValue(PVUtil.getDouble(pvs[i]));
+                    if (pv_int[i] != null)
+                        pv_int[i].setValue(PVUtil.getLong(pvs[i]));
+                    if (pv_sev[i] != null)
+                        pv_sev[i].setValue(PVUtil.getSeverity(pvs[i]));
+                }
+                widget.setPropertyValue(prop_id, evaluate());
+            }
+        }
+        catch (final Throwable ex)
+        {
+            final StringBuilder buf = new StringBuilder();
+            buf.append("Rule execution failed\n");
+            try
+            {
+                final DisplayModel model = widget.getDisplayModel();
+                buf.append("Display '").append(model.getDisplayName()).append("', ");
+            }
+            catch (Exception ignore)
+            {
+                // Skip display model
+            }
+            buf.append(widget).append(", ").append(this);
+            logger.log(Level.WARNING, buf.toString(), ex);
+        }
+        statistics.addUpdate(System.nanoTime() - start);
+    }
+
+    /** @return Property value for the first condition that is met */
+    private Object evaluate()
+    {
+        for (int i=0; i<conditions.length; ++i)
+        {
+            // Like Python, anything but 0 is 'true'
+            if (VTypeHelper.toDouble(conditions[i].eval()) == 0.0)
+                continue;
+            if (! (values[i] instanceof Formula))
+                return values[i];
+            final double value = VTypeHelper.toDouble(((Formula) values[i]).eval());
+            if (bool)
+                return value != 0.0;
+            return value;
+        }
+        return default_value;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "JavaRule " + name;
+    }
+}
@@ -0,0 +1,76 @@
+package org.csstudio.display.builder.runtime.script.internal;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.csstudio.display.builder.model.DisplayModel;
+import org.csstudio.display.builder.model.Widget;
+
+/** Statistics of the rules in a display
+ *
+ *  <p>Tracks how many rules are evaluated in Java
+ *  or as Jython scripts, the time spent to compile them
+ *  when the display starts up, and the time spent
+ *  to evaluate Java rules on PV updates.
+ */
+@SuppressWarnings("nls")
+public class RuleStatistics
+{
+    private final LongAdder java_rules = new LongAdder(),
+                            jython_rules = new LongAdder(),
+                            startup_nanos = new LongAdder(),
+                            updates = new LongAdder(),
+                            update_nanos = new LongAdder();
+    private final LongAccumulator max_update_nanos = new LongAccumulator(Math::max, 0);
+
+    /** @param widget Widget
+     *  @return {@link RuleStatistics} for the widget's top-level display model
+     *  @throws Exception on error
+     */
+    public static RuleStatistics of(final Widget widget) throws Exception
+    {
+        final DisplayModel model = widget.getTopDisplayModel();
+        // Widgets of a display start concurrently
+        synchronized (RuleStatistics.class)
+        {
+            RuleStatistics statistics = model.getUserData(Widget.USER_DATA_RULE_STATISTICS);
+            if (statistics == null)
+            {
+                statistics = new RuleStatistics();
+                model.setUserData(Widget.USER_DATA_RULE_STATISTICS, statistics);
+            }
+            return statistics;
+        }
+    }
+
+    /** @param java Was rule compiled for Java, or as Jython script?
+     *  @param nanos Time spent to compile the rule
+     */
+    void addRule(final boolean java, final long nanos)
+    {
+        if (java)
+            java_rules.increment();
+        else
+            jython_rules.increment();
+        startup_nanos.add(nanos);
+    }
+
+    /** @param nanos Time spent to evaluate a Java rule */
+    void addUpdate(final long nanos)
+    {
+        updates.increment();
+        update_nanos.add(nanos);
+        max_update_nanos.accumulate(nanos);
+    }
+
+    @Override
+    public String toString()
+    {
+        final long count = updates.sum();
+        return String.format("Rules: %d Java, %d Jython, compiled in %.1f ms. %d Java rule updates, average %.1f us, max. %.1f us",
+                             java_rules.sum(), jython_rules.sum(), startup_nanos.sum() / 1e6,
+                             count,
+                             count > 0 ? update_nanos.sum() / 1e3 / count : 0.0,
+                             max_update_nanos.get() / 1e3);
+    }
+}
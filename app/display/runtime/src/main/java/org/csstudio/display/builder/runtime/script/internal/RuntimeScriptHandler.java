@@ -22,6 +22,7 @@ import org.csstudio.display.builder.model.properties.ScriptPV;
 import org.csstudio.display.builder.model.rules.RuleInfo;
 import org.csstudio.display.builder.model.rules.RuleToScript;
 import org.csstudio.display.builder.model.util.ModelResourceUtil;
+import org.csstudio.display.builder.runtime.Preferences;
 import org.csstudio.display.builder.runtime.RuntimeUtil;
 import org.csstudio.display.builder.runtime.WidgetRuntime;
 import org.csstudio.display.builder.runtime.pv.PVFactory;
@@ -94,7 +95,8 @@ public class RuntimeScriptHandler implements RuntimePVListener
 
     /** Helper to compile rules script
      *
-     *  <p>Gets text of script from rules utility
+     *  <p>Rules that can be evaluated in Java are compiled into a {@link JavaRule}.
+     *  Otherwise, gets text of script from rules utility.
      *
      *  @param widget Widget on which the rule is invoked
      *  @param rule_info Rule to compile
@@ -104,6 +106,19 @@ public class RuntimeScriptHandler implements RuntimePVListener
     public static Script compileScript(final Widget widget,
             final RuleInfo rule_info) throws Exception
     {
+        final RuleStatistics statistics = RuleStatistics.of(widget);
+        final long start = System.nanoTime();
+        if (Preferences.java_rules)
+        {
+            final Script rule = JavaRule.compile(widget, rule_info, statistics);
+            if (rule != null)
+            {
+                statistics.addRule(true, System.nanoTime() - start);
+                logger.log(Level.FINER, () -> "Compiled " + rule);
+                return rule;
+            }
+        }
+
         // Compile script
         final ScriptSupport scripting = RuntimeUtil.getScriptSupport(widget);
 
@@ -114,7 +129,9 @@ public class RuntimeScriptHandler implements RuntimePVListener
         logger.log(Level.FINER, () -> "Compiling rule script for " + dummy_name + "\n" + RuleToScript.addLineNumbers(script));
         try
         {
-            return scripting.compile(null, dummy_name, stream);
+            final Script compiled = scripting.compile(null, dummy_name, stream);
+            statistics.addRule(false, System.nanoTime() - start);
+            return compiled;
         }
         catch (Exception e)
         {
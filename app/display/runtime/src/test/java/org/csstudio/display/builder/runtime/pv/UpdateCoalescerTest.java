@@ -0,0 +1,147 @@
+package org.csstudio.display.builder.runtime.pv;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.csstudio.display.builder.model.util.VTypeUtil;
+import org.csstudio.display.builder.runtime.Preferences;
+import org.epics.vtype.Alarm;
+import org.epics.vtype.Display;
+import org.epics.vtype.Time;
+import org.epics.vtype.VDouble;
+import org.epics.vtype.VType;
+import org.junit.Test;
+
+/** JUnit test of the {@link UpdateCoalescer}
+ */
+@SuppressWarnings("nls")
+public class UpdateCoalescerTest
+{
+    @Test
+    public void testCoalescing() throws Exception
+    {
+        final RuntimePV pv = PVFactory.getPV("loc://coalesce(0)");
+        try
+        {
+            final AtomicInteger updates = new AtomicInteger();
+            final AtomicReference<Number> number = new AtomicReference<>();
+            final RuntimePVListener listener = new RuntimePVListener()
+            {
+                @Override
+                public void valueChanged(RuntimePV pv, VType value)
+                {
+                    number.set(VTypeUtil.getValueNumber(value));
+                    updates.incrementAndGet();
+                }
+            };
+            pv.addListener(listener);
+
+            // Rapid updates are coalesced into a few ticks
+            for (int i=1; i<=100; ++i)
+                pv.write(i);
+            Thread.sleep(3 * Preferences.update_throttle_ms);
+
+            System.out.println(updates.get() + " updates, last value " + number.get());
+            System.out.println(UpdateCoalescer.getInstance());
+            assertThat(number.get().intValue(), equalTo(100));
+            assertTrue(updates.get() < 100);
+            pv.removeListener(listener);
+        }
+        finally
+        {
+            PVFactory.releasePV(pv);
+        }
+    }
+
+    private static VType value(final double number)
+    {
+        return VDouble.of(number, Alarm.none(), Time.now(), Display.none());
+    }
+
+    /** @param pv PV
+     *  @return List that receives the numbers of the PV's updates
+     */
+    private static List<Double> record(final RuntimePV pv)
+    {
+        final List<Double> numbers = Collections.synchronizedList(new ArrayList<>());
+        pv.addListener(new RuntimePVListener()
+        {
+            @Override
+            public void valueChanged(RuntimePV pv, VType value)
+            {
+                numbers.add(VTypeUtil.getValueNumber(value).doubleValue());
+            }
+        });
+        // Ignore the initial value of the PV
+        numbers.clear();
+        return numbers;
+    }
+
+    @Test
+    public void testSlotReuse() throws Exception
+    {
+        // Coalescer that only ticks when called by the test
+        final UpdateCoalescer coalescer = new UpdateCoalescer(TimeUnit.HOURS.toMillis(1));
+        final RuntimePV a = PVFactory.getPV("loc://coalesce_a(0)");
+        final RuntimePV b = PVFactory.getPV("loc://coalesce_b(0)");
+        try
+        {
+            final List<Double> a_values = record(a);
+            final List<Double> b_values = record(b);
+
+            // Values coalesce to the last one
+            final int slot = coalescer.add(a);
+            coalescer.update(slot, a, value(1));
+            coalescer.update(slot, a, value(2));
+            coalescer.tick();
+            assertThat(a_values, equalTo(List.of(2.0)));
+            assertThat(coalescer.getTickReceived(), equalTo(2L));
+            assertThat(coalescer.getTickDelivered(), equalTo(1L));
+
+            // Remove 'a' while an update is pending, then re-use its slot for 'b'
+            coalescer.update(slot, a, value(3));
+            coalescer.remove(slot);
+            final int b_slot = coalescer.add(b);
+            assertThat(b_slot, equalTo(slot));
+            // Late update for the removed PV
+            coalescer.update(slot, a, value(4));
+            coalescer.tick();
+            assertThat(a_values, equalTo(List.of(2.0)));
+            assertThat(b_values, equalTo(List.of()));
+            assertThat(coalescer.getTickReceived(), equalTo(2L));
+            assertThat(coalescer.getTickDelivered(), equalTo(0L));
+
+            // New owner of the slot receives its values
+            coalescer.update(b_slot, b, value(5));
+            coalescer.update(slot, a, value(6));
+            coalescer.tick();
+            assertThat(b_values, equalTo(List.of(5.0)));
+            assertThat(a_values, equalTo(List.of(2.0)));
+
+            // Re-added PV gets a new slot and receives updates again
+            final int a_slot = coalescer.add(a);
+            assertTrue(a_slot != b_slot);
+            coalescer.update(a_slot, a, value(7));
+            coalescer.update(b_slot, b, value(8));
+            coalescer.tick();
+            assertThat(a_values, equalTo(List.of(2.0, 7.0)));
+            assertThat(b_values, equalTo(List.of(5.0, 8.0)));
+            assertThat(coalescer.getTickDelivered(), equalTo(2L));
+            assertThat(coalescer.getTotalReceived(), equalTo(8L));
+            assertThat(coalescer.getTotalDelivered(), equalTo(4L));
+        }
+        finally
+        {
+            PVFactory.releasePV(b);
+            PVFactory.releasePV(a);
+        }
+    }
+}
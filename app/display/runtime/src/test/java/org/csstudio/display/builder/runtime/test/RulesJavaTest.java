@@ -0,0 +1,142 @@
+package org.csstudio.display.builder.runtime.test;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.csstudio.display.builder.model.DisplayModel;
+import org.csstudio.display.builder.model.Widget;
+import org.csstudio.display.builder.model.persist.ModelLoader;
+import org.csstudio.display.builder.model.properties.ScriptPV;
+import org.csstudio.display.builder.model.rules.RuleInfo;
+import org.csstudio.display.builder.model.rules.RuleInfo.ExprInfoString;
+import org.csstudio.display.builder.runtime.RuntimeUtil;
+import org.csstudio.display.builder.runtime.pv.PVFactory;
+import org.csstudio.display.builder.runtime.pv.RuntimePV;
+import org.csstudio.display.builder.runtime.script.internal.RuntimeScriptHandler;
+import org.csstudio.display.builder.runtime.script.internal.Script;
+import org.junit.Test;
+
+/** JUnit test of rules that are evaluated in Java
+ */
+@SuppressWarnings("nls")
+public class RulesJavaTest
+{
+    @Test
+    public void testRule() throws Exception
+    {
+        // Same rule as in RulesJythonScriptTest
+        final DisplayModel display = ModelLoader.loadModel(getClass().getResourceAsStream("/rt_examples/rule_demo.opi"), "rule_demo.opi");
+        final Widget widget = display.runtimeChildren().getChildByName("Rectangle");
+        final RuleInfo rule = widget.propRules().getValue().get(0);
+
+        // Simple rule is compiled for Java
+        final Script rule_script = RuntimeScriptHandler.compileScript(widget, rule);
+        System.out.println(rule_script);
+        assertThat(rule_script.toString(), containsString("JavaRule"));
+
+        final RuntimePV pv = PVFactory.getPV(rule.getPVs().get(0).getName());
+        assertThat(widget.propWidth().getValue(), equalTo(200));
+
+        // Rule executes on thread pool, only need to await that
+        pv.write(1);
+        rule_script.submit(widget, pv).get(5, TimeUnit.SECONDS);
+        assertThat(widget.propWidth().getValue(), equalTo(100));
+
+        pv.write(0);
+        rule_script.submit(widget, pv).get(5, TimeUnit.SECONDS);
+        assertThat(widget.propWidth().getValue(), equalTo(200));
+
+        PVFactory.releasePV(pv);
+    }
+
+    @Test
+    public void testValueExpression() throws Exception
+    {
+        final DisplayModel display = ModelLoader.loadModel(getClass().getResourceAsStream("/rt_examples/rule_demo.opi"), "rule_demo.opi");
+        final Widget widget = display.runtimeChildren().getChildByName("Rectangle");
+
+        // Width follows PV, limited to 50
+        final RuleInfo rule = new RuleInfo("Follow", "width", true,
+                                           List.of(new ExprInfoString("pv0 >= 50 && !(pv0 > 1000)", "pv0 * 2"),
+                                                   new ExprInfoString("true", "50")),
+                                           List.of(new ScriptPV("loc://rule_width(100)")));
+        final Script rule_script = RuntimeScriptHandler.compileScript(widget, rule);
+        assertThat(rule_script.toString(), containsString("JavaRule"));
+
+        final RuntimePV pv = PVFactory.getPV(rule.getPVs().get(0).getName());
+        pv.write(60);
+        rule_script.submit(widget, pv).get(5, TimeUnit.SECONDS);
+        assertThat(widget.propWidth().getValue(), equalTo(120));
+
+        pv.write(10);
+        rule_script.submit(widget, pv).get(5, TimeUnit.SECONDS);
+        assertThat(widget.propWidth().getValue(), equalTo(50));
+
+        PVFactory.releasePV(pv);
+    }
+
+    @Test
+    public void testJythonFallback() throws Exception
+    {
+        final DisplayModel display = ModelLoader.loadModel(getClass().getResourceAsStream("/rt_examples/rule_demo.opi"), "rule_demo.opi");
+        final Widget widget = display.runtimeChildren().getChildByName("Rectangle");
+
+        // Strings need the Jython script
+        final RuleInfo rule = new RuleInfo("Text", "width", true,
+                                           List.of(new ExprInfoString("pvStr0 == \"Hello\"", "100")),
+                                           List.of(new ScriptPV("loc://rule_text(\"Hello\")")));
+        final Script rule_script = RuntimeScriptHandler.compileScript(widget, rule);
+        System.out.println(rule_script);
+        assertThat(rule_script.toString(), containsString("Jython"));
+
+        RuntimeUtil.getScriptSupport(widget).close();
+    }
+
+    /** @param condition Rule condition
+     *  @return Description of compiled rule
+     */
+    private String compileCondition(final String condition) throws Exception
+    {
+        final DisplayModel display = ModelLoader.loadModel(getClass().getResourceAsStream("/rt_examples/rule_demo.opi"), "rule_demo.opi");
+        final Widget widget = display.runtimeChildren().getChildByName("Rectangle");
+        final RuleInfo rule = new RuleInfo("Test", "width", true,
+                                           List.of(new ExprInfoString(condition, "50")),
+                                           List.of(new ScriptPV("loc://rule_ops(3)")));
+        final Script rule_script = RuntimeScriptHandler.compileScript(widget, rule);
+        System.out.println(condition + " -> " + rule_script);
+        RuntimeUtil.getScriptSupport(widget).close();
+        return rule_script.toString();
+    }
+
+    @Test
+    public void testOperatorFallback() throws Exception
+    {
+        // Parentheses make '&&', '||' unambiguous
+        assertThat(compileCondition("(pv0 > 1 && pv0 < 5) || pv0 == 10"), containsString("JavaRule"));
+
+        // Precedence of mixed '&&', '||' differs
+        assertThat(compileCondition("pv0 > 1 && pv0 < 5 || pv0 == 10"), containsString("Jython"));
+
+        // Python chains comparisons
+        assertThat(compileCondition("1 < pv0 < 5"), containsString("Jython"));
+        assertThat(compileCondition("pv0 == 3 == 1"), containsString("Jython"));
+
+        // Modulo is only supported by Python
+        assertThat(compileCondition("pv0 % 2 == 1"), containsString("Jython"));
+
+        // Python 2 truncates division of integers
+        assertThat(compileCondition("pvInt0/2 == 1"), containsString("Jython"));
+        assertThat(compileCondition("pvSev0/2 == 1"), containsString("Jython"));
+        assertThat(compileCondition("pv0 > 3/2"), containsString("Jython"));
+        assertThat(compileCondition("pv0 > 3//2"), containsString("Jython"));
+        assertThat(compileCondition("(pv0 + 1)/2 > 1"), containsString("Jython"));
+        // .. but not when an operand is a floating point number
+        assertThat(compileCondition("pv0/2 > 1"), containsString("JavaRule"));
+        assertThat(compileCondition("pvInt0 / 2.0 > 1"), containsString("JavaRule"));
+        assertThat(compileCondition("pv0 > 3.0/2"), containsString("JavaRule"));
+    }
+}
@@ -0,0 +1,51 @@
+package org.csstudio.display.builder.runtime.test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.junit.Assert.assertThat;
+
+import org.csstudio.display.builder.model.DisplayModel;
+import org.csstudio.display.builder.model.Widget;
+import org.csstudio.display.builder.model.widgets.GroupWidget;
+import org.csstudio.display.builder.model.widgets.TextUpdateWidget;
+import org.csstudio.display.builder.runtime.RuntimeUtil;
+import org.csstudio.display.builder.runtime.WidgetRuntime;
+import org.junit.Test;
+
+/** JUnit test of display runtime startup
+ */
+@SuppressWarnings("nls")
+public class RuntimeStartupTest
+{
+    @Test
+    public void testParallelStartup() throws Exception
+    {
+        // Display with many widgets, some of them inside a group
+        final DisplayModel model = new DisplayModel();
+        final GroupWidget group = new GroupWidget();
+        model.runtimeChildren().addChild(group);
+        for (int i=0; i<1000; ++i)
+        {
+            final TextUpdateWidget widget = new TextUpdateWidget();
+            widget.propPVName().setValue("loc://startup" + i + "(" + i + ")");
+            if (i % 2 == 0)
+                model.runtimeChildren().addChild(widget);
+            else
+                group.runtimeChildren().addChild(widget);
+        }
+
+        final long start = System.currentTimeMillis();
+        RuntimeUtil.startRuntime(model);
+        System.out.println("Started in " + (System.currentTimeMillis() - start) + " ms");
+
+        // All widgets have been started when startRuntime() returns
+        for (Widget widget : model.runtimeChildren().getValue())
+            if (widget instanceof TextUpdateWidget)
+                assertThat(WidgetRuntime.ofWidget(widget).getPrimaryPV().orElse(null), notNullValue());
+        for (Widget widget : group.runtimeChildren().getValue())
+            assertThat(WidgetRuntime.ofWidget(widget).getPrimaryPV().orElse(null), notNullValue());
+        assertThat(group.runtimeChildren().getValue().size(), equalTo(500));
+
+        RuntimeUtil.stopRuntime(model);
+    }
+}
@@ -0,0 +1,53 @@
+package org.phoebus.app.perfmon;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/** Display update statistics
+ *
+ *  <p>Reads the update histograms that display representations
+ *  publish as MBeans, without depending on the display code.
+ */
+@SuppressWarnings("nls")
+public class DisplayUpdateInfo
+{
+    /** Pattern for the MBeans of display update throttles */
+    private static final String PATTERN = "org.csstudio.display.builder:type=RepresentationUpdateThrottle,*";
+
+    /** @return Update histogram for each display, empty if there are no displays */
+    public static String getInfo()
+    {
+        final StringBuilder buf = new StringBuilder();
+        try
+        {
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            for (ObjectName name : server.queryNames(new ObjectName(PATTERN), null))
+            {
+                final String display = (String) server.getAttribute(name, "Display");
+                final long runs = (Long) server.getAttribute(name, "UpdateRuns");
+                final long carried = (Long) server.getAttribute(name, "CarriedOver");
+                final long[] limits = (long[]) server.getAttribute(name, "HistogramLimits");
+                final long[] histogram = (long[]) server.getAttribute(name, "Histogram");
+
+                buf.append(display.isEmpty() ? name.getKeyProperty("name") : display)
+                   .append(": ").append(runs).append(" updates, ")
+                   .append(carried).append(" carried over\n   ");
+                for (int i=0; i<histogram.length; ++i)
+                {
+                    if (i < limits.length)
+                        buf.append("<").append(limits[i]);
+                    else
+                        buf.append(">=").append(limits[limits.length-1]);
+                    buf.append("ms: ").append(histogram[i]).append(i < histogram.length-1 ? ", " : "\n");
+                }
+            }
+        }
+        catch (Exception ex)
+        {
+            buf.append("Cannot read display updates: ").append(ex.getMessage());
+        }
+        return buf.toString();
+    }
+}
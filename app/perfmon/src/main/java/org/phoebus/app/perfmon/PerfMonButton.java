@@ -17,13 +17,14 @@ import javafx.scene.control.Tooltip;
 public class PerfMonButton extends Button
 {
     private final FPSMonitor fps_monitor;
+    private final Tooltip tooltip = new Tooltip("Press for GC");
 
     public PerfMonButton()
     {
         updateFPS(60.0);
         fps_monitor = new FPSMonitor(this::updateFPS);
         fps_monitor.start();
-        setTooltip(new Tooltip("Press for GC"));
+        setTooltip(tooltip);
         setOnAction(event ->
         {
             Runtime.getRuntime().gc();
@@ -39,6 +40,12 @@ public class PerfMonButton extends Button
         final double gb = total / 1024.0 / 1024.0 / 1024.0;
 
         setText(String.format("Avail: %d%% of %.2fGB. FPS: %.1f", avail, gb, fps));
+
+        final String displays = DisplayUpdateInfo.getInfo();
+        if (displays.isEmpty())
+            tooltip.setText("Press for GC");
+        else
+            tooltip.setText("Press for GC\n\nDisplay updates:\n" + displays);
     }
 
     public void dispose()
@@ -15,6 +15,10 @@ import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 
 /** {@link PlotDataProvider} based on {@link List}
+ *
+ *  <p>The list must only be modified via the methods of this provider,
+ *  which lock it and update the change count.
+ *
  *  @param <XTYPE> Data type used for the horizontal {@link Axis}
  *  @author Kay Kasemir
  */
@@ -23,9 +27,10 @@ public class ArrayPlotDataProvider<XTYPE extends Comparable<XTYPE>> implements P
 {
     final private ReadWriteLock lock = new InstrumentedReadWriteLock();
     final private List<PlotDataItem<XTYPE>> data;
+    private volatile long changes = 0;
 
     /** Construct with existing data
-     *  @param data
+     *  @param data Initial data. From now on only modify via this provider.
      */
     public ArrayPlotDataProvider(final List<PlotDataItem<XTYPE>> data)
     {
@@ -43,11 +48,29 @@ public class ArrayPlotDataProvider<XTYPE extends Comparable<XTYPE>> implements P
      */
     public void add(final PlotDataItem<XTYPE> item) throws Exception
     {
-        if (! lock.writeLock().tryLock(10, TimeUnit.SECONDS))
-            throw new TimeoutException("Cannot lock for writing, " + lock);
+        lockForWriting();
         try
         {
             data.add(item);
+            ++changes;
+        }
+        finally
+        {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** @param index Index of item to replace
+     *  @param item New item
+     *  @throws Exception on error
+     */
+    public void set(final int index, final PlotDataItem<XTYPE> item) throws Exception
+    {
+        lockForWriting();
+        try
+        {
+            data.set(index, item);
+            ++changes;
         }
         finally
         {
@@ -55,6 +78,46 @@ public class ArrayPlotDataProvider<XTYPE extends Comparable<XTYPE>> implements P
         }
     }
 
+    /** @param index Index of item to remove
+     *  @throws Exception on error
+     */
+    public void remove(final int index) throws Exception
+    {
+        lockForWriting();
+        try
+        {
+            data.remove(index);
+            ++changes;
+        }
+        finally
+        {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Remove all items
+     *  @throws Exception on error
+     */
+    public void clear() throws Exception
+    {
+        lockForWriting();
+        try
+        {
+            data.clear();
+            ++changes;
+        }
+        finally
+        {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void lockForWriting() throws Exception
+    {
+        if (! lock.writeLock().tryLock(10, TimeUnit.SECONDS))
+            throw new TimeoutException("Cannot lock for writing, " + lock);
+    }
+
     @Override
     public Lock getLock()
     {
@@ -73,6 +136,12 @@ public class ArrayPlotDataProvider<XTYPE extends Comparable<XTYPE>> implements P
         return data.get(index);
     }
 
+    @Override
+    public long getChangeCount()
+    {
+        return changes;
+    }
+
     @Override
     public String toString()
     {
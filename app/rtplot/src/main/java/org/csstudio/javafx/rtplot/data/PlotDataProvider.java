@@ -58,6 +58,20 @@ public interface PlotDataProvider<XTYPE extends Comparable<XTYPE>>
      */
     public PlotDataItem<XTYPE> get(int index);
 
+    /** Change counter
+     *
+     *  <p>Allows the plot to re-use information derived from
+     *  the samples, for example a decimated version of the samples,
+     *  until the samples change.
+     *
+     *  @return Number that changes whenever samples are added, removed or modified,
+     *          or -1 if the provider does not track changes
+     */
+    public default long getChangeCount()
+    {
+        return -1;
+    }
+
     //    public String toString()
     //    {
     //        // Derived class should include InstrumentedReadWriteLock#toString()
@@ -0,0 +1,144 @@
+package org.csstudio.javafx.rtplot.internal;
+
+import java.util.Objects;
+
+import org.csstudio.javafx.rtplot.data.PlotDataItem;
+import org.csstudio.javafx.rtplot.data.PlotDataProvider;
+import org.csstudio.javafx.rtplot.internal.util.IntList;
+import org.csstudio.javafx.rtplot.internal.util.ScreenTransform;
+
+/** Decimation of trace samples to pixel columns
+ *
+ *  <p>Of consecutive samples that fall into the same pixel column,
+ *  only the first, last, minimum and maximum value are kept ("M4").
+ *  A line drawn through the remaining samples covers the same pixels
+ *  as a line drawn through all samples,
+ *  but the number of samples to draw is limited to about
+ *  four times the plot width instead of the sample count.
+ *  Samples with a <code>NaN</code> value are kept because they break lines.
+ *
+ *  <p>The result is cached until the data changes,
+ *  as indicated by {@link PlotDataProvider#getChangeCount()},
+ *  or the horizontal axis changes.
+ *
+ *  <p>On a cache miss, all samples are scanned again.
+ *  The change count does not tell if samples were only appended
+ *  or also modified, so the previous result cannot be extended.
+ *  The scan is a single pass without allocation, visiting each sample
+ *  like the un-decimated painting did on every redraw,
+ *  while redraws that only change e.g. the value axis re-use the result.
+ *  Providers that change on every redraw, for example because of
+ *  a scrolling time axis, thus cost one scan per redraw.
+ *
+ *  @param <XTYPE> Data type of horizontal {@link Axis}
+ */
+class TraceDecimation<XTYPE extends Comparable<XTYPE>>
+{
+    /** Indices of samples to draw */
+    private final IntList indices = new IntList(2048);
+
+    // State of data and axis for which 'indices' were computed
+    private long changes = -1;
+    private int size = -1;
+    private int x_min, x_max;
+    private Class<?> transform_type = null;
+    private XTYPE x_start, x_end;
+
+    /** Determine samples to draw
+     *  @param data Data, must be locked
+     *  @param x_transform Horizontal axis
+     *  @param x_min Minimum screen position, lower positions are clipped
+     *  @param x_max Maximum screen position, higher positions are clipped
+     *  @return Indices of samples to draw
+     */
+    IntList decimate(final PlotDataProvider<XTYPE> data, final ScreenTransform<XTYPE> x_transform,
+                     final int x_min, final int x_max)
+    {
+        final long changes = data.getChangeCount();
+        final int size = data.size();
+        final XTYPE x_start = x_transform.inverse(x_min), x_end = x_transform.inverse(x_max);
+        if (changes >= 0  &&  changes == this.changes  &&  size == this.size  &&
+            x_min == this.x_min  &&  x_max == this.x_max  &&
+            x_transform.getClass() == transform_type  &&
+            Objects.equals(x_start, this.x_start)  &&  Objects.equals(x_end, this.x_end))
+            return indices;
+
+        this.changes = changes;
+        this.size = size;
+        this.x_min = x_min;
+        this.x_max = x_max;
+        transform_type = x_transform.getClass();
+        this.x_start = x_start;
+        this.x_end = x_end;
+
+        indices.clear();
+        int column = Integer.MIN_VALUE, first = -1, min = -1, max = -1, last = -1;
+        double min_value = Double.NaN, max_value = Double.NaN;
+        for (int i=0; i<size; ++i)
+        {
+            final PlotDataItem<XTYPE> item = data.get(i);
+            final double value = item.getValue();
+            if (Double.isNaN(value))
+            {
+                addColumn(first, min, max, last);
+                first = -1;
+                column = Integer.MIN_VALUE;
+                indices.add(i);
+                continue;
+            }
+            final int x = clip(Math.round(x_transform.transform(item.getPosition())));
+            if (x != column  ||  first < 0)
+            {
+                addColumn(first, min, max, last);
+                column = x;
+                first = min = max = last = i;
+                min_value = max_value = value;
+            }
+            else
+            {
+                last = i;
+                if (value < min_value)
+                {
+                    min = i;
+                    min_value = value;
+                }
+                else if (value > max_value)
+                {
+                    max = i;
+                    max_value = value;
+                }
+            }
+        }
+        addColumn(first, min, max, last);
+        return indices;
+    }
+
+    private int clip(final double x)
+    {
+        if (x < x_min)
+            return x_min;
+        if (x > x_max)
+            return x_max;
+        return (int) x;
+    }
+
+    /** Add samples of a pixel column, in their original order
+     *  @param first Index of first sample in column, -1 for none
+     *  @param min Index of minimum
+     *  @param max Index of maximum
+     *  @param last Index of last sample
+     */
+    private void addColumn(final int first, final int min, final int max, final int last)
+    {
+        if (first < 0)
+            return;
+        indices.add(first);
+        final int low = Math.min(min, max), high = Math.max(min, max);
+        if (low > first)
+            indices.add(low);
+        if (high > low  &&  high > first)
+            indices.add(high);
+        if (last > high  &&  last > first)
+            indices.add(last);
+    }
+}
@@ -14,6 +14,8 @@ import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.Rectangle;
 import java.awt.Stroke;
+import java.util.Map;
+import java.util.WeakHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.logging.Level;
@@ -56,6 +58,9 @@ public class TracePainter<XTYPE extends Comparable<XTYPE>>
     final private static int OUTSIDE = 1000;
     private int x_min, x_max, y_min, y_max;
 
+    /** Decimated samples for 'value' lines, per trace */
+    private final Map<Trace<XTYPE>, TraceDecimation<XTYPE>> decimations = new WeakHashMap<>();
+
     final private int clipX(final double x)
     {
         if (x < x_min)
@@ -99,6 +104,8 @@ public class TracePainter<XTYPE extends Comparable<XTYPE>>
         final Color tpcolor = new Color(color.getRed(), color.getGreen(), color.getBlue(), opacity);
         gc.setColor(color);
 
+        // Value lines are decimated to the samples that matter per pixel column.
+        //
         // TODO Optimize drawing
         //
         // Determine first sample to draw via PlotDataSearch.findSampleLessOrEqual(),
@@ -133,38 +140,38 @@ public class TracePainter<XTYPE extends Comparable<XTYPE>>
                 drawMinMaxArea(gc, x_transform, y_axis, data);
                 gc.setPaint(color);
                 drawStdDevLines(gc, x_transform, y_axis, data, trace.getWidth());
-                drawValueStaircase(gc, x_transform, y_axis, data, trace.getWidth(), trace.getLineStyle());
+                drawValueStaircase(gc, x_transform, y_axis, data, decimate(trace, x_transform), trace.getWidth(), trace.getLineStyle());
                 break;
             case AREA_DIRECT:
                 gc.setPaint(tpcolor);
                 drawMinMaxArea(gc, x_transform, y_axis, data);
                 gc.setPaint(color);
                 drawStdDevLines(gc, x_transform, y_axis, data, trace.getWidth());
-                drawValueLines(gc, x_transform, y_axis, data, trace.getWidth(), trace.getLineStyle());
+                drawValueLines(gc, x_transform, y_axis, data, decimate(trace, x_transform), trace.getWidth(), trace.getLineStyle());
                 break;
             case LINES:
                 drawMinMaxLines(gc, x_transform, y_axis, data, trace.getWidth());
                 gc.setPaint(tpcolor);
                 drawStdDevLines(gc, x_transform, y_axis, data, trace.getWidth());
                 gc.setPaint(color);
-                drawValueStaircase(gc, x_transform, y_axis, data, trace.getWidth(), trace.getLineStyle());
+                drawValueStaircase(gc, x_transform, y_axis, data, decimate(trace, x_transform), trace.getWidth(), trace.getLineStyle());
                 break;
             case LINES_DIRECT:
                 drawMinMaxLines(gc, x_transform, y_axis, data, trace.getWidth());
                 gc.setPaint(tpcolor);
                 drawStdDevLines(gc, x_transform, y_axis, data, trace.getWidth());
                 gc.setPaint(color);
-                drawValueLines(gc, x_transform, y_axis, data, trace.getWidth(), trace.getLineStyle());
+                drawValueLines(gc, x_transform, y_axis, data, decimate(trace, x_transform), trace.getWidth(), trace.getLineStyle());
                 break;
             case SINGLE_LINE:
-                drawValueStaircase(gc, x_transform, y_axis, data, trace.getWidth(), trace.getLineStyle());
+                drawValueStaircase(gc, x_transform, y_axis, data, decimate(trace, x_transform), trace.getWidth(), trace.getLineStyle());
                 break;
             case SINGLE_LINE_DIRECT:
-                drawValueLines(gc, x_transform, y_axis, data, trace.getWidth(), trace.getLineStyle());
+                drawValueLines(gc, x_transform, y_axis, data, decimate(trace, x_transform), trace.getWidth(), trace.getLineStyle());
                 break;
             case LINES_ERROR_BARS:
                 drawErrorBars(gc, x_transform, y_axis, data, trace.getPointSize());
-                drawValueLines(gc, x_transform, y_axis, data, trace.getWidth(), trace.getLineStyle());
+                drawValueLines(gc, x_transform, y_axis, data, decimate(trace, x_transform), trace.getWidth(), trace.getLineStyle());
                 break;
             case ERROR_BARS:
                 // Compare error bars to area and min/max lines
@@ -182,7 +189,7 @@ public class TracePainter<XTYPE extends Comparable<XTYPE>>
                     drawHistogram(gc, x_transform, y_axis, data);
                 break;
             default:
-                drawValueStaircase(gc, x_transform, y_axis, data, trace.getWidth(), trace.getLineStyle());
+                drawValueStaircase(gc, x_transform, y_axis, data, decimate(trace, x_transform), trace.getWidth(), trace.getLineStyle());
             }
 
             final PointType point_type = trace.getPointType();
@@ -232,26 +239,38 @@ public class TracePainter<XTYPE extends Comparable<XTYPE>>
         }
     }
 
+    /** @param trace Trace
+     *  @param x_transform Horizontal axis
+     *  @return Indices of the trace's samples to draw as value line
+     */
+    private IntList decimate(final Trace<XTYPE> trace, final ScreenTransform<XTYPE> x_transform)
+    {
+        final TraceDecimation<XTYPE> decimation = decimations.computeIfAbsent(trace, t -> new TraceDecimation<>());
+        return decimation.decimate(trace.getData(), x_transform, x_min, x_max);
+    }
+
     /** Draw values of data as staircase line
      *  @param gc GC
      *  @param x_transform Horizontal axis
      *  @param y_axis Value axis
      *  @param data Data
+     *  @param samples Indices of samples to draw
      *  @param line_width
      *  @param line_style
      */
     final private void drawValueStaircase(final Graphics2D gc,
             final ScreenTransform<XTYPE> x_transform, final YAxisImpl<XTYPE> y_axis,
-            final PlotDataProvider<XTYPE> data, final int line_width, final LineStyle line_style)
+            final PlotDataProvider<XTYPE> data, final IntList samples,
+            final int line_width, final LineStyle line_style)
     {
         final IntList poly_x = new IntList(INITIAL_ARRAY_SIZE);
         final IntList poly_y = new IntList(INITIAL_ARRAY_SIZE);
-        final int N = data.size();
+        final int N = samples.size();
         int last_x = -1, last_y = -1;
         gc.setStroke(createStroke(line_width, line_style));
-        for (int i=0; i<N; ++i)
+        for (int s=0; s<N; ++s)
         {
-            final PlotDataItem<XTYPE> item = data.get(i);
+            final PlotDataItem<XTYPE> item = data.get(samples.get(s));
             final int x = clipX(Math.round(x_transform.transform(item.getPosition())));
             final double value = item.getValue();
             if (poly_x.size() > 0  && x != last_x)
@@ -283,22 +302,24 @@ public class TracePainter<XTYPE extends Comparable<XTYPE>>
      *  @param x_transform Horizontal axis
      *  @param y_axis Value axis
      *  @param data Data
+     *  @param samples Indices of samples to draw
      *  @param line_width
      *  @param line_style
      */
     final private void drawValueLines(final Graphics2D gc,
             final ScreenTransform<XTYPE> x_transform, final YAxisImpl<XTYPE> y_axis,
-            final PlotDataProvider<XTYPE> data, final int line_width, final LineStyle line_style)
+            final PlotDataProvider<XTYPE> data, final IntList samples,
+            final int line_width, final LineStyle line_style)
     {
         final IntList value_poly_x = new IntList(INITIAL_ARRAY_SIZE);
         final IntList value_poly_y = new IntList(INITIAL_ARRAY_SIZE);
-        final int N = data.size();
+        final int N = samples.size();
 
         gc.setStroke(createStroke(line_width, line_style));
         int last_x = -1, last_y = -1;
-        for (int i=0; i<N; ++i)
+        for (int s=0; s<N; ++s)
         {
-            final PlotDataItem<XTYPE> item = data.get(i);
+            final PlotDataItem<XTYPE> item = data.get(samples.get(s));
             final int x = clipX(Math.round(x_transform.transform(item.getPosition())));
             final double value = item.getValue();
             if (Double.isNaN(value))
@@ -0,0 +1,171 @@
+package org.csstudio.javafx.rtplot.internal;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.csstudio.javafx.rtplot.data.ArrayPlotDataProvider;
+import org.csstudio.javafx.rtplot.data.PlotDataItem;
+import org.csstudio.javafx.rtplot.data.PlotDataProvider;
+import org.csstudio.javafx.rtplot.data.SimpleDataItem;
+import org.csstudio.javafx.rtplot.internal.util.IntList;
+import org.csstudio.javafx.rtplot.internal.util.LinearScreenTransform;
+import org.junit.Test;
+
+/** JUnit test of the {@link TraceDecimation}
+ */
+@SuppressWarnings("nls")
+public class TraceDecimationTest
+{
+    @Test
+    public void testDecimation() throws Exception
+    {
+        // 10 samples per pixel column
+        final ArrayPlotDataProvider<Double> data = new ArrayPlotDataProvider<>();
+        for (int i=0; i<100; ++i)
+        {
+            final int k = i % 10;
+            data.add(new SimpleDataItem<>(i / 10 + k / 20.0, k == 3 ? -5.0 : (k == 6 ? 5.0 : 0.0)));
+        }
+        final LinearScreenTransform x_transform = new LinearScreenTransform();
+        x_transform.config(0.0, 10.0, 0, 10);
+
+        final TraceDecimation<Double> decimation = new TraceDecimation<>();
+        IntList indices = decimation.decimate(data, x_transform, 0, 10);
+        System.out.println(Arrays.toString(indices.toArray()));
+        // Each column keeps first, min, max, last
+        assertThat(indices.size(), equalTo(40));
+        assertThat(indices.get(0), equalTo(0));
+        assertThat(indices.get(1), equalTo(3));
+        assertThat(indices.get(2), equalTo(6));
+        assertThat(indices.get(3), equalTo(9));
+
+        // Unchanged data and axis re-use the result
+        assertThat(decimation.decimate(data, x_transform, 0, 10), sameInstance(indices));
+        final int[] cached = indices.toArray();
+        indices = decimation.decimate(data, x_transform, 0, 10);
+        assertThat(indices.toArray(), equalTo(cached));
+
+        // Zoom in: Each sample in its own column
+        x_transform.config(0.0, 1.0, 0, 100);
+        indices = decimation.decimate(data, x_transform, 0, 100);
+        assertThat(indices.get(0), equalTo(0));
+        assertThat(indices.get(10), equalTo(10));
+
+        // NaN is always kept
+        data.add(new SimpleDataItem<>(10.01, Double.NaN));
+        data.add(new SimpleDataItem<>(10.02, 1.0));
+        x_transform.config(0.0, 10.0, 0, 10);
+        indices = decimation.decimate(data, x_transform, 0, 10);
+        assertThat(indices.get(indices.size()-2), equalTo(100));
+        assertThat(indices.get(indices.size()-1), equalTo(101));
+    }
+
+    /** Samples with array values, plotting the element at a selectable index */
+    private static class WaveformData implements PlotDataProvider<Double>
+    {
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final AtomicLong changes = new AtomicLong();
+        private final double[][] waveforms;
+        private volatile int index = 0;
+
+        WaveformData(final double[][] waveforms)
+        {
+            this.waveforms = waveforms;
+        }
+
+        /** Like the data browser's PVItem, count index change as data change */
+        void setIndex(final int index)
+        {
+            this.index = index;
+            changes.incrementAndGet();
+        }
+
+        @Override
+        public Lock getLock()
+        {
+            return lock.readLock();
+        }
+
+        @Override
+        public int size()
+        {
+            return waveforms.length;
+        }
+
+        @Override
+        public PlotDataItem<Double> get(final int i)
+        {
+            return new SimpleDataItem<>(i / 100.0, waveforms[i][index]);
+        }
+
+        @Override
+        public long getChangeCount()
+        {
+            return changes.get();
+        }
+    }
+
+    @Test
+    public void testWaveformIndex() throws Exception
+    {
+        // 10 samples in one pixel column.
+        // Element 0 has its minimum at sample 3, element 1 at sample 7
+        final double[][] waveforms = new double[10][];
+        for (int i=0; i<10; ++i)
+            waveforms[i] = new double[] { i == 3 ? -5.0 : 0.0, i == 7 ? -5.0 : 0.0 };
+        final WaveformData data = new WaveformData(waveforms);
+        final LinearScreenTransform x_transform = new LinearScreenTransform();
+        x_transform.config(0.0, 10.0, 0, 10);
+
+        final TraceDecimation<Double> decimation = new TraceDecimation<>();
+        IntList indices = decimation.decimate(data, x_transform, 0, 10);
+        System.out.println(Arrays.toString(indices.toArray()));
+        assertThat(indices.toArray(), equalTo(new int[] { 0, 3, 9 }));
+
+        // Same samples, but now using a different array element
+        data.setIndex(1);
+        indices = decimation.decimate(data, x_transform, 0, 10);
+        System.out.println(Arrays.toString(indices.toArray()));
+        assertThat(indices.toArray(), equalTo(new int[] { 0, 7, 9 }));
+    }
+
+    @Test
+    public void testListChanges() throws Exception
+    {
+        // 10 samples in one pixel column, minimum at sample 3
+        final List<PlotDataItem<Double>> samples = new ArrayList<>();
+        for (int i=0; i<10; ++i)
+            samples.add(new SimpleDataItem<>(i / 100.0, i == 3 ? -5.0 : 0.0));
+        final ArrayPlotDataProvider<Double> data = new ArrayPlotDataProvider<>(samples);
+        final LinearScreenTransform x_transform = new LinearScreenTransform();
+        x_transform.config(0.0, 10.0, 0, 10);
+
+        final TraceDecimation<Double> decimation = new TraceDecimation<>();
+        assertThat(decimation.decimate(data, x_transform, 0, 10).toArray(), equalTo(new int[] { 0, 3, 9 }));
+
+        // Each modification of the same number of samples is detected
+        long changes = data.getChangeCount();
+        data.set(7, new SimpleDataItem<>(0.07, -10.0));
+        assertThat(data.getChangeCount() > changes, equalTo(true));
+        assertThat(decimation.decimate(data, x_transform, 0, 10).toArray(), equalTo(new int[] { 0, 7, 9 }));
+
+        changes = data.getChangeCount();
+        data.remove(9);
+        data.add(new SimpleDataItem<>(0.09, 5.0));
+        assertThat(data.getChangeCount() > changes, equalTo(true));
+        assertThat(decimation.decimate(data, x_transform, 0, 10).toArray(), equalTo(new int[] { 0, 7, 9 }));
+
+        changes = data.getChangeCount();
+        data.clear();
+        assertThat(data.getChangeCount() > changes, equalTo(true));
+        assertThat(decimation.decimate(data, x_transform, 0, 10).size(), equalTo(0));
+    }
+}
@@ -56,7 +56,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 
 import java.time.Duration;
 import java.util.*;
-import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -421,47 +421,30 @@ public class SnapshotController implements NodeChangedListener {
 
     @FXML
     public void restore(ActionEvent event) {
+        VSnapshot s = snapshots.get(0);
+        List<SnapshotEntry> entries = s.getEntries().stream()
+                .filter(entry -> {
+                    TableEntry e = tableEntryItems.get(entry.getPVName());
+                    return e.selectedProperty().get() && !e.readOnlyProperty().get() && entry.getValue() != null;
+                })
+                .collect(Collectors.toList());
+        SnapshotRestorer restorer = new SnapshotRestorer(preferencesReader.getInt("restore.maxInFlight"),
+                preferencesReader.getInt("restore.writeTimeout"),
+                SnapshotRestorer.parseOrderingGroups(preferencesReader.get("restore.orderingGroups")),
+                preferencesReader.getBoolean("restore.verify"));
+        snapshotRestorableProperty.set(false);
         new Thread(() -> {
-            VSnapshot s = snapshots.get(0);
-            CountDownLatch countDownLatch = new CountDownLatch(s.getEntries().size());
-            s.getEntries().stream().forEach(e -> {
-                pvs.get(e.getPVName()).setCountDownLatch(countDownLatch);
-                pvs.get(e.getPVName()).writeStatus = PVEvent.Type.WRITE_FAILED;
-            });
             try {
-                List<SnapshotEntry> entries = s.getEntries();
-                for (SnapshotEntry entry : entries) {
-                    final TableEntry e = tableEntryItems.get(entry.getPVName());
-                    if (e.selectedProperty().get() && !e.readOnlyProperty().get()) {
-                        final PV pv = pvs.get(e.getConfigPv().getPvName());
-                        if (entry.getValue() != null) {
-                            pv.pv.write(Utilities.toRawValue(entry.getValue()));
-                        }
-                    }
-                }
-
-                try {
-                    countDownLatch.await();
-                } catch (InterruptedException e) {
-                    e.printStackTrace();
-                }
-
-                List<String> messages = new ArrayList<>();
-                for (SnapshotEntry entry : entries) {
-                    PV pv = pvs.get(entry.getPVName());
-                    if (pv.getWriteStatus().equals(PVEvent.Type.WRITE_FAILED)) {
-                        StringBuilder sb = new StringBuilder(200);
-                        sb.append(pv.pvName).append(':').append(" error writing PV");
-                        messages.add(sb.toString());
-                    }
-                }
-
-                if (messages.isEmpty()) {
-                    LOGGER.log(Level.FINE, "Restored snapshot {0}", s.getSnapshot().get().getName());
-                } else {
-                    Collections.sort(messages);
-                    StringBuilder sb = new StringBuilder(messages.size() * 200);
-                    messages.forEach(e -> sb.append(e).append('\n'));
+                SnapshotRestorer.Result result = restorer.restore(entries,
+                        entry -> pvs.get(entry.getPVName()).write(Utilities.toRawValue(entry.getValue())),
+                        entry -> Utilities.areValuesEqual(entry.getValue(), pvs.get(entry.getPVName()).pvValue, Optional.empty()));
+                LOGGER.log(Level.INFO, "Restored {0} PVs of snapshot {1} in {2} ms ({3} PVs/s)",
+                        new Object[] { result.getCount(), s.getSnapshot().get().getName(), result.getElapsedMillis(),
+                                String.format("%.1f", result.getThroughput()) });
+
+                if (!result.getFailures().isEmpty()) {
+                    StringBuilder sb = new StringBuilder(result.getFailures().size() * 200);
+                    result.getFailures().forEach((pvName, message) -> sb.append(pvName).append(": ").append(message).append('\n'));
                     LOGGER.log(Level.WARNING,
                             "Not all PVs could be restored for {0}: {1}. The following errors occured:\n{2}",
                             new Object[] { s.getSnapshot().get().getName(), s.getSnapshot().get(), sb.toString() });
@@ -473,10 +456,12 @@ public class SnapshotController implements NodeChangedListener {
                         alert.showAndWait();
                     });
                 }
+            } catch (InterruptedException e) {
+                LOGGER.log(Level.WARNING, "Restore of snapshot " + s.getSnapshot().get().getName() + " interrupted", e);
             } finally {
+                Platform.runLater(() -> snapshotRestorableProperty.set(true));
             }
-        }).start();
-
+        }, "Snapshot restore").start();
     }
 
     @FXML
@@ -731,11 +716,10 @@ public class SnapshotController implements NodeChangedListener {
     private class PV {
         final String pvName;
         final String readbackPvName;
-        CountDownLatch countDownLatch;
         org.epics.gpclient.PV<VType, Object> pv;
         PVReader<VType> pvReader;
         PVReader<VType> readbackReader;
-        PVEvent.Type writeStatus = PVEvent.Type.WRITE_FAILED;
+        volatile CompletableFuture<Void> pendingWrite;
         volatile VType pvValue = VDisconnectedData.INSTANCE;
         volatile VType readbackValue = VDisconnectedData.INSTANCE;
         TableEntry snapshotTableEntry;
@@ -764,19 +748,18 @@ public class SnapshotController implements NodeChangedListener {
                         this.pvValue = p.isConnected() ? (VType)p.getValue() : VDisconnectedData.INSTANCE;
                         this.snapshotTableEntry.setLiveValue(this.pvValue);
                     }
-                    else if(event.getType().contains(PVEvent.Type.WRITE_SUCCEEDED)){
-                        if(countDownLatch != null){
-                            LOGGER.info(countDownLatch + " Write OK, signalling latch");
-                            countDownLatch.countDown();
+                    // With maxRate, one event may combine a value update and the write result
+                    if(event.getType().contains(PVEvent.Type.WRITE_SUCCEEDED)){
+                        CompletableFuture<Void> write = pendingWrite;
+                        if(write != null){
+                            write.complete(null);
                         }
-                        writeStatus = PVEvent.Type.WRITE_SUCCEEDED;
                     }
-                    else if(event.getType().contains(PVEvent.Type.WRITE_FAILED)){
-                        if(countDownLatch != null){
-                            LOGGER.info(countDownLatch + "Write FAILED, signalling latch");
-                            countDownLatch.countDown();
+                    if(event.getType().contains(PVEvent.Type.WRITE_FAILED)){
+                        CompletableFuture<Void> write = pendingWrite;
+                        if(write != null){
+                            write.completeExceptionally(new Exception("write failed"));
                         }
-                        writeStatus = PVEvent.Type.WRITE_FAILED;
                     }
                 }).maxRate(Duration.ofMillis(TABLE_UPDATE_INTERVAL))
                         .start();
@@ -805,19 +788,22 @@ public class SnapshotController implements NodeChangedListener {
             }
         }
 
-        public void setCountDownLatch(CountDownLatch countDownLatch){
-            LOGGER.info(countDownLatch + " New CountDownLatch set");
-            this.countDownLatch = countDownLatch;
+        /**
+         * Writes a value without waiting for the write to complete.
+         * @param value Value to write
+         * @return Future that completes when the write has succeeded or failed
+         */
+        CompletableFuture<Void> write(Object value){
+            CompletableFuture<Void> write = new CompletableFuture<>();
+            pendingWrite = write;
+            pv.write(value);
+            return write;
         }
 
         public void setSnapshotTableEntry(TableEntry snapshotTableEntry){
             this.snapshotTableEntry = snapshotTableEntry;
         }
 
-        public PVEvent.Type getWriteStatus(){
-            return writeStatus;
-        }
-
         void dispose() {
             if (pv != null && !pv.isClosed()) {
                 pv.close();
@@ -0,0 +1,234 @@
+package org.phoebus.applications.saveandrestore.ui.snapshot;
+
+import org.phoebus.applications.saveandrestore.ui.model.SnapshotEntry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Writes the values of snapshot entries to their PVs.
+ *
+ * <p>Writes are issued asynchronously, with up to a configurable number of writes in flight,
+ * so restoring a snapshot does not take one network round trip per PV.
+ * Entries can be split into ordering groups: all writes of one group must complete before
+ * the next group is written. Optionally, the values are read back after writing to verify
+ * that the PVs hold the restored values.
+ */
+public class SnapshotRestorer {
+
+    /**
+     * Writes the value of a snapshot entry.
+     */
+    @FunctionalInterface
+    public interface Writer {
+        /**
+         * @param entry Entry to restore
+         * @return Future that completes when the write has been confirmed, or completes exceptionally if it failed
+         * @throws Exception if the write cannot be issued
+         */
+        CompletableFuture<?> write(SnapshotEntry entry) throws Exception;
+    }
+
+    /**
+     * Checks if the PV of a snapshot entry holds the restored value.
+     */
+    @FunctionalInterface
+    public interface Verifier {
+        /**
+         * @param entry Entry that was restored
+         * @return <code>true</code> if the value read back matches the value of the entry
+         */
+        boolean verify(SnapshotEntry entry);
+    }
+
+    /**
+     * Outcome of a restore.
+     */
+    public static class Result {
+        private final int count;
+        private final Map<String, String> failures;
+        private final long elapsedMillis;
+
+        Result(int count, Map<String, String> failures, long elapsedMillis) {
+            this.count = count;
+            this.failures = Collections.unmodifiableMap(failures);
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        /**
+         * @return Number of entries that were to be restored
+         */
+        public int getCount() {
+            return count;
+        }
+
+        /**
+         * @return Error message by PV name for all PVs that could not be restored, sorted by PV name
+         */
+        public Map<String, String> getFailures() {
+            return failures;
+        }
+
+        /**
+         * @return Time taken by the restore in ms
+         */
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        /**
+         * @return Number of PVs restored per second
+         */
+        public double getThroughput() {
+            return elapsedMillis > 0 ? count * 1000.0 / elapsedMillis : count;
+        }
+    }
+
+    /**
+     * Interval (in ms) for re-checking values that could not be verified, yet
+     */
+    private static final long VERIFY_INTERVAL = 100;
+
+    private final int maxInFlight;
+    private final long writeTimeout;
+    private final List<Pattern> orderingGroups;
+    private final boolean verify;
+
+    /**
+     * @param maxInFlight Maximum number of writes that may be in progress at the same time
+     * @param writeTimeout Time (in ms) to wait for a write to complete, also used as time limit for verifying values
+     * @param orderingGroups Patterns for PV names. PVs matching the first pattern are written first,
+     *                       then those matching the second pattern, ..., and finally all PVs that match none.
+     *                       Empty list to write all PVs without ordering.
+     * @param verify Verify the values after writing?
+     */
+    public SnapshotRestorer(int maxInFlight, long writeTimeout, List<Pattern> orderingGroups, boolean verify) {
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.writeTimeout = writeTimeout;
+        this.orderingGroups = orderingGroups;
+        this.verify = verify;
+    }
+
+    /**
+     * Parses ordering group patterns from a preference setting.
+     * @param setting Regular expressions separated by ','. May be empty.
+     * @return Patterns for {@link #SnapshotRestorer(int, long, List, boolean)}
+     */
+    public static List<Pattern> parseOrderingGroups(String setting) {
+        if (setting == null || setting.trim().isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Pattern> patterns = new ArrayList<>();
+        for (String regex : setting.split(",")) {
+            if (!regex.trim().isEmpty()) {
+                patterns.add(Pattern.compile(regex.trim()));
+            }
+        }
+        return patterns;
+    }
+
+    /**
+     * Restores entries, blocking until all writes have completed or failed.
+     *
+     * @param entries Entries to restore
+     * @param writer Writes an entry to its PV
+     * @param verifier Reads back the value of an entry, only used if verification is enabled
+     * @return {@link Result} of the restore
+     * @throws InterruptedException if interrupted while waiting for writes
+     */
+    public Result restore(List<SnapshotEntry> entries, Writer writer, Verifier verifier) throws InterruptedException {
+        long start = System.currentTimeMillis();
+        Map<String, String> failures = Collections.synchronizedMap(new TreeMap<>());
+        List<SnapshotEntry> written = Collections.synchronizedList(new ArrayList<>(entries.size()));
+        Semaphore inFlight = new Semaphore(maxInFlight);
+
+        for (List<SnapshotEntry> group : group(entries)) {
+            List<CompletableFuture<?>> done = new ArrayList<>(group.size());
+            for (SnapshotEntry entry : group) {
+                inFlight.acquire();
+                CompletableFuture<?> write;
+                try {
+                    write = writer.write(entry);
+                } catch (Exception e) {
+                    write = CompletableFuture.failedFuture(e);
+                }
+                done.add(write.orTimeout(writeTimeout, TimeUnit.MILLISECONDS)
+                        .handle((result, error) -> {
+                            inFlight.release();
+                            if (error == null) {
+                                written.add(entry);
+                            } else {
+                                failures.put(entry.getPVName(), getMessage(error));
+                            }
+                            return null;
+                        }));
+            }
+            // Next group is only written once this one has completed
+            CompletableFuture.allOf(done.toArray(new CompletableFuture[done.size()])).join();
+        }
+
+        if (verify) {
+            verify(written, verifier, failures);
+        }
+
+        return new Result(entries.size(), new TreeMap<>(failures), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * @param entries Entries to restore
+     * @return Entries by ordering group, in the order in which the groups are written
+     */
+    private List<List<SnapshotEntry>> group(List<SnapshotEntry> entries) {
+        if (orderingGroups.isEmpty()) {
+            return Collections.singletonList(entries);
+        }
+        // Index of the first matching pattern, orderingGroups.size() for entries that match none
+        Map<Integer, List<SnapshotEntry>> groups = entries.stream()
+                .collect(Collectors.groupingBy(entry -> {
+                    for (int i = 0; i < orderingGroups.size(); ++i) {
+                        if (orderingGroups.get(i).matcher(entry.getPVName()).matches()) {
+                            return i;
+                        }
+                    }
+                    return orderingGroups.size();
+                }, TreeMap::new, Collectors.toList()));
+        return new ArrayList<>(groups.values());
+    }
+
+    /**
+     * Values of PVs are received via monitors, so they might lag behind the write.
+     * Entries are therefore checked repeatedly until they match or the write timeout expires.
+     */
+    private void verify(List<SnapshotEntry> written, Verifier verifier, Map<String, String> failures) throws InterruptedException {
+        long end = System.currentTimeMillis() + writeTimeout;
+        List<SnapshotEntry> pending = new ArrayList<>(written);
+        while (true) {
+            pending.removeIf(verifier::verify);
+            if (pending.isEmpty() || System.currentTimeMillis() >= end) {
+                break;
+            }
+            Thread.sleep(VERIFY_INTERVAL);
+        }
+        for (SnapshotEntry entry : pending) {
+            failures.put(entry.getPVName(), "value read back does not match");
+        }
+    }
+
+    private String getMessage(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof TimeoutException) {
+            return "no write confirmation within " + writeTimeout + " ms";
+        }
+        return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+    }
+}
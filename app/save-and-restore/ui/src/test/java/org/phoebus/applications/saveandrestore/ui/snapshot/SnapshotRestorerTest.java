@@ -0,0 +1,170 @@
+package org.phoebus.applications.saveandrestore.ui.snapshot;
+
+import org.junit.After;
+import org.junit.Test;
+import org.phoebus.applications.saveandrestore.model.ConfigPv;
+import org.phoebus.applications.saveandrestore.ui.model.SnapshotEntry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit test of the {@link SnapshotRestorer} with fake writers and verifiers.
+ */
+public class SnapshotRestorerTest {
+
+    private final ScheduledExecutorService timer = Executors.newScheduledThreadPool(4);
+
+    @After
+    public void shutdown() {
+        timer.shutdownNow();
+    }
+
+    private static SnapshotEntry entry(String name) {
+        return new SnapshotEntry(ConfigPv.builder().pvName(name).build(), null, true, null, null, null, false);
+    }
+
+    private static List<SnapshotEntry> entries(String... names) {
+        List<SnapshotEntry> entries = new ArrayList<>();
+        for (String name : names) {
+            entries.add(entry(name));
+        }
+        return entries;
+    }
+
+    /** @return Future that completes after a delay */
+    private CompletableFuture<?> completeLater(long millis, Runnable before) {
+        CompletableFuture<Void> write = new CompletableFuture<>();
+        timer.schedule(() -> {
+            before.run();
+            write.complete(null);
+        }, millis, TimeUnit.MILLISECONDS);
+        return write;
+    }
+
+    @Test
+    public void testMaxInFlight() throws Exception {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        SnapshotRestorer restorer = new SnapshotRestorer(3, 5000, Collections.emptyList(), false);
+
+        SnapshotRestorer.Result result = restorer.restore(entries("a", "b", "c", "d", "e", "f", "g", "h", "i", "j"),
+                entry -> {
+                    maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    return completeLater(20, inFlight::decrementAndGet);
+                },
+                entry -> true);
+
+        assertEquals(10, result.getCount());
+        assertTrue(result.getFailures().isEmpty());
+        assertEquals(3, maxInFlight.get());
+        assertEquals(0, inFlight.get());
+    }
+
+    @Test
+    public void testGroupsCompleteInOrder() throws Exception {
+        List<String> log = Collections.synchronizedList(new ArrayList<>());
+        SnapshotRestorer restorer = new SnapshotRestorer(10, 5000,
+                SnapshotRestorer.parseOrderingGroups("first.*, second.*"), false);
+
+        SnapshotRestorer.Result result = restorer.restore(entries("other", "second1", "first1", "second2", "first2"),
+                entry -> {
+                    log.add("write " + entry.getPVName());
+                    // Complete the first group slowly to detect writes of the next group that start too early
+                    long delay = entry.getPVName().startsWith("first") ? 50 : 10;
+                    return completeLater(delay, () -> log.add("done " + entry.getPVName()));
+                },
+                entry -> true);
+
+        assertTrue(result.getFailures().isEmpty());
+        assertEquals(10, log.size());
+        List<String> groups = List.of("first", "second", "other");
+        for (int group = 0; group < groups.size(); ++group) {
+            // Writes of a group must only start when all writes of the previous groups are done
+            for (int i = 0; i < log.size(); ++i) {
+                if (log.get(i).startsWith("write " + groups.get(group))) {
+                    for (int previous = 0; previous < group; ++previous) {
+                        String prefix = "done " + groups.get(previous);
+                        long done = log.subList(0, i).stream().filter(msg -> msg.startsWith(prefix)).count();
+                        assertEquals(log.toString(), 2, done);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testTimeoutPerPV() throws Exception {
+        SnapshotRestorer restorer = new SnapshotRestorer(10, 200, Collections.emptyList(), false);
+
+        SnapshotRestorer.Result result = restorer.restore(entries("fast1", "slow1", "fast2", "slow2"),
+                entry -> entry.getPVName().startsWith("slow")
+                        ? new CompletableFuture<>()
+                        : CompletableFuture.completedFuture(null),
+                entry -> true);
+
+        Map<String, String> failures = result.getFailures();
+        assertEquals(List.of("slow1", "slow2"), new ArrayList<>(failures.keySet()));
+        assertEquals("no write confirmation within 200 ms", failures.get("slow1"));
+        assertEquals("no write confirmation within 200 ms", failures.get("slow2"));
+    }
+
+    @Test
+    public void testWriteException() throws Exception {
+        SnapshotRestorer restorer = new SnapshotRestorer(1, 5000, Collections.emptyList(), false);
+
+        SnapshotRestorer.Result result = restorer.restore(entries("ok1", "bad", "ok2"),
+                entry -> {
+                    if (entry.getPVName().equals("bad")) {
+                        throw new Exception("not connected");
+                    }
+                    return CompletableFuture.completedFuture(null);
+                },
+                entry -> true);
+
+        // With maxInFlight 1, a failed write must still free its slot for 'ok2'
+        assertEquals(Map.of("bad", "not connected"), result.getFailures());
+    }
+
+    @Test
+    public void testVerifyRetries() throws Exception {
+        Map<String, AtomicInteger> checks = new ConcurrentHashMap<>();
+        SnapshotRestorer restorer = new SnapshotRestorer(10, 1000, Collections.emptyList(), true);
+
+        SnapshotRestorer.Result result = restorer.restore(entries("lagging", "wrong", "ok"),
+                entry -> CompletableFuture.completedFuture(null),
+                entry -> {
+                    int count = checks.computeIfAbsent(entry.getPVName(), name -> new AtomicInteger()).incrementAndGet();
+                    switch (entry.getPVName()) {
+                        case "lagging":
+                            // Monitor delivers the written value on the third check
+                            return count >= 3;
+                        case "wrong":
+                            return false;
+                        default:
+                            return true;
+                    }
+                });
+
+        assertEquals(Map.of("wrong", "value read back does not match"), result.getFailures());
+        assertEquals(1, checks.get("ok").get());
+        assertEquals(3, checks.get("lagging").get());
+        // 'wrong' is checked until the deadline, not just once
+        assertTrue(checks.get("wrong").get() > 3);
+        assertTrue(result.getElapsedMillis() >= 1000);
+        assertFalse(result.getFailures().containsKey("lagging"));
+    }
+}
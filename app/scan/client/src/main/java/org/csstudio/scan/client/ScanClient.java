@@ -326,7 +326,28 @@ public class ScanClient
      */
     public ScanData getScanData(final long id) throws Exception
     {
-        final HttpURLConnection connection = connect("/scan/" + id + "/data");
+        return readScanData("/scan/" + id + "/data");
+    }
+
+    /** Obtain data logged by a scan after a given serial
+     *
+     *  <p>Allows clients that monitor a running scan
+     *  to only fetch the samples which they don't have, yet.
+     *
+     *  @param id ID that uniquely identifies a scan (within JVM of the scan engine)
+     *  @param since_serial Only get samples with a serial above this one, {@link #NO_DATA_SERIAL} for all samples
+     *  @return {@link ScanData}
+     *  @throws Exception on error
+     *  @see #getLastScanDataSerial(long)
+     */
+    public ScanData getScanData(final long id, final long since_serial) throws Exception
+    {
+        return readScanData("/scan/" + id + "/data?since=" + since_serial);
+    }
+
+    private ScanData readScanData(final String path) throws Exception
+    {
+        final HttpURLConnection connection = connect(path);
         try
         {
             checkResponse(connection);
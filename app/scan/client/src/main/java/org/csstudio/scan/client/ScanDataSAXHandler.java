@@ -22,6 +22,7 @@ import org.xml.sax.SAXException;
 import org.xml.sax.helpers.DefaultHandler;
 
 /** SAX handler for XML sent by "/scan/{id}/data"
+ *  and the compact format sent by "/scan/{id}/data?since=..."
  *  @author Kay Kasemir
  */
 @SuppressWarnings("nls")
@@ -39,6 +40,13 @@ public class ScanDataSAXHandler extends DefaultHandler
      *     </samples>
      *   </device>
      * </data>
+     *
+     * Compact format:
+     * <data>
+     *   <device name="readback">
+     *     <sample id="0" time="1369935537970" value="0.0"/>
+     *   </device>
+     * </data>
      */
     enum State
     {
@@ -80,15 +88,31 @@ public class ScanDataSAXHandler extends DefaultHandler
         {
         case NeedDevice:
             if ("device".equalsIgnoreCase(qName))
-                state = State.NeedName;
+            {
+                final String name = attributes.getValue("name");
+                if (name == null)
+                    state = State.NeedName;
+                else
+                    startDevice(name);
+            }
             break;
         case NeedSample:
             if ("sample".equalsIgnoreCase(qName))
             {
-                state = State.NeedTimeAndValue;
                 serial = Long.parseLong(Objects.requireNonNull(attributes.getValue("id"), "<sample> need 'id' attribute"));
-                time = null;
-                value = null;
+                final String compact_time = attributes.getValue("time");
+                if (compact_time == null)
+                {
+                    state = State.NeedTimeAndValue;
+                    time = null;
+                    value = null;
+                }
+                else
+                {
+                    parseTime(compact_time);
+                    parseValue(Objects.requireNonNull(attributes.getValue("value"), "<sample> need 'value' attribute"));
+                    addSample();
+                }
             }
             break;
         default:
@@ -104,58 +128,72 @@ public class ScanDataSAXHandler extends DefaultHandler
         {
         case NeedName:
             if ("name".equalsIgnoreCase(qName))
-            {
-                device = cdata;
-                samples = new ArrayList<>();
-                data.put(device, samples);
-                state = State.NeedSample;
-            }
+                startDevice(cdata);
             break;
         case NeedTimeAndValue:
             if ("time".equalsIgnoreCase(qName))
-            {
-                try
-                {
-                    time = Instant.ofEpochMilli(Long.parseLong(cdata));
-                }
-                catch (NumberFormatException ex)
-                {
-                    throw new SAXException("Cannot parse time stamp for sample #" + serial + ": " + cdata);
-                }
-            }
+                parseTime(cdata);
             else if ("value".equalsIgnoreCase(qName))
-            {
-                try
-                {
-                    value = Double.parseDouble(cdata);
-                }
-                catch (NumberFormatException ex)
-                {
-                    value = cdata.toString();
-                }
-            }
+                parseValue(cdata);
             else if ("sample".equalsIgnoreCase(qName))
             {
                 if (time == null  ||  value == null)
                     throw new SAXException("Missing time or value for sample ");
-                final ScanSample sample;
-                if (value instanceof Number)
-                    sample = ScanSampleFactory.createSample(time, serial, (Number)value);
-                else
-                    sample = ScanSampleFactory.createSample(time, serial, (String)value);
-                samples.add(sample);
-
+                addSample();
                 state = State.NeedSample;
             }
             break;
         case NeedSample:
-            if ("samples".equalsIgnoreCase(qName))
+            // Nested format ends samples with </samples>, compact format with </device>
+            if ("samples".equalsIgnoreCase(qName)  ||  "device".equalsIgnoreCase(qName))
                 state = State.NeedDevice;
             break;
         default:
         }
     }
 
+    private void startDevice(final String name)
+    {
+        device = name;
+        samples = new ArrayList<>();
+        data.put(device, samples);
+        state = State.NeedSample;
+    }
+
+    private void parseTime(final String text) throws SAXException
+    {
+        try
+        {
+            time = Instant.ofEpochMilli(Long.parseLong(text));
+        }
+        catch (NumberFormatException ex)
+        {
+            throw new SAXException("Cannot parse time stamp for sample #" + serial + ": " + text);
+        }
+    }
+
+    private void parseValue(final String text)
+    {
+        try
+        {
+            value = Double.parseDouble(text);
+        }
+        catch (NumberFormatException ex)
+        {
+            value = text;
+        }
+    }
+
+    private void addSample()
+    {
+        final ScanSample sample;
+        if (value instanceof Number)
+            sample = ScanSampleFactory.createSample(time, serial, (Number)value);
+        else
+            sample = ScanSampleFactory.createSample(time, serial, (String)value);
+        samples.add(sample);
+    }
+
     /** {@inheritDoc} */
     @Override
     public void characters(final char[] ch, final int start, final int length)
@@ -0,0 +1,80 @@
+package org.csstudio.scan.client;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+
+import javax.xml.parsers.SAXParserFactory;
+
+import org.csstudio.scan.data.ScanData;
+import org.csstudio.scan.data.ScanSample;
+import org.junit.Test;
+
+/** JUnit test of the {@link ScanDataSAXHandler}
+ */
+@SuppressWarnings("nls")
+public class ScanDataSAXHandlerUnitTest
+{
+    private static ScanData parse(final String xml) throws Exception
+    {
+        final ScanDataSAXHandler handler = new ScanDataSAXHandler();
+        SAXParserFactory.newInstance().newSAXParser().parse(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)), handler);
+        return handler.getScanData();
+    }
+
+    @Test
+    public void testCompactFormat() throws Exception
+    {
+        final ScanData data = parse("<data>\n" +
+                                    "  <device name=\"readback\">\n" +
+                                    "    <sample id=\"3\" time=\"1369935537970\" value=\"1.5\"/>\n" +
+                                    "    <sample id=\"4\" time=\"1369935537980\" value=\"2.5\"/>\n" +
+                                    "  </device>\n" +
+                                    "  <device name=\"status\">\n" +
+                                    "    <sample id=\"4\" time=\"1369935537980\" value=\"Moving\"/>\n" +
+                                    "  </device>\n" +
+                                    "  <device name=\"empty\">\n" +
+                                    "  </device>\n" +
+                                    "</data>");
+        assertThat(data.getDevices().size(), equalTo(3));
+
+        final List<ScanSample> readback = data.getSamples("readback");
+        assertThat(readback.size(), equalTo(2));
+        assertThat(readback.get(0).getSerial(), equalTo(3L));
+        assertThat(readback.get(0).getTimestamp(), equalTo(Instant.ofEpochMilli(1369935537970L)));
+        assertThat(readback.get(0).getValues()[0], equalTo(1.5));
+        assertThat(readback.get(1).getSerial(), equalTo(4L));
+        assertThat(readback.get(1).getValues()[0], equalTo(2.5));
+
+        final List<ScanSample> status = data.getSamples("status");
+        assertThat(status.size(), equalTo(1));
+        assertThat(status.get(0).getValues()[0], equalTo("Moving"));
+
+        assertThat(data.getSamples("empty").isEmpty(), equalTo(true));
+    }
+
+    @Test
+    public void testNestedFormat() throws Exception
+    {
+        final ScanData data = parse("<data>\n" +
+                                    "  <device>\n" +
+                                    "    <name>readback</name>\n" +
+                                    "    <samples>\n" +
+                                    "      <sample id=\"3\">\n" +
+                                    "        <time>1369935537970</time>\n" +
+                                    "        <value>1.5</value>\n" +
+                                    "      </sample>\n" +
+                                    "    </samples>\n" +
+                                    "  </device>\n" +
+                                    "</data>");
+        final List<ScanSample> readback = data.getSamples("readback");
+        assertThat(readback.size(), equalTo(1));
+        assertThat(readback.get(0).getSerial(), equalTo(3L));
+        assertThat(readback.get(0).getTimestamp(), equalTo(Instant.ofEpochMilli(1369935537970L)));
+        assertThat(readback.get(0).getValues()[0], equalTo(1.5));
+    }
+}
@@ -51,6 +51,9 @@ public class ScanDataIterator
     /** Index within data for each device */
     final private int[] index;
 
+    /** Serial of current spreadsheet line */
+    private long serial;
+
     /** Timestamp of current spreadsheet line */
     private Instant timestamp;
 
@@ -79,8 +82,26 @@ public class ScanDataIterator
      *  @param scan_data Scan data
      *  @param device_names Devices that must be in the scan data
      */
-    @SuppressWarnings("unchecked")
     public ScanDataIterator(final ScanData scan_data, final List<String> device_names)
+    {
+        this(scan_data, device_names, -1);
+    }
+
+    /** Initialize for specific devices, starting after a given line
+     *
+     *  <p>Allows adding lines for newly received samples
+     *  to a previously created spreadsheet
+     *  without iterating over all the older samples.
+     *  Values of the first line include the samples of earlier lines
+     *  that are still valid, same as when iterating over all the data.
+     *
+     *  @param scan_data Scan data
+     *  @param device_names Devices that must be in the scan data
+     *  @param after_serial Serial of last line to skip, -1 to iterate over all data
+     *  @see #getSerial()
+     */
+    @SuppressWarnings("unchecked")
+    public ScanDataIterator(final ScanData scan_data, final List<String> device_names, final long after_serial)
     {
         this.device_names = device_names;
         final int N = device_names.size();
@@ -93,8 +114,13 @@ public class ScanDataIterator
             data[i] = scan_data.getSamples(device_names.get(i));
             if (data[i] == null)
                 data[i] = Collections.emptyList();
-            index[i] = 0;
-            value[i] = null;
+            // Samples are ordered by serial.
+            // Search from the end since skipped lines are usually the majority
+            int start = data[i].size();
+            while (start > 0  &&  data[i].get(start-1).getSerial() > after_serial)
+                --start;
+            index[i] = start;
+            value[i] = start > 0 ? data[i].get(start-1) : null;
         }
     }
 
@@ -131,6 +157,7 @@ public class ScanDataIterator
         }
         if (oldest == Long.MAX_VALUE)
             return false;
+        serial = oldest;
 
         // 'oldest' now defines the current spreadsheet line.
         // Determine value for that line.
@@ -163,6 +190,12 @@ public class ScanDataIterator
         return true;
     }
 
+    /** @return Serial of the current spreadsheet line */
+    public long getSerial()
+    {
+        return serial;
+    }
+
     /** @return Time stamp of the current spreadsheet line */
     public Instant getTimestamp()
     {
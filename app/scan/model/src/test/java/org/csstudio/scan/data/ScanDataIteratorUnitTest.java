@@ -0,0 +1,94 @@
+package org.csstudio.scan.data;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+/** JUnit test of the {@link ScanDataIterator}
+ */
+@SuppressWarnings("nls")
+public class ScanDataIteratorUnitTest
+{
+    /** @param iterator Iterator
+     *  @return Rows "serial time [samples]"
+     */
+    private static List<String> getRows(final ScanDataIterator iterator)
+    {
+        final List<String> rows = new ArrayList<>();
+        while (iterator.hasNext())
+            rows.add(iterator.getSerial() + " " + iterator.getTimestamp() + " " + Arrays.toString(iterator.getSamples()));
+        return rows;
+    }
+
+    @Test
+    public void testAfterSerial()
+    {
+        // Device 'a' logged for serial 0, 2, device 'b' for 1, 2
+        final Map<String, List<ScanSample>> samples = new HashMap<>();
+        samples.put("a", List.of(ScanSampleFactory.createSample(Instant.ofEpochMilli(0), 0, 1.0),
+                                 ScanSampleFactory.createSample(Instant.ofEpochMilli(20), 2, 3.0)));
+        samples.put("b", List.of(ScanSampleFactory.createSample(Instant.ofEpochMilli(10), 1, 2.0),
+                                 ScanSampleFactory.createSample(Instant.ofEpochMilli(20), 2, 4.0)));
+        final ScanData data = new ScanData(samples);
+        final List<String> devices = List.of("a", "b");
+
+        final List<String> all = getRows(new ScanDataIterator(data, devices));
+        System.out.println(all);
+        assertThat(all.size(), equalTo(3));
+
+        // Nothing before the first serial
+        assertThat(getRows(new ScanDataIterator(data, devices, -1)), equalTo(all));
+
+        // Row for serial 2 still includes the value of 'b' from serial 1
+        final ScanDataIterator iterator = new ScanDataIterator(data, devices, 1);
+        assertThat(iterator.hasNext(), equalTo(true));
+        assertThat(iterator.getSerial(), equalTo(2L));
+        assertThat(iterator.getSamples()[0].getValues()[0], equalTo(3.0));
+        assertThat(iterator.getSamples()[1].getValues()[0], equalTo(4.0));
+        assertThat(iterator.hasNext(), equalTo(false));
+
+        // Nothing after the last serial
+        assertThat(getRows(new ScanDataIterator(data, devices, 2)).isEmpty(), equalTo(true));
+    }
+
+    @Test
+    public void testAfterEachSerial()
+    {
+        // Devices that log for random serials
+        final Random random = new Random(42);
+        final Map<String, List<ScanSample>> samples = new HashMap<>();
+        for (String device : List.of("x", "y", "z"))
+        {
+            final List<ScanSample> device_samples = new ArrayList<>();
+            samples.put(device, device_samples);
+            for (long serial=0; serial<200; ++serial)
+                if (random.nextInt(3) == 0)
+                    device_samples.add(ScanSampleFactory.createSample(Instant.ofEpochMilli(serial*10 + random.nextInt(5)),
+                                                                      serial, (double) random.nextInt(100)));
+        }
+        final ScanData data = new ScanData(samples);
+        final List<String> devices = data.getDevices();
+
+        // Iterating after the serial of any row must continue with the following rows
+        final ScanDataIterator iterator = new ScanDataIterator(data, devices);
+        final List<Long> serials = new ArrayList<>();
+        final List<String> all = new ArrayList<>();
+        while (iterator.hasNext())
+        {
+            serials.add(iterator.getSerial());
+            all.add(iterator.getSerial() + " " + iterator.getTimestamp() + " " + Arrays.toString(iterator.getSamples()));
+        }
+        for (int i=0; i<serials.size(); ++i)
+            assertThat(getRows(new ScanDataIterator(data, devices, serials.get(i))),
+                       equalTo(all.subList(i+1, all.size())));
+    }
+}
@@ -9,6 +9,9 @@ package org.csstudio.scan.ui;
 
 import static org.csstudio.scan.ScanSystem.logger;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
@@ -19,9 +22,14 @@ import java.util.logging.Level;
 
 import org.csstudio.scan.client.ScanClient;
 import org.csstudio.scan.data.ScanData;
+import org.csstudio.scan.data.ScanSample;
 import org.phoebus.framework.jobs.NamedThreadFactory;
 
 /** Periodically read data of a scan until the scan completes
+ *
+ *  <p>Keeps the samples that have already been read
+ *  and only fetches newly logged samples from the server.
+ *
  *  @author Kay Kasemir
  */
 @SuppressWarnings("nls")
@@ -55,9 +63,33 @@ public class ScanDataReader
      */
     private ScheduledFuture<?> updates = null;
 
-    /** Last known scan serial */
+    /** Serializes polls, which may be triggered while a periodic poll is running */
+    private final Object poll_lock = new Object();
+
+    /** Incremented when the scan ID changes,
+     *  so that a poll for the previous scan discards its result.
+     *  Written while holding the cache lock.
+     */
+    private volatile long generation = 0;
+
+    /** Last known scan serial.
+     *  SYNC on cache for access.
+     */
     private long last_serial = ScanClient.UNKNOWN_SCAN_SERIAL;
 
+    /** Samples read so far, by device.
+     *  SYNC on cache for access.
+     *  Only held while updating the cache, not while reading from the server.
+     */
+    private final Map<String, ScanSampleLog> cache = new HashMap<>();
+
+    /** Serial up to which the cache is known to be complete.
+     *
+     *  <p>Samples with the newest serial might still be logged
+     *  for further devices, so they are fetched again on the next update.
+     */
+    private long cache_serial = ScanClient.NO_DATA_SERIAL;
+
     /** Create reader for scan's log data
      *  @param scan_client {@link ScanClient}
      *  @param data_listener Will be called whenever there's new log data, on background thread
@@ -72,8 +104,14 @@ public class ScanDataReader
     /** @param scan_id ID of scan for which to read data. Less than 0 to stop reading data */
     public void setScanId(final long scan_id)
     {
-        last_serial = ScanClient.UNKNOWN_SCAN_SERIAL;
-        this.scan_id = scan_id;
+        synchronized (cache)
+        {
+            last_serial = ScanClient.UNKNOWN_SCAN_SERIAL;
+            cache.clear();
+            cache_serial = ScanClient.NO_DATA_SERIAL;
+            this.scan_id = scan_id;
+            ++generation;
+        }
         trigger();
     }
 
@@ -96,36 +134,98 @@ public class ScanDataReader
 
     private Void poll()
     {
-        final long id = scan_id;
-        if (id >= 0)
-            try
+        synchronized (poll_lock)
+        {
+            doPoll();
+        }
+        return null;
+    }
+
+    private void doPoll()
+    {
+        final long id, poll_generation, known_serial, since_serial;
+        synchronized (cache)
+        {
+            id = scan_id;
+            poll_generation = generation;
+            known_serial = last_serial;
+            since_serial = cache_serial;
+        }
+        if (id < 0)
+            return;
+        try
+        {
+            // Read from server without holding the cache lock
+            final long serial = scan_client.getLastScanDataSerial(id);
+            // Last_serial starts 'unknown'.
+            if (serial > known_serial)
             {
-                final long serial = scan_client.getLastScanDataSerial(id);
-                // Last_serial starts 'unknown'.
-                if (serial > last_serial)
+                // As soon as the scan is known, even with 'no data' (serial -1),
+                // fetch the data
+                logger.log(Level.FINE, "Received data for scan {0}", id);
+                final ScanData received = scan_client.getScanData(id, since_serial);
+                final ScanData data;
+                synchronized (cache)
                 {
-                    // As soon as the scan is known, even with 'no data' (serial -1),
-                    // fetch the data
-                    logger.log(Level.FINE, "Received data for scan {0}", id);
-                    final ScanData data = scan_client.getScanData(id);
-                    // Inform listener
-                    data_listener.accept(data);
+                    // Ignore data for a previous scan
+                    if (poll_generation != generation)
+                        return;
+                    data = update(received);
                     last_serial = serial;
                 }
-                // Is this a known scan, and it's done?
-                if (serial >= 0  &&
-                    scan_client.getScanInfo(id).getState().isDone())
+                // Inform listener
+                if (poll_generation == generation)
+                    data_listener.accept(data);
+            }
+            // Is this a known scan, and it's done?
+            if (serial >= 0  &&
+                scan_client.getScanInfo(id).getState().isDone())
+            {
+                // Check generation while holding the same lock as trigger(),
+                // so a new scan ID set in the meantime restarts the updates
+                synchronized (this)
                 {
+                    if (poll_generation != generation)
+                        return;
                     shutdown();
-                    logger.log(Level.FINE, "Completed reading data for scan {0}", id);
                 }
-                // else keep polling until the scan is 'done'.
+                logger.log(Level.FINE, "Completed reading data for scan {0}", id);
             }
-            catch (Exception ex)
-            {
-                logger.log(Level.WARNING, "Scan data poll error for scan " + id, ex);
-            }
-        return null;
+            // else keep polling until the scan is 'done'.
+        }
+        catch (Exception ex)
+        {
+            logger.log(Level.WARNING, "Scan data poll error for scan " + id, ex);
+        }
+    }
+
+    /** @param update Samples logged after <code>cache_serial</code>
+     *  @return {@link ScanData} with all samples read so far
+     */
+    private ScanData update(final ScanData update)
+    {
+        // Caller holds cache lock
+        long newest = cache_serial;
+        for (String device : update.getDevices())
+        {
+            // Replace samples that were read before the scan logged all devices for their serial
+            final List<ScanSample> received = update.getSamples(device);
+            cache.computeIfAbsent(device, d -> new ScanSampleLog()).update(received);
+            if (! received.isEmpty())
+                newest = Math.max(newest, received.get(received.size()-1).getSerial());
+        }
+        if (newest > cache_serial)
+            cache_serial = newest - 1;
+
+        // Listeners get read-only views which share the final samples,
+        // so each update costs the number of new samples, not the scan length
+        final Map<String, List<ScanSample>> views = new HashMap<>();
+        cache.forEach((device, samples) ->
+        {
+            samples.complete(cache_serial);
+            views.put(device, samples.getSamples());
+        });
+        return new ScanData(views);
     }
 
     /** Reader will shut down when the scan completes.
@@ -0,0 +1,90 @@
+package org.csstudio.scan.ui;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+import org.csstudio.scan.data.ScanSample;
+
+/** Samples of one device, read by the {@link ScanDataReader}
+ *
+ *  <p>Samples up to the serial for which the scan has logged all devices
+ *  are final. They are only appended and shared with listeners,
+ *  which receive a read-only view instead of a copy.
+ *  Only the few samples with a newer serial, which the next update
+ *  may still replace, are copied for each view.
+ *
+ *  <p>Not thread-safe, caller needs to synchronize.
+ *  The views returned by {@link #getSamples()} may be used by any thread.
+ */
+class ScanSampleLog
+{
+    /** Final samples. Elements below <code>size</code> never change */
+    private ScanSample[] samples = new ScanSample[16];
+
+    /** Number of final samples */
+    private int size = 0;
+
+    /** Samples after the final ones, which may be replaced */
+    private final List<ScanSample> pending = new ArrayList<>();
+
+    /** @param received Samples logged after the final samples, replacing the pending samples */
+    public void update(final List<ScanSample> received)
+    {
+        pending.clear();
+        pending.addAll(received);
+    }
+
+    /** @param serial Serial up to which samples are final */
+    public void complete(final long serial)
+    {
+        int done = 0;
+        while (done < pending.size()  &&  pending.get(done).getSerial() <= serial)
+            ++done;
+        if (done <= 0)
+            return;
+        if (size + done > samples.length)
+            // Views keep using the previous array, which is no longer modified
+            samples = Arrays.copyOf(samples, Math.max(size + done, samples.length * 2));
+        for (int i=0; i<done; ++i)
+            samples[size++] = pending.get(i);
+        pending.subList(0, done).clear();
+    }
+
+    /** @return Read-only view of the current samples */
+    public List<ScanSample> getSamples()
+    {
+        return new View(samples, size, pending.toArray(new ScanSample[pending.size()]));
+    }
+
+    /** Read-only list of final and pending samples */
+    private static class View extends AbstractList<ScanSample> implements RandomAccess
+    {
+        private final ScanSample[] samples;
+        private final int size;
+        private final ScanSample[] pending;
+
+        View(final ScanSample[] samples, final int size, final ScanSample[] pending)
+        {
+            this.samples = samples;
+            this.size = size;
+            this.pending = pending;
+        }
+
+        @Override
+        public ScanSample get(final int index)
+        {
+            Objects.checkIndex(index, size());
+            return index < size ? samples[index] : pending[index - size];
+        }
+
+        @Override
+        public int size()
+        {
+            return size + pending.length;
+        }
+    }
+}
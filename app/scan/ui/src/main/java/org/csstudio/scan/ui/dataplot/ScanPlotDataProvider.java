@@ -28,10 +28,12 @@ public class ScanPlotDataProvider implements PlotDataProvider<Double>
     /** Adapt an X/Y {@link ScanSample} pair into a {@link PlotDataItem} */
     private static class DataItemAdapter implements PlotDataItem<Double>
     {
+        private final long serial;
         private final ScanSample x, y;
 
-        DataItemAdapter(final ScanSample x, final ScanSample y)
+        DataItemAdapter(final long serial, final ScanSample x, final ScanSample y)
         {
+            this.serial = serial;
             this.x = x;
             this.y = y;
         }
@@ -51,7 +53,7 @@ public class ScanPlotDataProvider implements PlotDataProvider<Double>
 
     private final ReadWriteLock lock = new ReentrantReadWriteLock();
     private final String x_device, y_device;
-    private volatile List<PlotDataItem<Double>> samples = new ArrayList<>();
+    private volatile List<DataItemAdapter> samples = new ArrayList<>();
 
     public ScanPlotDataProvider(final String x_device, final String y_device)
     {
@@ -77,18 +79,37 @@ public class ScanPlotDataProvider implements PlotDataProvider<Double>
         return samples.get(index);
     }
 
+    /** @param data Scan data which includes the samples of previous updates */
     public void update(final ScanData data)
     {
-        final ScanDataIterator iter = new ScanDataIterator(data, x_device, y_device);
-
         lock.writeLock().lock();
         try
         {
-            samples.clear();
+            // Only add items for new samples.
+            // Last item might have been incomplete, so that's re-created
+            if (! samples.isEmpty())
+                samples.remove(samples.size()-1);
+            final List<String> devices = List.of(x_device, y_device);
+            ScanDataIterator iter;
+            if (samples.isEmpty())
+                iter = new ScanDataIterator(data, devices);
+            else
+            {
+                final DataItemAdapter last = samples.get(samples.size()-1);
+                iter = new ScanDataIterator(data, devices, last.serial);
+                // Data of an update contains the very same samples up to the last kept item.
+                // Otherwise it's data for another scan, so start over
+                final ScanSample[] s = iter.getSamples();
+                if (s[0] != last.x  ||  s[1] != last.y)
+                {
+                    samples.clear();
+                    iter = new ScanDataIterator(data, devices);
+                }
+            }
             while (iter.hasNext())
             {
                 final ScanSample[] s = iter.getSamples();
-                samples.add(new DataItemAdapter(s[0], s[1]));
+                samples.add(new DataItemAdapter(iter.getSerial(), s[0], s[1]));
             }
         }
         finally
@@ -27,9 +27,14 @@ public class DataRow
     
     /** Timestamps for each data value in the row. */
     private final List<SimpleStringProperty> data_timestamps = new ArrayList<>();
+
+    /** Serial of the samples in this row. */
+    private final long serial;
     
-    public DataRow(final Instant timestamp, final ScanSample[] samples)
+    public DataRow(final long serial, final Instant timestamp, final ScanSample[] samples)
     {
+        this.serial = serial;
+
         /* Add the row's timestamp. */
         data.add(new SimpleStringProperty(ScanSampleFormatter.format(timestamp)));
         data_timestamps.add(new SimpleStringProperty(ScanSampleFormatter.format(timestamp)));
@@ -45,6 +50,12 @@ public class DataRow
         }
     }
     
+    /** Get the serial of the samples in this row. */
+    public long getSerial()
+    {
+        return serial;
+    }
+    
     /** Retrieve a specific column's data value for this row. */
     public SimpleStringProperty getDataValue(final int col)
     {
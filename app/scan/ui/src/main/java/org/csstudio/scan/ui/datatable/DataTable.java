@@ -11,6 +11,7 @@ import static org.csstudio.scan.ScanSystem.logger;
 
 import java.io.File;
 import java.io.PrintWriter;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.logging.Level;
@@ -91,26 +92,26 @@ public class DataTable extends StackPane
 
     private void update(final ScanData data)
     {
-        final ScanDataIterator iterator = new ScanDataIterator(data);
-
-        Platform.runLater(() -> updateTable(iterator));
+        Platform.runLater(() -> updateTable(data));
     }
 
-    private void updateTable(final ScanDataIterator iterator)
+    private void updateTable(final ScanData data)
     {
+        final List<String> devices = data.getDevices();
+
         // A previous data set could have been for "Time, ypos"
         // while the new one is for "Time, xpos, ypos".
         // So not only is a new column added, the data that used to be in the
         // second column moved to the 3rd one.
         // --> If the column count changes, re-populate all rows.
         final ObservableList<TableColumn<DataRow, ?>> columns = table.getColumns();
-        if (columns.size() != iterator.getDevices().size() + 1)
+        if (columns.size() != devices.size() + 1)
             rows.clear();
 
         // 'Time' column is already present
         // Create or update columns for devices
         int i = 1;
-        for (String device : iterator.getDevices())
+        for (String device : devices)
         {
             if (columns.size() <= i)
             {
@@ -135,17 +136,16 @@ public class DataTable extends StackPane
             ++i;
         }
 
-        // Data rows
-        i = -1;
+        // Keep existing rows, only add rows for new data.
+        // Last row might have been incomplete, so that's re-created
+        if (! rows.isEmpty())
+            rows.remove(rows.size()-1);
+        final long after_serial = rows.isEmpty() ? -1 : rows.get(rows.size()-1).getSerial();
+        final ScanDataIterator iterator = new ScanDataIterator(data, devices, after_serial);
+        final List<DataRow> new_rows = new ArrayList<>();
         while (iterator.hasNext())
-        {
-            ++i;
-            // Keep existing rows
-            if (i < rows.size())
-                continue;
-
-            rows.add(new DataRow(iterator.getTimestamp(), iterator.getSamples()));
-        }
+            new_rows.add(new DataRow(iterator.getSerial(), iterator.getTimestamp(), iterator.getSamples()));
+        rows.addAll(new_rows);
     }
 
     /** Write the tables contents to the passed file in the CSV format. */
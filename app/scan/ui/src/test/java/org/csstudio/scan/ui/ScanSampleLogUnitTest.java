@@ -0,0 +1,72 @@
+package org.csstudio.scan.ui;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.csstudio.scan.data.ScanSample;
+import org.csstudio.scan.data.ScanSampleFactory;
+import org.junit.Test;
+
+/** JUnit test of the {@link ScanSampleLog}
+ */
+@SuppressWarnings("nls")
+public class ScanSampleLogUnitTest
+{
+    private static ScanSample createSample(final long serial, final double value)
+    {
+        return ScanSampleFactory.createSample(Instant.ofEpochSecond(serial), serial, value);
+    }
+
+    private static List<String> getValues(final List<ScanSample> samples)
+    {
+        return samples.stream()
+                      .map(sample -> sample.getSerial() + ":" + sample.getValues()[0])
+                      .collect(Collectors.toList());
+    }
+
+    @Test
+    public void testViews()
+    {
+        final ScanSampleLog log = new ScanSampleLog();
+        log.update(List.of(createSample(0, 1.0), createSample(1, 2.0), createSample(2, 3.0)));
+        log.complete(1);
+        final List<ScanSample> first = log.getSamples();
+        assertThat(getValues(first), equalTo(List.of("0:1.0", "1:2.0", "2:3.0")));
+
+        // Sample with serial 2 was pending and is replaced
+        log.update(List.of(createSample(2, 3.5), createSample(3, 4.0)));
+        log.complete(2);
+        final List<ScanSample> second = log.getSamples();
+        assertThat(getValues(second), equalTo(List.of("0:1.0", "1:2.0", "2:3.5", "3:4.0")));
+        assertThat(second.get(0), sameInstance(first.get(0)));
+
+        // Previous view is unchanged
+        assertThat(getValues(first), equalTo(List.of("0:1.0", "1:2.0", "2:3.0")));
+
+        // Grow beyond the initial capacity
+        final List<ScanSample> received = new ArrayList<>();
+        for (int serial=3; serial<100; ++serial)
+            received.add(createSample(serial, serial));
+        log.update(received);
+        log.complete(98);
+        final List<ScanSample> third = log.getSamples();
+        assertThat(third.size(), equalTo(100));
+        assertThat(third.get(99).getSerial(), equalTo(99L));
+        assertThat(getValues(second), equalTo(List.of("0:1.0", "1:2.0", "2:3.5", "3:4.0")));
+        assertThat(third.get(2), sameInstance(second.get(2)));
+    }
+
+    @Test(expected=UnsupportedOperationException.class)
+    public void testReadOnly()
+    {
+        final ScanSampleLog log = new ScanSampleLog();
+        log.update(List.of(createSample(0, 1.0)));
+        log.getSamples().add(createSample(1, 2.0));
+    }
+}
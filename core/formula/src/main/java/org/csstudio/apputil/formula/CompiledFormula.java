@@ -0,0 +1,453 @@
+package org.csstudio.apputil.formula;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+
+import org.csstudio.apputil.formula.FormulaCompiler.NumericFunction;
+import org.epics.vtype.Alarm;
+import org.epics.vtype.AlarmSeverity;
+import org.epics.vtype.Display;
+import org.epics.vtype.Time;
+import org.epics.vtype.VDouble;
+import org.epics.vtype.VNumber;
+import org.epics.vtype.VType;
+
+/** Formula compiled by the {@link FormulaCompiler}
+ *
+ *  <p>Each {@link Evaluator} computes a plain <code>double</code>.
+ *  Once the value has been computed, the alarm, time stamp and display
+ *  of the result are obtained from the sources that contributed to it,
+ *  with {@link #NONE} indicating no alarm, current time, no display.
+ *
+ *  <p>For formulas without conditionals, the contributing sources are
+ *  determined once.
+ *  Otherwise the evaluators describe them after each evaluation,
+ *  based on the conditions that were taken.
+ */
+class CompiledFormula
+{
+    /** Source index for 'no alarm', 'now', 'no display' */
+    static final int NONE = -1;
+
+    /** Work area for evaluating the formula */
+    static class Work
+    {
+        /** Source values */
+        final VType[] values;
+        /** Source values as numbers */
+        final double[] numbers;
+        /** Result of each conditional */
+        final boolean[] conditions;
+        /** Arguments of each function */
+        final double[] args;
+
+        /** Source index for alarm, time, display of the last described result */
+        int alarm, time, display;
+        /** Source index of unchanged value for the last described result */
+        int unchanged;
+
+        Work(final int sources, final int conditions, final int args)
+        {
+            values = new VType[sources];
+            numbers = new double[sources];
+            this.conditions = new boolean[conditions];
+            this.args = new double[args];
+        }
+
+        AlarmSeverity severity(final int source)
+        {
+            return source == NONE ? AlarmSeverity.NONE : Alarm.alarmOf(values[source]).getSeverity();
+        }
+
+        void describe(final int alarm, final int time, final int display, final int unchanged)
+        {
+            this.alarm = alarm;
+            this.time = time;
+            this.display = display;
+            this.unchanged = unchanged;
+        }
+    }
+
+    /** Compiled node */
+    abstract static class Evaluator
+    {
+        /** @param work Work area
+         *  @return Value
+         */
+        abstract double eval(Work work);
+
+        /** Set the source indices for alarm, time, display
+         *  and unchanged value in the work area
+         *  @param work Work area after <code>eval</code>
+         */
+        abstract void describe(Work work);
+
+        /** List the sources that contribute alarm and time,
+         *  where {@link #NONE} contributes 'now'
+         *  @param contributors List to which sources are added, in order
+         *  @return <code>false</code> if contributors depend on conditionals
+         */
+        abstract boolean listContributors(List<Integer> contributors);
+
+        /** @return Source for display, or {@link #NONE} */
+        abstract int getDisplaySource();
+    }
+
+    /** Value of a source */
+    static class Source extends Evaluator
+    {
+        private final int index;
+
+        Source(final int index)
+        {
+            this.index = index;
+        }
+
+        @Override
+        double eval(final Work work)
+        {
+            return work.numbers[index];
+        }
+
+        @Override
+        void describe(final Work work)
+        {
+            work.describe(index, index, index, index);
+        }
+
+        @Override
+        boolean listContributors(final List<Integer> contributors)
+        {
+            contributors.add(index);
+            return true;
+        }
+
+        @Override
+        int getDisplaySource()
+        {
+            return index;
+        }
+    }
+
+    /** Unary operation, keeping alarm, time, display of the argument */
+    static class Unary extends Evaluator
+    {
+        private final Evaluator arg;
+        private final DoubleUnaryOperator op;
+
+        Unary(final Evaluator arg, final DoubleUnaryOperator op)
+        {
+            this.arg = arg;
+            this.op = op;
+        }
+
+        @Override
+        double eval(final Work work)
+        {
+            return op.applyAsDouble(arg.eval(work));
+        }
+
+        @Override
+        void describe(final Work work)
+        {
+            arg.describe(work);
+            work.unchanged = NONE;
+        }
+
+        @Override
+        boolean listContributors(final List<Integer> contributors)
+        {
+            return arg.listContributors(contributors);
+        }
+
+        @Override
+        int getDisplaySource()
+        {
+            return arg.getDisplaySource();
+        }
+    }
+
+    /** Binary operation with highest alarm, latest time and display of first argument */
+    static class Binary extends Evaluator
+    {
+        private final Evaluator left, right;
+        private final DoubleBinaryOperator op;
+
+        Binary(final Evaluator left, final Evaluator right, final DoubleBinaryOperator op)
+        {
+            this.left = left;
+            this.right = right;
+            this.op = op;
+        }
+
+        @Override
+        double eval(final Work work)
+        {
+            return op.applyAsDouble(left.eval(work), right.eval(work));
+        }
+
+        @Override
+        void describe(final Work work)
+        {
+            left.describe(work);
+            final int alarm_a = work.alarm, time_a = work.time, display = work.display;
+            right.describe(work);
+            final int alarm_b = work.alarm, time_b = work.time;
+
+            // Same as Alarm.highestAlarmOf(), i.e. 'none' unless one is higher
+            final int alarm;
+            final AlarmSeverity sev_a = work.severity(alarm_a);
+            if (work.severity(alarm_b).compareTo(sev_a) > 0)
+                alarm = alarm_b;
+            else
+                alarm = sev_a == AlarmSeverity.NONE ? NONE : alarm_a;
+
+            // Latest time, where 'now' is considered the latest
+            final int time;
+            if (time_a == NONE  ||  time_b == NONE)
+                time = NONE;
+            else if (Time.timeOf(work.values[time_a]).getTimestamp().isAfter(Time.timeOf(work.values[time_b]).getTimestamp()))
+                time = time_a;
+            else
+                time = time_b;
+
+            work.describe(alarm, time, display, NONE);
+        }
+
+        @Override
+        boolean listContributors(final List<Integer> contributors)
+        {
+            return left.listContributors(contributors)  &&  right.listContributors(contributors);
+        }
+
+        @Override
+        int getDisplaySource()
+        {
+            return left.getDisplaySource();
+        }
+    }
+
+    /** Function of several arguments, without alarm, time or display */
+    static class Function extends Evaluator
+    {
+        private final Evaluator[] args;
+        private final NumericFunction function;
+        private final int offset;
+
+        Function(final Evaluator[] args, final NumericFunction function, final int offset)
+        {
+            this.args = args;
+            this.function = function;
+            this.offset = offset;
+        }
+
+        @Override
+        double eval(final Work work)
+        {
+            for (int i=0; i<args.length; ++i)
+                work.args[offset + i] = args[i].eval(work);
+            return function.calc(work.args, offset, args.length);
+        }
+
+        @Override
+        void describe(final Work work)
+        {
+            work.describe(NONE, NONE, NONE, NONE);
+        }
+
+        @Override
+        boolean listContributors(final List<Integer> contributors)
+        {
+            contributors.add(NONE);
+            return true;
+        }
+
+        @Override
+        int getDisplaySource()
+        {
+            return NONE;
+        }
+    }
+
+    /** Conditional that passes one of two results */
+    static class Conditional extends Evaluator
+    {
+        private final Evaluator cond, yes, no;
+        private final int index;
+
+        Conditional(final Evaluator cond, final Evaluator yes, final Evaluator no, final int index)
+        {
+            this.cond = cond;
+            this.yes = yes;
+            this.no = no;
+            this.index = index;
+        }
+
+        @Override
+        double eval(final Work work)
+        {
+            final boolean c = cond.eval(work) != 0.0;
+            work.conditions[index] = c;
+            return c ? yes.eval(work) : no.eval(work);
+        }
+
+        @Override
+        void describe(final Work work)
+        {
+            if (work.conditions[index])
+                yes.describe(work);
+            else
+                no.describe(work);
+        }
+
+        @Override
+        boolean listContributors(final List<Integer> contributors)
+        {
+            return false;
+        }
+
+        @Override
+        int getDisplaySource()
+        {
+            return NONE;
+        }
+    }
+
+    private final Node[] sources;
+    /** Indices of sources that are variables, i.e. need to be read for each evaluation */
+    private final int[] variables;
+    private final Evaluator root;
+    private final int conditions, args;
+
+    /** Sources that contribute alarm and time, <code>null</code> when determined by conditionals */
+    private final int[] contributors;
+    /** Is the alarm passed through from a single source, not just the highest of several? */
+    private final boolean single;
+    /** Does result have the current time? */
+    private final boolean now;
+    /** Sources for display and unchanged value */
+    private final int display, unchanged;
+
+    /** Work area for each thread that evaluates the formula */
+    private final ThreadLocal<Work> work = ThreadLocal.withInitial(this::createWork);
+
+    CompiledFormula(final Node[] sources, final int[] variables,
+                    final Evaluator root, final int conditions, final int args)
+    {
+        this.sources = sources;
+        this.variables = variables;
+        this.root = root;
+        this.conditions = conditions;
+        this.args = args;
+
+        final List<Integer> contrib = new ArrayList<>();
+        if (root.listContributors(contrib))
+        {
+            single = contrib.size() == 1  &&  contrib.get(0) != NONE;
+            now = contrib.contains(NONE);
+            contrib.removeIf(index -> index == NONE);
+            contributors = contrib.stream().mapToInt(Integer::intValue).toArray();
+            display = root.getDisplaySource();
+            unchanged = root instanceof Source ? display : NONE;
+        }
+        else
+        {
+            single = now = false;
+            contributors = null;
+            display = unchanged = NONE;
+        }
+    }
+
+    /** @return <code>true</code> if formula calls functions */
+    boolean hasFunctions()
+    {
+        return args > 0;
+    }
+
+    /** @return Work area with values of constants */
+    private Work createWork()
+    {
+        final Work work = new Work(sources.length, conditions, args);
+        for (int i=0; i<sources.length; ++i)
+        {
+            final VType value = sources[i].eval();
+            work.values[i] = value;
+            if (value instanceof VNumber)
+                work.numbers[i] = ((VNumber) value).getValue().doubleValue();
+        }
+        return work;
+    }
+
+    /** Create result with alarm, time and display of the contributors
+     *  @param value Value of the formula
+     *  @param work Work area
+     *  @return Result
+     */
+    private VType createResult(final double value, final Work work)
+    {
+        if (unchanged != NONE)
+            return work.values[unchanged];
+
+        // Highest alarm, first one for same severity.
+        // Latest time, last one for same time.
+        Alarm alarm = single ? null : Alarm.none();
+        Time time = null;
+        for (int source : contributors)
+        {
+            final VType contributor = work.values[source];
+            if (alarm != null)
+            {
+                final Alarm other = Alarm.alarmOf(contributor);
+                if (other.getSeverity().compareTo(alarm.getSeverity()) > 0)
+                    alarm = other;
+            }
+            if (! now)
+            {
+                final Time other = Time.timeOf(contributor);
+                if (time == null  ||  ! time.getTimestamp().isAfter(other.getTimestamp()))
+                    time = other;
+            }
+        }
+        return VDouble.of(value,
+                          alarm == null ? Alarm.alarmOf(work.values[display]) : alarm,
+                          time == null ? Time.now() : time,
+                          display == NONE ? Display.none() : Display.displayOf(work.values[display]));
+    }
+
+    /** Evaluate the formula
+     *  @return Value of the formula, <code>null</code> if inputs are not all numeric
+     */
+    VType eval()
+    {
+        // Each thread re-uses its own work area
+        return eval(work.get());
+    }
+
+    private VType eval(final Work work)
+    {
+        // Fetch inputs
+        for (int i : variables)
+        {
+            final VType value = sources[i].eval();
+            if (! (value instanceof VNumber))
+                return null;
+            work.values[i] = value;
+            work.numbers[i] = ((VNumber) value).getValue().doubleValue();
+        }
+
+        final double value = root.eval(work);
+
+        if (contributors != null)
+            return createResult(value, work);
+
+        root.describe(work);
+        if (work.unchanged != NONE)
+            return work.values[work.unchanged];
+        return VDouble.of(value,
+                          work.alarm == NONE ? Alarm.none() : Alarm.alarmOf(work.values[work.alarm]),
+                          work.time == NONE ? Time.now() : Time.timeOf(work.values[work.time]),
+                          work.display == NONE ? Display.none() : Display.displayOf(work.values[work.display]));
+    }
+}
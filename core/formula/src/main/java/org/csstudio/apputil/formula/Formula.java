@@ -75,6 +75,9 @@ import org.epics.vtype.VType;
  *  <p>The formula string is parsed into a tree, so that subsequent
  *  evaluations, possibly with modified values for input variables,
  *  are reasonably fast.
+ *  Formulas that call functions are then compiled into a program
+ *  that operates on plain numbers, see {@link FormulaCompiler}.
+ *  The tree is still used when inputs are strings or arrays.
  *
  *  <p>Functions can be provided via the {@link FormulaFunction} SPI.
  *
@@ -92,6 +95,9 @@ public class Formula implements Node
 
     final private Node tree;
 
+    /** Compiled program, <code>null</code> if formula can only be evaluated as a tree */
+    final private CompiledFormula compiled;
+
     private static final VariableNode constants[] = new VariableNode[]
     {
         new VariableNode("E", Math.E),
@@ -145,6 +151,7 @@ public class Formula implements Node
         }
         this.determine_variables = false;
         tree = parse();
+        compiled = compile(tree);
     }
 
     /** Create formula from string.
@@ -159,6 +166,24 @@ public class Formula implements Node
         this.variables = new ArrayList<>();
         this.determine_variables = determine_variables;
         tree = parse();
+        compiled = compile(tree);
+    }
+
+    /** @param tree Parsed formula
+     *  @return Compiled formula or <code>null</code> to evaluate the tree
+     */
+    private static CompiledFormula compile(final Node tree)
+    {
+        // For formulas that only use operators, most of the time is spent
+        // on the alarm, time and display of the result, which the tree
+        // determines just as fast.
+        // Functions benefit because their arguments are no longer
+        // wrapped into VTypes, also when conditionals require
+        // describing the result anew for each evaluation.
+        final CompiledFormula compiled = FormulaCompiler.compile(tree);
+        if (compiled != null  &&  compiled.hasFunctions())
+            return compiled;
+        return null;
     }
 
     /** @return Original formula that got parsed. */
@@ -174,9 +199,30 @@ public class Formula implements Node
         return variables.toArray(result);
     }
 
+    /** @return <code>true</code> if formula is evaluated as a compiled program */
+    public boolean isCompiled()
+    {
+        return compiled != null;
+    }
+
     /** {@inheritDoc} */
     @Override
     public VType eval()
+    {
+        if (compiled != null)
+        {
+            final VType result = compiled.eval();
+            if (result != null)
+                return result;
+            // else: Inputs are not plain numbers
+        }
+        return evalTree();
+    }
+
+    /** Evaluate the tree, bypassing the compiled program
+     *  @return The value of the formula
+     */
+    VType evalTree()
     {
         return tree.eval();
     }
@@ -195,6 +241,13 @@ public class Formula implements Node
         return tree.hasSubnode(name);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public boolean compile(final FormulaCompiler compiler)
+    {
+        return tree.compile(compiler);
+    }
+
     /** Parse -0.1234 or variable or sub-expression in braces. */
     private Node parseConstant(final Scanner s) throws Exception
     {
@@ -0,0 +1,151 @@
+package org.csstudio.apputil.formula;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+
+import org.csstudio.apputil.formula.CompiledFormula.Evaluator;
+
+/** Compiler that lowers a tree of {@link Node}s into evaluators for plain numbers
+ *
+ *  <p>The tree of nodes evaluates each node into a {@link org.epics.vtype.VType},
+ *  allocating a new value for each intermediate result.
+ *  The compiled formula operates on plain <code>double</code>s.
+ *  Only the final result is wrapped into a {@link org.epics.vtype.VType},
+ *  using the alarm, time stamp and display that the tree would have provided.
+ *
+ *  <p>Nodes add themselves via {@link Node#compile(FormulaCompiler)},
+ *  first adding their arguments, then the operation on those arguments.
+ *  String constants, string or array valued functions
+ *  cannot be compiled, and the formula then uses the tree.
+ */
+public class FormulaCompiler
+{
+    /** Function of numeric arguments */
+    @FunctionalInterface
+    public interface NumericFunction
+    {
+        /** @param args Array that holds the arguments
+         *  @param offset Index of first argument in array
+         *  @param count Number of arguments
+         *  @return Function value
+         */
+        double calc(double[] args, int offset, int count);
+    }
+
+    private final List<Node> sources = new ArrayList<>();
+    private final List<Integer> variables = new ArrayList<>();
+    /** Compiled arguments for the next operation */
+    private final List<Evaluator> stack = new ArrayList<>();
+    private int conditions = 0, args = 0;
+
+    /** @param node Node to compile
+     *  @return {@link CompiledFormula} or <code>null</code> if node cannot be compiled
+     */
+    static CompiledFormula compile(final Node node)
+    {
+        final FormulaCompiler compiler = new FormulaCompiler();
+        if (! node.compile(compiler)  ||  compiler.stack.size() != 1)
+            return null;
+        return new CompiledFormula(compiler.sources.toArray(new Node[compiler.sources.size()]),
+                                   compiler.variables.stream().mapToInt(Integer::intValue).toArray(),
+                                   compiler.stack.get(0),
+                                   compiler.conditions,
+                                   compiler.args);
+    }
+
+    private FormulaCompiler()
+    {
+    }
+
+    private Evaluator pop()
+    {
+        return stack.remove(stack.size() - 1);
+    }
+
+    /** Add a variable
+     *
+     *  <p>The value of the variable must be a plain number,
+     *  not a string or array, when the formula is evaluated.
+     *
+     *  @param variable Variable node
+     */
+    public void addVariable(final Node variable)
+    {
+        addSource(variable, true);
+    }
+
+    /** Add a numeric constant
+     *  @param constant Node with constant value
+     */
+    public void addConstant(final Node constant)
+    {
+        addSource(constant, false);
+    }
+
+    private void addSource(final Node source, final boolean variable)
+    {
+        int index = sources.indexOf(source);
+        if (index < 0)
+        {
+            index = sources.size();
+            sources.add(source);
+            if (variable)
+                variables.add(index);
+        }
+        stack.add(new CompiledFormula.Source(index));
+    }
+
+    /** Add unary operation on the previous value
+     *
+     *  <p>Result keeps the alarm, time and display of its argument.
+     *
+     *  @param op Operation
+     */
+    public void addUnary(final DoubleUnaryOperator op)
+    {
+        stack.add(new CompiledFormula.Unary(pop(), op));
+    }
+
+    /** Add binary operation on the previous two values
+     *
+     *  <p>Result has the highest alarm and latest time stamp
+     *  of its arguments, and the display of the first argument.
+     *
+     *  @param op Operation
+     */
+    public void addBinary(final DoubleBinaryOperator op)
+    {
+        final Evaluator right = pop();
+        stack.add(new CompiledFormula.Binary(pop(), right, op));
+    }
+
+    /** Add function of the previous values
+     *
+     *  <p>Result has no alarm, current time stamp and no display.
+     *
+     *  @param function Function
+     *  @param count Number of arguments
+     */
+    public void addFunction(final NumericFunction function, final int count)
+    {
+        final Evaluator[] arg_evals = new Evaluator[count];
+        for (int i=count-1; i>=0; --i)
+            arg_evals[i] = pop();
+        stack.add(new CompiledFormula.Function(arg_evals, function, args));
+        args += count;
+    }
+
+    /** Add conditional of the previous three values
+     *
+     *  <p>Result is the second value if the first one is non-zero,
+     *  otherwise the third value.
+     */
+    public void addConditional()
+    {
+        final Evaluator no = pop();
+        final Evaluator yes = pop();
+        stack.add(new CompiledFormula.Conditional(pop(), yes, no, conditions++));
+    }
+}
@@ -29,4 +29,18 @@ public interface Node
      *  @return <code>true</code> if given node name was found under this one.
      */
     public boolean hasSubnode(String name);
+
+    /** Add node to a flat program
+     *
+     *  <p>Default implementation does not support compilation,
+     *  so formulas that contain this node are evaluated as a tree.
+     *
+     *  @param compiler {@link FormulaCompiler}
+     *  @return <code>true</code> if node was added,
+     *          <code>false</code> if node can only be evaluated as a tree.
+     */
+    public default boolean compile(final FormulaCompiler compiler)
+    {
+        return false;
+    }
 }
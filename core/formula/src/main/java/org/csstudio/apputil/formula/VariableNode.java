@@ -81,6 +81,14 @@ public class VariableNode implements Node
         return this.name.equals(name);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public boolean compile(final FormulaCompiler compiler)
+    {
+        compiler.addVariable(this);
+        return true;
+    }
+
     @Override
     public String toString()
     {
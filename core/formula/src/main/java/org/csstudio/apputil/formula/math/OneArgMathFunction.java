@@ -9,6 +9,7 @@ package org.csstudio.apputil.formula.math;
 
 import java.util.List;
 
+import org.csstudio.apputil.formula.FormulaCompiler;
 import org.csstudio.apputil.formula.spi.FormulaFunction;
 import org.epics.vtype.Alarm;
 import org.epics.vtype.Display;
@@ -21,7 +22,7 @@ import org.phoebus.core.vtypes.VTypeHelper;
  *  @author Kay Kasemir
  */
 @SuppressWarnings("nls")
-class OneArgMathFunction implements FormulaFunction
+class OneArgMathFunction implements FormulaFunction, FormulaCompiler.NumericFunction
 {
     @FunctionalInterface
     public interface OneArgFunction
@@ -71,4 +72,9 @@ class OneArgMathFunction implements FormulaFunction
         return VDouble.of(value, Alarm.none(), Time.now(), Display.none());
     }
 
+    @Override
+    public double calc(final double[] args, final int offset, final int count)
+    {
+        return function.calc(args[offset]);
+    }
 }
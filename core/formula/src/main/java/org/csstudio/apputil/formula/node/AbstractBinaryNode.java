@@ -7,6 +7,7 @@
  ******************************************************************************/
 package org.csstudio.apputil.formula.node;
 
+import org.csstudio.apputil.formula.FormulaCompiler;
 import org.csstudio.apputil.formula.Node;
 import org.epics.util.array.ArrayDouble;
 import org.epics.vtype.Alarm;
@@ -94,4 +95,14 @@ abstract class AbstractBinaryNode implements Node
     {
         return left.hasSubnode(name) || right.hasSubnode(name);
     }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean compile(final FormulaCompiler compiler)
+    {
+        if (! (left.compile(compiler)  &&  right.compile(compiler)))
+            return false;
+        compiler.addBinary(this::calc);
+        return true;
+    }
 }
@@ -7,6 +7,7 @@
  ******************************************************************************/
 package org.csstudio.apputil.formula.node;
 
+import org.csstudio.apputil.formula.FormulaCompiler;
 import org.csstudio.apputil.formula.Node;
 import org.epics.util.array.ArrayDouble;
 import org.epics.vtype.Alarm;
@@ -59,4 +60,14 @@ abstract class AbstractUnaryNode implements Node
     {
         return n.hasSubnode(name);
     }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean compile(final FormulaCompiler compiler)
+    {
+        if (! n.compile(compiler))
+            return false;
+        compiler.addUnary(this::calc);
+        return true;
+    }
 }
@@ -7,6 +7,7 @@
  ******************************************************************************/
 package org.csstudio.apputil.formula.node;
 
+import org.csstudio.apputil.formula.FormulaCompiler;
 import org.csstudio.apputil.formula.Node;
 import org.epics.vtype.Alarm;
 import org.epics.vtype.Display;
@@ -54,6 +55,16 @@ public class ConstantNode implements Node
         return false;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public boolean compile(final FormulaCompiler compiler)
+    {
+        if (value instanceof VString)
+            return false;
+        compiler.addConstant(this);
+        return true;
+    }
+
     @Override
     public String toString()
     {
@@ -7,6 +7,7 @@
  ******************************************************************************/
 package org.csstudio.apputil.formula.node;
 
+import org.csstudio.apputil.formula.FormulaCompiler;
 import org.csstudio.apputil.formula.Node;
 import org.epics.vtype.VType;
 import org.phoebus.core.vtypes.VTypeHelper;
@@ -54,6 +55,16 @@ public class IfNode implements Node
                no.hasSubnode(name);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public boolean compile(final FormulaCompiler compiler)
+    {
+        if (! (cond.compile(compiler)  &&  yes.compile(compiler)  &&  no.compile(compiler)))
+            return false;
+        compiler.addConditional();
+        return true;
+    }
+
     @SuppressWarnings("nls")
     @Override
     public String toString()
@@ -7,6 +7,7 @@
  ******************************************************************************/
 package org.csstudio.apputil.formula.node;
 
+import org.csstudio.apputil.formula.FormulaCompiler;
 import org.csstudio.apputil.formula.Node;
 import org.epics.vtype.Alarm;
 import org.epics.vtype.Display;
@@ -63,6 +64,27 @@ public class MaxNode implements Node
         return false;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public boolean compile(final FormulaCompiler compiler)
+    {
+        for (Node arg : args)
+            if (! arg.compile(compiler))
+                return false;
+        compiler.addFunction((values, offset, count) ->
+        {
+            double result = Double.NaN;
+            for (int i = 0; i < count; i++)
+            {
+                final double value = values[offset + i];
+                if (i==0  ||  value > result)
+                    result = value;
+            }
+            return result;
+        }, args.length);
+        return true;
+    }
+
     @SuppressWarnings("nls")
     @Override
     public String toString()
@@ -11,6 +11,7 @@ import static org.csstudio.apputil.formula.Formula.logger;
 
 import java.util.logging.Level;
 
+import org.csstudio.apputil.formula.FormulaCompiler;
 import org.csstudio.apputil.formula.Node;
 import org.csstudio.apputil.formula.spi.FormulaFunction;
 import org.epics.vtype.Alarm;
@@ -81,6 +82,20 @@ public class SPIFuncNode implements Node
         return false;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public boolean compile(final FormulaCompiler compiler)
+    {
+        // Only functions that operate on plain numbers can be compiled
+        if (! (function instanceof FormulaCompiler.NumericFunction))
+            return false;
+        for (Node arg : args)
+            if (! arg.compile(compiler))
+                return false;
+        compiler.addFunction((FormulaCompiler.NumericFunction) function, args.length);
+        return true;
+    }
+
     @Override
     public String toString()
     {
@@ -0,0 +1,56 @@
+package org.csstudio.apputil.formula;
+
+import java.util.function.Supplier;
+
+import org.epics.vtype.Alarm;
+import org.epics.vtype.Display;
+import org.epics.vtype.Time;
+import org.epics.vtype.VDouble;
+import org.epics.vtype.VType;
+
+/** Compare evaluation of formula tree with compiled formula
+ */
+@SuppressWarnings("nls")
+public class FormulaCompileDemo
+{
+    private static final int RUNS = 5, EVALS = 2000000;
+
+    private static double time(final String title, final Supplier<VType> eval)
+    {
+        double best = Double.MAX_VALUE;
+        for (int run=0; run<RUNS; ++run)
+        {
+            final long start = System.nanoTime();
+            for (int i=0; i<EVALS; ++i)
+                eval.get();
+            final double ns = (System.nanoTime() - start) / (double) EVALS;
+            best = Math.min(best, ns);
+        }
+        System.out.format("%-10s: %6.1f ns per evaluation\n", title, best);
+        return best;
+    }
+
+    public static void main(String[] args) throws Exception
+    {
+        final String[] formulas = new String[]
+        {
+            "x + y",
+            "(x + y) * 2 - z / 4",
+            "sqrt(x*x + y*y + z*z)",
+            "abs(x - y) + pow(z, 2)",
+            "x > y ? (max(x, y, z) - 1) : (min(x, z) + 2)",
+        };
+        for (String expression : formulas)
+        {
+            final Formula formula = new Formula(expression, true);
+            int i = 1;
+            for (VariableNode var : formula.getVariables())
+                var.setValue(VDouble.of(i++, Alarm.none(), Time.now(), Display.none()));
+
+            System.out.println(expression + " = " + formula.eval() + ", compiled: " + formula.isCompiled());
+            final double tree = time("Tree", formula::evalTree);
+            final double compiled = time("Compiled", formula::eval);
+            System.out.format("Speedup   : %6.1f\n\n", tree / compiled);
+        }
+    }
+}
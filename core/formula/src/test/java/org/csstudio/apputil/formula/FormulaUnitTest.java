@@ -10,6 +10,8 @@ package org.csstudio.apputil.formula;
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -27,7 +29,10 @@ import org.phoebus.core.vtypes.VTypeHelper;
 import org.epics.vtype.AlarmSeverity;
 import org.epics.vtype.Alarm;
 import org.epics.vtype.AlarmStatus;
+import org.epics.vtype.Display;
+import org.epics.vtype.VDouble;
 import org.epics.vtype.VString;
+import org.epics.vtype.VType;
 import org.epics.vtype.Time;
 
 
@@ -403,4 +408,50 @@ public class FormulaUnitTest
 	Formula f = new Formula("highestSeverity(dataA, dataB, dataC)", v);
 	assertEquals("MAJOR", VTypeHelper.toString(f.eval()));
     }
+
+    @Test
+    public void testCompiled() throws Exception
+    {
+        Formula f = new Formula("\"Text\" + 1");
+        assertNull(FormulaCompiler.compile(f));
+        assertFalse(f.isCompiled());
+        f = new Formula("x + 1", true);
+        assertFalse(f.isCompiled());
+
+        final VariableNode x = new VariableNode("x");
+        final VariableNode y = new VariableNode("y");
+        final VariableNode[] vars = new VariableNode[] { x, y };
+        for (String formula : new String[] { "x", "x + 2*y", "-x", "sqrt(x*x + y*y)", "max(x, y, 3)", "x > y ? (x) : (y+1)", "!x | y" })
+        {
+            f = new Formula(formula, vars);
+            final CompiledFormula program = FormulaCompiler.compile(f);
+            assertNotNull(formula, program);
+            for (int i=0; i<5; ++i)
+            {
+                x.setValue(VDouble.of(i, Alarm.of(AlarmSeverity.values()[i % 3], AlarmStatus.RECORD, "X"), Time.now(), Display.none()));
+                y.setValue(VDouble.of(3-i, Alarm.of(AlarmSeverity.values()[(i+1) % 3], AlarmStatus.RECORD, "Y"), Time.now(), Display.none()));
+                final VType compiled = program.eval(), tree = f.evalTree();
+                assertEquals(formula, VTypeHelper.toDouble(tree), VTypeHelper.toDouble(compiled), epsilon);
+                assertEquals(formula, Alarm.alarmOf(tree), Alarm.alarmOf(compiled));
+            }
+        }
+
+        // Conditionals with functions use the compiled program
+        f = new Formula("x > y ? sqrt(x) : abs(y - 1)", vars);
+        assertTrue(f.isCompiled());
+        for (int i=0; i<5; ++i)
+        {
+            x.setValue(VDouble.of(i, Alarm.of(AlarmSeverity.values()[i % 3], AlarmStatus.RECORD, "X"), Time.now(), Display.none()));
+            y.setValue(VDouble.of(3-i, Alarm.of(AlarmSeverity.values()[(i+1) % 3], AlarmStatus.RECORD, "Y"), Time.now(), Display.none()));
+            final VType compiled = f.eval(), tree = f.evalTree();
+            assertEquals(VTypeHelper.toDouble(tree), VTypeHelper.toDouble(compiled), epsilon);
+            assertEquals(Alarm.alarmOf(tree), Alarm.alarmOf(compiled));
+        }
+
+        // String value for variable falls back to tree
+        f = new Formula("x + abs(1)", vars);
+        assertTrue(f.isCompiled());
+        x.setValue(VString.of("Text", Alarm.none(), Time.now()));
+        assertEquals("Text1.0", VTypeHelper.toString(f.eval()));
+    }
 }
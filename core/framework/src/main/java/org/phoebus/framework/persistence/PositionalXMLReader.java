@@ -19,6 +19,7 @@ import javax.xml.parsers.SAXParserFactory;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
+import org.w3c.dom.UserDataHandler;
 import org.xml.sax.Attributes;
 import org.xml.sax.Locator;
 import org.xml.sax.SAXException;
@@ -40,6 +41,18 @@ class PositionalXMLReader
     /** User data tag for line number */
     public static final String LINE_NUMBER = "lineNumber";
 
+    /** Keeps the line number when a node is imported into another document or cloned */
+    static final UserDataHandler KEEP_LINE_NUMBER = new UserDataHandler()
+    {
+        @Override
+        public void handle(final short operation, final String key, final Object data,
+                           final Node src, final Node dst)
+        {
+            if (dst != null  &&  (operation == NODE_IMPORTED  ||  operation == NODE_CLONED))
+                dst.setUserData(key, data, this);
+        }
+    };
+
     /** Read XML, creating document where nodes have line number in user data.
      *  @param stream
      *  @return {@link Document}
@@ -91,7 +104,7 @@ class PositionalXMLReader
                             attributes.getValue(i));
                 }
                 el.setUserData(LINE_NUMBER,
-                        Integer.valueOf(this.locator.getLineNumber()), null);
+                        Integer.valueOf(this.locator.getLineNumber()), KEEP_LINE_NUMBER);
                 elementStack.push(el);
             }
 
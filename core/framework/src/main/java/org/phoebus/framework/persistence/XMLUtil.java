@@ -9,9 +9,13 @@ package org.phoebus.framework.persistence;
 
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.Optional;
 
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamReader;
 import javax.xml.transform.OutputKeys;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerFactory;
@@ -80,6 +84,69 @@ public class XMLUtil
         return "unknown";
     }
 
+    /** Read element from XML stream into DOM
+     *
+     *  <p>Reads the current start element and all its content,
+     *  leaving the stream on the matching end element.
+     *  Allows reading a large document one element at a time.
+     *  Like {@link #openXMLDocument}, the elements
+     *  have line number information.
+     *
+     *  @param doc Document used to create the element
+     *  @param reader XML stream positioned on a start element
+     *  @return Element, not added to the document
+     *  @throws Exception on error
+     */
+    public static Element readElement(final Document doc, final XMLStreamReader reader) throws Exception
+    {
+        final Deque<Element> stack = new ArrayDeque<>();
+        final StringBuilder text = new StringBuilder();
+        Element element = null;
+        int event = reader.getEventType();
+        while (true)
+        {
+            switch (event)
+            {
+            case XMLStreamConstants.START_ELEMENT:
+                if (text.length() > 0)
+                {
+                    stack.peek().appendChild(doc.createTextNode(text.toString()));
+                    text.setLength(0);
+                }
+                final Element child = doc.createElement(reader.getLocalName());
+                for (int i=0; i<reader.getAttributeCount(); ++i)
+                    child.setAttribute(reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+                child.setUserData(PositionalXMLReader.LINE_NUMBER, reader.getLocation().getLineNumber(), PositionalXMLReader.KEEP_LINE_NUMBER);
+                if (element == null)
+                    element = child;
+                else
+                    stack.peek().appendChild(child);
+                stack.push(child);
+                break;
+            case XMLStreamConstants.CHARACTERS:
+            case XMLStreamConstants.CDATA:
+            case XMLStreamConstants.SPACE:
+                text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                break;
+            case XMLStreamConstants.END_ELEMENT:
+                final Element done = stack.pop();
+                if (text.length() > 0)
+                {
+                    done.appendChild(doc.createTextNode(text.toString()));
+                    text.setLength(0);
+                }
+                if (stack.isEmpty())
+                    return element;
+                break;
+            case XMLStreamConstants.END_DOCUMENT:
+                throw new Exception("Incomplete XML document");
+            default:
+                // Ignore comments, processing instructions
+            }
+            event = reader.next();
+        }
+    }
+
     /** Iterator over all Elements (not just Nodes) of a parent */
     private static class ElementIterator implements Iterator<Element>
     {
@@ -0,0 +1,344 @@
+package org.phoebus.framework.rdb;
+
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/** Encoding of array samples in an RDB 'BLOB'
+ *
+ *  <p>The original encoding, marked by data type {@link #DOUBLE},
+ *  stores the element count followed by all elements as double.
+ *
+ *  <p>The versioned encoding, marked by data type {@link #VERSIONED},
+ *  keeps the original element type.
+ *  It starts with a header of
+ *  <pre>
+ *  byte version
+ *  byte element type 'b', 's', 'i', 'l', 'f', 'd'
+ *  byte flags
+ *  int  element count
+ *  </pre>
+ *  followed by the elements.
+ *  With the {@link #DELTA_DEFLATE} flag, integer elements are replaced
+ *  by their difference to the preceding element, and then the elements
+ *  are compressed.
+ *
+ *  <p>All numbers are in network byte order.
+ */
+@SuppressWarnings("nls")
+public class ArrayBlob
+{
+    /** Data type for original BLOB of doubles */
+    public static final String DOUBLE = "d";
+
+    /** Data type for versioned BLOB */
+    public static final String VERSIONED = "v";
+
+    /** Current version of the versioned BLOB */
+    private static final byte VERSION = 1;
+
+    /** Flag for delta encoding and compression */
+    private static final byte DELTA_DEFLATE = 1;
+
+    /** Size of header for versioned BLOB */
+    private static final int HEADER_SIZE = 3 + Integer.BYTES;
+
+    /** Encode array in original BLOB of doubles
+     *  @param array Array elements
+     *  @return BLOB data
+     */
+    public static byte[] encodeDoubles(final double[] array)
+    {
+        final ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + array.length * Double.BYTES);
+        buffer.putInt(array.length);
+        buffer.asDoubleBuffer().put(array);
+        return buffer.array();
+    }
+
+    /** Decode original BLOB of doubles
+     *  @param blob BLOB data
+     *  @return Array elements
+     */
+    public static double[] decodeDoubles(final byte[] blob)
+    {
+        final ByteBuffer buffer = ByteBuffer.wrap(blob);
+        final double[] array = new double[buffer.getInt()];
+        buffer.asDoubleBuffer().get(array);
+        return array;
+    }
+
+    /** Encode array in versioned BLOB
+     *  @param array <code>byte[]</code>, <code>short[]</code>, <code>int[]</code>,
+     *               <code>long[]</code>, <code>float[]</code> or <code>double[]</code>
+     *  @param compress Use delta encoding and compression?
+     *  @return BLOB data
+     *  @throws IllegalArgumentException if array is not a supported primitive array
+     */
+    public static byte[] encode(final Object array, final boolean compress)
+    {
+        final byte type;
+        final int count, size;
+        if (array instanceof byte[])
+        {
+            type = 'b';
+            count = ((byte[]) array).length;
+            size = Byte.BYTES;
+        }
+        else if (array instanceof short[])
+        {
+            type = 's';
+            count = ((short[]) array).length;
+            size = Short.BYTES;
+        }
+        else if (array instanceof int[])
+        {
+            type = 'i';
+            count = ((int[]) array).length;
+            size = Integer.BYTES;
+        }
+        else if (array instanceof long[])
+        {
+            type = 'l';
+            count = ((long[]) array).length;
+            size = Long.BYTES;
+        }
+        else if (array instanceof float[])
+        {
+            type = 'f';
+            count = ((float[]) array).length;
+            size = Float.BYTES;
+        }
+        else if (array instanceof double[])
+        {
+            type = 'd';
+            count = ((double[]) array).length;
+            size = Double.BYTES;
+        }
+        else
+            throw new IllegalArgumentException("Cannot encode " + array);
+
+        final ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + count * size);
+        buffer.put(VERSION);
+        buffer.put(type);
+        buffer.put(compress ? DELTA_DEFLATE : 0);
+        buffer.putInt(count);
+        final ByteBuffer data = buffer.slice();
+        if (compress)
+            putDeltas(data, array);
+        else
+            put(data, array);
+
+        if (! compress)
+            return buffer.array();
+        return deflate(buffer.array());
+    }
+
+    /** @param data Buffer for elements
+     *  @param array Array to place in buffer
+     */
+    private static void put(final ByteBuffer data, final Object array)
+    {
+        if (array instanceof byte[])
+            data.put((byte[]) array);
+        else if (array instanceof short[])
+            data.asShortBuffer().put((short[]) array);
+        else if (array instanceof int[])
+            data.asIntBuffer().put((int[]) array);
+        else if (array instanceof long[])
+            data.asLongBuffer().put((long[]) array);
+        else if (array instanceof float[])
+            data.asFloatBuffer().put((float[]) array);
+        else
+            data.asDoubleBuffer().put((double[]) array);
+    }
+
+    /** @param data Buffer for elements
+     *  @param array Array to place in buffer, integers as deltas
+     */
+    private static void putDeltas(final ByteBuffer data, final Object array)
+    {
+        // Overflow of the difference is fine,
+        // it wraps around the same way when decoded
+        if (array instanceof byte[])
+        {
+            final byte[] values = (byte[]) array;
+            byte last = 0;
+            for (byte value : values)
+            {
+                data.put((byte) (value - last));
+                last = value;
+            }
+        }
+        else if (array instanceof short[])
+        {
+            final short[] values = (short[]) array;
+            short last = 0;
+            for (short value : values)
+            {
+                data.putShort((short) (value - last));
+                last = value;
+            }
+        }
+        else if (array instanceof int[])
+        {
+            final int[] values = (int[]) array;
+            int last = 0;
+            for (int value : values)
+            {
+                data.putInt(value - last);
+                last = value;
+            }
+        }
+        else if (array instanceof long[])
+        {
+            final long[] values = (long[]) array;
+            long last = 0;
+            for (long value : values)
+            {
+                data.putLong(value - last);
+                last = value;
+            }
+        }
+        else // Floating point values are only compressed
+            put(data, array);
+    }
+
+    /** @param blob Header and elements
+     *  @return Header and compressed elements
+     */
+    private static byte[] deflate(final byte[] blob)
+    {
+        final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try
+        {
+            deflater.setInput(blob, HEADER_SIZE, blob.length - HEADER_SIZE);
+            deflater.finish();
+            // Compressed elements are typically smaller,
+            // but may in the worst case be a little larger
+            byte[] result = new byte[blob.length + 64];
+            System.arraycopy(blob, 0, result, 0, HEADER_SIZE);
+            int size = HEADER_SIZE;
+            while (! deflater.finished())
+            {
+                if (size >= result.length)
+                {
+                    final byte[] larger = new byte[result.length * 2];
+                    System.arraycopy(result, 0, larger, 0, size);
+                    result = larger;
+                }
+                size += deflater.deflate(result, size, result.length - size);
+            }
+            final byte[] compressed = new byte[size];
+            System.arraycopy(result, 0, compressed, 0, size);
+            return compressed;
+        }
+        finally
+        {
+            deflater.end();
+        }
+    }
+
+    /** Decode versioned BLOB
+     *  @param blob BLOB data
+     *  @return <code>byte[]</code>, <code>short[]</code>, <code>int[]</code>,
+     *          <code>long[]</code>, <code>float[]</code> or <code>double[]</code>
+     *  @throws Exception on error
+     */
+    public static Object decode(final byte[] blob) throws Exception
+    {
+        final ByteBuffer buffer = ByteBuffer.wrap(blob);
+        final byte version = buffer.get();
+        if (version != VERSION)
+            throw new Exception("Unknown array BLOB version " + version);
+        final byte type = buffer.get();
+        final boolean compressed = (buffer.get() & DELTA_DEFLATE) != 0;
+        final int count = buffer.getInt();
+
+        switch (type)
+        {
+        case 'b':
+        {
+            final byte[] array = new byte[count];
+            elements(buffer, compressed, count * Byte.BYTES).get(array);
+            if (compressed)
+                for (int i=1; i<count; ++i)
+                    array[i] += array[i-1];
+            return array;
+        }
+        case 's':
+        {
+            final short[] array = new short[count];
+            elements(buffer, compressed, count * Short.BYTES).asShortBuffer().get(array);
+            if (compressed)
+                for (int i=1; i<count; ++i)
+                    array[i] += array[i-1];
+            return array;
+        }
+        case 'i':
+        {
+            final int[] array = new int[count];
+            elements(buffer, compressed, count * Integer.BYTES).asIntBuffer().get(array);
+            if (compressed)
+                for (int i=1; i<count; ++i)
+                    array[i] += array[i-1];
+            return array;
+        }
+        case 'l':
+        {
+            final long[] array = new long[count];
+            elements(buffer, compressed, count * Long.BYTES).asLongBuffer().get(array);
+            if (compressed)
+                for (int i=1; i<count; ++i)
+                    array[i] += array[i-1];
+            return array;
+        }
+        case 'f':
+        {
+            final float[] array = new float[count];
+            elements(buffer, compressed, count * Float.BYTES).asFloatBuffer().get(array);
+            return array;
+        }
+        case 'd':
+        {
+            final double[] array = new double[count];
+            elements(buffer, compressed, count * Double.BYTES).asDoubleBuffer().get(array);
+            return array;
+        }
+        default:
+            throw new Exception("Unknown array BLOB element type '" + (char) type + "'");
+        }
+    }
+
+    /** @param buffer Buffer positioned after header
+     *  @param compressed Are elements compressed?
+     *  @param size Size of elements in bytes
+     *  @return Buffer for the elements
+     *  @throws DataFormatException on error in compressed data
+     */
+    private static ByteBuffer elements(final ByteBuffer buffer, final boolean compressed, final int size) throws DataFormatException
+    {
+        if (! compressed)
+            return buffer.slice();
+
+        final byte[] data = new byte[size];
+        final Inflater inflater = new Inflater();
+        try
+        {
+            inflater.setInput(buffer.array(), buffer.position(), buffer.remaining());
+            int got = 0;
+            while (got < size)
+            {
+                final int chunk = inflater.inflate(data, got, size - got);
+                if (chunk <= 0  &&  (inflater.finished()  ||  inflater.needsInput()))
+                    throw new DataFormatException("Array BLOB has " + got + " instead of " + size + " bytes");
+                got += chunk;
+            }
+        }
+        finally
+        {
+            inflater.end();
+        }
+        return ByteBuffer.wrap(data);
+    }
+}
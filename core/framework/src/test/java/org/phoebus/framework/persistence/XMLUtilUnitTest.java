@@ -16,7 +16,10 @@ import static org.junit.Assert.fail;
 
 import java.util.Optional;
 
+import javax.xml.parsers.DocumentBuilderFactory;
+
 import org.junit.Test;
+import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
 /** JUnit test of the {@link XMLUtil}
@@ -100,5 +103,11 @@ public class XMLUtilUnitTest
         final Optional<Integer> line = XMLUtil.getLineNumber(prop);
         System.out.println("Found widget name in line " + line.orElse(-1));
         assertThat(line.orElse(-1), equalTo(4));
+
+        // Line numbers are kept when copying the element into another document
+        final Document doc = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+        final Element copy = (Element) doc.importNode(root, true);
+        final Element copied_prop = XMLUtil.getChildElement(XMLUtil.getChildElement(copy, "widget"), "name");
+        assertThat(XMLUtil.getLineNumber(copied_prop).orElse(-1), equalTo(4));
     }
 }
@@ -0,0 +1,105 @@
+package org.phoebus.framework.rdb;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.Random;
+
+/** Compare size and speed of array BLOB encodings
+ *
+ *  <p>Uses waveforms similar to a 16 bit camera profile
+ *  and a noisy double-typed signal.
+ *  'Stream' is the original element-by-element DataOutputStream
+ *  encoding of doubles.
+ */
+@SuppressWarnings("nls")
+public class ArrayBlobDemo
+{
+    /** Number of elements to process in each timing */
+    private static final int ELEMENTS = 5000000;
+
+    private static byte[] streamEncode(final double[] array) throws Exception
+    {
+        final ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        final DataOutputStream dout = new DataOutputStream(bout);
+        dout.writeInt(array.length);
+        for (double value : array)
+            dout.writeDouble(value);
+        dout.close();
+        return bout.toByteArray();
+    }
+
+    private static double[] streamDecode(final byte[] blob) throws Exception
+    {
+        final DataInputStream data = new DataInputStream(new ByteArrayInputStream(blob));
+        final double[] array = new double[data.readInt()];
+        for (int i=0; i<array.length; ++i)
+            array[i] = data.readDouble();
+        return array;
+    }
+
+    @FunctionalInterface
+    private interface Encoder
+    {
+        byte[] encode() throws Exception;
+    }
+
+    @FunctionalInterface
+    private interface Decoder
+    {
+        Object decode(byte[] blob) throws Exception;
+    }
+
+    private static void time(final String title, final int count, final Encoder encoder, final Decoder decoder) throws Exception
+    {
+        final int RUNS = Math.max(10, ELEMENTS / count);
+        byte[] blob = null;
+        long start = System.nanoTime();
+        for (int run=0; run<RUNS; ++run)
+            blob = encoder.encode();
+        final double encode = (System.nanoTime() - start) / 1e3 / RUNS;
+
+        start = System.nanoTime();
+        for (int run=0; run<RUNS; ++run)
+            decoder.decode(blob);
+        final double decode = (System.nanoTime() - start) / 1e3 / RUNS;
+
+        System.out.format("%-20s: %8d bytes, encode %8.1f us, decode %8.1f us\n", title, blob.length, encode, decode);
+    }
+
+    private static void compare(final String title, final Object array, final double[] as_double) throws Exception
+    {
+        System.out.println(title + ", " + as_double.length + " elements");
+        for (int i=0; i<3; ++i)
+        {
+            time("Stream", as_double.length, () -> streamEncode(as_double), ArrayBlobDemo::streamDecode);
+            time("Doubles", as_double.length, () -> ArrayBlob.encodeDoubles(as_double), ArrayBlob::decodeDoubles);
+            time("Typed", as_double.length, () -> ArrayBlob.encode(array, false), ArrayBlob::decode);
+            time("Typed, compressed", as_double.length, () -> ArrayBlob.encode(array, true), ArrayBlob::decode);
+        }
+        System.out.println();
+    }
+
+    public static void main(String[] args) throws Exception
+    {
+        final Random random = new Random(42);
+
+        // 16 bit camera profile: Gaussian peak with noise
+        final short[] profile = new short[1920];
+        final double[] profile_doubles = new double[profile.length];
+        for (int i=0; i<profile.length; ++i)
+        {
+            final double x = (i - profile.length/2) / 200.0;
+            profile[i] = (short) (200 + 30000 * Math.exp(-x*x) + 20 * random.nextGaussian());
+            profile_doubles[i] = profile[i];
+        }
+        compare("Camera profile (short)", profile, profile_doubles);
+
+        // Noisy signal, 100k double samples
+        final double[] signal = new double[100000];
+        for (int i=0; i<signal.length; ++i)
+            signal[i] = Math.sin(i / 1000.0) + 0.01 * random.nextGaussian();
+        compare("Signal (double)", signal, signal);
+    }
+}
@@ -0,0 +1,66 @@
+package org.phoebus.framework.rdb;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/** JUnit test of the ArrayBlob
+ */
+@SuppressWarnings("nls")
+public class ArrayBlobUnitTest
+{
+    @Test
+    public void testDoubles() throws Exception
+    {
+        final double[] array = new double[] { 1.0, -2.5, Double.NaN, 1e100 };
+        final byte[] blob = ArrayBlob.encodeDoubles(array);
+        assertTrue(blob.length == 4 + array.length * 8);
+        assertArrayEquals(array, ArrayBlob.decodeDoubles(blob), 0.0);
+    }
+
+    @Test
+    public void testTypes() throws Exception
+    {
+        for (boolean compress : new boolean[] { false, true })
+        {
+            final byte[] bytes = new byte[] { 1, 2, 127, -128, 0 };
+            assertArrayEquals(bytes, (byte[]) ArrayBlob.decode(ArrayBlob.encode(bytes, compress)));
+
+            final short[] shorts = new short[] { 1, 2, Short.MAX_VALUE, Short.MIN_VALUE, 0 };
+            assertArrayEquals(shorts, (short[]) ArrayBlob.decode(ArrayBlob.encode(shorts, compress)));
+
+            final int[] ints = new int[] { 1, 2, Integer.MAX_VALUE, Integer.MIN_VALUE, 0 };
+            assertArrayEquals(ints, (int[]) ArrayBlob.decode(ArrayBlob.encode(ints, compress)));
+
+            final long[] longs = new long[] { 1, 2, Long.MAX_VALUE, Long.MIN_VALUE, 0 };
+            assertArrayEquals(longs, (long[]) ArrayBlob.decode(ArrayBlob.encode(longs, compress)));
+
+            final float[] floats = new float[] { 1.0f, -2.5f, Float.NaN };
+            assertArrayEquals(floats, (float[]) ArrayBlob.decode(ArrayBlob.encode(floats, compress)), 0.0f);
+
+            final double[] doubles = new double[] { 1.0, -2.5, Double.NaN };
+            assertArrayEquals(doubles, (double[]) ArrayBlob.decode(ArrayBlob.encode(doubles, compress)), 0.0);
+
+            final double[] empty = new double[0];
+            assertArrayEquals(empty, (double[]) ArrayBlob.decode(ArrayBlob.encode(empty, compress)), 0.0);
+        }
+    }
+
+    @Test
+    public void testCompression() throws Exception
+    {
+        // 16 bit profile with smooth changes
+        final short[] profile = new short[2000];
+        for (int i=0; i<profile.length; ++i)
+            profile[i] = (short) (1000 + 500 * Math.sin(i / 100.0));
+
+        final byte[] plain = ArrayBlob.encode(profile, false);
+        final byte[] compressed = ArrayBlob.encode(profile, true);
+        System.out.println("Legacy: " + ArrayBlob.encodeDoubles(new double[profile.length]).length +
+                           " bytes, typed: " + plain.length + " bytes, compressed: " + compressed.length + " bytes");
+        assertTrue(plain.length < profile.length * 8 / 3);
+        assertTrue(compressed.length < plain.length / 2);
+        assertArrayEquals(profile, (short[]) ArrayBlob.decode(compressed));
+    }
+}
@@ -11,6 +11,7 @@ import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -58,6 +59,12 @@ public class PV
      */
     private volatile VType last_value = null;
 
+    /** Updates that were replaced by a newer value before reaching a subscriber */
+    final LongAdder coalesced_updates = new LongAdder();
+
+    /** Updates that were never delivered because the subscriber was removed */
+    final LongAdder dropped_updates = new LongAdder();
+
     /** Initialize
      *  @param name PV name
      */
@@ -88,7 +95,7 @@ public class PV
         // If there is a known value, perform initial update
         final VType value = last_value;
         if (value != null)
-            value_sub.update(value);
+            value_sub.post(value);
         value_subs.add(value_sub);
     }
 
@@ -231,7 +238,32 @@ public class PV
         return CompletableFuture.completedFuture(null);
     }
 
+    /** Number of coalesced updates
+     *
+     *  <p>When value updates are dispatched to subscribers
+     *  via a mailbox, a subscriber that cannot keep up
+     *  will skip older values in favor of the latest one.
+     *
+     *  @return Number of updates that were replaced by a newer value
+     */
+    public long getCoalescedUpdates()
+    {
+        return coalesced_updates.sum();
+    }
+
+    /** @return Number of queued updates that were dropped because subscriber was removed */
+    public long getDroppedUpdates()
+    {
+        return dropped_updates.sum();
+    }
+
     /** Helper for PV implementation to notify listeners
+     *
+     *  <p>Depending on the 'dispatch_threads' preference,
+     *  listeners are either called right away on the calling thread,
+     *  or the value is placed in each listener's mailbox,
+     *  to be delivered by a shared dispatch thread.
+     *
      *  @param value New value of the PV
      */
     protected void notifyListenersOfValue(final VType value)
@@ -241,7 +273,7 @@ public class PV
         {
             try
             {
-                sub.update(value);
+                sub.post(value);
             }
             catch (Throwable ex)
             {
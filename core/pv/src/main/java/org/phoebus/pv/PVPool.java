@@ -88,8 +88,10 @@ public class PVPool
     }
 
     /** PV Pool
-     *  SYNC on 'pool':
-     *  Otherwise, two threads concurrently looking for a new PV would both add it.
+     *
+     *  <p>Thread-safe, creating new PVs outside of any lock.
+     *  Two threads concurrently looking for the same new PV
+     *  will receive the same instance.
      */
     final private static RefCountMap<String, PV> pool = new RefCountMap<>();
 
@@ -188,9 +190,6 @@ public class PVPool
     /** @return PVs currently in the pool with reference count information */
     public static Collection<ReferencedEntry<PV>> getPVReferences()
     {
-        synchronized (pool)
-        {
-            return pool.getEntries();
-        }
+        return pool.getEntries();
     }
 }
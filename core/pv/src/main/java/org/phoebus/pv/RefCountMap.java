@@ -9,11 +9,14 @@ package org.phoebus.pv;
 
 import static org.phoebus.pv.PV.logger;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 import java.util.logging.Level;
@@ -22,6 +25,11 @@ import java.util.logging.Level;
  *
  *  <p>Thread-safe.
  *
+ *  <p>New items are created outside of any lock,
+ *  so items for different keys can be created concurrently.
+ *  Concurrent requests for the same key wait
+ *  for the one item that's being created.
+ *
  *  @param <K> Key data type
  *  @param <E> Entry data type
  *  @author Kay Kasemir
@@ -32,18 +40,22 @@ public class RefCountMap<K, E>
     /** Wrapper for an entry with reference count */
     public static class ReferencedEntry<E>
     {
-        private final E entry;
+        /** Completes when the item has been created */
+        private final CompletableFuture<E> entry = new CompletableFuture<>();
+
+        /** Thread that creates the item */
+        private final Thread creator = Thread.currentThread();
+
         private final AtomicInteger references = new AtomicInteger(0);
 
-        private ReferencedEntry(final E entry)
+        private ReferencedEntry()
         {
-            this.entry = Objects.requireNonNull(entry);
         }
 
-        /** @return Item */
+        /** @return Item, <code>null</code> while it's still being created */
         public E getEntry()
         {
-            return entry;
+            return entry.getNow(null);
         }
 
         /** @return Reference count for the item */
@@ -62,10 +74,27 @@ public class RefCountMap<K, E>
             return references.decrementAndGet();
         }
 
+        /** @return Item, waiting for it to be created
+         *  @throws Exception if item could not be created
+         */
+        private E await() throws Exception
+        {
+            if (! entry.isDone()  &&  Thread.currentThread() == creator)
+                throw new Exception("Recursive creation");
+            try
+            {
+                return entry.join();
+            }
+            catch (CompletionException ex)
+            {
+                throw new Exception("Creation failed", ex.getCause());
+            }
+        }
+
         @Override
         public String toString()
         {
-            return entry + " (" + references + " references)";
+            return getEntry() + " (" + references + " references)";
         }
     }
 
@@ -73,37 +102,53 @@ public class RefCountMap<K, E>
     // But the computeIfAbsent() mapping function must not itself update the map,
     // which can happen with a formula PV which references and thus creates
     // other PVs.
-    // With plain synchronization, adding a formula takes the synchronization lock,
-    // and while it is held, recursive additions from the same thread are possible.
+    // Then used plain synchronization, which allowed recursive additions
+    // from the same thread, but serialized the creation of all items.
     //
-    // SYNC on access.
-    final private Map<K, ReferencedEntry<E>> map = new HashMap<>();
+    // Now the map only holds placeholders that are added and reference-counted
+    // atomically, while the actual item is created outside of the map's locks.
+    final private ConcurrentHashMap<K, ReferencedEntry<E>> map = new ConcurrentHashMap<>();
 
     /** Get or create item
      *
      *  <p>If item already exists, add reference.
      *  Otherwise create new item with initial reference count of 1.
      *
+     *  <p>If the item is being created by another thread,
+     *  the call waits for that thread to create it.
+     *
      *  @param key Item key
-     *  @param entry The item to add
-     *  @param creator Function that will be called atomically for new items
-     *  @return reference count
+     *  @param creator Function that will be called once for new items, must not return <code>null</code>
+     *  @return {@link ReferencedEntry}
      */
     public ReferencedEntry<E> createOrGet(final K key, final Supplier<E> creator)
     {
+        // Placeholder that this call adds to the map if there's no existing entry
+        final ReferencedEntry<E> placeholder = new ReferencedEntry<>();
+        final ReferencedEntry<E> ref_entry = map.compute(key, (k, existing) ->
+        {
+            final ReferencedEntry<E> entry = existing == null ? placeholder : existing;
+            entry.addRef();
+            return entry;
+        });
         try
         {
-            ReferencedEntry<E> ref_entry;
-            synchronized (map)
+            if (ref_entry == placeholder)
             {
-                ref_entry = map.get(key);
-                if (ref_entry == null)
+                try
+                {
+                    placeholder.entry.complete(Objects.requireNonNull(creator.get()));
+                }
+                catch (Throwable ex)
                 {
-                    ref_entry = new ReferencedEntry<>(creator.get());
-                    map.put(key, ref_entry);
+                    // Remove failed entry, notify other threads waiting for it
+                    map.remove(key, placeholder);
+                    placeholder.entry.completeExceptionally(ex);
+                    throw ex;
                 }
             }
-            ref_entry.addRef();
+            else
+                ref_entry.await();
             return ref_entry;
         }
         catch (Throwable ex)
@@ -120,31 +165,29 @@ public class RefCountMap<K, E>
     public int release(final K key)
     {
         // System.out.println("Release " + key + " in " + map);
-        synchronized (map)
+        final AtomicInteger remaining = new AtomicInteger(-1);
+        map.computeIfPresent(key, (k, entry) ->
         {
-            final ReferencedEntry<E> entry = map.get(key);
-            if (entry == null)
-            {
-                logger.log(Level.WARNING, "No reference found for " + key, new Exception("Call stack"));
-                return 0;
-            }
-
             final int refs = entry.decRef();
-            if (refs <= 0)
-            {   // No more references
-                map.remove(key);
-                return 0;
-            }
-            return refs;
+            remaining.set(Math.max(refs, 0));
+            // No more references?
+            return refs <= 0 ? null : entry;
+        });
+        if (remaining.get() < 0)
+        {
+            logger.log(Level.WARNING, "No reference found for " + key, new Exception("Call stack"));
+            return 0;
         }
+        return remaining.get();
     }
 
-    /** @return Entries in map */
+    /** @return Entries in map, except for those still being created */
     public Collection<ReferencedEntry<E>> getEntries()
     {
-        synchronized (map)
-        {
-            return Collections.unmodifiableCollection(map.values());
-        }
+        final List<ReferencedEntry<E>> entries = new ArrayList<>(map.size());
+        for (ReferencedEntry<E> entry : map.values())
+            if (entry.getEntry() != null)
+                entries.add(entry);
+        return Collections.unmodifiableCollection(entries);
     }
 }
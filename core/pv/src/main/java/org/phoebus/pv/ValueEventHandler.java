@@ -26,12 +26,27 @@ class ValueEventHandler implements FlowableOnSubscribe<VType>
     {
         private final FlowableEmitter<VType> emitter;
 
+        /** Mailbox for dispatching updates, <code>null</code> to update on caller's thread */
+        private final ValueMailbox mailbox;
+
         public Subscription(final FlowableEmitter<VType> emitter)
         {
             this.emitter = emitter;
+            mailbox = ValueMailbox.create(pv, this::update);
             pv.addSubscription(this);
         }
 
+        /** Deliver value right away or via mailbox
+         *  @param value Value to send to subscriber
+         */
+        void post(final VType value)
+        {
+            if (mailbox == null)
+                update(value);
+            else
+                mailbox.offer(value);
+        }
+
         public void update(final VType value)
         {
             if (! (emitter.isCancelled()  ||  emitter.requested() <0))
@@ -43,6 +58,8 @@ class ValueEventHandler implements FlowableOnSubscribe<VType>
         public void cancel() throws Exception
         {
             pv.removeSubscription(this);
+            if (mailbox != null)
+                mailbox.close();
         }
     };
 
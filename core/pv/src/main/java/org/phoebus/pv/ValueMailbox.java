@@ -0,0 +1,189 @@
+package org.phoebus.pv;
+
+import static org.phoebus.pv.PV.logger;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+import org.epics.vtype.VType;
+import org.phoebus.framework.preferences.PreferencesReader;
+
+/** Mailbox for the value updates of one subscriber
+ *
+ *  <p>Decouples the thread that receives PV updates,
+ *  typically the network thread of the PV implementation,
+ *  from the subscriber.
+ *  Values are queued in a bounded mailbox.
+ *  When the subscriber cannot keep up, the oldest queued
+ *  value is replaced, i.e. updates coalesce to the latest value.
+ *
+ *  <p>Mailboxes are drained by a shared pool of threads.
+ */
+@SuppressWarnings("nls")
+class ValueMailbox implements Runnable
+{
+    /** Number of dispatch threads, 0 to call subscribers on the thread that receives the update */
+    static final int dispatch_threads;
+
+    /** Maximum number of values queued per subscriber */
+    private static final int queue_size;
+
+    /** Shared dispatch threads, <code>null</code> when disabled */
+    private static final ExecutorService dispatcher;
+
+    static
+    {
+        final PreferencesReader prefs = new PreferencesReader(PVPool.class, "/pv_preferences.properties");
+        dispatch_threads = Math.max(0, prefs.getInt("dispatch_threads"));
+        queue_size = Math.max(1, prefs.getInt("dispatch_queue_size"));
+        if (dispatch_threads > 0)
+        {
+            dispatcher = Executors.newFixedThreadPool(dispatch_threads, target ->
+            {
+                final Thread thread = new Thread(target, "PVDispatch");
+                thread.setDaemon(true);
+                return thread;
+            });
+            logger.log(Level.CONFIG, "PV updates dispatched by " + dispatch_threads + " threads, queue size " + queue_size);
+        }
+        else
+            dispatcher = null;
+    }
+
+    private final PV pv;
+
+    private final Consumer<VType> subscriber;
+
+    /** Executor that drains this mailbox */
+    private final Executor executor;
+
+    /** Maximum number of values queued in this mailbox */
+    private final int capacity;
+
+    /** Values to deliver.
+     *  SYNC on this
+     */
+    private final ArrayDeque<VType> queue;
+
+    /** Has this mailbox been submitted to the dispatcher, and not yet drained?
+     *  SYNC on this
+     */
+    private boolean scheduled = false;
+
+    /** Has the subscriber been removed?
+     *  SYNC on this
+     */
+    private boolean closed = false;
+
+    /** @param pv PV that receives the values
+     *  @param subscriber Subscriber to which values are delivered
+     *  @return {@link ValueMailbox}, or <code>null</code> if dispatch is disabled
+     */
+    static ValueMailbox create(final PV pv, final Consumer<VType> subscriber)
+    {
+        if (dispatcher == null)
+            return null;
+        return new ValueMailbox(pv, subscriber, dispatcher, queue_size);
+    }
+
+    /** @param pv PV that receives the values
+     *  @param subscriber Subscriber to which values are delivered
+     *  @param executor Executor that drains the mailbox
+     *  @param capacity Maximum number of values queued
+     */
+    ValueMailbox(final PV pv, final Consumer<VType> subscriber, final Executor executor, final int capacity)
+    {
+        this.pv = pv;
+        this.subscriber = subscriber;
+        this.executor = executor;
+        this.capacity = Math.max(1, capacity);
+        queue = new ArrayDeque<>(this.capacity);
+    }
+
+    /** Queue value for delivery to the subscriber
+     *
+     *  <p>Returns right away.
+     *  If the mailbox is full, the oldest queued value is replaced.
+     *
+     *  @param value Value to deliver
+     */
+    void offer(final VType value)
+    {
+        final boolean submit;
+        synchronized (this)
+        {
+            if (closed)
+                return;
+            if (queue.size() >= capacity)
+            {
+                queue.removeFirst();
+                pv.coalesced_updates.increment();
+            }
+            queue.addLast(value);
+            submit = ! scheduled;
+            scheduled = true;
+        }
+        if (submit)
+            executor.execute(this);
+    }
+
+    /** Close mailbox, dropping values that have not been delivered */
+    void close()
+    {
+        final int dropped;
+        synchronized (this)
+        {
+            closed = true;
+            dropped = queue.size();
+            queue.clear();
+        }
+        if (dropped > 0)
+            pv.dropped_updates.add(dropped);
+    }
+
+    /** Deliver queued values */
+    @Override
+    public void run()
+    {
+        // Deliver the values that are queued right now.
+        // If more arrive meanwhile, re-submit to let other
+        // mailboxes have a turn
+        int count;
+        synchronized (this)
+        {
+            count = queue.size();
+        }
+        while (count-- > 0)
+        {
+            final VType value;
+            synchronized (this)
+            {
+                value = queue.pollFirst();
+            }
+            if (value == null)
+                break;
+            try
+            {
+                subscriber.accept(value);
+            }
+            catch (Throwable ex)
+            {
+                logger.log(Level.WARNING, pv.getName() + " value update error", ex);
+            }
+        }
+
+        synchronized (this)
+        {
+            if (queue.isEmpty())
+            {
+                scheduled = false;
+                return;
+            }
+        }
+        executor.execute(this);
+    }
+}
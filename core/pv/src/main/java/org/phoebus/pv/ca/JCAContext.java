@@ -10,6 +10,10 @@ package org.phoebus.pv.ca;
 import static org.phoebus.pv.PV.logger;
 
 import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 
 import com.cosylab.epics.caj.CAJContext;
@@ -32,10 +36,24 @@ public class JCAContext implements ContextMessageListener, ContextExceptionListe
 {
     private static JCAContext instance;
 
+    /** Delay for combining flush requests */
+    private static final long FLUSH_DELAY_MS = 10;
+
     final private JCALibrary jca = JCALibrary.getInstance();
     final private Context context;
     final private boolean is_var_array_supported;
 
+    /** Has a flush been requested? */
+    final private AtomicBoolean flush_pending = new AtomicBoolean();
+
+    /** Timer for requested flushes */
+    final private ScheduledExecutorService flush_timer = Executors.newSingleThreadScheduledExecutor(run ->
+    {
+        final Thread thread = new Thread(run, "JCAFlush");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     private JCAContext() throws Exception
     {
         logger.log(Level.CONFIG, "Using Pure Java CAJ");
@@ -78,13 +96,39 @@ public class JCAContext implements ContextMessageListener, ContextExceptionListe
         return instance;
     }
 
-    // TODO Thread for periodic flushIO, to run certain JNI calls on same thread?
-
     public Context getContext()
     {
         return context;
     }
 
+    /** Request a flush of pending requests
+     *
+     *  <p>When many PVs are created at about the same time,
+     *  for example when opening a display,
+     *  their requests are combined into one flush
+     *  instead of flushing for each PV.
+     */
+    public void flushSoon()
+    {
+        if (flush_pending.compareAndSet(false, true))
+            flush_timer.schedule(this::flush, FLUSH_DELAY_MS, TimeUnit.MILLISECONDS);
+    }
+
+    private void flush()
+    {
+        // Clear before flushing so that requests made
+        // while flushing schedule another flush
+        flush_pending.set(false);
+        try
+        {
+            context.flushIO();
+        }
+        catch (Exception ex)
+        {
+            logger.log(Level.WARNING, "Channel Access flush error", ex);
+        }
+    }
+
     /** Determine how many array elements to request
      *  @param channel
      *  @return Array request count
@@ -154,8 +154,10 @@ public class JCA_PV extends PV implements ConnectionListener, MonitorListener, A
         final short priority = is_large_array
                              ? base_priority
                              : (short) (base_priority + 1);
-        channel = JCAContext.getInstance().getContext().createChannel(base_name, this, priority);
-        channel.getContext().flushIO();
+        final JCAContext context = JCAContext.getInstance();
+        channel = context.getContext().createChannel(base_name, this, priority);
+        // Combine searches of PVs that are created at about the same time
+        context.flushSoon();
     }
 
     /** JCA connection listener */
@@ -213,7 +215,7 @@ public class JCA_PV extends PV implements ConnectionListener, MonitorListener, A
             // (https://bugs.launchpad.net/epics-base/+bug/1678494).
             // so to optimize, only fetch one value element for the meta data.
             channel.get(DBRHelper.getCtrlType(plain_dbr, channel.getFieldType()), 1, meta_get_listener);
-            channel.getContext().flushIO();
+            JCAContext.getInstance().flushSoon();
         }
         catch (Exception ex)
         {
@@ -283,7 +285,7 @@ public class JCA_PV extends PV implements ConnectionListener, MonitorListener, A
                 }
             }
             channel.addAccessRightsListener(this);
-            channel.getContext().flushIO();
+            JCAContext.getInstance().flushSoon();
         }
         catch (Exception ex)
         {
@@ -0,0 +1,113 @@
+package org.phoebus.pv;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.phoebus.pv.RefCountMap.ReferencedEntry;
+
+/** JUnit test of the {@link RefCountMap} */
+@SuppressWarnings("nls")
+public class RefCountMapTest
+{
+    @Test
+    public void testReferences()
+    {
+        final RefCountMap<String, String> map = new RefCountMap<>();
+        ReferencedEntry<String> entry = map.createOrGet("a", () -> "A");
+        assertThat(entry.getEntry(), equalTo("A"));
+        assertThat(entry.getReferences(), equalTo(1));
+
+        entry = map.createOrGet("a", () -> "Not called");
+        assertThat(entry.getEntry(), equalTo("A"));
+        assertThat(entry.getReferences(), equalTo(2));
+        assertThat(map.getEntries().size(), equalTo(1));
+
+        assertThat(map.release("a"), equalTo(1));
+        assertThat(map.release("a"), equalTo(0));
+        assertThat(map.getEntries().size(), equalTo(0));
+    }
+
+    @Test
+    public void testFailedCreation()
+    {
+        final RefCountMap<String, String> map = new RefCountMap<>();
+        try
+        {
+            map.createOrGet("bad", () -> null);
+            fail("Created null entry");
+        }
+        catch (RuntimeException ex)
+        {
+            assertThat(ex.getMessage(), equalTo("Error for PV bad"));
+        }
+        // Failed entry is not left in map
+        assertThat(map.getEntries().size(), equalTo(0));
+        assertThat(map.createOrGet("bad", () -> "OK").getReferences(), equalTo(1));
+    }
+
+    @Test
+    public void testNestedCreation()
+    {
+        // Like a formula that creates the PVs it references
+        final RefCountMap<String, String> map = new RefCountMap<>();
+        final ReferencedEntry<String> entry = map.createOrGet("formula", () ->
+            map.createOrGet("x", () -> "X").getEntry() + "+" +
+            map.createOrGet("y", () -> "Y").getEntry());
+        assertThat(entry.getEntry(), equalTo("X+Y"));
+        assertThat(map.getEntries().size(), equalTo(3));
+    }
+
+    @Test(timeout=10000)
+    public void testConcurrentCreation() throws Exception
+    {
+        final RefCountMap<String, String> map = new RefCountMap<>();
+        final AtomicInteger created = new AtomicInteger();
+        final CountDownLatch slow_started = new CountDownLatch(1);
+        final CountDownLatch slow_may_finish = new CountDownLatch(1);
+
+        final ExecutorService pool = Executors.newFixedThreadPool(10);
+        final List<Future<ReferencedEntry<String>>> slow = new ArrayList<>();
+        for (int i=0; i<5; ++i)
+            slow.add(pool.submit(() -> map.createOrGet("slow", () ->
+            {
+                created.incrementAndGet();
+                slow_started.countDown();
+                try
+                {
+                    slow_may_finish.await();
+                }
+                catch (InterruptedException ex)
+                {
+                    throw new RuntimeException(ex);
+                }
+                return "Slow";
+            })));
+
+        // While 'slow' is being created, other entries can still be added
+        slow_started.await();
+        assertThat(map.createOrGet("fast", () -> "Fast").getEntry(), equalTo("Fast"));
+        // .. and entry that's still being created is not listed
+        assertThat(map.getEntries().size(), equalTo(1));
+
+        slow_may_finish.countDown();
+        for (Future<ReferencedEntry<String>> result : slow)
+            assertThat(result.get().getEntry(), equalTo("Slow"));
+        // All threads share the one instance that was created
+        assertThat(created.get(), equalTo(1));
+        assertThat(slow.get(0).get().getReferences(), equalTo(5));
+
+        pool.shutdown();
+        pool.awaitTermination(5, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,157 @@
+package org.phoebus.pv;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.epics.vtype.Alarm;
+import org.epics.vtype.Display;
+import org.epics.vtype.Time;
+import org.epics.vtype.VDouble;
+import org.epics.vtype.VType;
+import org.junit.After;
+import org.junit.Test;
+
+/** JUnit test of the {@link ValueMailbox}
+ */
+@SuppressWarnings("nls")
+public class ValueMailboxTest
+{
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    private final PV pv = new PV("test");
+
+    @After
+    public void shutdown()
+    {
+        executor.shutdownNow();
+    }
+
+    private static VType value(final double number)
+    {
+        return VDouble.of(number, Alarm.none(), Time.now(), Display.none());
+    }
+
+    private static double number(final VType value)
+    {
+        return ((VDouble) value).getValue();
+    }
+
+    /** Subscriber that records values and blocks on the first value until released */
+    private static class BlockingSubscriber
+    {
+        final List<Double> received = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        void update(final VType value)
+        {
+            received.add(number(value));
+            blocked.countDown();
+            try
+            {
+                release.await(10, TimeUnit.SECONDS);
+            }
+            catch (InterruptedException ex)
+            {
+                // Ignore
+            }
+        }
+    }
+
+    /** Wait until list has expected number of entries */
+    private static void awaitSize(final List<Double> list, final int size) throws Exception
+    {
+        final long end = System.currentTimeMillis() + 10000;
+        while (list.size() < size  &&  System.currentTimeMillis() < end)
+            TimeUnit.MILLISECONDS.sleep(10);
+    }
+
+    @Test
+    public void testCoalesce() throws Exception
+    {
+        final BlockingSubscriber subscriber = new BlockingSubscriber();
+        final ValueMailbox mailbox = new ValueMailbox(pv, subscriber::update, executor, 1);
+
+        // Deliver first value, which keeps the subscriber busy
+        mailbox.offer(value(1));
+        assertTrue(subscriber.blocked.await(10, TimeUnit.SECONDS));
+
+        // Meanwhile, values coalesce to the latest one
+        mailbox.offer(value(2));
+        mailbox.offer(value(3));
+        mailbox.offer(value(4));
+        assertThat(pv.getCoalescedUpdates(), equalTo(2L));
+
+        subscriber.release.countDown();
+        awaitSize(subscriber.received, 2);
+        TimeUnit.MILLISECONDS.sleep(100);
+        assertThat(subscriber.received, equalTo(List.of(1.0, 4.0)));
+        assertThat(pv.getDroppedUpdates(), equalTo(0L));
+    }
+
+    @Test
+    public void testLastValueDelivered() throws Exception
+    {
+        // Offer values while the mailbox is being drained,
+        // so some arrive just as a delivery ends
+        for (int run=0; run<100; ++run)
+        {
+            final List<Double> received = Collections.synchronizedList(new ArrayList<>());
+            final ValueMailbox mailbox = new ValueMailbox(pv, value -> received.add(number(value)), executor, 1);
+            final int N = 1000;
+            for (int i=1; i<=N; ++i)
+                mailbox.offer(value(i));
+
+            final long end = System.currentTimeMillis() + 10000;
+            while (! (received.size() > 0  &&  received.get(received.size()-1) == N)  &&
+                   System.currentTimeMillis() < end)
+                TimeUnit.MILLISECONDS.sleep(1);
+            assertThat(received.get(received.size()-1), equalTo((double) N));
+
+            // Values arrive in order, none twice
+            for (int i=1; i<received.size(); ++i)
+                assertTrue(received.get(i-1) < received.get(i));
+        }
+    }
+
+    @Test
+    public void testAddRemoveDuringDelivery() throws Exception
+    {
+        final BlockingSubscriber first = new BlockingSubscriber();
+        final ValueMailbox first_mailbox = new ValueMailbox(pv, first::update, executor, 1);
+        first_mailbox.offer(value(1));
+        assertTrue(first.blocked.await(10, TimeUnit.SECONDS));
+
+        // Add another subscriber while the first is busy
+        final List<Double> second = Collections.synchronizedList(new ArrayList<>());
+        final ValueMailbox second_mailbox = new ValueMailbox(pv, value -> second.add(number(value)), executor, 1);
+        first_mailbox.offer(value(2));
+        second_mailbox.offer(value(2));
+
+        // Second subscriber is not held up by the first one
+        awaitSize(second, 1);
+        assertThat(second, equalTo(List.of(2.0)));
+
+        // Remove first subscriber while its delivery is still running
+        first_mailbox.close();
+        first_mailbox.offer(value(3));
+        second_mailbox.offer(value(3));
+        first.release.countDown();
+
+        awaitSize(second, 2);
+        TimeUnit.MILLISECONDS.sleep(100);
+        assertThat(second, equalTo(List.of(2.0, 3.0)));
+        // Removed subscriber receives nothing after the value it was handling
+        assertThat(first.received, equalTo(List.of(1.0)));
+        assertThat(pv.getDroppedUpdates(), equalTo(1L));
+    }
+}
@@ -56,6 +56,17 @@ public class PVASettings
     // double[8 million] plus some protocol overhead
     public static int EPICS_PVA_SEND_BUFFER_SIZE = 8001000;
 
+    /** Maximum time in milliseconds that the TCP sender waits for more messages
+     *  to combine them into one network write.
+     *
+     *  <p>The sender always combines all messages that are already queued
+     *  as long as they fit into the send buffer.
+     *  A positive latency allows combining messages that are submitted
+     *  shortly after the first one, for example monitors of many channels
+     *  updated at the same time, at the expense of delaying the first message.
+     */
+    public static int EPICS_PVA_SEND_FLUSH_LATENCY_MS = 0;
+
     /** Initial TCP buffer size for receiving data
      *
      *  <p>Buffer grows when larger packages are received.
@@ -98,6 +109,7 @@ public class PVASettings
         EPICS_CA_CONN_TMO = get("EPICS_CA_CONN_TMO", EPICS_CA_CONN_TMO);
         EPICS_PVA_MAX_ARRAY_FORMATTING = get("EPICS_PVA_MAX_ARRAY_FORMATTING", EPICS_PVA_MAX_ARRAY_FORMATTING);
         EPICS_PVA_SEND_BUFFER_SIZE = get("EPICS_PVA_SEND_BUFFER_SIZE", EPICS_PVA_SEND_BUFFER_SIZE);
+        EPICS_PVA_SEND_FLUSH_LATENCY_MS = get("EPICS_PVA_SEND_FLUSH_LATENCY_MS", EPICS_PVA_SEND_FLUSH_LATENCY_MS);
     }
 
     /** Get setting from property, environment or default
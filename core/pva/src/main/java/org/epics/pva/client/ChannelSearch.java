@@ -234,6 +234,7 @@ class ChannelSearch
         // Lock the send buffer to avoid concurrent use.
         synchronized (send_buffer)
         {
+            send_buffer.clear();
             final int payload_start = send_buffer.position() + PVAHeader.HEADER_SIZE;
             SearchRequest.encode(true, 0, -1, null, udp.getResponseAddress(), send_buffer);
             send_buffer.flip();
@@ -252,6 +253,7 @@ class ChannelSearch
         // Lock the send buffer to avoid concurrent use.
         synchronized (send_buffer)
         {
+            send_buffer.clear();
             final int payload_start = send_buffer.position() + PVAHeader.HEADER_SIZE;
             final int seq = search_sequence.incrementAndGet();
             SearchRequest.encode(true, seq, channel.getCID(), channel.getName(), udp.getResponseAddress(), send_buffer);
@@ -22,7 +22,9 @@ public interface MonitorListener
      *  <p>Data in the structure is only guaranteed to be valid
      *  while inside this method.
      *  For example, the array data of a `PVA*Array`
-     *  may be reused after this method has been called.
+     *  may be reused after this method has been called
+     *  when the subscription was created with array re-use enabled,
+     *  see {@link PVAChannel#subscribe(String, int, boolean, MonitorListener)}.
      *
      *  <p>When the server cancels the subscription,
      *  the changes, overruns and data will be <code>null</code>.
@@ -55,6 +55,9 @@ class MonitorRequest implements AutoCloseable, RequestEncoder, ResponseHandler
     private final int pipeline;
     private final AtomicInteger received_updates = new AtomicInteger();
 
+    /** Re-use array data of 'data' for updates? */
+    private final boolean reuse_arrays;
+
     /** @param channel Channel to 'monitor'
      *  @param request Request string to monitor only selected fields of PV
      *  @param pipeline Number of updates that server should pipeline, 0 to disable
@@ -62,10 +65,23 @@ class MonitorRequest implements AutoCloseable, RequestEncoder, ResponseHandler
      *  @throws Exception on error
      */
     public MonitorRequest(final PVAChannel channel, final String request, final int pipeline, final MonitorListener listener) throws Exception
+    {
+        this(channel, request, pipeline, false, listener);
+    }
+
+    /** @param channel Channel to 'monitor'
+     *  @param request Request string to monitor only selected fields of PV
+     *  @param pipeline Number of updates that server should pipeline, 0 to disable
+     *  @param reuse_arrays Decode array data into re-used arrays instead of allocating new ones?
+     *  @param listener Listener to invoke with received updates
+     *  @throws Exception on error
+     */
+    public MonitorRequest(final PVAChannel channel, final String request, final int pipeline, final boolean reuse_arrays, final MonitorListener listener) throws Exception
     {
         this.channel = channel;
         this.request = request;
         this.pipeline = pipeline;
+        this.reuse_arrays = reuse_arrays;
         this.listener = listener;
         this.request_id = channel.getClient().allocateRequestID();
         channel.getTCP().submit(this, this);
@@ -91,9 +107,12 @@ class MonitorRequest implements AutoCloseable, RequestEncoder, ResponseHandler
             buffer.putInt(channel.getSID());
             buffer.putInt(request_id);
 
-            if (pipeline > 0)
-                state = (byte) (PVAHeader.CMD_SUB_PIPELINE | PVAHeader.CMD_SUB_INIT);
-            buffer.put(state);
+            // Update 'state' only when done, since encoding may be attempted again
+            // in case of a buffer overflow
+            final byte init_state = pipeline > 0
+                                  ? (byte) (PVAHeader.CMD_SUB_PIPELINE | PVAHeader.CMD_SUB_INIT)
+                                  : PVAHeader.CMD_SUB_INIT;
+            buffer.put(init_state);
 
             // For pipeline, add record._options.pipeline=true to request
             final FieldRequest field_request = new FieldRequest(pipeline, request);
@@ -104,16 +123,21 @@ class MonitorRequest implements AutoCloseable, RequestEncoder, ResponseHandler
             if (pipeline > 0)
                 buffer.putInt(pipeline);
             buffer.putInt(size_offset, buffer.position() - payload_start);
+            state = init_state;
         }
         else if (state == PVAHeader.CMD_SUB_PIPELINE)
         {
-            final int ack = received_updates.getAndSet(0);
-            logger.log(Level.FINE, () -> "Sending monitor pipeline ack of " + ack + " updates, request #" + request_id + " for " + channel);
             PVAHeader.encodeMessageHeader(buffer, PVAHeader.FLAG_NONE, PVAHeader.CMD_MONITOR, 4+4+1+4);
             buffer.putInt(channel.getSID());
             buffer.putInt(request_id);
             buffer.put(PVAHeader.CMD_SUB_PIPELINE);
-            buffer.putInt(ack);
+            // Fetch and reset count of received updates
+            // only after buffer is known to have room for it
+            final int ack_offset = buffer.position();
+            buffer.putInt(0);
+            final int ack = received_updates.getAndSet(0);
+            buffer.putInt(ack_offset, ack);
+            logger.log(Level.FINE, () -> "Sending monitor pipeline ack of " + ack + " updates, request #" + request_id + " for " + channel);
         }
         else
         {
@@ -162,6 +186,8 @@ class MonitorRequest implements AutoCloseable, RequestEncoder, ResponseHandler
                 if (type instanceof PVAStructure)
                 {
                     data = (PVAStructure)type;
+                    if (reuse_arrays)
+                        data.setDecodeReuse(true);
                     logger.log(Level.FINER, () -> "Introspection Info: " + data.formatType());
                 }
                 else
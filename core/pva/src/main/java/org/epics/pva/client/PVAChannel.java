@@ -284,11 +284,37 @@ public class PVAChannel implements AutoCloseable
      *  @throws Exception on error
      */
     public AutoCloseable subscribe(final String request, final int pipeline, final MonitorListener listener) throws Exception
+    {
+        return subscribe(request, pipeline, false, listener);
+    }
+
+    /** Start a subscription that may re-use array data
+     *
+     *  <p>By default, each update of an array element in the
+     *  structure passed to the listener provides a newly allocated array.
+     *  When re-use is enabled, array data is decoded into arrays owned by
+     *  the subscription, alternating between two arrays per element.
+     *  A listener may then 'borrow' an array of an update until
+     *  the update after the next one is received.
+     *  Listeners that need to hold on to the data any longer
+     *  must copy it, for example via {@link PVAStructure#cloneData()}.
+     *
+     *  <p>This reduces memory allocation and garbage collection
+     *  for large, frequently updated arrays.
+     *
+     *  @param request Request, "" for all fields, or "field_a, field_b.subfield"
+     *  @param pipeline Number of updates to pipeline, 0 to disable
+     *  @param reuse_arrays Re-use arrays instead of allocating new ones for each update?
+     *  @param listener Will be invoked with channel and latest value
+     *  @return {@link AutoCloseable}, used to close the subscription
+     *  @throws Exception on error
+     */
+    public AutoCloseable subscribe(final String request, final int pipeline, final boolean reuse_arrays, final MonitorListener listener) throws Exception
     {
         // MonitorRequest submits itself to TCPHandler
         // and registers as response handler,
         // so we can later retrieve it via its requestID
-        final MonitorRequest subscription = new MonitorRequest(this, request, pipeline, listener);
+        final MonitorRequest subscription = new MonitorRequest(this, request, pipeline, reuse_arrays, listener);
         subscriptions.add(subscription);
         return subscription;
     }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019 Oak Ridge National Laboratory.
+ * Copyright (c) 2019-2020 Oak Ridge National Laboratory.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,6 +7,7 @@
  ******************************************************************************/
 package org.epics.pva.common;
 
+import java.nio.BufferOverflowException;
 import java.nio.ByteBuffer;
 
 /** Encode request to be sent via TCP.
@@ -25,8 +26,19 @@ public interface RequestEncoder
      *
      *  <p>Implementation has ownership of the 'send'
      *  buffer while inside this method.
-     *  When implementation returns, the {@link TCPHandler} flips
-     *  and sends the buffer content, then re-uses the buffer.
+     *  The buffer may already hold other messages,
+     *  so the implementation must add its message at the current
+     *  buffer position and not assume that it starts at offset 0.
+     *  When implementation returns, the {@link TCPHandler} may add
+     *  more messages, then flips and sends the buffer content,
+     *  and re-uses the buffer.
+     *
+     *  <p>When the message does not fit into the remaining buffer space,
+     *  a {@link BufferOverflowException} is expected.
+     *  The {@link TCPHandler} then sends the messages already
+     *  in the buffer and calls this method again with an empty buffer.
+     *  Implementations should thus only update their state
+     *  once the complete message has been encoded.
      *
      *  @param version Protocol version used by the server
      *  @param buffer Send buffer into which to encode item to send
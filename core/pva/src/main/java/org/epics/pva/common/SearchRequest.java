@@ -127,6 +127,7 @@ public class SearchRequest
     public static void encode(final boolean unicast, final int seq, final int cid, final String name, final InetSocketAddress address, final ByteBuffer buffer)
     {
         // Create with zero payload size, to be patched later
+        final int size_offset = buffer.position() + PVAHeader.HEADER_OFFSET_PAYLOAD_SIZE;
         PVAHeader.encodeMessageHeader(buffer, PVAHeader.FLAG_NONE, PVAHeader.CMD_SEARCH, 0);
 
         final int payload_start = buffer.position();
@@ -170,6 +171,6 @@ public class SearchRequest
         }
 
         // Update payload size
-        buffer.putInt(PVAHeader.HEADER_OFFSET_PAYLOAD_SIZE, buffer.position() - payload_start);
+        buffer.putInt(size_offset, buffer.position() - payload_start);
     }
 }
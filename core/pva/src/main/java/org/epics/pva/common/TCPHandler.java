@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019 Oak Ridge National Laboratory.
+ * Copyright (c) 2019-2020 Oak Ridge National Laboratory.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,6 +11,7 @@ import static org.epics.pva.PVASettings.logger;
 
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
+import java.nio.BufferOverflowException;
 import java.nio.ByteBuffer;
 import java.nio.channels.SocketChannel;
 import java.util.concurrent.BlockingQueue;
@@ -19,6 +20,7 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 
 import org.epics.pva.PVASettings;
@@ -78,6 +80,12 @@ abstract public class TCPHandler
     /** Queue of items to send to peer */
     private final BlockingQueue<RequestEncoder> send_items = new LinkedBlockingQueue<>();
 
+    /** Number of messages sent by {@link #sender()} */
+    private final AtomicLong sent_messages = new AtomicLong();
+
+    /** Number of network writes by {@link #sender()} */
+    private final AtomicLong sent_writes = new AtomicLong();
+
     /** Magic `send_items` value that asks send thread to exit */
     private static final RequestEncoder END_REQUEST = new RequestEncoder()
     {
@@ -161,40 +169,125 @@ abstract public class TCPHandler
         return false;
     }
 
-    /** Send {@link RequestEncoder} entries off queue */
+    /** @return Number of items in the send queue */
+    public int getSendQueueSize()
+    {
+        return send_items.size();
+    }
+
+    /** @return Number of messages sent by the send thread */
+    public long getSentMessageCount()
+    {
+        return sent_messages.get();
+    }
+
+    /** @return Number of network writes, each with one or more messages, by the send thread */
+    public long getSentWriteCount()
+    {
+        return sent_writes.get();
+    }
+
+    /** @return Average number of messages combined into one network write */
+    public double getMessagesPerWrite()
+    {
+        final long writes = sent_writes.get();
+        return writes > 0 ? (double) sent_messages.get() / writes : 0.0;
+    }
+
+    /** Get next item to combine with the items already in the send buffer
+     *  @param deadline {@link System#nanoTime()} until which to wait for more items
+     *  @return Next item or <code>null</code> if none available
+     *  @throws InterruptedException on interruption
+     */
+    private RequestEncoder pollNextItem(final long deadline) throws InterruptedException
+    {
+        final long wait = deadline - System.nanoTime();
+        if (wait > 0)
+            return send_items.poll(wait, TimeUnit.NANOSECONDS);
+        return send_items.poll();
+    }
+
+    /** Send {@link RequestEncoder} entries off queue
+     *
+     *  <p>Combines all queued items that fit into the send buffer
+     *  into one network write.
+     *  With {@link PVASettings#EPICS_PVA_SEND_FLUSH_LATENCY_MS},
+     *  waits a little for more items to arrive.
+     */
     private Void sender()
     {
         try
         {
             Thread.currentThread().setName("TCP sender " + socket.getRemoteAddress());
             logger.log(Level.FINER, Thread.currentThread().getName() + " started");
-            while (true)
+            final long latency = TimeUnit.MILLISECONDS.toNanos(PVASettings.EPICS_PVA_SEND_FLUSH_LATENCY_MS);
+            boolean done = false;
+            while (! done)
             {
                 send_buffer.clear();
-                final RequestEncoder to_send = send_items.take();
-                if (to_send == END_REQUEST)
-                    break;
-                try
-                {
-                    to_send.encodeRequest(server_version, send_buffer);
-                }
-                catch (Exception ex)
+                RequestEncoder to_send = send_items.take();
+                final long deadline = System.nanoTime() + latency;
+                int messages = 0;
+                while (to_send != null)
                 {
-                    logger.log(Level.WARNING, Thread.currentThread().getName() + " request encoding error", ex);
-                    continue;
+                    if (to_send == END_REQUEST)
+                    {
+                        done = true;
+                        break;
+                    }
+                    final int start = send_buffer.position();
+                    try
+                    {
+                        to_send.encodeRequest(server_version, send_buffer);
+                        ++messages;
+                    }
+                    catch (BufferOverflowException ex)
+                    {
+                        send_buffer.position(start);
+                        if (start > 0)
+                        {   // Send what's been combined so far,
+                            // then encode this item again into the emptied buffer
+                            flush(messages);
+                            messages = 0;
+                            continue;
+                        }
+                        logger.log(Level.WARNING, Thread.currentThread().getName() + " request exceeds send buffer", ex);
+                    }
+                    catch (Exception ex)
+                    {
+                        send_buffer.position(start);
+                        logger.log(Level.WARNING, Thread.currentThread().getName() + " request encoding error", ex);
+                    }
+                    to_send = pollNextItem(deadline);
                 }
-                send_buffer.flip();
-                send(send_buffer);
+                flush(messages);
             }
         }
         catch (Exception ex)
         {
             logger.log(Level.WARNING, Thread.currentThread().getName() + " exits because of error", ex);
         }
-        logger.log(Level.FINER, Thread.currentThread().getName() + " done.");
+        logger.log(Level.FINER, () -> Thread.currentThread().getName() + " done, sent " +
+                                      sent_messages.get() + " messages in " + sent_writes.get() + " writes");
         return null;
     }
 
+    /** Send content of send buffer, then clear it
+     *  @param messages Number of messages in the send buffer
+     *  @throws Exception on error
+     */
+    private void flush(final int messages) throws Exception
+    {
+        if (messages > 0)
+        {
+            send_buffer.flip();
+            send(send_buffer);
+            sent_messages.addAndGet(messages);
+            sent_writes.incrementAndGet();
+        }
+        send_buffer.clear();
+    }
+
     /** Send message
      *
      *  <p>Must only be called by outside code before
@@ -12,4 +12,20 @@ package org.epics.pva.data;
  */
 public interface PVAArray
 {
+    /** Configure re-use of the array storage when decoding
+     *
+     *  <p>By default, each decoded value is placed in a newly
+     *  allocated array.
+     *  With re-use enabled, decoding alternates between two arrays,
+     *  so the array obtained via <code>get()</code> remains valid until
+     *  the update after the next one has been decoded.
+     *
+     *  <p>Array types that do not support re-use ignore this setting.
+     *
+     *  @param reuse Re-use arrays when decoding?
+     */
+    public default void setDecodeReuse(final boolean reuse)
+    {
+        // Default: Always allocate new array
+    }
 }
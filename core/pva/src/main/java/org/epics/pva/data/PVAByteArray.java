@@ -23,6 +23,12 @@ public class PVAByteArray extends PVAData implements PVAArray
     private final boolean unsigned;
     private volatile byte[] value;
 
+    /** Re-use arrays when decoding? */
+    private boolean reuse = false;
+
+    /** With re-use, array from the update before the last one, used for the next decode */
+    private byte[] spare = null;
+
     public PVAByteArray(final String name, final boolean unsigned, final byte[] value)
     {
         super(name);
@@ -103,12 +109,25 @@ public class PVAByteArray extends PVAData implements PVAArray
             buffer.put((byte) 0b00101000);
     }
 
+    @Override
+    public void setDecodeReuse(final boolean reuse)
+    {
+        this.reuse = reuse;
+        spare = null;
+    }
+
     @Override
     public void decode(final PVATypeRegistry types, final ByteBuffer buffer) throws Exception
     {
         final int size = PVASize.decodeSize(buffer);
-        final byte[] new_value = new byte[size];
+        // With re-use, decode into the array from the update before the last one
+        // to keep the array handed out with the last update intact
+        byte[] new_value = spare;
+        if (new_value == null  ||  new_value.length != size)
+            new_value = new byte[size];
         buffer.get(new_value);
+        if (reuse)
+            spare = value;
         value = new_value;
     }
 
@@ -22,6 +22,12 @@ public class PVADoubleArray extends PVAData implements PVAArray
 {
     private volatile double[] value;
 
+    /** Re-use arrays when decoding? */
+    private boolean reuse = false;
+
+    /** With re-use, array from the update before the last one, used for the next decode */
+    private double[] spare = null;
+
     public PVADoubleArray(final String name, final double[] value)
     {
         super(name);
@@ -95,13 +101,29 @@ public class PVADoubleArray extends PVAData implements PVAArray
         buffer.put((byte) 0b01001011);
     }
 
+    @Override
+    public void setDecodeReuse(final boolean reuse)
+    {
+        this.reuse = reuse;
+        spare = null;
+    }
+
     @Override
     public void decode(final PVATypeRegistry types, final ByteBuffer buffer) throws Exception
     {
         final int size = PVASize.decodeSize(buffer);
-        final double[] new_value = new double[size];
-        for (int i=0; i<size; ++i)
-            new_value[i] = buffer.getDouble();
+        // With re-use, decode into the array from the update before the last one
+        // to keep the array handed out with the last update intact
+        double[] new_value = spare;
+        if (new_value == null  ||  new_value.length != size)
+            new_value = new double[size];
+        // Bulk transfer through typed view of the buffer,
+        // which uses the buffer's byte order,
+        // then advance the buffer past the transferred data
+        buffer.asDoubleBuffer().get(new_value);
+        buffer.position(buffer.position() + size * Double.BYTES);
+        if (reuse)
+            spare = value;
         value = new_value;
     }
 
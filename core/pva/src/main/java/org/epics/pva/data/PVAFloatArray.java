@@ -22,6 +22,12 @@ public class PVAFloatArray extends PVAData implements PVAArray
 {
     private volatile float[] value;
 
+    /** Re-use arrays when decoding? */
+    private boolean reuse = false;
+
+    /** With re-use, array from the update before the last one, used for the next decode */
+    private float[] spare = null;
+
     public PVAFloatArray(final String name, final float[] value)
     {
         super(name);
@@ -92,13 +98,29 @@ public class PVAFloatArray extends PVAData implements PVAArray
         buffer.put((byte) 0b01001010);
     }
 
+    @Override
+    public void setDecodeReuse(final boolean reuse)
+    {
+        this.reuse = reuse;
+        spare = null;
+    }
+
     @Override
     public void decode(final PVATypeRegistry types, final ByteBuffer buffer) throws Exception
     {
         final int size = PVASize.decodeSize(buffer);
-        final float[] new_value = new float[size];
-        for (int i=0; i<size; ++i)
-            new_value[i] = buffer.getFloat();
+        // With re-use, decode into the array from the update before the last one
+        // to keep the array handed out with the last update intact
+        float[] new_value = spare;
+        if (new_value == null  ||  new_value.length != size)
+            new_value = new float[size];
+        // Bulk transfer through typed view of the buffer,
+        // which uses the buffer's byte order,
+        // then advance the buffer past the transferred data
+        buffer.asFloatBuffer().get(new_value);
+        buffer.position(buffer.position() + size * Float.BYTES);
+        if (reuse)
+            spare = value;
         value = new_value;
     }
 
@@ -23,6 +23,12 @@ public class PVAIntArray extends PVAData implements PVAArray
     private final boolean unsigned;
     private volatile int[] value;
 
+    /** Re-use arrays when decoding? */
+    private boolean reuse = false;
+
+    /** With re-use, array from the update before the last one, used for the next decode */
+    private int[] spare = null;
+
     public PVAIntArray(final String name, final boolean unsigned, final int[] value)
     {
         super(name);
@@ -103,13 +109,29 @@ public class PVAIntArray extends PVAData implements PVAArray
             buffer.put((byte) 0b00101010);
     }
 
+    @Override
+    public void setDecodeReuse(final boolean reuse)
+    {
+        this.reuse = reuse;
+        spare = null;
+    }
+
     @Override
     public void decode(final PVATypeRegistry types, final ByteBuffer buffer) throws Exception
     {
         final int size = PVASize.decodeSize(buffer);
-        final int[] new_value = new int[size];
-        for (int i=0; i<size; ++i)
-            new_value[i] = buffer.getInt();
+        // With re-use, decode into the array from the update before the last one
+        // to keep the array handed out with the last update intact
+        int[] new_value = spare;
+        if (new_value == null  ||  new_value.length != size)
+            new_value = new int[size];
+        // Bulk transfer through typed view of the buffer,
+        // which uses the buffer's byte order,
+        // then advance the buffer past the transferred data
+        buffer.asIntBuffer().get(new_value);
+        buffer.position(buffer.position() + size * Integer.BYTES);
+        if (reuse)
+            spare = value;
         value = new_value;
     }
 
@@ -23,6 +23,12 @@ public class PVALongArray extends PVAData implements PVAArray
     private final boolean unsigned;
     private volatile long[] value;
 
+    /** Re-use arrays when decoding? */
+    private boolean reuse = false;
+
+    /** With re-use, array from the update before the last one, used for the next decode */
+    private long[] spare = null;
+
     public PVALongArray(final String name, final boolean unsigned, final long[] value)
     {
         super(name);
@@ -103,13 +109,29 @@ public class PVALongArray extends PVAData implements PVAArray
             buffer.put((byte) 0b00101011);
     }
 
+    @Override
+    public void setDecodeReuse(final boolean reuse)
+    {
+        this.reuse = reuse;
+        spare = null;
+    }
+
     @Override
     public void decode(final PVATypeRegistry types, final ByteBuffer buffer) throws Exception
     {
         final int size = PVASize.decodeSize(buffer);
-        final long[] new_value = new long[size];
-        for (int i=0; i<size; ++i)
-            new_value[i] = buffer.getLong();
+        // With re-use, decode into the array from the update before the last one
+        // to keep the array handed out with the last update intact
+        long[] new_value = spare;
+        if (new_value == null  ||  new_value.length != size)
+            new_value = new long[size];
+        // Bulk transfer through typed view of the buffer,
+        // which uses the buffer's byte order,
+        // then advance the buffer past the transferred data
+        buffer.asLongBuffer().get(new_value);
+        buffer.position(buffer.position() + size * Long.BYTES);
+        if (reuse)
+            spare = value;
         value = new_value;
     }
 
@@ -23,6 +23,12 @@ public class PVAShortArray extends PVAData implements PVAArray
     private final boolean unsigned;
     private volatile short[] value;
 
+    /** Re-use arrays when decoding? */
+    private boolean reuse = false;
+
+    /** With re-use, array from the update before the last one, used for the next decode */
+    private short[] spare = null;
+
     public PVAShortArray(final String name, final boolean unsigned, final short[] value)
     {
         super(name);
@@ -103,19 +109,29 @@ public class PVAShortArray extends PVAData implements PVAArray
             buffer.put((byte) 0b00101001);
     }
 
+    @Override
+    public void setDecodeReuse(final boolean reuse)
+    {
+        this.reuse = reuse;
+        spare = null;
+    }
+
     @Override
     public void decode(final PVATypeRegistry types, final ByteBuffer buffer) throws Exception
     {
         final int size = PVASize.decodeSize(buffer);
-        // Try to re-use existing array
-        final short[] new_value = new short[size];
-        // Considered using
-        //   buffer.asShortBuffer().get(new_value);
-        // but debugger shows that it ends up in the same loop:
-        //   for (..) short_array[i] = buffer.get()
-        // Profiler shows that it's overall slower.
-        for (int i=0; i<size; ++i)
-            new_value[i] = buffer.getShort();
+        // With re-use, decode into the array from the update before the last one
+        // to keep the array handed out with the last update intact
+        short[] new_value = spare;
+        if (new_value == null  ||  new_value.length != size)
+            new_value = new short[size];
+        // Bulk transfer through typed view of the buffer,
+        // which uses the buffer's byte order,
+        // then advance the buffer past the transferred data
+        buffer.asShortBuffer().get(new_value);
+        buffer.position(buffer.position() + size * Short.BYTES);
+        if (reuse)
+            spare = value;
         value = new_value;
     }
 
@@ -146,6 +146,23 @@ public class PVAStructure extends PVADataWithID
         return clone;
     }
 
+    /** Configure re-use of array storage when decoding
+     *
+     *  <p>Applies to all array elements of this structure,
+     *  including those in sub-structures.
+     *
+     *  @param reuse Re-use arrays when decoding?
+     *  @see PVAArray#setDecodeReuse(boolean)
+     */
+    public void setDecodeReuse(final boolean reuse)
+    {
+        for (PVAData element : elements)
+            if (element instanceof PVAStructure)
+                ((PVAStructure) element).setDecodeReuse(reuse);
+            else if (element instanceof PVAArray)
+                ((PVAArray) element).setDecodeReuse(reuse);
+    }
+
     @Override
     public void decode(final PVATypeRegistry types, final ByteBuffer buffer) throws Exception
     {
@@ -245,6 +262,53 @@ public class PVAStructure extends PVADataWithID
             element.encode(buffer);
     }
 
+    /** Encode selected structure elements
+     *
+     *  <p>Counterpart to {@link #decodeElements(BitSet, PVATypeRegistry, ByteBuffer)}.
+     *  When the bitset selects a sub-structure, its complete data is encoded
+     *  and further bits for elements within that sub-structure are ignored.
+     *
+     *  @param changes Bits to encode (will not be modified)
+     *  @param buffer Buffer into which to encode structure elements
+     *  @throws Exception on error
+     */
+    public void encodeElements(final BitSet changes, final ByteBuffer buffer) throws Exception
+    {
+        for (int index = changes.nextSetBit(0);
+             index >= 0;
+             index = changes.nextSetBit(index + 1))
+        {
+            // final version of index to allow use in logging lambdas
+            final int i = index;
+            final PVAData element = get(i);
+            if (element == null)
+                throw new Exception("Cannot locate element " + i + " in " + getStructureName() + " " + getName());
+            logger.log(Level.FINER, () -> "Encode data for indexed element " + i + ": " + element.formatType());
+            element.encode(buffer);
+            // Skip elements within an encoded sub-structure
+            if (element instanceof PVAStructure)
+                index += ((PVAStructure) element).getElementCount();
+
+            // Javadoc for nextSetBit() suggests checking for MAX_VALUE
+            // to avoid index + 1 overflow and thus starting over with first bit
+            if (index == Integer.MAX_VALUE)
+                break;
+        }
+    }
+
+    /** @return Deep count of elements, including those in sub-structures */
+    private int getElementCount()
+    {
+        int count = 0;
+        for (PVAData element : elements)
+        {
+            ++count;
+            if (element instanceof PVAStructure)
+                count += ((PVAStructure) element).getElementCount();
+        }
+        return count;
+    }
+
     @Override
     public void encodeType(final ByteBuffer buffer, final BitSet described) throws Exception
     {
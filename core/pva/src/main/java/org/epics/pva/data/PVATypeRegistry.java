@@ -10,7 +10,9 @@ package org.epics.pva.data;
 import static org.epics.pva.PVASettings.logger;
 
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 
 /** PVA Type Registry
@@ -22,13 +24,67 @@ import java.util.logging.Level;
  *  <p>Type IDs are specific to each TCP connection
  *  between PVA server and client.
  *
+ *  <p>In addition to the type, the raw bytes of its description are remembered.
+ *  When a full type description is received again for a known
+ *  type ID (and tag), and the bytes match, the type is
+ *  cloned from the remembered template instead of decoding it again.
+ *  Since field descriptions are self-delimiting, a byte-wise match
+ *  of a complete description implies an identical type.
+ *
  *  @author Kay Kasemir
  */
 @SuppressWarnings("nls")
 public class PVATypeRegistry
 {
+    /** Encoded type description */
+    private static class Encoding
+    {
+        /** Tag of a FULL_TAGGED_ID_TYPE_CODE, 0 for FULL_WITH_ID_TYPE_CODE */
+        final int tag;
+
+        /** Raw bytes of the type description */
+        final byte[] bytes;
+
+        Encoding(final int tag, final byte[] bytes)
+        {
+            this.tag = tag;
+            this.bytes = bytes;
+        }
+
+        /** @param tag Tag
+         *  @param buffer Buffer positioned on a type description
+         *  @return Does buffer contain this encoding?
+         */
+        boolean matches(final int tag, final ByteBuffer buffer)
+        {
+            if (tag != this.tag  ||  buffer.remaining() < bytes.length)
+                return false;
+            final ByteBuffer candidate = buffer.slice();
+            candidate.limit(bytes.length);
+            return candidate.equals(ByteBuffer.wrap(bytes));
+        }
+    }
+
+    /** Type templates by ID
+     *
+     *  <p>Templates are never handed out,
+     *  only clones of them, so they remain unchanged
+     *  and can be shared by all channels of the connection.
+     */
     private final ConcurrentHashMap<Short, PVAData> types = new ConcurrentHashMap<>();
 
+    /** Encodings of the types by ID */
+    private final ConcurrentHashMap<Short, Encoding> encodings = new ConcurrentHashMap<>();
+
+    /** Number of full type descriptions that did not need to be decoded */
+    private final AtomicLong cache_hits = new AtomicLong();
+
+    /** @return Number of full type descriptions that were handled by cloning a known type instead of decoding */
+    public long getCacheHits()
+    {
+        return cache_hits.get();
+    }
+
     /** Decode a 'Field'
      *  @param name Name for the decoded field
      *  @param buffer Buffer that's positioned on field encoding
@@ -42,28 +98,13 @@ public class PVATypeRegistry
         if (field_desc == PVAFieldDesc.FULL_WITH_ID_TYPE_CODE)
         {
             final short type_id = buffer.getShort();
-            final PVAData type = decodeType(name, buffer);
-            if (type instanceof PVADataWithID)
-                ((PVADataWithID)type).setTypeID(type_id);
-            logger.log(Level.FINEST, "Type ID " + type_id + ": " + type.formatType());
-            // Remember type
-            types.put(type_id, type.cloneType(name));
-            return type;
+            return decodeTypeWithID(name, type_id, 0, buffer);
         }
         else if (field_desc == PVAFieldDesc.FULL_TAGGED_ID_TYPE_CODE)
         {
             final short type_id = buffer.getShort();
             final int tag = buffer.getInt();
-            // Type_id and tag could be used to check if this
-            // combination is known, eliminating need to decode type.
-            // For now ignoring the tag, always decoding the type.
-            final PVAData type = decodeType(name, buffer);
-            if (type instanceof PVADataWithID)
-                ((PVADataWithID)type).setTypeID(type_id);
-            logger.log(Level.FINEST, "Type ID " + type_id + ", tag " + tag + ": " + type.formatType());
-            // Remember type
-            types.put(type_id, type.cloneType(name));
-            return type;
+            return decodeTypeWithID(name, type_id, tag, buffer);
         }
         else if (field_desc == PVAFieldDesc.ONLY_ID_TYPE_CODE)
         {
@@ -71,10 +112,8 @@ public class PVATypeRegistry
             final PVAData type = types.get(type_id);
             if (type == null)
                 throw new Exception("Unknown FieldDesc Type ID " + type_id);
-            if (type instanceof PVADataWithID)
-                ((PVADataWithID)type).setTypeID(type_id);
-            logger.log(Level.FINEST, "Re-using Type ID " + type_id);
-            return type.cloneType(name);
+            logger.log(Level.FINEST, () -> "Re-using Type ID " + type_id);
+            return cloneTemplate(type_id, type, name);
         }
         else if (field_desc == PVAFieldDesc.NULL_TYPE_CODE)
             return null;
@@ -95,4 +134,65 @@ public class PVATypeRegistry
 
         throw new Exception("Cannot decode " + name + " FieldDesc 0x" + String.format("%02X ", field_desc));
     }
+
+    /** @param type_id Type ID
+     *  @param template Remembered type
+     *  @param name Name for the clone
+     *  @return Clone of the template with type ID
+     */
+    private PVAData cloneTemplate(final short type_id, final PVAData template, final String name)
+    {
+        final PVAData type = template.cloneType(name);
+        if (type instanceof PVADataWithID)
+            ((PVADataWithID)type).setTypeID(type_id);
+        return type;
+    }
+
+    /** Decode full type description that defines a type ID
+     *  @param name Name for the decoded field
+     *  @param type_id Type ID
+     *  @param tag Tag, 0 if not tagged
+     *  @param buffer Buffer that's positioned on the full field encoding
+     *  @return PVAData
+     *  @throws Exception on error
+     */
+    private PVAData decodeTypeWithID(final String name, final short type_id, final int tag, final ByteBuffer buffer) throws Exception
+    {
+        // Is this a known type?
+        final Encoding known = encodings.get(type_id);
+        if (known != null  &&  known.matches(tag, buffer))
+        {
+            final PVAData type = types.get(type_id);
+            if (type != null)
+            {
+                buffer.position(buffer.position() + known.bytes.length);
+                cache_hits.incrementAndGet();
+                logger.log(Level.FINEST, () -> "Known Type ID " + type_id + ", tag " + tag);
+                return cloneTemplate(type_id, type, name);
+            }
+        }
+
+        // Decode type, remembering the raw description
+        final int start = buffer.position();
+        final PVAData type = decodeType(name, buffer);
+        if (type instanceof PVADataWithID)
+            ((PVADataWithID)type).setTypeID(type_id);
+        logger.log(Level.FINEST, () -> "Type ID " + type_id + ", tag " + tag + ": " + type.formatType());
+
+        final byte[] bytes = new byte[buffer.position() - start];
+        final ByteBuffer raw = buffer.duplicate();
+        raw.position(start);
+        raw.get(bytes);
+
+        // When a type ID is re-defined to a different type,
+        // other remembered encodings that refer to it via ONLY_ID_TYPE_CODE
+        // no longer describe the same type
+        if (known != null  &&  ! Arrays.equals(known.bytes, bytes))
+            encodings.clear();
+
+        // Remember type
+        types.put(type_id, type.cloneType(name));
+        encodings.put(type_id, new Encoding(tag, bytes));
+        return type;
+    }
 }
@@ -16,13 +16,15 @@ import java.util.logging.Level;
 
 import org.epics.pva.common.PVAHeader;
 import org.epics.pva.data.PVABitSet;
-import org.epics.pva.data.PVAData;
-import org.epics.pva.data.PVAStructure;
 
 /** One client's subscription to "monitor" a PV
  *
- *  <p>Maintains the most recent value sent to client,
- *  sends changes to that client as the value is updated.
+ *  <p>Tracks the changes that still need to be sent to the client.
+ *  When the client is up to date, it receives the {@link MonitorUpdate}
+ *  that the PV encoded once for all subscriptions.
+ *  When the client did not yet receive the previous update,
+ *  changes are merged, overruns tracked, and the merged changes
+ *  are encoded from the PV's current data.
  *
  *  @author Kay Kasemir
  */
@@ -41,23 +43,24 @@ class MonitorSubscription
     // Clients subscribe at different times,
     // and their TCP connection might be able to handle updates
     // at different rates, so each subscription maintains
-    // the per-client state of the data, changes and overruns.
+    // the per-client state of changes and overruns.
 
-    /** Most recent value, to be sent to clients.
-     *  SYNC on data
+    /** Most recent changes, yet to be sent to client
+     *  SYNC on this
      */
-    private final PVAStructure data;
-
-    /** Most recent changes, yet to be sent to clients
-     *  SYNC on data
-     */
-    private volatile BitSet changes = new BitSet();
+    private final BitSet changes = new BitSet();
 
     /** Overruns, u.e. updates received between successful transmissions to client
-     *  SYNC on data
+     *  SYNC on this
      */
     private final BitSet overrun = new BitSet();
 
+    /** Shared encoding of the 'changes',
+     *  or <code>null</code> when changes need to be encoded from the PV's data
+     *  SYNC on this
+     */
+    private MonitorUpdate shared = null;
+
     /** Is an update pending to be sent out?
      *
      *  <p>Used to prevent scheduling more updates that TCP connection can handle.
@@ -70,7 +73,6 @@ class MonitorSubscription
         this.req = req;
         this.pv = pv;
         this.tcp = tcp;
-        data = pv.getData();
 
         // Initial update: Send all the data
         changes.set(0);
@@ -82,19 +84,27 @@ class MonitorSubscription
         return this.tcp == tcp  &&  (req == -1 || this.req == req);
     }
 
-    void update(final PVAStructure new_data) throws Exception
+    /** @param update Update of the PV's data */
+    void update(final MonitorUpdate update)
     {
-        synchronized (data)
+        synchronized (this)
         {
-            final BitSet old_changes = changes;
-
-            // Update data, see what's new
-            changes = data.update(new_data);
-
-            // Accumulate overrun:
-            // See what had changed before, and now changed again
-            old_changes.and(changes);
-            overrun.or(old_changes);
+            if (changes.isEmpty())
+            {   // Client is up to date, can use the shared update
+                changes.or(update.getChanges());
+                shared = update;
+            }
+            else
+            {   // Previous changes have not been sent out.
+                // Accumulate overrun:
+                // See what had changed before, and now changed again
+                final BitSet again = (BitSet) changes.clone();
+                again.and(update.getChanges());
+                overrun.or(again);
+                // Merge changes, to be encoded from the PV's latest data
+                changes.or(update.getChanges());
+                shared = null;
+            }
         }
 
         // Only submit when there's not already one pending, waiting to be sent out
@@ -108,8 +118,7 @@ class MonitorSubscription
     {
         pending.set(false);
 
-        logger.log(Level.FINE, () -> "Sending MONITOR value for " + pv + ": changes " + changes + ", overrun " + overrun);
-
+        final int size_offset = buffer.position() + PVAHeader.HEADER_OFFSET_PAYLOAD_SIZE;
         PVAHeader.encodeMessageHeader(buffer, PVAHeader.FLAG_SERVER, PVAHeader.CMD_MONITOR, 0);
         final int payload_start = buffer.position();
 
@@ -117,34 +126,28 @@ class MonitorSubscription
         // Subcommand 0 = value update
         buffer.put((byte)0);
 
-        synchronized (data)
+        synchronized (this)
         {
-            // Encode what changed
-            PVABitSet.encodeBitSet(changes, buffer);
-            // Encode the changed data
-            for (int index = changes.nextSetBit(0);
-                    index >= 0;
-                    index = changes.nextSetBit(index + 1))
+            logger.log(Level.FINE, () -> "Sending MONITOR value for " + pv + ": changes " + changes + ", overrun " + overrun +
+                                         (shared != null ? " (shared)" : ""));
+            if (shared != null  &&  shared.canEncode(buffer))
+                shared.encode(buffer);
+            else
             {
-                // final version of index to allow use in logging lambdas
-                final int i = index;
-                final PVAData element = data.get(i);
-                logger.log(Level.FINER, () -> "Encode data for indexed element " + i + ": " + element);
-                element.encode(buffer);
-
-                // Javadoc for nextSetBit() suggests checking for MAX_VALUE
-                // to avoid index + 1 overflow and thus starting over with first bit
-                if (i == Integer.MAX_VALUE)
-                    break;
+                // Encode what changed
+                PVABitSet.encodeBitSet(changes, buffer);
+                // Encode the changed data
+                pv.encodeData(changes, buffer);
             }
-            changes.clear();
-
             PVABitSet.encodeBitSet(overrun, buffer);
+
+            changes.clear();
             overrun.clear();
+            shared = null;
         }
 
         final int payload_end = buffer.position();
-        buffer.putInt(PVAHeader.HEADER_OFFSET_PAYLOAD_SIZE, payload_end - payload_start);
+        buffer.putInt(size_offset, payload_end - payload_start);
     }
 
     @Override
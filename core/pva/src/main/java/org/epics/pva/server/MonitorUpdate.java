@@ -0,0 +1,61 @@
+package org.epics.pva.server;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.BitSet;
+
+/** Update of a PV's data, encoded once to be shared by all subscriptions
+ *
+ *  <p>Holds the changed elements and their serialized data,
+ *  i.e. the 'changes' bitset followed by the changed elements.
+ *  Not modified once created, so the same update can be
+ *  sent to any number of clients.
+ */
+class MonitorUpdate
+{
+    /** Elements that changed in this update */
+    private final BitSet changes;
+
+    /** Encoded 'changes' and data */
+    private final byte[] encoded;
+
+    /** Byte order used to encode */
+    private final ByteOrder order;
+
+    /** @param changes Elements that changed
+     *  @param buffer Buffer with encoded changes and data, flipped
+     */
+    MonitorUpdate(final BitSet changes, final ByteBuffer buffer)
+    {
+        this.changes = (BitSet) changes.clone();
+        encoded = new byte[buffer.remaining()];
+        buffer.get(encoded);
+        order = buffer.order();
+    }
+
+    /** @return Elements that changed in this update (must not be modified) */
+    BitSet getChanges()
+    {
+        return changes;
+    }
+
+    /** @param buffer Buffer into which update is to be encoded
+     *  @return <code>true</code> if the update can be used with that buffer
+     */
+    boolean canEncode(final ByteBuffer buffer)
+    {
+        return buffer.order() == order;
+    }
+
+    /** @param buffer Buffer into which to add the 'changes' bitset and changed data */
+    void encode(final ByteBuffer buffer)
+    {
+        buffer.put(encoded);
+    }
+
+    @Override
+    public String toString()
+    {
+        return "Update " + changes + ", " + encoded.length + " bytes";
+    }
+}
@@ -9,6 +9,8 @@ package org.epics.pva.server;
 
 import static org.epics.pva.PVASettings.logger;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.BitSet;
 import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
@@ -16,7 +18,9 @@ import java.util.concurrent.ConcurrentHashMap.KeySetView;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 
+import org.epics.pva.PVASettings;
 import org.epics.pva.common.PVAHeader;
+import org.epics.pva.data.PVABitSet;
 import org.epics.pva.data.PVAString;
 import org.epics.pva.data.PVAStructure;
 
@@ -68,6 +72,13 @@ public class ServerPV implements AutoCloseable
      */
     private final PVAStructure data;
 
+    /** Buffer for encoding updates of the data
+     *
+     *  <p>Grows as needed.
+     *  SYNC on data
+     */
+    private ByteBuffer update_buffer = ByteBuffer.allocate(PVASettings.TCP_BUFFER_SIZE);
+
     /** Handler for RPC invocations. May be DEFAULT_RPC_SERVICE */
     private final RPCService rpc;
 
@@ -196,14 +207,62 @@ public class ServerPV implements AutoCloseable
      */
     public void update(final PVAStructure new_data) throws Exception
     {
-        // Update data
+        // Update data, and encode what changed just once for all subscriptions
+        final MonitorUpdate update;
         synchronized (data)
         {
-            data.update(new_data);
+            final BitSet changes = data.update(new_data);
+            update = subscriptions.isEmpty() ? null : encodeUpdate(changes);
         }
         // Update subscriptions
-        for (MonitorSubscription subscription : subscriptions)
-            subscription.update(new_data);
+        if (update != null)
+            for (MonitorSubscription subscription : subscriptions)
+                subscription.update(update);
+    }
+
+    /** Encode changes
+     *
+     *  <p>Caller must SYNC on data
+     *
+     *  @param changes Changed elements of the data
+     *  @return {@link MonitorUpdate}
+     *  @throws Exception on error
+     */
+    private MonitorUpdate encodeUpdate(final BitSet changes) throws Exception
+    {
+        while (true)
+        {
+            update_buffer.clear();
+            try
+            {
+                PVABitSet.encodeBitSet(changes, update_buffer);
+                data.encodeElements(changes, update_buffer);
+                update_buffer.flip();
+                return new MonitorUpdate(changes, update_buffer);
+            }
+            catch (BufferOverflowException ex)
+            {
+                // Grow buffer, but no larger than what could be sent
+                if (update_buffer.capacity() >= PVASettings.EPICS_PVA_SEND_BUFFER_SIZE)
+                    throw new Exception("Update for " + this + " exceeds send buffer size", ex);
+                final int size = Math.min(2 * update_buffer.capacity(), PVASettings.EPICS_PVA_SEND_BUFFER_SIZE);
+                logger.log(Level.FINE, () -> "Growing update buffer for " + this + " to " + size);
+                update_buffer = ByteBuffer.allocate(size);
+            }
+        }
+    }
+
+    /** Encode elements of current data
+     *  @param changes Elements to encode
+     *  @param buffer Buffer into which to encode the elements
+     *  @throws Exception on error
+     */
+    void encodeData(final BitSet changes, final ByteBuffer buffer) throws Exception
+    {
+        synchronized (data)
+        {
+            data.encodeElements(changes, buffer);
+        }
     }
 
     /** Get current value (thread-safe copy)
@@ -0,0 +1,72 @@
+package org.epics.pva.data;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/** Benchmark for decoding large arrays
+ *
+ *  <p>Compares element-by-element decoding
+ *  with bulk decoding into new arrays
+ *  and bulk decoding with re-used arrays.
+ */
+@SuppressWarnings("nls")
+public class ArrayDecodeDemo
+{
+    /** 1 MB waveform */
+    private static final int SIZE = 1024 * 1024 / Double.BYTES;
+
+    private static final int RUNS = 2000;
+
+    /** Decode the way it used to be done, element by element */
+    private static double[] decodeElements(final ByteBuffer buffer)
+    {
+        final int size = PVASize.decodeSize(buffer);
+        final double[] value = new double[size];
+        for (int i=0; i<size; ++i)
+            value[i] = buffer.getDouble();
+        return value;
+    }
+
+    private interface Decoder
+    {
+        void decode(ByteBuffer buffer) throws Exception;
+    }
+
+    private static void benchmark(final String title, final ByteBuffer buffer, final Decoder decoder) throws Exception
+    {
+        // Warm up
+        for (int run=0; run<RUNS; ++run)
+            decoder.decode(buffer.duplicate());
+
+        final long start = System.nanoTime();
+        for (int run=0; run<RUNS; ++run)
+            decoder.decode(buffer.duplicate());
+        final long nanos = System.nanoTime() - start;
+        System.out.format("%-30s: %8.3f ms per decode, %6.0f MB/s\n",
+                          title,
+                          nanos / 1e6 / RUNS,
+                          (double)RUNS * SIZE * Double.BYTES / 1e6 / (nanos / 1e9));
+    }
+
+    public static void main(String[] args) throws Exception
+    {
+        final double[] data = new double[SIZE];
+        for (int i=0; i<SIZE; ++i)
+            data[i] = Math.sin(i * 0.01);
+        final ByteBuffer buffer = ByteBuffer.allocate(SIZE * Double.BYTES + 10);
+        new PVADoubleArray("value", data).encode(buffer);
+        buffer.flip();
+
+        final PVADoubleArray fresh = new PVADoubleArray("value");
+        final PVADoubleArray reuse = new PVADoubleArray("value");
+        reuse.setDecodeReuse(true);
+
+        for (int i=0; i<3; ++i)
+        {
+            benchmark("Element by element", buffer, b -> decodeElements(b));
+            benchmark("Bulk decode, new array", buffer, b -> fresh.decode(null, b));
+            benchmark("Bulk decode, re-used array", buffer, b -> reuse.decode(null, b));
+            TimeUnit.SECONDS.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package org.epics.pva.data;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import org.junit.Test;
+
+/** Test decoding of arrays, with and without re-use
+ */
+@SuppressWarnings("nls")
+public class ArrayDecodeTest
+{
+    private static ByteBuffer encode(final PVAData data, final ByteOrder order) throws Exception
+    {
+        final ByteBuffer buffer = ByteBuffer.allocate(10000);
+        buffer.order(order);
+        data.encode(buffer);
+        buffer.flip();
+        return buffer;
+    }
+
+    @Test
+    public void testBulkDecode() throws Exception
+    {
+        for (ByteOrder order : new ByteOrder[] { ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN })
+        {
+            final double[] doubles = new double[] { 1.0, -2.5, Double.NaN, 3e100 };
+            ByteBuffer buffer = encode(new PVADoubleArray("value", doubles), order);
+            final PVADoubleArray dbl = new PVADoubleArray("value");
+            dbl.decode(null, buffer);
+            assertThat(dbl.get(), equalTo(doubles));
+            assertThat(buffer.remaining(), equalTo(0));
+
+            final short[] shorts = new short[] { 1, -2, 3, Short.MAX_VALUE };
+            buffer = encode(new PVAShortArray("value", false, shorts), order);
+            final PVAShortArray sht = new PVAShortArray("value", false);
+            sht.decode(null, buffer);
+            assertThat(sht.get(), equalTo(shorts));
+            assertThat(buffer.remaining(), equalTo(0));
+
+            final int[] ints = new int[] { 1, -2, 3, Integer.MIN_VALUE };
+            buffer = encode(new PVAIntArray("value", false, ints), order);
+            final PVAIntArray it = new PVAIntArray("value", false);
+            it.decode(null, buffer);
+            assertThat(it.get(), equalTo(ints));
+            assertThat(buffer.remaining(), equalTo(0));
+        }
+    }
+
+    @Test
+    public void testReuse() throws Exception
+    {
+        final ByteBuffer buffer = encode(new PVADoubleArray("value", new double[] { 1, 2, 3 }), ByteOrder.BIG_ENDIAN);
+
+        // Without re-use, every decode provides a new array
+        final PVADoubleArray data = new PVADoubleArray("value");
+        data.decode(null, buffer.duplicate());
+        final double[] first = data.get();
+        data.decode(null, buffer.duplicate());
+        assertThat(data.get(), not(sameInstance(first)));
+
+        // With re-use, decoding alternates between two arrays
+        data.setDecodeReuse(true);
+        data.decode(null, buffer.duplicate());
+        final double[] a = data.get();
+        data.decode(null, buffer.duplicate());
+        final double[] b = data.get();
+        assertThat(b, not(sameInstance(a)));
+        data.decode(null, buffer.duplicate());
+        assertThat(data.get(), sameInstance(a));
+        data.decode(null, buffer.duplicate());
+        assertThat(data.get(), sameInstance(b));
+        assertThat(data.get(), equalTo(new double[] { 1, 2, 3 }));
+
+        // Re-use applies to array elements of structures
+        final PVADoubleArray value = new PVADoubleArray("value");
+        final PVAStructure struct = new PVAStructure("", "demo_t", value);
+        struct.setDecodeReuse(true);
+        value.decode(null, buffer.duplicate());
+        final double[] c = value.get();
+        value.decode(null, buffer.duplicate());
+        value.decode(null, buffer.duplicate());
+        assertThat(value.get(), sameInstance(c));
+    }
+}
@@ -8,6 +8,7 @@
 package org.epics.pva.data;
 
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
 import static org.junit.Assert.assertThat;
 
 import java.nio.ByteBuffer;
@@ -58,4 +59,62 @@ public class EncodeTypeTest
         assertThat(struct.formatType(), equalTo(decoded.formatType()));
 
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testKnownTypes() throws Exception
+    {
+        final PVAStructure time = new PVAStructure("timeStamp", "time_t",
+                new PVALong("secondsPastEpoch"),
+                new PVAInt("nanoseconds"));
+        final PVAStructure struct = new PVAStructure("", "epics:nt/NTScalar:1.0",
+                new PVADouble("value"),
+                time);
+        struct.setTypeID((short)1);
+        time.setTypeID((short)2);
+
+        // Full description with ID, sent twice as for example
+        // on each new channel
+        final ByteBuffer buffer = ByteBuffer.allocate(512);
+        struct.encodeType(buffer, new BitSet());
+        struct.encodeType(buffer, new BitSet());
+        final int full_size = buffer.position() / 2;
+
+        // Full description of the same type with ID and tag
+        final ByteBuffer tagged = ByteBuffer.allocate(256);
+        tagged.put(PVAFieldDesc.FULL_TAGGED_ID_TYPE_CODE);
+        tagged.putShort((short)3);
+        tagged.putInt(42);
+        struct.setTypeID((short)0);
+        time.setTypeID((short)0);
+        struct.encodeType(tagged, new BitSet());
+        tagged.flip();
+        buffer.put(tagged.duplicate());
+        buffer.put(tagged.duplicate());
+        buffer.flip();
+
+        final PVATypeRegistry types = new PVATypeRegistry();
+        final PVAStructure first = (PVAStructure) types.decodeType("", buffer);
+        assertThat(buffer.position(), equalTo(full_size));
+        assertThat(types.getCacheHits(), equalTo(0L));
+
+        // Second time, type is cloned from known one
+        final PVAStructure second = (PVAStructure) types.decodeType("", buffer);
+        assertThat(buffer.position(), equalTo(2*full_size));
+        assertThat(types.getCacheHits(), equalTo(1L));
+        assertThat(second.formatType(), equalTo(first.formatType()));
+        assertThat(second.getTypeID(), equalTo((short)1));
+        // .. but not sharing any data
+        ((PVADouble)second.get("value")).set(3.14);
+        assertThat(((PVADouble)first.get("value")).get(), not(equalTo(3.14)));
+
+        // Tagged type, decoded once, then known
+        PVAStructure decoded = (PVAStructure) types.decodeType("", buffer);
+        assertThat(types.getCacheHits(), equalTo(1L));
+        assertThat(decoded.getTypeID(), equalTo((short)3));
+        decoded = (PVAStructure) types.decodeType("", buffer);
+        assertThat(types.getCacheHits(), equalTo(2L));
+        assertThat(decoded.getTypeID(), equalTo((short)3));
+        assertThat(decoded.get("value").formatType(), equalTo("double value"));
+        assertThat(buffer.remaining(), equalTo(0));
+    }
+}
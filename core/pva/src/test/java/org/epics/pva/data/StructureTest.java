@@ -15,6 +15,7 @@ import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
 
+import java.nio.ByteBuffer;
 import java.util.BitSet;
 
 import org.junit.Test;
@@ -301,4 +302,31 @@ public class StructureTest
             assertThat(ex.getMessage(), containsString("Cannot locate 'x'"));
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testEncodeElements() throws Exception
+    {
+        final PVAStructure time = new PVAStructure("timeStamp", "time_t",
+                                                   new PVALong("secondsPastEpoch", false, 1),
+                                                   new PVAInt("nanoseconds", false, 2));
+        final PVAStructure data = new PVAStructure("demo", "demo_t",
+                                                   new PVADouble("value", 3.14),
+                                                   time,
+                                                   new PVAString("tag", "Hello"));
+        final PVAStructure copy = data.cloneType("demo");
+
+        // Bits address the 'timeStamp' sub-structure as well as one of its elements,
+        // as they would after merging changes from several updates
+        final BitSet changes = new BitSet();
+        changes.set(1);
+        changes.set(2);
+        changes.set(4);
+        changes.set(5);
+        final ByteBuffer buffer = ByteBuffer.allocate(100);
+        data.encodeElements(changes, buffer);
+        buffer.flip();
+        copy.decodeElements(changes, null, buffer);
+        assertThat(buffer.remaining(), equalTo(0));
+        assertThat(copy, equalTo(data));
+    }
+}
@@ -97,7 +97,9 @@ public class Messages
     public static String PVListMenuPath;
     public static String PVListPlaceholder;
     public static String PVListRefreshTT;
+    public static String PVListTblCoalesced;
     public static String PVListTblConnected;
+    public static String PVListTblDropped;
     public static String PVListTblPVName;
     public static String PVListTblReferences;
     public static String Save;
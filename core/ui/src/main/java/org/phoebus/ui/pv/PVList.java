@@ -24,8 +24,10 @@ import org.phoebus.ui.javafx.ImageCache;
 import javafx.application.Platform;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.LongProperty;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.property.SimpleLongProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
 import javafx.collections.FXCollections;
@@ -58,12 +60,17 @@ public class PVList extends BorderPane
         final StringProperty name;
         final BooleanProperty connected;
         final IntegerProperty references;
+        final LongProperty coalesced;
+        final LongProperty dropped;
 
-        public PVInfo(final String name, final boolean connected, final int references)
+        public PVInfo(final String name, final boolean connected, final int references,
+                      final long coalesced, final long dropped)
         {
             this.name = new SimpleStringProperty(name);
             this.connected = new SimpleBooleanProperty(connected);
             this.references = new SimpleIntegerProperty(references);
+            this.coalesced = new SimpleLongProperty(coalesced);
+            this.dropped = new SimpleLongProperty(dropped);
         }
     }
 
@@ -131,6 +138,16 @@ public class PVList extends BorderPane
         ref_col.setCellValueFactory(cell -> cell.getValue().references);
         ref_col.setMaxWidth(500.0);
         table.getColumns().add(ref_col);
+
+        final TableColumn<PVInfo, Number> coalesced_col = new TableColumn<>(Messages.PVListTblCoalesced);
+        coalesced_col.setCellValueFactory(cell -> cell.getValue().coalesced);
+        coalesced_col.setMaxWidth(500.0);
+        table.getColumns().add(coalesced_col);
+
+        final TableColumn<PVInfo, Number> dropped_col = new TableColumn<>(Messages.PVListTblDropped);
+        dropped_col.setCellValueFactory(cell -> cell.getValue().dropped);
+        dropped_col.setMaxWidth(500.0);
+        table.getColumns().add(dropped_col);
     }
 
     private void createContextMenu()
@@ -168,7 +185,8 @@ public class PVList extends BorderPane
             for (ReferencedEntry<PV> ref : refs)
             {
                 final PV pv = ref.getEntry();
-                items.add(new PVInfo(pv.getName(), pv.read() != null, ref.getReferences()));
+                items.add(new PVInfo(pv.getName(), pv.read() != null, ref.getReferences(),
+                                    pv.getCoalescedUpdates(), pv.getDroppedUpdates()));
             }
 
             // Update UI
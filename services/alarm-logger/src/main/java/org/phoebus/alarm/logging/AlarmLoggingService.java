@@ -63,6 +63,7 @@ public class AlarmLoggingService {
     private static final String COMMANDS =
             "Commands:\n" +
             "\thelp             - Show help.\n" +
+            "\tstats            - Show number of indexed and failed messages.\n" +
             "\tshutdown         - Shut alarm logger down and exit.\n";
 
     private static final CountDownLatch done = new CountDownLatch(1);
@@ -74,6 +75,11 @@ public class AlarmLoggingService {
             done.countDown();
             return true;
         }
+        if (args.length == 1  &&  args[0].equals("stats"))
+        {
+            System.out.println(ElasticClientHelper.getInstance().getStatistics());
+            return true;
+        }
         return false;
     }
 
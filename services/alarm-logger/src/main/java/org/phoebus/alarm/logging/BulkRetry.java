@@ -0,0 +1,159 @@
+package org.phoebus.alarm.logging;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.ElasticsearchTimeoutException;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkProcessor;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.common.util.concurrent.EsRejectedExecutionException;
+import org.elasticsearch.rest.RestStatus;
+
+/**
+ * Retries documents that could not be indexed because of a transient problem.
+ * <p>
+ * The {@link BulkProcessor} itself only retries documents that were rejected with an
+ * {@link EsRejectedExecutionException}. Documents that failed because the cluster was
+ * unavailable, overloaded or timed out, or whose whole bulk request failed with an I/O error,
+ * are re-submitted here with an exponential backoff, up to a maximum number of attempts.
+ */
+class BulkRetry {
+
+    /** Outcome for one document of a bulk request */
+    enum Outcome {
+        /** Document has been indexed */
+        INDEXED,
+        /** Document failed, but will be re-submitted */
+        RETRY,
+        /** Document failed for good */
+        FAILED
+    }
+
+    private final int retries;
+    private final long delayMillis;
+    private final BiConsumer<Runnable, Long> scheduler;
+    private final Consumer<DocWriteRequest<?>> resubmit;
+
+    /** Number of failed attempts for documents that are retried, by identity of their request */
+    private final Map<DocWriteRequest<?>, Integer> attempts = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    /**
+     * @param retries Maximum number of times a document is re-submitted
+     * @param delayMillis Delay before the first retry, doubled for each following retry
+     * @param scheduler Runs a task after a delay in milliseconds
+     * @param resubmit Re-submits a document to the bulk processor
+     */
+    BulkRetry(int retries, long delayMillis, BiConsumer<Runnable, Long> scheduler, Consumer<DocWriteRequest<?>> resubmit) {
+        this.retries = retries;
+        this.delayMillis = delayMillis;
+        this.scheduler = scheduler;
+        this.resubmit = resubmit;
+    }
+
+    /**
+     * @param status Status of a failed document or request
+     * @return true if the cluster may accept the document when trying again later
+     */
+    static boolean isTransient(RestStatus status) {
+        return status == RestStatus.TOO_MANY_REQUESTS
+            || status == RestStatus.SERVICE_UNAVAILABLE
+            || status == RestStatus.GATEWAY_TIMEOUT
+            || status == RestStatus.BAD_GATEWAY
+            || status == RestStatus.REQUEST_TIMEOUT;
+    }
+
+    /**
+     * @param error Cause of a failed document or request
+     * @return true if the cluster may accept the document when trying again later
+     */
+    static boolean isTransient(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause() == cause ? null : cause.getCause()) {
+            // I/O errors include connection problems and socket timeouts
+            if (cause instanceof EsRejectedExecutionException
+                    || cause instanceof ElasticsearchTimeoutException
+                    || cause instanceof IOException) {
+                return true;
+            }
+            if (cause instanceof ElasticsearchException && isTransient(((ElasticsearchException) cause).status())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Handle the response to a bulk request, re-submitting documents that failed for a transient reason
+     *
+     * @param request Bulk request
+     * @param response Response to the request
+     * @return Outcome for each item of the response
+     */
+    Outcome[] handle(BulkRequest request, BulkResponse response) {
+        final BulkItemResponse[] items = response.getItems();
+        final Outcome[] outcomes = new Outcome[items.length];
+        for (int i = 0; i < items.length; ++i) {
+            final DocWriteRequest<?> document = request.requests().get(items[i].getItemId());
+            if (! items[i].isFailed()) {
+                attempts.remove(document);
+                outcomes[i] = Outcome.INDEXED;
+            } else {
+                final BulkItemResponse.Failure failure = items[i].getFailure();
+                final boolean retryable = isTransient(failure.getStatus()) || isTransient(failure.getCause());
+                outcomes[i] = retryable && retry(document) ? Outcome.RETRY : giveUp(document);
+            }
+        }
+        return outcomes;
+    }
+
+    /**
+     * Handle the failure of a complete bulk request, re-submitting its documents if the failure is transient
+     *
+     * @param request Bulk request
+     * @param failure Cause of the failure
+     * @return Documents that failed for good
+     */
+    List<DocWriteRequest<?>> handle(BulkRequest request, Throwable failure) {
+        final List<DocWriteRequest<?>> failed = new ArrayList<>();
+        final boolean retryable = isTransient(failure);
+        for (DocWriteRequest<?> document : request.requests()) {
+            if (! (retryable && retry(document))) {
+                giveUp(document);
+                failed.add(document);
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * @param document Document that failed for good
+     * @return {@link Outcome#FAILED}
+     */
+    private Outcome giveUp(DocWriteRequest<?> document) {
+        attempts.remove(document);
+        return Outcome.FAILED;
+    }
+
+    /**
+     * @param document Document to re-submit
+     * @return true if document will be re-submitted, false if it has been retried too often
+     */
+    private boolean retry(DocWriteRequest<?> document) {
+        final int attempt = attempts.merge(document, 1, Integer::sum);
+        if (attempt > retries) {
+            return false;
+        }
+        final long delay = delayMillis << Math.min(attempt - 1, 20);
+        scheduler.accept(() -> resubmit.accept(document), delay);
+        return true;
+    }
+}
@@ -6,23 +6,45 @@ package org.phoebus.alarm.logging;
 import static org.phoebus.alarm.logging.AlarmLoggingService.logger;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.logging.Level;
 
 import org.apache.http.HttpHost;
-import org.elasticsearch.action.DocWriteResponse.Result;
+import org.elasticsearch.action.DocWriteRequest;
 import org.elasticsearch.action.admin.indices.get.GetIndexRequest;
+import org.elasticsearch.action.bulk.BackoffPolicy;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkProcessor;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.index.IndexRequest;
-import org.elasticsearch.action.index.IndexResponse;
 import org.elasticsearch.client.RequestOptions;
 import org.elasticsearch.client.RestClient;
 import org.elasticsearch.client.RestHighLevelClient;
 import org.elasticsearch.client.sniff.Sniffer;
+import org.elasticsearch.common.unit.ByteSizeUnit;
+import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.common.unit.TimeValue;
 import org.phoebus.applications.alarm.messages.AlarmCommandMessage;
 import org.phoebus.applications.alarm.messages.AlarmConfigMessage;
 import org.phoebus.applications.alarm.messages.AlarmStateMessage;
 
 /**
+ * The alarm messages are not indexed one at a time but handed to a {@link BulkProcessor}
+ * which sends them in bulk requests once the configured number of documents, bytes or
+ * time has been reached.
+ * Only a limited number of bulk requests may be pending, after which adding messages blocks
+ * the calling kafka stream.
+ * Documents that fail for a transient reason, like a busy or unavailable cluster or a timeout,
+ * are retried with an exponential backoff, see {@link BulkRetry}.
+ *
  * @author Kunal Shroff {@literal <kunalshroff9@gmail.gov>}
  *
  */
@@ -31,11 +53,31 @@ public class ElasticClientHelper {
     private static RestHighLevelClient client;
     private static ElasticClientHelper instance;
     private static Sniffer sniffer;
+    private static BulkProcessor bulkProcessor;
+    private static BulkRetry bulkRetry;
+
+    /** Re-submits documents after the retry delay */
+    private static final ScheduledExecutorService retryTimer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ElasticBulkRetry");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** Number of indexed, retried and failed documents per index */
+    private static final Map<String, IndexStatistics> statistics = new ConcurrentHashMap<>();
 
     private ElasticClientHelper() {
         try {
             Runtime.getRuntime().addShutdownHook(new Thread(() -> {
                 logger.info("Shutting down the ElasticClientHelper.");
+                if (bulkProcessor != null) {
+                    try {
+                        bulkProcessor.awaitClose(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        logger.log(Level.WARNING, "Failed to flush the pending alarm messages", e);
+                    }
+                    logger.info(getStatistics());
+                }
                 if (client != null) {
                     try {
                         sniffer.close();
@@ -51,6 +93,11 @@ public class ElasticClientHelper {
                 sniffer = Sniffer.builder(client.getLowLevelClient()).build();
                 logger.log(Level.INFO, "ES Sniff feature is enabled");
             }
+            bulkProcessor = createBulkProcessor();
+            bulkRetry = new BulkRetry(Integer.parseInt(props.getProperty("es_retries", "5")),
+                    Long.parseLong(props.getProperty("es_retry_delay_ms", "100")),
+                    (task, delay) -> retryTimer.schedule(task, delay, TimeUnit.MILLISECONDS),
+                    request -> bulkProcessor.add(request));
         } catch (Exception e) {
             try {
                 sniffer.close();
@@ -73,6 +120,106 @@ public class ElasticClientHelper {
         return client;
     }
 
+    private BulkProcessor createBulkProcessor() {
+        BulkProcessor.Listener listener = new BulkProcessor.Listener() {
+            @Override
+            public void beforeBulk(long executionId, BulkRequest request) {
+                logger.log(Level.FINE, () -> "Sending bulk request " + executionId + " with " + request.numberOfActions()
+                        + " alarm messages");
+            }
+
+            @Override
+            public void afterBulk(long executionId, BulkRequest request, BulkResponse response) {
+                // Transient failures are re-submitted, the remaining failures are logged and counted
+                BulkItemResponse[] items = response.getItems();
+                BulkRetry.Outcome[] outcomes = bulkRetry.handle(request, response);
+                for (int i = 0; i < items.length; ++i) {
+                    String index = items[i].getIndex();
+                    IndexStatistics stats = getIndexStatistics(index);
+                    switch (outcomes[i]) {
+                    case INDEXED:
+                        stats.indexed.increment();
+                        break;
+                    case RETRY:
+                        stats.retried.increment();
+                        logger.log(Level.FINE, () -> "Retrying message for index " + index);
+                        break;
+                    default:
+                        stats.failed.increment();
+                        logger.log(Level.WARNING, "Failed to log message to index " + index + ": "
+                                + items[i].getFailureMessage());
+                    }
+                }
+            }
+
+            @Override
+            public void afterBulk(long executionId, BulkRequest request, Throwable failure) {
+                List<DocWriteRequest<?>> failed = bulkRetry.handle(request, failure);
+                for (DocWriteRequest<?> docRequest : request.requests()) {
+                    IndexStatistics stats = getIndexStatistics(docRequest.index());
+                    if (failed.contains(docRequest)) {
+                        stats.failed.increment();
+                    } else {
+                        stats.retried.increment();
+                    }
+                }
+                if (failed.isEmpty()) {
+                    logger.log(Level.WARNING, "Retrying " + request.numberOfActions() + " messages", failure);
+                } else {
+                    logger.log(Level.SEVERE, "Failed to log " + failed.size() + " messages", failure);
+                }
+            }
+        };
+
+        return BulkProcessor.builder(
+                (request, bulkListener) -> client.bulkAsync(request, RequestOptions.DEFAULT, bulkListener), listener)
+                .setBulkActions(Integer.parseInt(props.getProperty("es_bulk_actions", "500")))
+                .setBulkSize(new ByteSizeValue(Long.parseLong(props.getProperty("es_bulk_size_kb", "5120")), ByteSizeUnit.KB))
+                .setFlushInterval(TimeValue.timeValueMillis(Long.parseLong(props.getProperty("es_flush_interval_ms", "1000"))))
+                .setConcurrentRequests(Integer.parseInt(props.getProperty("es_concurrent_requests", "2")))
+                .setBackoffPolicy(BackoffPolicy.exponentialBackoff(
+                        TimeValue.timeValueMillis(Long.parseLong(props.getProperty("es_retry_delay_ms", "100"))),
+                        Integer.parseInt(props.getProperty("es_retries", "5"))))
+                .build();
+    }
+
+    private static IndexStatistics getIndexStatistics(String indexName) {
+        return statistics.computeIfAbsent(indexName, name -> new IndexStatistics());
+    }
+
+    /**
+     * @return Number of indexed, retried and failed alarm messages for each index
+     */
+    public String getStatistics() {
+        StringBuilder buf = new StringBuilder("Indexed alarm messages:");
+        if (statistics.isEmpty()) {
+            buf.append(" none");
+        }
+        statistics.entrySet().stream().sorted(Map.Entry.comparingByKey()).forEach(entry -> {
+            buf.append("\n  ").append(entry.getKey())
+               .append(": ").append(entry.getValue().indexed.sum()).append(" indexed")
+               .append(", ").append(entry.getValue().retried.sum()).append(" retried")
+               .append(", ").append(entry.getValue().failed.sum()).append(" failed");
+        });
+        return buf.toString();
+    }
+
+    /**
+     * Hand a document to the bulk processor.
+     * Blocks while the maximum number of bulk requests is already pending.
+     *
+     * @param indexRequest request for the document to index
+     * @return true if the document was queued for indexing
+     */
+    private boolean bulkIndex(IndexRequest indexRequest) {
+        if (bulkProcessor == null) {
+            logger.log(Level.SEVERE, "failed to log message to index " + indexRequest.index() + ", no elastic client");
+            return false;
+        }
+        bulkProcessor.add(indexRequest);
+        return true;
+    }
+
     /**
      * Check if an index exists with the given name 
      * Note: this is an synchronous call
@@ -93,37 +240,26 @@ public class ElasticClientHelper {
 
     public boolean indexAlarmStateDocument(String indexName, AlarmStateMessage alarmStateMessage) {
         IndexRequest indexRequest = new IndexRequest(indexName.toLowerCase(), "alarm");
-        try {
-            indexRequest.source(alarmStateMessage.sourceMap());
-            IndexResponse indexResponse = client.index(indexRequest, RequestOptions.DEFAULT);
-            return indexResponse.getResult().equals(Result.CREATED);
-        } catch (IOException e) {
-            logger.log(Level.SEVERE, "failed to log message " + alarmStateMessage + " to index " + indexName, e);
-            return false;
-        }
+        indexRequest.source(alarmStateMessage.sourceMap());
+        return bulkIndex(indexRequest);
     }
 
     public boolean indexAlarmCmdDocument(String indexName, AlarmCommandMessage alarmCommandMessage) {
         IndexRequest indexRequest = new IndexRequest(indexName.toLowerCase(), "alarm_cmd");
-        try {
-            indexRequest.source(alarmCommandMessage.sourceMap());
-            IndexResponse indexResponse = client.index(indexRequest, RequestOptions.DEFAULT);
-            return indexResponse.getResult().equals(Result.CREATED);
-        } catch (IOException e) {
-            logger.log(Level.SEVERE, "failed to log message " + alarmCommandMessage + " to index " + indexName, e);
-            return false;
-        }
+        indexRequest.source(alarmCommandMessage.sourceMap());
+        return bulkIndex(indexRequest);
     }
 
     public boolean indexAlarmConfigDocument(String indexName, AlarmConfigMessage alarmConfigMessage) {
         IndexRequest indexRequest = new IndexRequest(indexName.toLowerCase(), "alarm_config");
-        try {
-            indexRequest.source(alarmConfigMessage.sourceMap());
-            IndexResponse indexResponse = client.index(indexRequest, RequestOptions.DEFAULT);
-            return indexResponse.getResult().equals(Result.CREATED);
-        } catch (IOException e) {
-            logger.log(Level.SEVERE, "failed to log message " + alarmConfigMessage + " to index " + indexName, e);
-            return false;
-        }
+        indexRequest.source(alarmConfigMessage.sourceMap());
+        return bulkIndex(indexRequest);
+    }
+
+    /** Counters for one index */
+    private static class IndexStatistics {
+        final LongAdder indexed = new LongAdder();
+        final LongAdder retried = new LongAdder();
+        final LongAdder failed = new LongAdder();
     }
 }
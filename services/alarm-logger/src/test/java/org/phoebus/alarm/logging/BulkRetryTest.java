@@ -0,0 +1,149 @@
+package org.phoebus.alarm.logging;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.elasticsearch.ElasticsearchStatusException;
+import org.elasticsearch.ElasticsearchTimeoutException;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.DocWriteRequest.OpType;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.index.IndexResponse;
+import org.elasticsearch.common.util.concurrent.EsRejectedExecutionException;
+import org.elasticsearch.index.shard.ShardId;
+import org.elasticsearch.rest.RestStatus;
+import org.junit.Before;
+import org.junit.Test;
+import org.phoebus.alarm.logging.BulkRetry.Outcome;
+
+public class BulkRetryTest {
+
+    private static final String INDEX = "test_alarms";
+
+    /** Delays of the scheduled retries */
+    private final List<Long> delays = new ArrayList<>();
+    /** Scheduled retries, not yet run */
+    private final List<Runnable> scheduled = new ArrayList<>();
+    /** Documents that have been re-submitted */
+    private final List<DocWriteRequest<?>> resubmitted = new ArrayList<>();
+
+    private BulkRetry retry;
+
+    @Before
+    public void setup() {
+        retry = new BulkRetry(3, 100, (task, delay) -> {
+            delays.add(delay);
+            scheduled.add(task);
+        }, resubmitted::add);
+    }
+
+    /** Run the scheduled retries */
+    private void runScheduled() {
+        List<Runnable> tasks = new ArrayList<>(scheduled);
+        scheduled.clear();
+        tasks.forEach(Runnable::run);
+    }
+
+    private static BulkRequest createRequest(int documents) {
+        BulkRequest request = new BulkRequest();
+        for (int i = 0; i < documents; ++i) {
+            request.add(new IndexRequest(INDEX, "alarm", Integer.toString(i)).source("pv", "PV" + i));
+        }
+        return request;
+    }
+
+    private static BulkItemResponse success(int item) {
+        return new BulkItemResponse(item, OpType.INDEX,
+                new IndexResponse(new ShardId(INDEX, "_na_", 0), "alarm", Integer.toString(item), 1, 1, 1, true));
+    }
+
+    private static BulkItemResponse failure(int item, Exception cause) {
+        return new BulkItemResponse(item, OpType.INDEX,
+                new BulkItemResponse.Failure(INDEX, "alarm", Integer.toString(item), cause));
+    }
+
+    @Test
+    public void mixedItemFailures() {
+        BulkRequest request = createRequest(5);
+        BulkResponse response = new BulkResponse(new BulkItemResponse[] {
+                success(0),
+                failure(1, new ElasticsearchStatusException("unavailable", RestStatus.SERVICE_UNAVAILABLE)),
+                failure(2, new ElasticsearchStatusException("mapper_parsing_exception", RestStatus.BAD_REQUEST)),
+                failure(3, new EsRejectedExecutionException("queue full")),
+                failure(4, new ElasticsearchTimeoutException("timed out"))
+        }, 10);
+
+        assertArrayEquals(new Outcome[] { Outcome.INDEXED, Outcome.RETRY, Outcome.FAILED, Outcome.RETRY, Outcome.RETRY },
+                retry.handle(request, response));
+
+        // Only the transient failures are re-submitted, once their delay has passed
+        assertEquals(List.of(100L, 100L, 100L), delays);
+        assertTrue(resubmitted.isEmpty());
+        runScheduled();
+        assertEquals(3, resubmitted.size());
+        assertSame(request.requests().get(1), resubmitted.get(0));
+        assertSame(request.requests().get(3), resubmitted.get(1));
+        assertSame(request.requests().get(4), resubmitted.get(2));
+    }
+
+    @Test
+    public void giveUpAfterRetries() {
+        BulkRequest request = createRequest(2);
+        BulkResponse response = new BulkResponse(new BulkItemResponse[] {
+                failure(0, new ElasticsearchStatusException("gateway timeout", RestStatus.GATEWAY_TIMEOUT)),
+                failure(1, new ElasticsearchStatusException("too many requests", RestStatus.TOO_MANY_REQUESTS))
+        }, 10);
+
+        // Each retry doubles the delay, until the number of retries is exhausted
+        for (int attempt = 0; attempt < 3; ++attempt) {
+            assertArrayEquals(new Outcome[] { Outcome.RETRY, Outcome.RETRY }, retry.handle(request, response));
+        }
+        assertEquals(List.of(100L, 100L, 200L, 200L, 400L, 400L), delays);
+        assertArrayEquals(new Outcome[] { Outcome.FAILED, Outcome.FAILED }, retry.handle(request, response));
+        assertEquals(6, delays.size());
+
+        // Once a document is given up, it may be retried again when added anew
+        assertArrayEquals(new Outcome[] { Outcome.RETRY, Outcome.RETRY }, retry.handle(request, response));
+        assertEquals(List.of(100L, 100L), delays.subList(6, 8));
+    }
+
+    @Test
+    public void successResetsAttempts() {
+        BulkRequest request = createRequest(1);
+        BulkResponse unavailable = new BulkResponse(new BulkItemResponse[] {
+                failure(0, new ElasticsearchStatusException("unavailable", RestStatus.SERVICE_UNAVAILABLE))
+        }, 10);
+        BulkResponse indexed = new BulkResponse(new BulkItemResponse[] { success(0) }, 10);
+
+        retry.handle(request, unavailable);
+        retry.handle(request, unavailable);
+        assertArrayEquals(new Outcome[] { Outcome.INDEXED }, retry.handle(request, indexed));
+        retry.handle(request, unavailable);
+        assertEquals(List.of(100L, 200L, 100L), delays);
+    }
+
+    @Test
+    public void failedRequest() {
+        BulkRequest request = createRequest(3);
+
+        // A timeout of the whole request retries all its documents
+        assertTrue(retry.handle(request, new SocketTimeoutException("read timed out")).isEmpty());
+        runScheduled();
+        assertEquals(request.requests(), resubmitted);
+
+        // Other errors are not retried
+        List<DocWriteRequest<?>> failed = retry.handle(request,
+                new ElasticsearchStatusException("bad request", RestStatus.BAD_REQUEST));
+        assertEquals(request.requests(), failed);
+        assertEquals(3, delays.size());
+    }
+}
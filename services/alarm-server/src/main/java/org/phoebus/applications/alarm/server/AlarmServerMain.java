@@ -66,6 +66,7 @@ public class AlarmServerMain implements ServerModelListener
                         "\tmode             - Show mode.\n" +
                         "\tmode normal      - Select normal mode.\n" +
                         "\tmode maintenance - Select maintenance mode.\n" +
+                        "\tstats            - Show configuration startup time.\n" +
                         "\trestart          - Re-load alarm configuration and restart.\n" +
                         "\tshutdown         - Shut alarm server down and exit.\n";
 
@@ -143,6 +144,14 @@ public class AlarmServerMain implements ServerModelListener
                 restart.offer(true);
             else if (args[0].equals("mode"))
                 System.out.println(AlarmLogic.getMaintenanceMode() ? "Maintenance mode" : "Normal mode");
+            else if (args[0].equals("stats"))
+            {
+                final long startup = model.getStartupTime();
+                if (startup > 0)
+                    System.out.println("Read " + model.getConfigRecordCount() + " configuration records in " + startup + " ms");
+                else
+                    System.out.println("Reading configuration, " + model.getConfigRecordCount() + " records so far");
+            }
             else if (args[0].startsWith("h"))
                 // Return false will print the commands message.
                 return false;
@@ -9,7 +9,10 @@ package org.phoebus.applications.alarm.server;
 
 import static org.phoebus.applications.alarm.AlarmSystem.logger;
 
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.logging.Level;
@@ -25,6 +28,10 @@ import org.phoebus.applications.alarm.server.actions.AutomatedActionsHelper;
 /** Alarm tree node as used by server
  *
  *  <p>Is part of ServerModel, can maximize severity.
+ *
+ *  <p>Keeps a count of child items for each severity level,
+ *  so that the change of one child's severity can be handled
+ *  without scanning all the children.
  *  @author Kay Kasemir
  */
 @SuppressWarnings("nls")
@@ -44,6 +51,12 @@ public class AlarmServerNode extends AlarmClientNode
 
     private volatile String severity_pv_name = null;
 
+    /** SYNC on this for access to child_severities and severity_counts */
+    private final Map<AlarmTreeItem<?>, SeverityLevel> child_severities = new HashMap<>();
+
+    /** Number of children for each {@link SeverityLevel} ordinal */
+    private final int[] severity_counts = new int[SeverityLevel.values().length];
+
     public AlarmServerNode(final ServerModel model, final AlarmClientNode parent, final String name)
     {
         super(parent, name);
@@ -56,43 +69,107 @@ public class AlarmServerNode extends AlarmClientNode
         return (AlarmServerNode) parent;
     }
 
-    /** Set severity of this item by maximizing over its child severities.
-     *  Recursively updates parent items.
+    /** @param child Child item
+     *  @return Severity that the child contributes to this node
      */
-    public void maximizeSeverity()
+    private static SeverityLevel getSeverity(final AlarmTreeItem<?> child)
     {
-        SeverityLevel new_severity = SeverityLevel.OK;
+        // Disabled PVs don't contribute
+        if ((child instanceof AlarmServerPV)  &&
+            ! ((AlarmServerPV) child).isEnabled())
+            return SeverityLevel.OK;
+        return child.getState().severity;
+    }
 
-        for (AlarmTreeItem<?> child : getChildren())
+    /** Set severity of this item by maximizing over all its child severities.
+     *
+     *  <p>To be called when the list of children changed.
+     *  Updates parent items as needed.
+     */
+    public void maximizeSeverity()
+    {
+        final boolean changed;
+        synchronized (this)
         {
-            // Skip disabled PVs
-            if ((child instanceof AlarmServerPV)  &&
-                ! ((AlarmServerPV) child).isEnabled())
-                continue;
-            final SeverityLevel child_severity = child.getState().severity;
-            if (child_severity.ordinal() > new_severity.ordinal())
-                new_severity = child_severity;
+            child_severities.clear();
+            Arrays.fill(severity_counts, 0);
+            for (AlarmTreeItem<?> child : getChildren())
+            {
+                final SeverityLevel child_severity = getSeverity(child);
+                child_severities.put(child, child_severity);
+                ++severity_counts[child_severity.ordinal()];
+            }
+            changed = updateState();
         }
+        if (changed)
+            percolate();
+    }
 
-        if (never_updated  ||  new_severity != getState().severity)
+    /** Update severity of this item because one child's severity changed.
+     *
+     *  <p>Updates parent items only if this item's severity changed.
+     *
+     *  @param child Child item that has new severity or was enabled/disabled
+     */
+    public void updateSeverity(final AlarmTreeItem<?> child)
+    {
+        final boolean changed;
+        synchronized (this)
         {
-            never_updated = false;
-            final BasicState new_state = new BasicState(new_severity);
-            setState(new_state);
-            model.sendStateUpdate(getPathName(), new_state);
-
-            // Update automated actions
-            AutomatedActionsHelper.update(automated_actions, new_severity);
-
-            // Write optional severity PV
-            final String pv = severity_pv_name;
-            if (pv != null)
-                SeverityPVHandler.update(pv, new_severity);
+            // Ignore child that has been removed from the tree
+            if (child.getParent() != this)
+                return;
+            final SeverityLevel new_severity = getSeverity(child);
+            final SeverityLevel old_severity = child_severities.put(child, new_severity);
+            if (old_severity == new_severity  &&  ! never_updated)
+                return;
+            if (old_severity != null)
+                --severity_counts[old_severity.ordinal()];
+            ++severity_counts[new_severity.ordinal()];
+            changed = updateState();
         }
+        if (changed)
+            percolate();
+    }
+
+    /** Set state to the maximum child severity, caller must hold lock on this
+     *  @return <code>true</code> if state was updated, i.e. parent needs to know
+     */
+    private boolean updateState()
+    {
+        SeverityLevel new_severity = SeverityLevel.OK;
+        final SeverityLevel[] levels = SeverityLevel.values();
+        for (int i=levels.length-1; i>0; --i)
+            if (severity_counts[i] > 0)
+            {
+                new_severity = levels[i];
+                break;
+            }
 
-        // Percolate changes towards root
-        if (parent instanceof AlarmServerNode)
-            ((AlarmServerNode) parent).maximizeSeverity();
+        if (! never_updated  &&  new_severity == getState().severity)
+            return false;
+
+        never_updated = false;
+        final BasicState new_state = new BasicState(new_severity);
+        setState(new_state);
+        model.sendStateUpdate(getPathName(), new_state);
+
+        // Update automated actions
+        AutomatedActionsHelper.update(automated_actions, new_severity);
+
+        // Write optional severity PV
+        final String pv = severity_pv_name;
+        if (pv != null)
+            SeverityPVHandler.update(pv, new_severity);
+        return true;
+    }
+
+    /** Percolate change of this item's severity towards root */
+    private void percolate()
+    {
+        final AlarmTreeItem<BasicState> p = parent;
+        if (p instanceof AlarmServerNode)
+            ((AlarmServerNode) p).updateSeverity(this);
     }
 
     @Override
@@ -113,7 +113,7 @@ public class AlarmServerPV extends AlarmTreeItem<AlarmState> implements AlarmTre
                 // Whenever logic computes new state, maximize up parent tree
                 final AlarmServerNode parent = getParent();
                 if (parent != null)
-                    parent.maximizeSeverity();
+                    parent.updateSeverity(AlarmServerPV.this);
                 else
                     logger.log(Level.FINE, getPathName() + " ignores delayed change to " + current + ", " + alarm + " since no longer in alarm tree");
             }
@@ -388,7 +388,7 @@ public class AlarmServerPV extends AlarmTreeItem<AlarmState> implements AlarmTre
     }
 
     /** @param value Value received from PV */
-    private void handleValueUpdate(final VType value)
+    void handleValueUpdate(final VType value)
     {
         if (PV.isDisconnected(value))
         {
@@ -10,11 +10,14 @@ package org.phoebus.applications.alarm.server;
 import static org.phoebus.applications.alarm.AlarmSystem.logger;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
+import java.util.stream.IntStream;
 
 import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
@@ -29,6 +32,7 @@ import org.phoebus.applications.alarm.model.AlarmTreeItem;
 import org.phoebus.applications.alarm.model.AlarmTreePath;
 import org.phoebus.applications.alarm.model.BasicState;
 import org.phoebus.applications.alarm.model.SeverityLevel;
+import org.phoebus.applications.alarm.model.binary.BinaryStateCodec;
 import org.phoebus.applications.alarm.model.json.JsonModelReader;
 import org.phoebus.applications.alarm.model.json.JsonModelWriter;
 
@@ -58,6 +62,26 @@ class ServerModel
 
     private final ConcurrentHashMap<String, ClientState> initial_states;
 
+    /** Alarm tree items by path name.
+     *  Updated by the model thread, may be read by others
+     */
+    private final ConcurrentHashMap<String, AlarmTreeItem<?>> nodes = new ConcurrentHashMap<>();
+
+    /** Set when a state update is sent.
+     *  Allows the model thread to flush the producer once
+     *  after handling a batch of records that caused state updates.
+     */
+    private final AtomicBoolean sent_states = new AtomicBoolean();
+
+    /** Start time of the model */
+    private volatile long start_ms = 0;
+
+    /** Time in ms it took to read the initial configuration, 0 while still reading */
+    private volatile long startup_ms = 0;
+
+    /** Number of configuration records handled */
+    private volatile long config_records = 0;
+
     private final String config_state_topic, command_topic, talk_topic;
     private final ServerModelListener listener;
     private final AlarmServerNode root;
@@ -76,6 +100,25 @@ class ServerModel
     public ServerModel(final String kafka_servers, final String config_name,
                        final ConcurrentHashMap<String, ClientState> initial_states,
                        final ServerModelListener listener) throws Exception
+    {
+        this(config_name, initial_states, listener,
+             KafkaHelper.connectConsumer(Objects.requireNonNull(kafka_servers),
+                                         List.of(config_name, config_name + AlarmSystem.COMMAND_TOPIC_SUFFIX),
+                                         List.of(config_name)),
+             KafkaHelper.connectProducer(kafka_servers));
+    }
+
+    /** @param config_name Name of alarm tree root
+     *  @param initial_states
+     *  @param listener
+     *  @param consumer Consumer for the config and command topics
+     *  @param producer Producer for state and talk messages
+     */
+    ServerModel(final String config_name,
+                final ConcurrentHashMap<String, ClientState> initial_states,
+                final ServerModelListener listener,
+                final Consumer<String, String> consumer,
+                final Producer<String, String> producer)
     {
         this.initial_states = initial_states;
         // initial_states.entrySet().forEach(state ->
@@ -87,11 +130,10 @@ class ServerModel
         this.listener = Objects.requireNonNull(listener);
 
         root = new AlarmServerNode(this, null, config_name);
+        nodes.put(root.getPathName(), root);
 
-        consumer = KafkaHelper.connectConsumer(Objects.requireNonNull(kafka_servers),
-                                               List.of(config_state_topic, command_topic),
-                                               List.of(config_state_topic));
-        producer = KafkaHelper.connectProducer(kafka_servers);
+        this.consumer = consumer;
+        this.producer = producer;
 
         thread = new Thread(this::run, "ServerModel");
         thread.setDaemon(true);
@@ -103,6 +145,7 @@ class ServerModel
      */
     public void start()
     {
+        start_ms = System.currentTimeMillis();
         thread.start();
         SeverityPVHandler.initialize();
 
@@ -140,79 +183,152 @@ class ServerModel
         }
     }
 
+    /** @return Time in ms it took to read the initial configuration, 0 while still reading */
+    public long getStartupTime()
+    {
+        return startup_ms;
+    }
+
+    /** @return Number of configuration records handled */
+    public long getConfigRecordCount()
+    {
+        return config_records;
+    }
+
+    /** @param record Received record
+     *  @return Parsed JSON for configuration record, <code>null</code> for other records,
+     *          or {@link Exception} if configuration cannot be parsed
+     */
+    private static Object parseConfig(final ConsumerRecord<String, String> record)
+    {
+        if (record.value() == null  ||  record.key() == null  ||  ! record.key().startsWith(AlarmSystem.CONFIG_PREFIX))
+            return null;
+        try
+        {
+            return JsonModelReader.parseJsonText(record.value());
+        }
+        catch (Exception ex)
+        {
+            return ex;
+        }
+    }
+
     /** Perform one check for updates */
     private void checkUpdates()
     {
         final ConsumerRecords<String, String> records = consumer.poll(Duration.ofMillis(100));
-        for (ConsumerRecord<String, String> record : records)
+        if (records.isEmpty())
         {
-            final int sep = record.key().indexOf(':');
-            if (sep < 0)
+            // Once the initial configuration has been read, polls return nothing
+            if (startup_ms == 0  &&  config_records > 0)
             {
-                logger.log(Level.WARNING, "Invalid key, expecting type:path, got " + record.key());
-                continue;
+                startup_ms = System.currentTimeMillis() - start_ms;
+                logger.log(Level.INFO, "Read " + config_records + " configuration records in " + startup_ms + " ms");
             }
+            return;
+        }
 
-            final String type = record.key().substring(0, sep+1);
-            final String path = record.key().substring(sep+1);
-            if (type.equals(AlarmSystem.COMMAND_PREFIX)  ||  record.topic().equals(command_topic))
-            {
-                final String json = record.value();
-                listener.handleCommand(path, json);
-            }
-            else if (type.equals(AlarmSystem.CONFIG_PREFIX))
+        // When replaying the configuration, polls return many records.
+        // Parse their JSON in parallel, then update the model in the original order
+        final List<ConsumerRecord<String, String>> list = new ArrayList<>(records.count());
+        records.forEach(list::add);
+        final Object[] parsed = new Object[list.size()];
+        if (list.size() > 1)
+            IntStream.range(0, list.size()).parallel().forEach(i -> parsed[i] = parseConfig(list.get(i)));
+        else
+            parsed[0] = parseConfig(list.get(0));
+
+        // State updates caused by handling the records are sent right away,
+        // in the same order as those from other threads, but only flushed once.
+        // Holding them back until the end of the batch could publish them after
+        // a newer state that another thread sent meanwhile.
+        sent_states.set(false);
+        try
+        {
+            for (int i=0; i<list.size(); ++i)
+                handleRecord(list.get(i), parsed[i]);
+        }
+        finally
+        {
+            if (sent_states.getAndSet(false))
+                producer.flush();
+        }
+    }
+
+    /** @param record Received record
+     *  @param parsed Result of {@link #parseConfig(ConsumerRecord)}
+     */
+    private void handleRecord(final ConsumerRecord<String, String> record, final Object parsed)
+    {
+        final int sep = record.key().indexOf(':');
+        if (sep < 0)
+        {
+            logger.log(Level.WARNING, "Invalid key, expecting type:path, got " + record.key());
+            return;
+        }
+
+        final String type = record.key().substring(0, sep+1);
+        final String path = record.key().substring(sep+1);
+        if (type.equals(AlarmSystem.COMMAND_PREFIX)  ||  record.topic().equals(command_topic))
+        {
+            final String json = record.value();
+            listener.handleCommand(path, json);
+        }
+        else if (type.equals(AlarmSystem.CONFIG_PREFIX))
+        {
+            final String node_config = record.value();
+            try
             {
-                final String node_config = record.value();
-                try
+                // System.out.printf("\n%s - %s:\n", path, node_config);
+                ++config_records;
+                if (node_config == null)
+                {   // No config -> Delete node
+                    final AlarmTreeItem<?> node = deleteNode(path);
+                    if (node != null)
+                        stopPVs(node);
+                }
+                else
                 {
-                    // System.out.printf("\n%s - %s:\n", path, node_config);
-                    if (node_config == null)
-                    {   // No config -> Delete node
-                        final AlarmTreeItem<?> node = deleteNode(path);
-                        if (node != null)
-                            stopPVs(node);
-                    }
-                    else
+                    // node_config as JSON map to check for "pv" key
+                    if (parsed instanceof Exception)
+                        throw (Exception) parsed;
+                    final Object json = parsed;
+                    AlarmTreeItem<?> node = findNode(path);
+
+                    // New node? Create it.
+                    final boolean new_node = node == null;
+                    if (new_node)
+                        node = findOrCreateNode(path, JsonModelReader.isLeafConfigOrState(json));
+
+                    // If an existing (i.e. started) PV is about to be updated, stop it.
+                    if (node instanceof AlarmServerPV   &&  !new_node)
+                        ((AlarmServerPV)node).stop();
+
+                    // Return value of update..() tells us if it really changed.
+                    // It might not have been necessary to stop the PV, but hard to tell in advance...
+                    JsonModelReader.updateAlarmItemConfig(node, json);
+
+                    // A new PV, or an existing one that was stopped: Start it
+                    if (node instanceof AlarmServerPV)
                     {
-                        // Get node_config as JSON map to check for "pv" key
-                        final Object json = JsonModelReader.parseJsonText(node_config);
-                        AlarmTreeItem<?> node = findNode(path);
-
-                        // New node? Create it.
-                        final boolean new_node = node == null;
-                        if (new_node)
-                            node = findOrCreateNode(path, JsonModelReader.isLeafConfigOrState(json));
-
-                        // If an existing (i.e. started) PV is about to be updated, stop it.
-                        if (node instanceof AlarmServerPV   &&  !new_node)
-                            ((AlarmServerPV)node).stop();
-
-                        // Return value of update..() tells us if it really changed.
-                        // It might not have been necessary to stop the PV, but hard to tell in advance...
-                        JsonModelReader.updateAlarmItemConfig(node, json);
-
-                        // A new PV, or an existing one that was stopped: Start it
-                        if (node instanceof AlarmServerPV)
-                        {
-                            final AlarmServerPV pv = (AlarmServerPV) node;
-                            // Update parents in case node was disabled
-                            // (i.e. 'start()' won't do anything),
-                            // and to reflect last known state ASAP
-                            // before the PV connects
-                            pv.getParent().maximizeSeverity();
-                            pv.start();
-                        }
+                        final AlarmServerPV pv = (AlarmServerPV) node;
+                        // Update parents in case node was disabled
+                        // (i.e. 'start()' won't do anything),
+                        // and to reflect last known state ASAP
+                        // before the PV connects
+                        pv.getParent().updateSeverity(pv);
+                        pv.start();
                     }
                 }
-                catch (Exception ex)
-                {
-                    logger.log(Level.WARNING,
-                               "Alarm config update error for path " + path +
-                               ", config " + node_config, ex);
-                }
             }
-            // else: Ignore state updates (which we sent ourselves)
+            catch (Exception ex)
+            {
+                logger.log(Level.WARNING,
+                           "Alarm config update error for path " + path +
+                           ", config " + node_config, ex);
+            }
         }
+        // else: Ignore state updates (which we sent ourselves)
     }
 
     /** Find existing node
@@ -230,16 +346,8 @@ class ServerModel
             !root.getName().equals(path_elements[0]))
             throw new Exception("Invalid path for alarm configuration " + root.getName() + ": " + path);
 
-        // Walk down the path
-        AlarmTreeItem<?> node = root;
-        for (int i=1; i<path_elements.length; ++i)
-        {
-            final String name = path_elements[i];
-            node = node.getChild(name);
-            if (node == null)
-                return null;
-        }
-        return node;
+        // All nodes are in the index, using the normalized path
+        return nodes.get(AlarmTreePath.makePath(path_elements, path_elements.length));
     }
 
 
@@ -290,9 +398,20 @@ class ServerModel
             !root.getName().equals(path_elements[0]))
             throw new Exception("Invalid path for alarm configuration " + root.getName() + ": " + path);
 
-        // Walk down the path
+        // Start at the closest existing parent, then walk down the rest of the path
         AlarmClientNode parent = root;
-        for (int i=1; i<path_elements.length; ++i)
+        int start = 1;
+        for (int i=path_elements.length-1; i>1; --i)
+        {
+            final AlarmTreeItem<?> node = nodes.get(AlarmTreePath.makePath(path_elements, i));
+            if (node != null)
+            {
+                parent = (AlarmClientNode) node;
+                start = i;
+                break;
+            }
+        }
+        for (int i=start; i<path_elements.length; ++i)
         {
             final String name = path_elements[i];
             final boolean last = i == path_elements.length-1;
@@ -302,9 +421,10 @@ class ServerModel
             {   // Done when creating leaf
                 // Use the known initial state, but only once (remove from map)
                 if (last &&  is_leaf)
-                    return new AlarmServerPV(this, parent, name, initial_states.remove(path));
+                    node = new AlarmServerPV(this, parent, name, initial_states.remove(path));
                 else
                     node = new AlarmServerNode(this, parent, name);
+                nodes.put(node.getPathName(), node);
             }
             // Reached desired node?
             if (last)
@@ -343,6 +463,7 @@ class ServerModel
         // Detach it
         final AlarmTreeItem<BasicState> parent = node.getParent();
         node.detachFromParent();
+        removeFromIndex(node);
 
         // Removing a node that was in alarm can update the severity of the parent
         if (parent instanceof AlarmServerNode)
@@ -350,6 +471,14 @@ class ServerModel
         return node;
     }
 
+    /** @param node Node to remove from index, including all child nodes */
+    private void removeFromIndex(final AlarmTreeItem<?> node)
+    {
+        nodes.remove(node.getPathName());
+        for (AlarmTreeItem<?> child : node.getChildren())
+            removeFromIndex(child);
+    }
+
     /** Stop PVs in a subtree of the alarm hierarchy
      *  @param node Node where to start
      */
@@ -371,9 +500,16 @@ class ServerModel
     {
         try
         {
-            final String json = new_state == null ? null : new String(JsonModelWriter.toJsonBytes(new_state, AlarmLogic.getMaintenanceMode(), AlarmLogic.getDisableNotify()));
+            final String json;
+            if (new_state == null)
+                json = null;
+            else if (AlarmSystem.binary_state_updates)
+                json = BinaryStateCodec.toText(new_state, AlarmLogic.getMaintenanceMode(), AlarmLogic.getDisableNotify());
+            else
+                json = new String(JsonModelWriter.toJsonBytes(new_state, AlarmLogic.getMaintenanceMode(), AlarmLogic.getDisableNotify()));
             final ProducerRecord<String, String> record = new ProducerRecord<>(config_state_topic, AlarmSystem.STATE_PREFIX + path, json);
             producer.send(record);
+            sent_states.set(true);
             last_state_update = System.currentTimeMillis();
         }
         catch (Throwable ex)
@@ -480,6 +616,8 @@ class ServerModel
 
         // Delete config
         root.getChildren().clear();
+        nodes.clear();
+        nodes.put(root.getPathName(), root);
         root.maximizeSeverity();
         logger.info("Cleared configuration for " + root.getName());
     }
@@ -0,0 +1,55 @@
+package org.phoebus.applications.alarm.server;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.epics.vtype.Alarm;
+
+/** Replay an alarm storm against the {@link ServerModel}
+ *
+ *  <p>Compares the incremental severity update
+ *  with a full scan of the parent's children for each PV update.
+ */
+@SuppressWarnings("nls")
+public class AlarmStormDemo
+{
+    private static final int AREAS = 50, PVS_PER_AREA = 2000;
+
+    public static void main(String[] args) throws Exception
+    {
+        final ServerModel model = SeverityAggregationTest.createModel("Storm");
+        final List<AlarmServerPV> pvs = new ArrayList<>();
+        for (int a=0; a<AREAS; ++a)
+        {
+            final AlarmServerNode area = new AlarmServerNode(model, model.getRoot(), "Area" + a);
+            final AlarmServerNode system = new AlarmServerNode(model, area, "System");
+            for (int i=0; i<PVS_PER_AREA; ++i)
+            {
+                final AlarmServerPV pv = new AlarmServerPV(model, system, "PV" + a + "_" + i, null);
+                pv.setLatching(false);
+                pvs.add(pv);
+            }
+        }
+        System.out.println("Alarm tree with " + pvs.size() + " PVs");
+
+        for (int run=0; run<5; ++run)
+        {
+            // Every PV goes into alarm, then returns to OK
+            long start = System.nanoTime();
+            for (AlarmServerPV pv : pvs)
+                SeverityAggregationTest.receive(pv, Alarm.hihi());
+            for (AlarmServerPV pv : pvs)
+                SeverityAggregationTest.receive(pv, Alarm.none());
+            long ms = (System.nanoTime() - start) / 1000000;
+            System.out.println("Incremental update: " + ms + " ms for " + 2*pvs.size() + " PV updates");
+
+            // Same number of updates, but each one scans all children of its parent
+            start = System.nanoTime();
+            for (int i=0; i<2; ++i)
+                for (AlarmServerPV pv : pvs)
+                    pv.getParent().maximizeSeverity();
+            ms = (System.nanoTime() - start) / 1000000;
+            System.out.println("Full scan:          " + ms + " ms for " + 2*pvs.size() + " PV updates");
+        }
+    }
+}
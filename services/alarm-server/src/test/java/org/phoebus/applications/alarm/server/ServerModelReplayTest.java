@@ -0,0 +1,130 @@
+package org.phoebus.applications.alarm.server;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.Test;
+import org.phoebus.applications.alarm.AlarmSystem;
+import org.phoebus.applications.alarm.model.BasicState;
+import org.phoebus.applications.alarm.model.SeverityLevel;
+
+/** JUnit test of the {@link ServerModel} reading a configuration
+ */
+@SuppressWarnings("nls")
+public class ServerModelReplayTest
+{
+    private static final int AREAS = 10, PVS_PER_AREA = 1000;
+
+    @Test
+    public void testReplay() throws Exception
+    {
+        final TopicPartition partition = new TopicPartition("Replay", 0);
+        final MockConsumer<String, String> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        consumer.assign(List.of(partition));
+        consumer.updateBeginningOffsets(Map.of(partition, 0L));
+
+        // Disabled PVs, so they won't connect
+        long offset = 0;
+        for (int a=0; a<AREAS; ++a)
+            for (int i=0; i<PVS_PER_AREA; ++i)
+                consumer.addRecord(new ConsumerRecord<>(partition.topic(), 0, offset++,
+                                                        AlarmSystem.CONFIG_PREFIX + "/Replay/Area" + a + "/PV" + a + "_" + i,
+                                                        "{\"description\":\"Test PV\",\"enabled\":false}"));
+        // Update one PV with a path that's not normalized
+        consumer.addRecord(new ConsumerRecord<>(partition.topic(), 0, offset++,
+                                                AlarmSystem.CONFIG_PREFIX + "/Replay//Area1/PV1_0/",
+                                                "{\"description\":\"Updated PV\",\"enabled\":false}"));
+        // Delete one PV
+        consumer.addRecord(new ConsumerRecord<>(partition.topic(), 0, offset++,
+                                                AlarmSystem.CONFIG_PREFIX + "/Replay/Area0/PV0_0", null));
+
+        final ServerModel model = new ServerModel("Replay", new ConcurrentHashMap<>(), (path, json) -> {}, consumer,
+                                                  new MockProducer<>(true, new StringSerializer(), new StringSerializer()));
+        model.start();
+        while (model.getStartupTime() <= 0)
+            Thread.sleep(100);
+        System.out.println("Read " + model.getConfigRecordCount() + " records in " + model.getStartupTime() + " ms");
+
+        assertThat(model.getConfigRecordCount(), equalTo(offset));
+        assertThat(model.findNode("/Replay/Area0/PV0_0"), nullValue());
+        assertThat(model.findNode("/Replay/Area0/PV0_1"), instanceOf(AlarmServerPV.class));
+        assertThat(model.findNode("/Replay/Area9"), instanceOf(AlarmServerNode.class));
+        assertThat(model.findNode("/Replay/Area9").getChildren().size(), equalTo(PVS_PER_AREA));
+        assertThat(model.getRoot().getChildren().size(), equalTo(AREAS));
+
+        // Path that's not normalized finds the same node, no duplicate created
+        assertThat(model.findNode("/Replay/Area1/PV1_0/"), sameInstance(model.findNode("/Replay/Area1/PV1_0")));
+        assertThat(model.findNode("/Replay/Area1").getChildren().size(), equalTo(PVS_PER_AREA));
+        assertThat(((AlarmServerPV) model.findNode("/Replay/Area1/PV1_0")).getDescription(), equalTo("Updated PV"));
+
+        model.shutdown();
+        assertThat(model.findNode("/Replay/Area9"), nullValue());
+    }
+
+    /** State that the model thread sends while handling records
+     *  must not be published after a newer state sent by another thread
+     */
+    @Test
+    public void testOverlappingStateUpdates() throws Exception
+    {
+        final TopicPartition partition = new TopicPartition("Overlap", 0);
+        final MockConsumer<String, String> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        consumer.assign(List.of(partition));
+        consumer.updateBeginningOffsets(Map.of(partition, 0L));
+        consumer.addRecord(new ConsumerRecord<>(partition.topic(), 0, 0,
+                                                AlarmSystem.CONFIG_PREFIX + "/Overlap/PV",
+                                                "{\"description\":\"Test PV\",\"enabled\":false}"));
+        consumer.addRecord(new ConsumerRecord<>(partition.topic(), 0, 1,
+                                                AlarmSystem.COMMAND_PREFIX + "/Overlap", "{}"));
+
+        final MockProducer<String, String> producer = new MockProducer<>(true, new StringSerializer(), new StringSerializer());
+        final AtomicReference<ServerModel> model = new AtomicReference<>();
+        // Command is handled on the model thread, within the batch of both records
+        final ServerModelListener listener = (path, json) ->
+        {
+            model.get().sendStateUpdate("/Overlap/PV", new BasicState(SeverityLevel.MINOR));
+            // Meanwhile, for example a PV thread sends a newer state
+            final Thread other = new Thread(() -> model.get().sendStateUpdate("/Overlap/PV", new BasicState(SeverityLevel.MAJOR)));
+            other.start();
+            try
+            {
+                other.join();
+            }
+            catch (InterruptedException ex)
+            {
+                throw new RuntimeException(ex);
+            }
+        };
+        model.set(new ServerModel("Overlap", new ConcurrentHashMap<>(), listener, consumer, producer));
+        model.get().start();
+        // Startup time is set on the first empty poll, after the batch has been handled
+        while (model.get().getStartupTime() <= 0)
+            Thread.sleep(100);
+        model.get().shutdown();
+
+        final List<String> states = producer.history()
+                                            .stream()
+                                            .filter(record -> record.key().equals(AlarmSystem.STATE_PREFIX + "/Overlap/PV"))
+                                            .map(ProducerRecord::value)
+                                            .collect(Collectors.toList());
+        System.out.println(states);
+        // Last published state, which remains in the compacted topic, must be the newest one
+        assertThat(states.get(states.size()-1).contains("MAJOR"), equalTo(true));
+    }
+}
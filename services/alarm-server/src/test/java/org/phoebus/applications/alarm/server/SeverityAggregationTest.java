@@ -0,0 +1,86 @@
+package org.phoebus.applications.alarm.server;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.epics.vtype.Alarm;
+import org.epics.vtype.Display;
+import org.epics.vtype.Time;
+import org.epics.vtype.VDouble;
+import org.junit.Test;
+import org.phoebus.applications.alarm.model.SeverityLevel;
+
+/** JUnit test of the severity aggregation in the {@link AlarmServerNode}
+ */
+@SuppressWarnings("nls")
+public class SeverityAggregationTest
+{
+    /** @param name Name of alarm tree root
+     *  @return {@link ServerModel} that uses mock kafka clients
+     */
+    static ServerModel createModel(final String name)
+    {
+        return new ServerModel(name, new ConcurrentHashMap<>(), (path, json) -> {},
+                               new MockConsumer<>(OffsetResetStrategy.EARLIEST),
+                               new MockProducer<>(true, new StringSerializer(), new StringSerializer()));
+    }
+
+    /** @param pv PV to update
+     *  @param alarm Alarm of the received value
+     */
+    static void receive(final AlarmServerPV pv, final Alarm alarm)
+    {
+        pv.handleValueUpdate(VDouble.of(1.0, alarm, Time.now(), Display.none()));
+    }
+
+    @Test
+    public void testAggregation() throws Exception
+    {
+        final ServerModel model = createModel("Test");
+        final AlarmServerNode root = model.getRoot();
+        final AlarmServerNode area = new AlarmServerNode(model, root, "Area");
+        final AlarmServerPV pv1 = new AlarmServerPV(model, area, "PV1", null);
+        final AlarmServerPV pv2 = new AlarmServerPV(model, area, "PV2", null);
+        pv1.setLatching(false);
+        pv2.setLatching(false);
+
+        receive(pv1, Alarm.high());
+        assertThat(area.getState().severity, equalTo(SeverityLevel.MINOR));
+        assertThat(root.getState().severity, equalTo(SeverityLevel.MINOR));
+
+        receive(pv2, Alarm.hihi());
+        assertThat(area.getState().severity, equalTo(SeverityLevel.MAJOR));
+        assertThat(root.getState().severity, equalTo(SeverityLevel.MAJOR));
+
+        // Clearing one PV leaves the other one's severity
+        receive(pv2, Alarm.none());
+        assertThat(area.getState().severity, equalTo(SeverityLevel.MINOR));
+        assertThat(root.getState().severity, equalTo(SeverityLevel.MINOR));
+
+        // Disabled PV no longer contributes
+        pv1.setEnabled(false);
+        area.updateSeverity(pv1);
+        assertThat(area.getState().severity, equalTo(SeverityLevel.OK));
+        assertThat(root.getState().severity, equalTo(SeverityLevel.OK));
+
+        pv1.setEnabled(true);
+        area.updateSeverity(pv1);
+        assertThat(root.getState().severity, equalTo(SeverityLevel.MINOR));
+
+        // Removed PV no longer contributes
+        pv1.detachFromParent();
+        area.maximizeSeverity();
+        assertThat(area.getState().severity, equalTo(SeverityLevel.OK));
+        assertThat(root.getState().severity, equalTo(SeverityLevel.OK));
+
+        // .. and late updates from the removed PV are ignored
+        area.updateSeverity(pv1);
+        assertThat(root.getState().severity, equalTo(SeverityLevel.OK));
+    }
+}
@@ -21,6 +21,7 @@ public class Preferences
     public static final String schema;
     public static final int timeout_secs;
     public static final boolean use_array_blob;
+    public static final String array_blob_encoding;
     public static final String write_sample_table;
     public static final int max_text_sample_length;
     public static final boolean use_postgres_copy;
@@ -29,6 +30,7 @@ public class Preferences
     public static final int write_period;
     public static final int max_repeats;
     public static final int batch_size;
+    public static final int write_threads;
     public static final double buffer_reserve;
     public static final int ignored_future;
 
@@ -42,6 +44,7 @@ public class Preferences
         schema = prefs.get("schema");
         timeout_secs = prefs.getInt("timeout_secs");
         use_array_blob = prefs.getBoolean("use_array_blob");
+        array_blob_encoding = prefs.get("array_blob_encoding");
         write_sample_table = prefs.get("write_sample_table");
         max_text_sample_length = prefs.getInt("max_text_sample_length");
         use_postgres_copy = prefs.getBoolean("use_postgres_copy");
@@ -50,6 +53,7 @@ public class Preferences
         write_period = prefs.getInt("write_period");
         max_repeats = prefs.getInt("max_repeats");
         batch_size = prefs.getInt("batch_size");
+        write_threads = Math.max(1, prefs.getInt("write_threads"));
         buffer_reserve = prefs.getDouble("buffer_reserve");
         ignored_future = prefs.getInt("ignored_future");
     }
@@ -366,7 +366,7 @@ abstract public class ArchiveChannel
 
         // Did we recover from write errors?
         if (need_write_error_sample &&
-            SampleBuffer.isInErrorState() == false)
+            buffer.isInErrorState() == false)
         {
             need_write_error_sample = false;
             logger.log(Level.FINE, "Wrote error sample for {0}", getName());
@@ -461,7 +461,7 @@ abstract public class ArchiveChannel
         // else ...
         last_archived_value = value;
         buffer.add(value);
-        if (SampleBuffer.isInErrorState())
+        if (buffer.isInErrorState())
             need_write_error_sample = true;
         return true;
     }
@@ -40,8 +40,10 @@ public class EngineModel
     /** Name of this model */
     private String name = "Archive Engine";  //$NON-NLS-1$
 
-    /** Thread that writes to the <code>archive</code> */
-    final private WriteThread writer;
+    /** Threads that write to the <code>archive</code>,
+     *  each handling a subset of the channels
+     */
+    final private WriteThread[] writers;
 
     /** All the channels.
      *  <p>
@@ -91,7 +93,12 @@ public class EngineModel
     /** Construct model that writes to archive */
     public EngineModel()
     {
-        writer = new WriteThread();
+        writers = new WriteThread[Preferences.write_threads];
+        if (writers.length == 1)
+            writers[0] = new WriteThread("WriteThread");
+        else
+            for (int i=0; i<writers.length; ++i)
+                writers[i] = new WriteThread("WriteThread " + (i+1));
     }
 
     /** @return Name (description) */
@@ -263,7 +270,7 @@ public class EngineModel
             channels.add(channel);
             channel_by_name.put(channel.getName(), channel);
         }
-        writer.addChannel(channel);
+        getWriter(channel.getName()).addChannel(channel);
 
         // Connect new or old channel to group
         channel.addGroup(group);
@@ -277,7 +284,8 @@ public class EngineModel
     {
         start_time = Instant.now();
         state = State.RUNNING;
-        writer.start(Preferences.write_period, Preferences.batch_size);
+        for (WriteThread writer : writers)
+            writer.start(Preferences.write_period, Preferences.batch_size);
         for (ArchiveGroup group : groups)
         {
             group.start();
@@ -290,22 +298,58 @@ public class EngineModel
         scan_thread.start();
     }
 
+    /** @param channel_name Channel name
+     *  @return Write thread that handles the channel
+     */
+    private WriteThread getWriter(final String channel_name)
+    {
+        return writers[Math.floorMod(channel_name.hashCode(), writers.length)];
+    }
+
+    /** @return Write threads */
+    public List<WriteThread> getWriters()
+    {
+        return List.of(writers);
+    }
+
     /** @return Timestamp of end of last write run */
     public Instant getLastWriteTime()
     {
-        return writer.getLastWriteTime();
+        Instant last = null;
+        for (WriteThread writer : writers)
+        {
+            final Instant time = writer.getLastWriteTime();
+            if (time != null  &&  (last == null  ||  time.isAfter(last)))
+                last = time;
+        }
+        return last;
     }
 
-    /** @return Average number of values per write run */
+    /** @return Average number of values per write run, summed over all write threads */
     public double getWriteCount()
     {
-        return writer.getWriteCount();
+        double count = 0;
+        for (WriteThread writer : writers)
+            count += writer.getWriteCount();
+        return count;
     }
 
-    /** @return  Average duration of write run in seconds */
+    /** @return  Average duration of write run in seconds, longest of all write threads */
     public double getWriteDuration()
     {
-        return writer.getWriteDuration();
+        double duration = 0;
+        for (WriteThread writer : writers)
+            duration = Math.max(duration, writer.getWriteDuration());
+        return duration;
+    }
+
+    /** @return <code>true</code> if any write thread has write errors */
+    public boolean isInErrorState()
+    {
+        for (WriteThread writer : writers)
+            if (writer.isInErrorState())
+                return true;
+        return false;
     }
 
     /** @see Scanner#getIdlePercentage() */
@@ -344,7 +388,8 @@ public class EngineModel
     /** Reset engine statistics */
     public void reset()
     {
-        writer.reset();
+        for (WriteThread writer : writers)
+            writer.reset();
         scanner.reset();
         synchronized (this)
         {
@@ -368,7 +413,8 @@ public class EngineModel
             group.stop();
         // Flush all values out
         logger.info("Stopping writer");
-        writer.shutdown();
+        for (WriteThread writer : writers)
+            writer.shutdown();
         // Update state
         state = State.IDLE;
         start_time = null;
@@ -48,9 +48,9 @@ public class SampleBuffer
     final private static ThrottledLogger overrun_msg = new ThrottledLogger(Level.WARNING, Preferences.log_overrun);
 
     /** Is the buffer in an error state because of RDB write errors?
-     *  Note that this is global for all buffers, not per instance!
+     *  Shared by all buffers of the same {@link WriteThread}.
      */
-    private static volatile boolean error = false;
+    private volatile boolean error = false;
 
     /** Create sample buffer of given capacity
      * @deprecated Use {@link #SampleBuffer(String,String,int)} instead*/
@@ -100,15 +100,15 @@ public class SampleBuffer
     }
 
     /** @return <code>true</code> if currently experiencing write errors */
-    public static boolean isInErrorState()
+    public boolean isInErrorState()
     {
         return error;
     }
 
     /** Set the error state. */
-    static void setErrorState(final boolean error)
+    void setErrorState(final boolean error)
     {
-        SampleBuffer.error = error;
+        this.error = error;
     }
 
     /** Add a sample to the queue, maybe dropping older samples */
@@ -28,6 +28,12 @@ import org.epics.vtype.VType;
  *  be lost.
  *  The channels that add samples to the sample buffer supposedly notice
  *  the error condition and add a special indicator once we recover.
+ *  <p>
+ *  The engine may use several write threads, each with its own
+ *  <code>ArchiveWriter</code> and thus database connection,
+ *  handling a subset of the channels.
+ *  An error only affects the channels of the write thread that
+ *  encountered it.
  *
  *  @author Kay Kasemir
  */
@@ -36,6 +42,9 @@ public class WriteThread implements Runnable
     /** Minimum write period [seconds] */
     private static final double MIN_WRITE_PERIOD = 5.0;
 
+    /** Name of this thread */
+    private final String name;
+
     /** Server to which this thread writes. */
     private ArchiveWriter writer;
 
@@ -66,9 +75,24 @@ public class WriteThread implements Runnable
     /** Average duration of write run */
     private Average write_time = new Average();
 
+    /** Did the last write run fail? */
+    private volatile boolean error_state = false;
+
     /** Thread the executes this.run() */
     private Thread thread;
 
+    /** @param name Name of the thread */
+    public WriteThread(final String name)
+    {
+        this.name = name;
+    }
+
+    /** @return Name of the thread */
+    public String getName()
+    {
+        return name;
+    }
+
     /** Add a channel's buffer that this thread reads */
     public void addChannel(final ArchiveChannel channel)
     {
@@ -76,9 +100,11 @@ public class WriteThread implements Runnable
     }
 
     /** Add a sample buffer that this thread reads */
-    void addSampleBuffer(final SampleBuffer buffer)
+    synchronized void addSampleBuffer(final SampleBuffer buffer)
     {
         buffers.add(buffer);
+        // Channel added while this thread cannot write shares that error state
+        buffer.setErrorState(error_state);
     }
 
     /** Start the write thread.
@@ -96,7 +122,7 @@ public class WriteThread implements Runnable
         }
         millisec_delay = (int)(1000.0 * write_period);
         this.batch_size = batch_size;
-        thread = new Thread(this, "WriteThread");
+        thread = new Thread(this, name);
         thread.start();
     }
 
@@ -135,6 +161,24 @@ public class WriteThread implements Runnable
         return write_time.get();
     }
 
+    /** @return <code>true</code> if the last write run failed */
+    public boolean isInErrorState()
+    {
+        return error_state;
+    }
+
+    /** Update error state of this thread and its sample buffers
+     *  @param error Error state
+     */
+    private synchronized void setErrorState(final boolean error)
+    {
+        if (error_state == error)
+            return;
+        error_state = error;
+        for (SampleBuffer buffer : buffers)
+            buffer.setErrorState(error);
+    }
+
     /** 'Main loop' of the write thread.
      *  <p>
      *  Writes all values out, then waits.
@@ -152,7 +196,7 @@ public class WriteThread implements Runnable
     @SuppressWarnings("nls")
     public void run()
     {
-        logger.info("WriteThread starts");
+        logger.info(name + " starts");
         boolean write_error = false;
         do_run = true;
         while (do_run)
@@ -187,12 +231,12 @@ public class WriteThread implements Runnable
             }
             catch (Exception ex)
             {   // Error in write() or the preceding reconnect()...
-                logger.log(Level.WARNING, "Error, will try to reconnect", ex);
+                logger.log(Level.WARNING, name + " error, will try to reconnect", ex);
                 // Use max. delay
                 delay = millisec_delay;
                 write_error = true;
             }
-            SampleBuffer.setErrorState(write_error);
+            setErrorState(write_error);
             // See if there's any time left to wait,
             // or if we already used all that time in the last 'write'
             if (delay > 0)
@@ -210,7 +254,7 @@ public class WriteThread implements Runnable
                 }
             }
         }
-        logger.info("WriteThread exists");
+        logger.info(name + " exits");
     }
 
     /** Stop the write thread, performing a final write. */
@@ -10,6 +10,7 @@ package org.csstudio.archive.engine.server;
 import java.io.IOException;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.List;
 
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServlet;
@@ -20,7 +21,7 @@ import org.csstudio.archive.Engine;
 import org.csstudio.archive.Preferences;
 import org.csstudio.archive.engine.model.ArchiveGroup;
 import org.csstudio.archive.engine.model.EngineModel;
-import org.csstudio.archive.engine.model.SampleBuffer;
+import org.csstudio.archive.engine.model.WriteThread;
 import org.csstudio.archive.writer.rdb.TimestampHelper;
 import org.phoebus.util.time.SecondsParser;
 import org.phoebus.util.time.TimeDuration;
@@ -87,12 +88,28 @@ public class MainServlet extends HttpServlet
             jg.writeNumberField(Messages.HTTP_BatchSize, Preferences.batch_size);
             jg.writeNumberField(Messages.HTTP_WritePeriod, Preferences.write_period);
 
-            jg.writeStringField(Messages.HTTP_WriteState, (SampleBuffer.isInErrorState()
+            jg.writeStringField(Messages.HTTP_WriteState, (model.isInErrorState()
                     ? Messages.HTTP_WriteError : "OK"));
 
             jg.writeStringField(Messages.HTTP_LastWriteTime, last_write_time == null ? "Never" : TimestampHelper.format(last_write_time));
             jg.writeNumberField(Messages.HTTP_WriteCount, model.getWriteCount());
             jg.writeNumberField(Messages.HTTP_WriteDuration, model.getWriteDuration());
+            final List<WriteThread> writers = model.getWriters();
+            if (writers.size() > 1)
+            {
+                jg.writeArrayFieldStart(Messages.HTTP_WriteThreads);
+                for (WriteThread writer : writers)
+                {
+                    jg.writeStartObject();
+                    jg.writeStringField(Messages.HTTP_WriteThread, writer.getName());
+                    jg.writeStringField(Messages.HTTP_WriteState, (writer.isInErrorState()
+                            ? Messages.HTTP_WriteError : "OK"));
+                    jg.writeNumberField(Messages.HTTP_WriteCount, writer.getWriteCount());
+                    jg.writeNumberField(Messages.HTTP_WriteDuration, writer.getWriteDuration());
+                    jg.writeEndObject();
+                }
+                jg.writeEndArray();
+            }
             jg.writeNumberField(Messages.HTTP_Idletime, model.getIdlePercentage());
 
             final Runtime runtime = Runtime.getRuntime();
@@ -132,13 +149,22 @@ public class MainServlet extends HttpServlet
             html.tableLine(Messages.HTTP_BatchSize, Preferences.batch_size + " samples");
             html.tableLine(Messages.HTTP_WritePeriod, Preferences.write_period + " sec");
 
-            html.tableLine(Messages.HTTP_WriteState, (SampleBuffer.isInErrorState()
+            html.tableLine(Messages.HTTP_WriteState, (model.isInErrorState()
                     ? HTMLWriter.makeRedText(Messages.HTTP_WriteError)
                     : "OK"));
 
             html.tableLine(Messages.HTTP_LastWriteTime, last_write_time == null ? "Never" : TimestampHelper.format(last_write_time));
             html.tableLine(Messages.HTTP_WriteCount, (int) model.getWriteCount() + " samples");
             html.tableLine(Messages.HTTP_WriteDuration, String.format("%.1f sec", model.getWriteDuration()));
+            final List<WriteThread> writers = model.getWriters();
+            if (writers.size() > 1)
+                for (WriteThread writer : writers)
+                {
+                    final String info = String.format("%d samples in %.1f sec", (int) writer.getWriteCount(), writer.getWriteDuration());
+                    html.tableLine(writer.getName(), writer.isInErrorState()
+                            ? HTMLWriter.makeRedText(info + ", " + Messages.HTTP_WriteError)
+                            : info);
+                }
 
             html.tableLine(Messages.HTTP_Idletime, String.format("%.1f %%", model.getIdlePercentage()));
 
@@ -9,8 +9,6 @@ package org.csstudio.archive.writer.rdb;
 
 import static org.csstudio.archive.Engine.logger;
 
-import java.io.ByteArrayOutputStream;
-import java.io.DataOutputStream;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -27,7 +25,15 @@ import java.util.logging.Level;
 import org.csstudio.archive.Preferences;
 import org.csstudio.archive.writer.ArchiveWriter;
 import org.csstudio.archive.writer.WriteChannel;
+import org.epics.util.array.ListByte;
+import org.epics.util.array.ListFloat;
+import org.epics.util.array.ListInteger;
+import org.epics.util.array.ListLong;
 import org.epics.util.array.ListNumber;
+import org.epics.util.array.ListShort;
+import org.epics.util.array.ListUByte;
+import org.epics.util.array.ListUInteger;
+import org.epics.util.array.ListUShort;
 import org.epics.vtype.Alarm;
 import org.epics.vtype.AlarmSeverity;
 import org.epics.vtype.Display;
@@ -39,6 +45,7 @@ import org.epics.vtype.VNumber;
 import org.epics.vtype.VNumberArray;
 import org.epics.vtype.VString;
 import org.epics.vtype.VType;
+import org.phoebus.framework.rdb.ArrayBlob;
 import org.phoebus.framework.rdb.RDBInfo;
 import org.phoebus.framework.rdb.RDBInfo.Dialect;
 import org.phoebus.pv.LongString;
@@ -56,6 +63,12 @@ public class RDBArchiveWriter implements ArchiveWriter
 
     final private boolean use_array_blob;
 
+    /** Write array blob with original element type? Otherwise as double */
+    final private boolean typed_array_blob;
+
+    /** Compress typed array blob? */
+    final private boolean compress_array_blob;
+
     final private Dialect dialect;
 
     /** RDB connection */
@@ -104,6 +117,8 @@ public class RDBArchiveWriter implements ArchiveWriter
             final String schema, boolean use_array_blob) throws Exception
     {
         this.use_array_blob = use_array_blob;
+        typed_array_blob = ! "double".equals(Preferences.array_blob_encoding);
+        compress_array_blob = "compressed".equals(Preferences.array_blob_encoding);
         final RDBInfo info = new RDBInfo(url, user, password);
         dialect = info.getDialect();
         connection = info.connect();
@@ -343,24 +358,26 @@ public class RDBArchiveWriter implements ArchiveWriter
         }
         else
         {   // More array elements
-            final ByteArrayOutputStream bout = new ByteArrayOutputStream();
-            final DataOutputStream dout = new DataOutputStream(bout);
-            // Indicate 'Double' as data type
-            final int N = additional.size();
-            dout.writeInt(N);
-            // Write binary data for array elements
-            for (int i=0; i<N; ++i)
-                dout.writeDouble(additional.getDouble(i));
-            dout.close();
-            final byte[] asBytes = bout.toByteArray();
+            final String datatype;
+            final byte[] asBytes;
+            if (typed_array_blob)
+            {
+                datatype = ArrayBlob.VERSIONED;
+                asBytes = ArrayBlob.encode(toArray(additional), compress_array_blob);
+            }
+            else
+            {
+                datatype = ArrayBlob.DOUBLE;
+                asBytes = ArrayBlob.encodeDoubles(toDoubles(additional));
+            }
             if (dialect == Dialect.Oracle)
             {
-                insert_double_sample.setString(6, "d");
+                insert_double_sample.setString(6, datatype);
                 insert_double_sample.setBytes(7, asBytes);
             }
             else
             {
-                insert_double_sample.setString(7, "d");
+                insert_double_sample.setString(7, datatype);
                 insert_double_sample.setBytes(8, asBytes);
             }
         }
@@ -369,6 +386,64 @@ public class RDBArchiveWriter implements ArchiveWriter
         ++batched_double_inserts;
     }
 
+    /** @param data Array data
+     *  @return Primitive array of the same element type,
+     *          unsigned types widened to the next larger signed type
+     */
+    private static Object toArray(final ListNumber data)
+    {
+        final int N = data.size();
+        if (data instanceof ListByte)
+        {
+            final byte[] array = new byte[N];
+            for (int i=0; i<N; ++i)
+                array[i] = data.getByte(i);
+            return array;
+        }
+        if (data instanceof ListShort  ||  data instanceof ListUByte)
+        {
+            final short[] array = new short[N];
+            for (int i=0; i<N; ++i)
+                array[i] = data.getShort(i);
+            return array;
+        }
+        if (data instanceof ListInteger  ||  data instanceof ListUShort)
+        {
+            final int[] array = new int[N];
+            for (int i=0; i<N; ++i)
+                array[i] = data.getInt(i);
+            return array;
+        }
+        if (data instanceof ListLong  ||  data instanceof ListUInteger)
+        {
+            final long[] array = new long[N];
+            for (int i=0; i<N; ++i)
+                array[i] = data.getLong(i);
+            return array;
+        }
+        if (data instanceof ListFloat)
+        {
+            final float[] array = new float[N];
+            for (int i=0; i<N; ++i)
+                array[i] = data.getFloat(i);
+            return array;
+        }
+        // ListDouble, ListULong, ...
+        return toDoubles(data);
+    }
+
+    /** @param data Array data
+     *  @return Elements as double
+     */
+    private static double[] toDoubles(final ListNumber data)
+    {
+        final int N = data.size();
+        final double[] array = new double[N];
+        for (int i=0; i<N; ++i)
+            array[i] = data.getDouble(i);
+        return array;
+    }
+
     /** Add 'insert' for double samples to batch, handling arrays
      *  via the original array_val table
      */
@@ -10,6 +10,7 @@ package org.csstudio.archive.writer.rdb;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Statement;
 
 /** Helper for {@link StringID} entries in RDB.
@@ -21,6 +22,14 @@ import java.sql.Statement;
 @SuppressWarnings("nls")
 public class StringIDHelper
 {
+    /** Serializes 'next ID' and insert across all helpers,
+     *  since write shards each use their own helper and connection
+     */
+    private static final Object add_lock = new Object();
+
+    /** Attempts to insert a new name when another writer took the ID */
+    private static final int ADD_ATTEMPTS = 3;
+
     private final Connection connection;
     private final String table;
     private final String id_column;
@@ -104,10 +113,32 @@ public class StringIDHelper
      */
     public StringID add(final String name) throws Exception
     {
-        StringID entry = find(name);
-        if (entry != null)
-            return entry;
-        entry = new StringID(getNextID(), name);
+        synchronized (add_lock)
+        {
+            for (int attempt = 1;  ;  ++attempt)
+            {
+                final StringID entry = find(name);
+                if (entry != null)
+                    return entry;
+                try
+                {
+                    return insert(new StringID(getNextID(), name));
+                }
+                catch (SQLException ex)
+                {
+                    // Integrity constraint violation: Another process added
+                    // the same name or used the same ID, so re-read and retry
+                    final String state = ex.getSQLState();
+                    if (state == null  ||  !state.startsWith("23")  ||
+                        attempt >= ADD_ATTEMPTS)
+                        throw ex;
+                }
+            }
+        }
+    }
+
+    private StringID insert(final StringID entry) throws Exception
+    {
         final boolean autocommitState = connection.getAutoCommit();
         if (autocommitState == true)
             connection.setAutoCommit(false);
@@ -49,6 +49,11 @@ public class SnapshotPv {
 	private long time;
 	private int timens;
 	private String value;
+	/**
+	 * Number array elements in binary form, used instead of {@link #value} when
+	 * the snapshot was saved with binary array values.
+	 */
+	private byte[] binaryValue;
 	private ConfigPv configPv;
 	private SnapshotPvDataType dataType;
 	private String sizes;
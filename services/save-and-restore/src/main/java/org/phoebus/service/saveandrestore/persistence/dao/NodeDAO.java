@@ -19,6 +19,7 @@
 package org.phoebus.service.saveandrestore.persistence.dao;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.phoebus.applications.saveandrestore.model.ConfigPv;
 import org.phoebus.applications.saveandrestore.model.Node;
@@ -130,6 +131,13 @@ public interface NodeDAO {
 	public List<ConfigPv> getConfigPvs(String configUniqueId);
 	
 	public List<SnapshotItem> getSnapshotItems(String snapshotUniqueId);
+
+	/**
+	 * Reads the items of a snapshot without collecting them in a list.
+	 * @param snapshotUniqueId The unique id of the snapshot
+	 * @param consumer Called for each {@link SnapshotItem} as it is read from the persistence layer.
+	 */
+	public void getSnapshotItems(String snapshotUniqueId, Consumer<SnapshotItem> consumer);
 	
 	/**
 	 * Updates a {@link Node} with respect to name or properties, or both. Node type cannot
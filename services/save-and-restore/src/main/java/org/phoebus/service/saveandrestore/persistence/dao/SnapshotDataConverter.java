@@ -19,6 +19,7 @@
 package org.phoebus.service.saveandrestore.persistence.dao;
 
 
+import java.nio.ByteBuffer;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -43,6 +44,7 @@ import org.epics.util.array.ListDouble;
 import org.epics.util.array.ListFloat;
 import org.epics.util.array.ListInteger;
 import org.epics.util.array.ListLong;
+import org.epics.util.array.ListNumber;
 import org.epics.util.array.ListShort;
 import org.epics.util.array.ListUByte;
 import org.epics.util.array.ListUInteger;
@@ -101,6 +103,12 @@ import org.phoebus.service.saveandrestore.model.internal.SnapshotPv;
 public class SnapshotDataConverter {
 	
 	protected static final String SCALAR_AS_JSON = "[1]";
+
+	/**
+	 * {@link ObjectMapper} is thread safe once configured, so a single instance is shared
+	 * instead of creating one for each value.
+	 */
+	private static final ObjectMapper objectMapper = new ObjectMapper();
 	
 	private SnapshotDataConverter() {
 		
@@ -116,7 +124,7 @@ public class SnapshotDataConverter {
 				.snapshotId(snapshotPv.getSnapshotId())
 				.build();
 	
-		if(snapshotPv.getValue() != null) {
+		if(snapshotPv.getValue() != null || snapshotPv.getBinaryValue() != null) {
 			snapshotItem.setValue(toVType(snapshotPv));
 		}
 		
@@ -129,6 +137,17 @@ public class SnapshotDataConverter {
 	}
 
 	public static SnapshotPv fromVType(VType vType) {
+		return fromVType(vType, false);
+	}
+
+	/**
+	 * Converts a {@link VType} to the internal representation.
+	 * @param vType The value to convert
+	 * @param binaryArrays If <code>true</code>, number arrays are stored in {@link SnapshotPv#getBinaryValue()}
+	 *                     instead of as JSON string in {@link SnapshotPv#getValue()}.
+	 * @return A {@link SnapshotPv} object.
+	 */
+	public static SnapshotPv fromVType(VType vType, boolean binaryArrays) {
 			
 		SnapshotPvDataType dataType = getDataType(vType);
 
@@ -157,7 +176,8 @@ public class SnapshotDataConverter {
 					.alarmStatus(alarm.getStatus())
 					.time(instant.getEpochSecond())
 					.timens(instant.getNano())
-					.value(getNumberArrayValueString(vNumberArray))
+					.value(binaryArrays ? null : getNumberArrayValueString(vNumberArray))
+					.binaryValue(binaryArrays ? getNumberArrayValueBytes(vNumberArray.getData(), dataType) : null)
 					.dataType(dataType)
 					.sizes(getDimensionString(vNumberArray))
 					.build();
@@ -213,12 +233,10 @@ public class SnapshotDataConverter {
 	
 	public static VType toVType(SnapshotPv snapshotPv) {
 		
-		if(snapshotPv.getValue() == null) {
+		if(snapshotPv.getValue() == null && snapshotPv.getBinaryValue() == null) {
 			return null;
 		}
 		
-		ObjectMapper objectMapper = new ObjectMapper();
-		
 		boolean isScalar = SCALAR_AS_JSON.equals(snapshotPv.getSizes());
 		ListInteger sizes = toSizes(snapshotPv);
 		
@@ -226,6 +244,10 @@ public class SnapshotDataConverter {
 		Time time = toTime(snapshotPv);
 		Display display = Display.none();
 		
+		if(snapshotPv.getBinaryValue() != null) {
+			return toVNumberArray(snapshotPv, sizes, alarm, time, display);
+		}
+
 		try {
 			switch(snapshotPv.getDataType()) {
 				case BYTE:{
@@ -343,6 +365,62 @@ public class SnapshotDataConverter {
 		throw new PVConversionException(String.format("Cannot convert to PVType from internal type %s", snapshotPv.getDataType()));
 	}
 	
+	/**
+	 * Creates a number array from the binary representation written by
+	 * {@link #getNumberArrayValueBytes(ListNumber, SnapshotPvDataType)}.
+	 */
+	private static VType toVNumberArray(SnapshotPv snapshotPv, ListInteger sizes, Alarm alarm, Time time, Display display) {
+		ByteBuffer buffer = ByteBuffer.wrap(snapshotPv.getBinaryValue());
+		switch(snapshotPv.getDataType()) {
+			case BYTE:
+				return VByteArray.of(CollectionNumbers.toListByte(snapshotPv.getBinaryValue()), sizes, alarm, time, display);
+			case UBYTE:
+				return VByteArray.of(CollectionNumbers.toListUByte(snapshotPv.getBinaryValue()), sizes, alarm, time, display);
+			case SHORT:{
+				short[] values = new short[buffer.remaining() / Short.BYTES];
+				buffer.asShortBuffer().get(values);
+				return VShortArray.of(CollectionNumbers.toListShort(values), sizes, alarm, time, display);
+			}
+			case USHORT:{
+				short[] values = new short[buffer.remaining() / Short.BYTES];
+				buffer.asShortBuffer().get(values);
+				return VUShortArray.of(CollectionNumbers.toListUShort(values), sizes, alarm, time, display);
+			}
+			case INTEGER:{
+				int[] values = new int[buffer.remaining() / Integer.BYTES];
+				buffer.asIntBuffer().get(values);
+				return VIntArray.of(CollectionNumbers.toListInt(values), sizes, alarm, time, display);
+			}
+			case UINTEGER:{
+				int[] values = new int[buffer.remaining() / Integer.BYTES];
+				buffer.asIntBuffer().get(values);
+				return VUIntArray.of(CollectionNumbers.toListUInt(values), sizes, alarm, time, display);
+			}
+			case LONG:{
+				long[] values = new long[buffer.remaining() / Long.BYTES];
+				buffer.asLongBuffer().get(values);
+				return VLongArray.of(CollectionNumbers.toListLong(values), sizes, alarm, time, display);
+			}
+			case ULONG:{
+				long[] values = new long[buffer.remaining() / Long.BYTES];
+				buffer.asLongBuffer().get(values);
+				return VULongArray.of(CollectionNumbers.toListULong(values), sizes, alarm, time, display);
+			}
+			case FLOAT:{
+				float[] values = new float[buffer.remaining() / Float.BYTES];
+				buffer.asFloatBuffer().get(values);
+				return VFloatArray.of(CollectionNumbers.toListFloat(values), sizes, alarm, time, display);
+			}
+			case DOUBLE:{
+				double[] values = new double[buffer.remaining() / Double.BYTES];
+				buffer.asDoubleBuffer().get(values);
+				return VDoubleArray.of(CollectionNumbers.toListDouble(values), sizes, alarm, time, display);
+			}
+			default:
+				throw new PVConversionException(String.format("Cannot convert binary value of internal type %s", snapshotPv.getDataType()));
+		}
+	}
+
 	private static Alarm toAlarm(SnapshotPv snapshotPv) {
 		return Alarm.of(snapshotPv.getAlarmSeverity(), snapshotPv.getAlarmStatus(), snapshotPv.getAlarmName());
 	}
@@ -438,8 +516,6 @@ public class SnapshotDataConverter {
 	}
 	
 	protected static String getScalarValueString(Object value) {
-		ObjectMapper objectMapper = new ObjectMapper();
-	
 		Object[] valueArray = {value};
 		
 		try {
@@ -450,8 +526,6 @@ public class SnapshotDataConverter {
 	}
 
 	protected static String getStringArrayValueString(VStringArray vStringArray){
-		ObjectMapper objectMapper = new ObjectMapper();
-
 		try {
 			return objectMapper.writeValueAsString(vStringArray.getData());
 		} catch (JsonProcessingException e) {
@@ -492,8 +566,6 @@ public class SnapshotDataConverter {
 			throw new PVConversionException(String.format("Unable to create JSON string for array type %s", vNumberArray.getClass().getCanonicalName()));
 		}
 		
-		ObjectMapper objectMapper = new ObjectMapper();
-	
 		try {
 			return objectMapper.writeValueAsString(valueList);
 		} catch (JsonProcessingException e) {
@@ -501,6 +573,61 @@ public class SnapshotDataConverter {
 		}
 	}
 	
+	/**
+	 * Writes the elements of a number array as big-endian binary data, using the native
+	 * width of the data type. Compared to the JSON string this is more compact
+	 * and avoids formatting and parsing each element.
+	 */
+	protected static byte[] getNumberArrayValueBytes(ListNumber data, SnapshotPvDataType dataType) {
+		int size = data.size();
+		ByteBuffer buffer;
+		switch(dataType) {
+			case BYTE:
+			case UBYTE:
+				buffer = ByteBuffer.allocate(size);
+				for(int i = 0; i < size; i++) {
+					buffer.put(data.getByte(i));
+				}
+				break;
+			case SHORT:
+			case USHORT:
+				buffer = ByteBuffer.allocate(size * Short.BYTES);
+				for(int i = 0; i < size; i++) {
+					buffer.putShort(data.getShort(i));
+				}
+				break;
+			case INTEGER:
+			case UINTEGER:
+				buffer = ByteBuffer.allocate(size * Integer.BYTES);
+				for(int i = 0; i < size; i++) {
+					buffer.putInt(data.getInt(i));
+				}
+				break;
+			case LONG:
+			case ULONG:
+				buffer = ByteBuffer.allocate(size * Long.BYTES);
+				for(int i = 0; i < size; i++) {
+					buffer.putLong(data.getLong(i));
+				}
+				break;
+			case FLOAT:
+				buffer = ByteBuffer.allocate(size * Float.BYTES);
+				for(int i = 0; i < size; i++) {
+					buffer.putFloat(data.getFloat(i));
+				}
+				break;
+			case DOUBLE:
+				buffer = ByteBuffer.allocate(size * Double.BYTES);
+				for(int i = 0; i < size; i++) {
+					buffer.putDouble(data.getDouble(i));
+				}
+				break;
+			default:
+				throw new PVConversionException(String.format("Unable to create binary value for array type %s", dataType));
+		}
+		return buffer.array();
+	}
+
 	protected static String getDimensionString(VNumberArray vNumberArray) {
 		ListInteger sizes = vNumberArray.getSizes();
 		
@@ -509,8 +636,6 @@ public class SnapshotDataConverter {
 			sizesAsIntList.add(sizes.getInt(i));
 		}
 		
-		ObjectMapper objectMapper = new ObjectMapper();
-		
 		try {
 			return objectMapper.writeValueAsString(sizesAsIntList);
 		} catch (JsonProcessingException e) {
@@ -526,8 +651,6 @@ public class SnapshotDataConverter {
 			sizesAsIntList.add(sizes.getInt(i));
 		}
 
-		ObjectMapper objectMapper = new ObjectMapper();
-
 		try {
 			return objectMapper.writeValueAsString(sizesAsIntList);
 		} catch (JsonProcessingException e) {
@@ -536,8 +659,6 @@ public class SnapshotDataConverter {
 	}
 	
 	protected static ListInteger toSizes(SnapshotPv snapshotPv) {
-		ObjectMapper objectMapper = new ObjectMapper();
-		
 		try {
 			int[] sizes = objectMapper.readValue(snapshotPv.getSizes(), int[].class);
 			return CollectionNumbers.toListInt(sizes);
@@ -18,6 +18,7 @@
 
 package org.phoebus.service.saveandrestore.persistence.dao.impl;
 
+import java.sql.PreparedStatement;
 import java.sql.Time;
 import java.sql.Timestamp;
 import java.text.SimpleDateFormat;
@@ -29,11 +30,16 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.jdbc.core.simple.SimpleJdbcInsert;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -71,6 +77,30 @@ public class NodeJdbcDAO implements NodeDAO {
 	@Autowired
 	private SimpleJdbcInsert snapshotPvInsert;
 
+	/**
+	 * If <code>true</code>, number array values of snapshots are saved in binary columns
+	 * instead of as JSON strings.
+	 */
+	@Value("${snapshot.binary.arrays:false}")
+	private boolean binaryArrays;
+
+	/**
+	 * Number of snapshot items sent to the database in one batch insert.
+	 */
+	@Value("${snapshot.batch.size:500}")
+	private int snapshotBatchSize;
+
+	/**
+	 * Number of rows fetched per round trip when reading snapshot items.
+	 */
+	private static final int SNAPSHOT_ITEMS_FETCH_SIZE = 1000;
+
+	private static final String SNAPSHOT_ITEMS_QUERY = "select snp.*, pv1.name, pv2.name as readback_name, cp.readonly, cp.id as id from snapshot_node_pv as snp " +
+			"join config_pv as cp on snp.config_pv_id=cp.id " +
+			"left join pv pv1 on cp.pv_id=pv1.id " +
+			"left join pv pv2 on cp.readback_pv_id=pv2.id " +
+			"where snapshot_node_id=(select id from node where unique_id=?)";
+
 	private static final int NO_ID = -1;
 
 
@@ -530,36 +560,49 @@ public class NodeJdbcDAO implements NodeDAO {
 				.nodeType(NodeType.SNAPSHOT)
 				.build());
 
-		Map<String, Object> params = new HashMap<>(6);
-		params.put("snapshot_node_id", snapshotNode.getId());
-
+		// Items are inserted in batches, i.e. one round trip to the database per batch rather than per PV.
+		List<SqlParameterSource> batch = new ArrayList<>(Math.min(snapshotItems.size(), snapshotBatchSize));
 		for (SnapshotItem snapshotItem : snapshotItems) {
-			params.put("config_pv_id", snapshotItem.getConfigPv().getId());
 			// Should not happen, but if the snapshot value has not been set, continue...
 			if(snapshotItem.getValue() == null){
 				continue;
 			}
 
-			SnapshotPv snapshotPv = SnapshotDataConverter.fromVType(snapshotItem.getValue());
-			params.put("severity", snapshotPv.getAlarmSeverity().toString());
-			params.put("status", snapshotPv.getAlarmStatus().toString());
-			params.put("time", snapshotPv.getTime());
-			params.put("timens", snapshotPv.getTimens());
-			params.put("sizes", snapshotPv.getSizes());
-			params.put("data_type", snapshotPv.getDataType().toString());
-			params.put("value", snapshotPv.getValue());
+			// Readback columns not set for an item are inserted as null
+			MapSqlParameterSource params = new MapSqlParameterSource();
+			params.addValue("snapshot_node_id", snapshotNode.getId());
+			params.addValue("config_pv_id", snapshotItem.getConfigPv().getId());
+
+			SnapshotPv snapshotPv = SnapshotDataConverter.fromVType(snapshotItem.getValue(), binaryArrays);
+			params.addValue("severity", snapshotPv.getAlarmSeverity().toString());
+			params.addValue("status", snapshotPv.getAlarmStatus().toString());
+			params.addValue("time", snapshotPv.getTime());
+			params.addValue("timens", snapshotPv.getTimens());
+			params.addValue("sizes", snapshotPv.getSizes());
+			params.addValue("data_type", snapshotPv.getDataType().toString());
+			params.addValue("value", snapshotPv.getValue());
+			params.addValue("value_bin", snapshotPv.getBinaryValue());
 
 			if (snapshotItem.getReadbackValue() != null) {
-				SnapshotPv snapshotReadbackPv = SnapshotDataConverter.fromVType(snapshotItem.getReadbackValue());
-				params.put("readback_severity", snapshotReadbackPv.getAlarmSeverity().toString());
-				params.put("readback_status", snapshotReadbackPv.getAlarmStatus().toString());
-				params.put("readback_time", snapshotReadbackPv.getTime());
-				params.put("readback_timens", snapshotReadbackPv.getTimens());
-				params.put("readback_sizes", snapshotReadbackPv.getSizes());
-				params.put("readback_data_type", snapshotReadbackPv.getDataType().toString());
-				params.put("readback_value", snapshotReadbackPv.getValue());
+				SnapshotPv snapshotReadbackPv = SnapshotDataConverter.fromVType(snapshotItem.getReadbackValue(), binaryArrays);
+				params.addValue("readback_severity", snapshotReadbackPv.getAlarmSeverity().toString());
+				params.addValue("readback_status", snapshotReadbackPv.getAlarmStatus().toString());
+				params.addValue("readback_time", snapshotReadbackPv.getTime());
+				params.addValue("readback_timens", snapshotReadbackPv.getTimens());
+				params.addValue("readback_sizes", snapshotReadbackPv.getSizes());
+				params.addValue("readback_data_type", snapshotReadbackPv.getDataType().toString());
+				params.addValue("readback_value", snapshotReadbackPv.getValue());
+				params.addValue("readback_value_bin", snapshotReadbackPv.getBinaryValue());
+			}
+			batch.add(params);
+
+			if (batch.size() >= snapshotBatchSize) {
+				snapshotPvInsert.executeBatch(batch.toArray(new SqlParameterSource[batch.size()]));
+				batch.clear();
 			}
-			snapshotPvInsert.execute(params);
+		}
+		if (!batch.isEmpty()) {
+			snapshotPvInsert.executeBatch(batch.toArray(new SqlParameterSource[batch.size()]));
 		}
 
 		jdbcTemplate.update("update node set name=?, username=?, last_modified=? where unique_id=?", snapshotName, userName, Timestamp.from(Instant.now()), snapshotNode.getUniqueId());
@@ -591,17 +634,32 @@ public class NodeJdbcDAO implements NodeDAO {
 	@Override
 	public List<SnapshotItem> getSnapshotItems(String snapshotUniqueId){
 
-		List<SnapshotItem> snapshotItems = jdbcTemplate.query("select snp.*, pv1.name, pv2.name as readback_name, cp.readonly, cp.id as id from snapshot_node_pv as snp " +
-			"join config_pv as cp on snp.config_pv_id=cp.id " +
-			"left join pv pv1 on cp.pv_id=pv1.id " +
-			"left join pv pv2 on cp.readback_pv_id=pv2.id " +
-				"where snapshot_node_id=(select id from node where unique_id=?)",
+		List<SnapshotItem> snapshotItems = jdbcTemplate.query(SNAPSHOT_ITEMS_QUERY,
 				new Object[] {snapshotUniqueId},
 				new SnapshotItemRowMapper());
 
 		return snapshotItems;
 	}
 
+	/**
+	 * Reads the items of a snapshot and hands them to the consumer one at a time. Rows are fetched
+	 * from the database in chunks, so the snapshot is never held in memory as a whole. The transaction
+	 * is needed for drivers like PostgreSQL that only use a cursor when auto-commit is off.
+	 */
+	@Transactional(readOnly = true)
+	@Override
+	public void getSnapshotItems(String snapshotUniqueId, Consumer<SnapshotItem> consumer){
+
+		SnapshotItemRowMapper rowMapper = new SnapshotItemRowMapper();
+		jdbcTemplate.query(connection -> {
+					PreparedStatement statement = connection.prepareStatement(SNAPSHOT_ITEMS_QUERY);
+					statement.setFetchSize(SNAPSHOT_ITEMS_FETCH_SIZE);
+					statement.setString(1, snapshotUniqueId);
+					return statement;
+				},
+				(RowCallbackHandler) resultSet -> consumer.accept(rowMapper.mapRow(resultSet, resultSet.getRow())));
+	}
+
 	@Override
 	public Node getSnapshot(String uniqueNodeId) {
 
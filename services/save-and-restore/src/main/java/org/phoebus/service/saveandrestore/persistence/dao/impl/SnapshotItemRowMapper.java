@@ -45,20 +45,23 @@ public class SnapshotItemRowMapper implements RowMapper<SnapshotItem> {
 				.time(resultSet.getLong("time"))
 				.timens(resultSet.getInt("timens"))
 				.value(resultSet.getString("value"))
+				.binaryValue(resultSet.getBytes("value_bin"))
 				.sizes(resultSet.getString("sizes"))
 				.dataType(resultSet.getString("data_type") == null ? null : SnapshotPvDataType.valueOf(resultSet.getString("data_type")))
 				.build();
 
 		SnapshotPv readbackPvValue = null;
 		String readbackValue = resultSet.getString("readback_value");
+		byte[] readbackBinaryValue = resultSet.getBytes("readback_value_bin");
 
-		if(readbackValue != null){
+		if(readbackValue != null || readbackBinaryValue != null){
 			readbackPvValue = SnapshotPv.builder()
 					.alarmSeverity(resultSet.getString("readback_severity") == null ? null : AlarmSeverity.valueOf(resultSet.getString("readback_severity")))
 					.alarmStatus(resultSet.getString("readback_status") ==  null ? null : AlarmStatus.valueOf(resultSet.getString("readback_status")))
 					.time(resultSet.getLong("readback_time"))
 					.timens(resultSet.getInt("readback_timens"))
 					.value(readbackValue)
+					.binaryValue(readbackBinaryValue)
 					.sizes(resultSet.getString("readback_sizes"))
 					.dataType(resultSet.getString("readback_data_type") == null ? null : SnapshotPvDataType.valueOf(resultSet.getString("readback_data_type")))
 					.build();
@@ -18,6 +18,7 @@
 package org.phoebus.service.saveandrestore.services;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.phoebus.applications.saveandrestore.model.ConfigPv;
 import org.phoebus.applications.saveandrestore.model.Node;
@@ -41,6 +42,8 @@ public interface IServices {
 	public Node getSnapshot(String snapshotUniqueId);
 	
 	public List<SnapshotItem> getSnapshotItems(String snapshotUniqueId);
+
+	public void getSnapshotItems(String snapshotUniqueId, Consumer<SnapshotItem> consumer);
 		
 	public Node moveNode(String uniqueNodeId, String targetUniqueId, String userName);
 	
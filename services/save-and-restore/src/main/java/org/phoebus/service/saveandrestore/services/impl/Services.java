@@ -31,6 +31,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public class Services implements IServices {
 
@@ -134,14 +135,23 @@ public class Services implements IServices {
 		return nodeDAO.getSnapshotItems(snapshotUniqueId);
 	}
 
+	@Override
+	public void getSnapshotItems(String snapshotUniqueId, Consumer<SnapshotItem> consumer) {
+		logger.info("Streaming snapshot items for snapshot id {}", snapshotUniqueId);
+		nodeDAO.getSnapshotItems(snapshotUniqueId, consumer);
+	}
+
 	@Override
 	public Node saveSnapshot(String configUniqueId, List<SnapshotItem> snapshotItems, String snapshotName,
 			String userName, String comment) {
 
 		logger.info("Saving snapshot for config id {}", configUniqueId);
-		logger.info("Snapshot name: {}, values:", snapshotName);
-		for (SnapshotItem snapshotItem : snapshotItems) {
-			logger.info(snapshotItem.toString());
+		logger.info("Snapshot name: {}, {} values", snapshotName, snapshotItems.size());
+		// Formatting each value is expensive for large snapshots with array values
+		if (logger.isDebugEnabled()) {
+			for (SnapshotItem snapshotItem : snapshotItems) {
+				logger.debug(snapshotItem.toString());
+			}
 		}
 
 		return nodeDAO.saveSnapshot(configUniqueId, snapshotItems, snapshotName, comment, userName);
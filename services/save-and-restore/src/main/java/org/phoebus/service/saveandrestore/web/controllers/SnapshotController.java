@@ -17,10 +17,14 @@
  */
 package org.phoebus.service.saveandrestore.web.controllers;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -28,6 +32,12 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 
 import org.phoebus.applications.saveandrestore.model.Node;
 import org.phoebus.applications.saveandrestore.model.SnapshotItem;
@@ -39,6 +49,9 @@ public class SnapshotController extends BaseController {
 	@Autowired
 	private IServices services;
 
+	@Autowired
+	private ObjectMapper objectMapper;
+
 	/**
 	 * Retrieves a snapshot {@link Node}.
 	 * 
@@ -61,6 +74,35 @@ public class SnapshotController extends BaseController {
 		return services.getSnapshotItems(uniqueNodeId);
 	}
 
+	/**
+	 * Retrieves the same list of {@link SnapshotItem}s as {@link #getSnapshotItems(String)}, but
+	 * writes each item to the response as it is read from the database. Suitable for large snapshots
+	 * as the service does not need to hold all items in memory.
+	 *
+	 * @param uniqueNodeId The unique id of the snapshot
+	 * @return A JSON array of {@link SnapshotItem}s.
+	 */
+	@GetMapping("/snapshot/{uniqueNodeId}/items/stream")
+	public ResponseEntity<StreamingResponseBody> streamSnapshotItems(@PathVariable String uniqueNodeId) {
+
+		// Let the generator buffer the output instead of flushing after each item
+		ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+		StreamingResponseBody body = outputStream -> {
+			try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+				generator.writeStartArray();
+				services.getSnapshotItems(uniqueNodeId, snapshotItem -> {
+					try {
+						writer.writeValue(generator, snapshotItem);
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				});
+				generator.writeEndArray();
+			}
+		};
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON_UTF8).body(body);
+	}
+
 	
 	@PutMapping("/snapshot/{configUniqueId}")
 	public Node saveSnapshot(@PathVariable String configUniqueId, 
@@ -0,0 +1,3 @@
+ALTER TABLE snapshot_node_pv
+    ADD value_bin LONGBLOB,
+    ADD readback_value_bin LONGBLOB;
@@ -629,4 +629,59 @@ public class SnapshotDataConverterTest {
 
 	}
 
+	@Test
+	public void testBinaryNumberArrays() {
+
+		VDoubleArray vDoubleArray = VDoubleArray.of(CollectionNumbers.toListDouble(1.5, -2.5, 3.5), alarm, time, display);
+		SnapshotPv snapshotPv = SnapshotDataConverter.fromVType(vDoubleArray, true);
+		assertNull(snapshotPv.getValue());
+		assertEquals(3 * Double.BYTES, snapshotPv.getBinaryValue().length);
+		assertEquals("[3]", snapshotPv.getSizes());
+		assertEquals(SnapshotPvDataType.DOUBLE, snapshotPv.getDataType());
+
+		VDoubleArray doubles = (VDoubleArray) SnapshotDataConverter.toVType(snapshotPv);
+		assertEquals(3, doubles.getData().size());
+		assertEquals(-2.5, doubles.getData().getDouble(1), 0);
+		assertEquals(1000, doubles.getTime().getTimestamp().getEpochSecond());
+
+		VIntArray vIntArray = VIntArray.of(CollectionNumbers.toListInt(1, -2, 3, 4), CollectionNumbers.toListInt(2, 2), alarm, time, display);
+		snapshotPv = SnapshotDataConverter.fromVType(vIntArray, true);
+		VIntArray ints = (VIntArray) SnapshotDataConverter.toVType(snapshotPv);
+		assertEquals(-2, ints.getData().getInt(1));
+		assertEquals(2, ints.getSizes().size());
+
+		VULongArray vULongArray = VULongArray.of(CollectionNumbers.toListULong(-1L, 2L), alarm, time, display);
+		snapshotPv = SnapshotDataConverter.fromVType(vULongArray, true);
+		assertEquals(SnapshotPvDataType.ULONG, snapshotPv.getDataType());
+		VULongArray ulongs = (VULongArray) SnapshotDataConverter.toVType(snapshotPv);
+		assertEquals(-1L, ulongs.getData().getLong(0));
+
+		VShortArray vShortArray = VShortArray.of(CollectionNumbers.toListShort((short) 7, (short) -8), alarm, time, display);
+		snapshotPv = SnapshotDataConverter.fromVType(vShortArray, true);
+		VShortArray shorts = (VShortArray) SnapshotDataConverter.toVType(snapshotPv);
+		assertEquals(-8, shorts.getData().getShort(1));
+
+		VByteArray vByteArray = VByteArray.of(CollectionNumbers.toListByte((byte) 1, (byte) -1), alarm, time, display);
+		snapshotPv = SnapshotDataConverter.fromVType(vByteArray, true);
+		VByteArray bytes = (VByteArray) SnapshotDataConverter.toVType(snapshotPv);
+		assertEquals(-1, bytes.getData().getByte(1));
+
+		// String arrays and scalars are always saved as JSON
+		VStringArray vStringArray = VStringArray.of(Arrays.asList("a", "b"), alarm, time);
+		snapshotPv = SnapshotDataConverter.fromVType(vStringArray, true);
+		assertNull(snapshotPv.getBinaryValue());
+		assertEquals("[\"a\",\"b\"]", snapshotPv.getValue());
+
+		snapshotPv = SnapshotDataConverter.fromVType(VDouble.of(7.7, alarm, time, display), true);
+		assertNull(snapshotPv.getBinaryValue());
+		assertEquals("[7.7]", snapshotPv.getValue());
+
+		// Binary value is enough to create the snapshot item
+		snapshotPv = SnapshotDataConverter.fromVType(vDoubleArray, true);
+		snapshotPv.setConfigPv(ConfigPv.builder().id(1).build());
+		SnapshotItem snapshotItem = SnapshotDataConverter.fromSnapshotPv(snapshotPv, snapshotPv);
+		assertTrue(snapshotItem.getValue() instanceof VDoubleArray);
+		assertTrue(snapshotItem.getReadbackValue() instanceof VDoubleArray);
+	}
+
 }
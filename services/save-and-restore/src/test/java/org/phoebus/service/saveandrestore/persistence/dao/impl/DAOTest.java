@@ -19,6 +19,7 @@
 package org.phoebus.service.saveandrestore.persistence.dao.impl;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
@@ -31,7 +32,9 @@ import org.epics.vtype.AlarmSeverity;
 import org.epics.vtype.AlarmStatus;
 import org.epics.vtype.Display;
 import org.epics.vtype.Time;
+import org.epics.util.array.CollectionNumbers;
 import org.epics.vtype.VDouble;
+import org.epics.vtype.VDoubleArray;
 import org.epics.vtype.VInt;
 import org.flywaydb.test.FlywayTestExecutionListener;
 import org.flywaydb.test.annotation.FlywayTest;
@@ -46,6 +49,7 @@ import org.springframework.test.context.TestExecutionListeners;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 import org.springframework.test.context.support.DependencyInjectionTestExecutionListener;
+import org.springframework.test.util.ReflectionTestUtils;
 
 //import org.phoebus.applications.saveandrestore.model.Config;
 import org.phoebus.applications.saveandrestore.model.ConfigPv;
@@ -987,6 +991,68 @@ public class DAOTest {
 
 	}
 
+	@Test
+	@FlywayTest(invokeCleanDB = true)
+	public void testSaveSnapshotBatchAndStreamItems() {
+		Node rootNode = nodeDAO.getRootNode();
+
+		Node config = Node.builder().name("My config").nodeType(NodeType.CONFIGURATION).build();
+
+		config = nodeDAO.createNode(rootNode.getUniqueId(), config);
+		nodeDAO.updateConfiguration(config, Arrays.asList(ConfigPv.builder().pvName("a").readbackPvName("a_rb").build(),
+				ConfigPv.builder().pvName("b").build(),
+				ConfigPv.builder().pvName("c").build()));
+		List<ConfigPv> configPvs = nodeDAO.getConfigPvs(config.getUniqueId());
+
+		VDoubleArray waveform = VDoubleArray.of(CollectionNumbers.toListDouble(1.0, 2.0, 3.0), alarm, time, display);
+		List<SnapshotItem> items = new ArrayList<>();
+		for (ConfigPv configPv : configPvs) {
+			if (configPv.getPvName().equals("a")) {
+				items.add(SnapshotItem.builder().configPv(configPv).value(VDouble.of(1.1, alarm, time, display))
+						.readbackValue(VDouble.of(1.2, alarm, time, display)).build());
+			}
+			else if (configPv.getPvName().equals("b")) {
+				items.add(SnapshotItem.builder().configPv(configPv).value(VDouble.of(2.1, alarm, time, display)).build());
+			}
+			else {
+				items.add(SnapshotItem.builder().configPv(configPv).value(waveform).readbackValue(waveform).build());
+			}
+		}
+
+		// Save as JSON and as binary array values, with batches smaller than the number of items
+		ReflectionTestUtils.setField(nodeDAO, "snapshotBatchSize", 2);
+		Node jsonSnapshot = nodeDAO.saveSnapshot(config.getUniqueId(), items, "json", "comment", "user");
+		ReflectionTestUtils.setField(nodeDAO, "binaryArrays", true);
+		Node binarySnapshot;
+		try {
+			binarySnapshot = nodeDAO.saveSnapshot(config.getUniqueId(), items, "binary", "comment", "user");
+		} finally {
+			ReflectionTestUtils.setField(nodeDAO, "binaryArrays", false);
+			ReflectionTestUtils.setField(nodeDAO, "snapshotBatchSize", 500);
+		}
+
+		for (Node snapshot : Arrays.asList(jsonSnapshot, binarySnapshot)) {
+			List<SnapshotItem> snapshotItems = new ArrayList<>();
+			nodeDAO.getSnapshotItems(snapshot.getUniqueId(), snapshotItems::add);
+			assertEquals(3, snapshotItems.size());
+			assertEquals(3, nodeDAO.getSnapshotItems(snapshot.getUniqueId()).size());
+
+			for (SnapshotItem snapshotItem : snapshotItems) {
+				if (snapshotItem.getConfigPv().getPvName().equals("a")) {
+					assertEquals(1.2, ((VDouble) snapshotItem.getReadbackValue()).getValue().doubleValue(), 0.01);
+				}
+				else if (snapshotItem.getConfigPv().getPvName().equals("b")) {
+					// Readback of previous item must not be carried over
+					assertNull(snapshotItem.getReadbackValue());
+				}
+				else {
+					assertEquals(3, ((VDoubleArray) snapshotItem.getValue()).getData().size());
+					assertEquals(2.0, ((VDoubleArray) snapshotItem.getReadbackValue()).getData().getDouble(1), 0.01);
+				}
+			}
+		}
+	}
+
 	@Test(expected = IllegalArgumentException.class)
 	@FlywayTest(invokeCleanDB = true)
 	public void testCreateSnapshotInFolderParent() {
@@ -18,7 +18,12 @@
 
 package org.phoebus.service.saveandrestore.web.controllers;
 
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
@@ -27,6 +32,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -161,6 +167,31 @@ public class SnapshotControllerTest {
 		});
 	}
 	
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testStreamSnapshotItems() throws Exception{
+
+		SnapshotItem si = SnapshotItem.builder()
+				.configPv(ConfigPv.builder().id(1).pvName("pvName").build())
+				.snapshotId(2)
+				.build();
+
+		doAnswer(invocation -> {
+			Consumer<SnapshotItem> consumer = invocation.getArgument(1);
+			consumer.accept(si);
+			consumer.accept(si);
+			return null;
+		}).when(services).getSnapshotItems(eq("si"), any(Consumer.class));
+
+		MvcResult result = mockMvc.perform(get("/snapshot/si/items/stream")).andReturn();
+		result = mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk()).andReturn();
+
+		List<SnapshotItem> snapshotItems = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<List<SnapshotItem>>() {
+		});
+		assertEquals(2, snapshotItems.size());
+		assertEquals("pvName", snapshotItems.get(0).getConfigPv().getPvName());
+	}
+
 	@Test
 	public void testSaveSnapshotBadRequest() throws Exception{
 		MockHttpServletRequestBuilder request = put("/snapshot/configid").param("snapshotName", "a").param("comment", "c").param("userName", "u");
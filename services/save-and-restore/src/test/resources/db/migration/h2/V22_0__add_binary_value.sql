@@ -0,0 +1,2 @@
+ALTER TABLE snapshot_node_pv ADD value_bin BLOB;
+ALTER TABLE snapshot_node_pv ADD readback_value_bin BLOB;
@@ -88,7 +88,7 @@ public interface ScanServer
      *
      *  @param id ID that uniquely identifies a scan
      *  @return Serial of last sample in scan data or -1 if nothing has been logged
-     *  @see #getScanData(long)
+     *  @see #getScanData(long, long)
      */
     public long getLastScanDataSerial(long id) throws Exception;
 
@@ -100,6 +100,15 @@ public interface ScanServer
      */
     public ScanData getScanData(long id) throws Exception;
 
+    /** Query server for scan data that was logged after a given serial
+     *  @param id ID that uniquely identifies a scan
+     *  @param since_serial Only get samples with a serial above this one, -1 for all samples
+     *  @return Data for that scan on the server or <code>null</code>
+     *  @throws Exception on error
+     *  @see #getLastScanDataSerial(long)
+     */
+    public ScanData getScanData(long id, long since_serial) throws Exception;
+
     /** Ask server to update a command parameter to a new value
      *  @param id ID that uniquely identifies a scan
      *  @param address Address of the command
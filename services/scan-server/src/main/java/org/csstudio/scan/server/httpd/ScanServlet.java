@@ -218,6 +218,7 @@ public class ScanServlet extends HttpServlet
      *  <p>GET scan/{id} - get scan info
      *  <p>GET scan/{id}/commands - get scan commands
      *  <p>GET scan/{id}/data - get scan data
+     *  <p>GET scan/{id}/data?since={serial} - get scan data logged after serial, in compact format
      *  <p>GET scan/{id}/last_serial - get scan data's last serial
      *  <p>GET scan/{id}/devices - get devices used by a scan
      */
@@ -264,10 +265,21 @@ public class ScanServlet extends HttpServlet
             }
             else if ("data".equalsIgnoreCase(object))
             {   // Get data
-                final ScanData data = scan_server.getScanData(id);
-                final XMLStreamWriter writer = ServletHelper.createXML(response);
-                ServletHelper.write(writer, data);
-                ServletHelper.submitXML(writer);
+                final String since = request.getParameter("since");
+                if (since == null)
+                {
+                    final ScanData data = scan_server.getScanData(id);
+                    final XMLStreamWriter writer = ServletHelper.createXML(response);
+                    ServletHelper.write(writer, data);
+                    ServletHelper.submitXML(writer);
+                }
+                else
+                {   // Only new samples, compact
+                    final ScanData data = scan_server.getScanData(id, Long.parseLong(since));
+                    final XMLStreamWriter writer = ServletHelper.createXML(response, false);
+                    ServletHelper.writeCompact(writer, data);
+                    ServletHelper.submitXML(writer);
+                }
             }
             else if ("last_serial".equalsIgnoreCase(object))
             {   // Get last serial of data
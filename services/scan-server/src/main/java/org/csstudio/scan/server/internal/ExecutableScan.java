@@ -386,12 +386,12 @@ public class ExecutableScan extends LoggedScan implements ScanContext, Callable<
 
     /** {@inheritDoc} */
     @Override
-    public ScanData getScanData() throws Exception
+    public ScanData getScanData(final long since_serial) throws Exception
     {
         final DataLog logger = data_logger.orElse(null);
         if (logger == null)
-            return super.getScanData();
-        return logger.getScanData();
+            return super.getScanData(since_serial);
+        return logger.getScanData(since_serial);
     }
 
     /** Callable for executing all commands on the scan,
@@ -49,7 +49,7 @@ public class LoggedScan extends Scan
      *
      *  @return Serial of last sample in scan data or -1 if nothing has been logged
      *  @throws Exception on error
-     *  @see #getScanData()
+     *  @see #getScanData(long)
      */
     public long getLastScanDataSerial() throws Exception
     {
@@ -63,17 +63,18 @@ public class LoggedScan extends Scan
     }
 
     /** Get logged samples.
+     *  @param since_serial Only get samples with a serial above this one, -1 for all samples
      *  @return {@link ScanData}
      *  @throws Exception on error
      */
-    public ScanData getScanData() throws Exception
+    public ScanData getScanData(final long since_serial) throws Exception
     {
         try
         (
             final DataLog logger = DataLogFactory.getDataLog(this);
         )
         {
-            return logger.getScanData();
+            return logger.getScanData(since_serial);
         }
     }
 
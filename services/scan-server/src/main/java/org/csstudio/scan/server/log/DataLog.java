@@ -113,7 +113,16 @@ abstract public class DataLog implements Closeable
     /** @return {@link ScanData} with copy of currently logged data or <code>null</code>
      *  @throws Exception on error
      */
-    abstract public ScanData getScanData() throws Exception;
+    public ScanData getScanData() throws Exception
+    {
+        return getScanData(-1);
+    }
+
+    /** @param since_serial Only get samples with a serial above this one, -1 for all samples
+     *  @return {@link ScanData} with copy of the requested logged data or <code>null</code>
+     *  @throws Exception on error
+     */
+    abstract public ScanData getScanData(long since_serial) throws Exception;
 
     /** Should be called when done logging samples
      *  to allow logging mechanism to release resources.
@@ -54,13 +54,13 @@ public class DerbyDataLog extends DataLog
 
     /** {@inheritDoc} */
     @Override
-    public ScanData getScanData() throws Exception
+    public ScanData getScanData(final long since_serial) throws Exception
     {
         // Can be called without doLog(), so use separate logger just for this call
         final RDBDataLogger logger = new DerbyDataLogger();
         try
         {
-            return logger.getScanData(scan_id);
+            return logger.getScanData(scan_id, since_serial);
         }
         finally
         {
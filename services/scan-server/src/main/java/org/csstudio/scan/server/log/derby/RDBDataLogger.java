@@ -278,7 +278,7 @@ abstract public class RDBDataLogger implements AutoCloseable
      *  @param scan_id ID of the scan
      *  @return Serial of last sample in scan data or -1 if nothing has been logged
      *  @throws Exception on error
-     *  @see #getScanData()
+     *  @see #getScanData(long, long)
      */
     public long getLastScanDataSerial(final long scan_id) throws Exception
     {
@@ -313,72 +313,49 @@ abstract public class RDBDataLogger implements AutoCloseable
      */
     public ScanData getScanData(final long scan_id) throws Exception
     {
-        final Map<String, List<ScanSample>> device_logs = new HashMap<String, List<ScanSample>>();
-
-        // Could fetch all samples for scan ID, but
-        // organizing the retrieval by device in case
-        // that's helpful later on
-        final String[] devices = getScanDevices(scan_id);
-        for (String device : devices)
-        {
-            final List<ScanSample> samples = getScanSamples(scan_id, device);
-            device_logs.put(device, samples);
-        }
-
-        return new ScanData(device_logs);
+        return getScanData(scan_id, -1);
     }
 
-    /** Get samples
+    /** Obtain data for a scan
+     *
+     *  <p>Reads the samples of all devices in one query,
+     *  and only those that were logged after a given serial,
+     *  so clients that poll a running scan only fetch new samples.
+     *
      *  @param scan_id ID of the scan
-     *  @param device_name Name of the device
-     *  @return Samples for that scan
+     *  @param since_serial Only get samples with a serial above this one, -1 for all samples
+     *  @return {@link ScanData}
      *  @throws Exception on error
      */
-    private List<ScanSample> getScanSamples(final long scan_id, final String device_name) throws Exception
+    public ScanData getScanData(final long scan_id, final long since_serial) throws Exception
     {
-        final List<ScanSample> samples = new ArrayList<ScanSample>();
+        final Map<String, List<ScanSample>> device_logs = new HashMap<String, List<ScanSample>>();
         try
         (
             final PreparedStatement statement = connection.prepareStatement(
-                    "SELECT serial, timestamp, value FROM samples WHERE scan_id=? AND device_id=? ORDER BY serial");
+                    "SELECT d.name, s.serial, s.timestamp, s.value FROM samples s JOIN devices d ON s.device_id = d.id" +
+                    " WHERE s.scan_id=? AND s.serial>? ORDER BY s.serial");
         )
         {
             statement.setLong(1, scan_id);
-            statement.setInt(2, getDevice(device_name));
-            final ResultSet result = statement.executeQuery();
-            while (result.next())
+            statement.setLong(2, since_serial);
+            try
+            (
+                final ResultSet result = statement.executeQuery();
+            )
             {
-                final long serial = result.getLong(1);
-                final Instant timestamp = result.getTimestamp(2).toInstant();
-                final SampleValue value = (SampleValue) result.getObject(3);
-                samples.add(ScanSampleFactory.createSample(timestamp, serial, value.getValues()));
+                while (result.next())
+                {
+                    final String device = result.getString(1);
+                    final long serial = result.getLong(2);
+                    final Instant timestamp = result.getTimestamp(3).toInstant();
+                    final SampleValue value = (SampleValue) result.getObject(4);
+                    device_logs.computeIfAbsent(device, d -> new ArrayList<>())
+                               .add(ScanSampleFactory.createSample(timestamp, serial, value.getValues()));
+                }
             }
-            result.close();
-        }
-        return samples;
-    }
-
-    /** Obtain devices that have data for a scan
-     *  @param scan_id ID of the scan
-     *  @return Device names
-     *  @throws SQLException on error
-     */
-    private String[] getScanDevices(final long scan_id) throws SQLException
-    {
-        final List<String> devices = new ArrayList<String>();
-        try
-        (
-            final PreparedStatement statement = connection.prepareStatement(
-                    "SELECT DISTINCT d.name FROM samples s JOIN devices d ON s.device_id = d.id  WHERE scan_id=?");
-        )
-        {
-            statement.setLong(1, scan_id);
-            final ResultSet result = statement.executeQuery();
-            while (result.next())
-                devices.add(result.getString(1));
-            result.close();
         }
-        return devices.toArray(new String[devices.size()]);
+        return new ScanData(device_logs);
     }
 
     /** Delete logged data for a scan